@@ -23,10 +23,13 @@
 
 package com.mytechia.robobo.framework.example.dummy;
 
+import com.mytechia.robobo.framework.RoboboModule;
+
 /**
  *
  * @author Gervasio Varela
  */
+@RoboboModule(sequential = true)
 public class DummyTestModule1 extends DummyTestModule
 {
 
@@ -22,10 +22,13 @@
 
 package com.mytechia.robobo.framework.example.dummy;
 
+import com.mytechia.robobo.framework.RoboboModule;
+
 /**
  *
  * @author Gervasio Varela
  */
+@RoboboModule(sequential = true)
 public class DummyTestModule2 extends DummyTestModule
 {
 
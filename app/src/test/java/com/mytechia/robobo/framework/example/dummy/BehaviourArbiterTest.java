@@ -0,0 +1,223 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.example.dummy;
+
+import com.mytechia.commons.framework.exception.InternalErrorException;
+import com.mytechia.robobo.framework.RoboboManager;
+import com.mytechia.robobo.framework.RoboboModule;
+import com.mytechia.robobo.framework.behaviour.ABehaviourModule;
+import com.mytechia.robobo.framework.behaviour.BehaviourArbiter;
+import com.mytechia.robobo.framework.behaviour.IArbitratedBehaviour;
+import com.mytechia.robobo.framework.behaviour.IBehaviourOutput;
+import com.mytechia.robobo.framework.behaviour.Proposal;
+import com.mytechia.robobo.framework.behaviour.VirtualClockDriver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Gervasio Varela
+ */
+public class BehaviourArbiterTest {
+
+
+    static class TestBehaviour implements IArbitratedBehaviour<String> {
+
+        final String name;
+        boolean active = false;
+
+        TestBehaviour(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean propose(Proposal<String> proposal) {
+            proposal.set(name);
+            return active;
+        }
+    }
+
+
+    @Test
+    public void testSubsumption() {
+
+        final List<String> forwarded = new ArrayList<>();
+
+        BehaviourArbiter<String> arbiter = new BehaviourArbiter<>("motors", new IBehaviourOutput<String>() {
+            @Override
+            public void forward(String output, IArbitratedBehaviour<String> winner) {
+                forwarded.add(output);
+            }
+        });
+
+        TestBehaviour wander = new TestBehaviour("wander");
+        TestBehaviour avoid = new TestBehaviour("avoid");
+        TestBehaviour charge = new TestBehaviour("charge");
+        TestBehaviour stop = new TestBehaviour("stop");
+
+        arbiter.addBehaviour(wander, 0);
+        arbiter.addBehaviour(avoid, 10);
+        arbiter.addBehaviour(charge, 5);
+        arbiter.addBehaviour(stop, -10);
+        arbiter.addSuppression(charge, avoid);
+        arbiter.addInhibition(stop, wander);
+        arbiter.setForwardOnlyChanges(true);
+
+        wander.active = true;
+        arbiter.runCycle();
+        arbiter.runCycle();
+        assertEquals(1, forwarded.size());
+        assertEquals("wander", forwarded.get(0));
+
+        //higher priority wins
+        avoid.active = true;
+        arbiter.runCycle();
+        assertEquals("avoid", forwarded.get(1));
+
+        //the suppressor replaces the output of the suppressed behaviour
+        charge.active = true;
+        arbiter.runCycle();
+        assertEquals("charge", forwarded.get(2));
+
+        //the inhibitor blocks the output of the inhibited behaviour
+        avoid.active = false;
+        charge.active = false;
+        stop.active = true;
+        arbiter.runCycle();
+        assertEquals(3, forwarded.size());
+        assertNull(arbiter.getLastWinner());
+        assertEquals(1, arbiter.getBlockedCycles());
+
+        assertEquals(2, arbiter.getWins(wander));
+        assertEquals(5, arbiter.getCycles());
+
+    }
+
+
+
+    @Test
+    public void testBehaviourModulesJoinArbiter() throws InternalErrorException {
+
+        final List<String> forwarded = Collections.synchronizedList(new ArrayList<String>());
+        sharedArbiter = new BehaviourArbiter<>("motors", new IBehaviourOutput<String>() {
+            @Override
+            public void forward(String output, IArbitratedBehaviour<String> winner) {
+                forwarded.add(output);
+            }
+        });
+
+        Properties modules = new Properties();
+        modules.put("robobo.module.0", WanderBehaviour.class.getName());
+        modules.put("robobo.module.1", AvoidBehaviour.class.getName());
+
+        RoboboManager manager = RoboboManager.instantiate(modules, null, null);
+        VirtualClockDriver clock = new VirtualClockDriver();
+        manager.getBehaviourThreads().useDriver(clock);
+
+        manager.startup();
+
+        assertEquals(2, sharedArbiter.getBehaviourCount());
+        assertTrue(sharedArbiter.isRunning());
+
+        clock.runFor(100);
+
+        //the arbiter runs with the period of the behaviours, and the highest priority wins
+        assertFalse(forwarded.isEmpty());
+        assertEquals("avoid", forwarded.get(forwarded.size() - 1));
+
+        manager.shutdown();
+
+        assertEquals(0, sharedArbiter.getBehaviourCount());
+        assertFalse(sharedArbiter.isRunning());
+
+    }
+
+
+    static BehaviourArbiter<String> sharedArbiter;
+
+
+    static abstract class ArbitratedBehaviourModule extends ABehaviourModule {
+
+        private final TestBehaviour proposer;
+        private final int priority;
+
+        ArbitratedBehaviourModule(String name, int priority) {
+            this.proposer = new TestBehaviour(name);
+            this.proposer.active = true;
+            this.priority = priority;
+        }
+
+        @Override
+        protected void startBehaviour() throws InternalErrorException {
+            setPeriod(20);
+            joinArbiter(sharedArbiter, proposer, priority);
+        }
+
+        @Override
+        protected void stopBehaviour() throws InternalErrorException {
+        }
+
+        @Override
+        protected void runStep() {
+        }
+
+        @Override
+        public String getModuleInfo() {
+            return proposer.getName();
+        }
+
+        @Override
+        public String getModuleVersion() {
+            return "0.1";
+        }
+
+    }
+
+
+    @RoboboModule
+    public static class WanderBehaviour extends ArbitratedBehaviourModule {
+        public WanderBehaviour() {
+            super("wander", 0);
+        }
+    }
+
+
+    @RoboboModule
+    public static class AvoidBehaviour extends ArbitratedBehaviourModule {
+        public AvoidBehaviour() {
+            super("avoid", 10);
+        }
+    }
+
+}
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+package com.mytechia.robobo.framework.example.dummy;
+
+import com.mytechia.commons.framework.exception.InternalErrorException;
+import com.mytechia.robobo.framework.behaviour.ABehaviourModule;
+import com.mytechia.robobo.framework.behaviour.BehaviourScheduler;
+import com.mytechia.robobo.framework.behaviour.BehaviourThreads;
+import com.mytechia.robobo.framework.behaviour.IBehaviourHost;
+import com.mytechia.robobo.framework.behaviour.IThreadCpuClock;
+import com.mytechia.robobo.framework.behaviour.VirtualClockDriver;
+import com.mytechia.robobo.framework.power.FrameworkLoad;
+import com.mytechia.robobo.framework.power.IPowerModeListener;
+import com.mytechia.robobo.framework.power.PowerMode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Gervasio Varela
+ */
+public class BehaviourHostTest {
+
+
+    /** Host that runs the behaviours with a virtual clock, without the RoboboManager */
+    static class VirtualHost implements IBehaviourHost {
+
+        final VirtualClockDriver clock = new VirtualClockDriver();
+        final BehaviourThreads threads = new BehaviourThreads(0, 0, new BehaviourThreadsTest.RecordingThreadFactory());
+        final List<IPowerModeListener> listeners = new ArrayList<>();
+        int cpuReads = 0;
+
+        VirtualHost() {
+            threads.useDriver(clock);
+        }
+
+        @Override
+        public BehaviourScheduler getBehaviourScheduler() {
+            return threads.getScheduler();
+        }
+
+        @Override
+        public BehaviourThreads getBehaviourThreads() {
+            return threads;
+        }
+
+        @Override
+        public FrameworkLoad getFrameworkLoad() {
+            return null;
+        }
+
+        @Override
+        public IThreadCpuClock getThreadCpuClock() {
+            return new IThreadCpuClock() {
+                @Override
+                public long threadCpuTimeNanos() {
+                    return ++cpuReads;
+                }
+            };
+        }
+
+        @Override
+        public PowerMode getPowerMode() {
+            return PowerMode.NORMAL;
+        }
+
+        @Override
+        public void subscribeToPowerModeChanges(IPowerModeListener listener) {
+            listeners.add(listener);
+        }
+
+        @Override
+        public void unsubscribeFromPowerModeChanges(IPowerModeListener listener) {
+            listeners.remove(listener);
+        }
+
+    }
+
+
+    static class CountingBehaviour extends ABehaviourModule {
+
+        int steps = 0;
+
+        @Override
+        protected void startBehaviour() throws InternalErrorException {
+            setPeriod(50);
+        }
+
+        @Override
+        protected void stopBehaviour() throws InternalErrorException {
+        }
+
+        @Override
+        protected void runStep() {
+            steps++;
+        }
+
+        @Override
+        public String getModuleInfo() {
+            return "counting";
+        }
+
+        @Override
+        public String getModuleVersion() {
+            return "0.1";
+        }
+
+    }
+
+
+    @Test
+    public void testBehaviourRunsWithoutManager() throws InternalErrorException {
+
+        VirtualHost host = new VirtualHost();
+        CountingBehaviour behaviour = new CountingBehaviour();
+
+        behaviour.startup(host);
+
+        assertNull(behaviour.getRobobo());
+        assertEquals(1, host.listeners.size());
+
+        host.clock.runFor(1000);
+
+        assertTrue(behaviour.steps >= 19);
+        //the CPU time is only measured once every CPU_SAMPLING_STEPS steps, at the start and the end of the step
+        int samples = (behaviour.steps + FrameworkLoad.CPU_SAMPLING_STEPS - 1) / FrameworkLoad.CPU_SAMPLING_STEPS;
+        assertEquals(2 * samples, host.cpuReads);
+
+        behaviour.shutdown();
+
+        assertTrue(host.listeners.isEmpty());
+        int steps = behaviour.steps;
+        host.clock.runFor(1000);
+        assertEquals(steps, behaviour.steps);
+
+    }
+
+}
@@ -0,0 +1,388 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.example.dummy;
+
+import com.mytechia.robobo.framework.behaviour.BehaviourMetricsSnapshot;
+import com.mytechia.robobo.framework.behaviour.BehaviourScheduler;
+import com.mytechia.robobo.framework.behaviour.IAllocationCounter;
+import com.mytechia.robobo.framework.behaviour.ISchedulerDriver;
+import com.mytechia.robobo.framework.behaviour.SchedulerStats;
+import com.mytechia.robobo.framework.behaviour.StepTiming;
+import com.mytechia.robobo.framework.behaviour.VirtualClockDriver;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Gervasio Varela
+ */
+public class BehaviourSchedulerTest {
+
+
+    /** Driver with a manual clock, wakeups are executed when the clock is advanced */
+    static class ManualDriver implements ISchedulerDriver {
+
+        long now = 1000;
+        Runnable task = null;
+        long wakeUpTime = -1;
+
+        @Override
+        public long uptimeMillis() {
+            return now;
+        }
+
+        @Override
+        public long uptimeNanos() {
+            return now * 1000000;
+        }
+
+        @Override
+        public void wakeUpAt(Runnable tick, long uptimeMillis) {
+            this.task = tick;
+            this.wakeUpTime = uptimeMillis;
+        }
+
+        @Override
+        public void cancel(Runnable tick) {
+            this.task = null;
+            this.wakeUpTime = -1;
+        }
+
+        void advance(long millis) {
+            long end = now + millis;
+            while ((task != null) && (wakeUpTime <= end)) {
+                now = Math.max(now, wakeUpTime);
+                Runnable tick = task;
+                task = null;
+                tick.run();
+            }
+            now = end;
+        }
+
+    }
+
+
+    private static Runnable counter(final AtomicInteger count) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                count.incrementAndGet();
+            }
+        };
+    }
+
+
+    @Test
+    public void testSamePeriodsShareWakeups() {
+
+        ManualDriver driver = new ManualDriver();
+        BehaviourScheduler scheduler = new BehaviourScheduler(driver);
+
+        AtomicInteger fast1 = new AtomicInteger();
+        AtomicInteger fast2 = new AtomicInteger();
+        AtomicInteger slow = new AtomicInteger();
+
+        scheduler.schedule(counter(fast1), 50);
+        scheduler.schedule(counter(fast2), 50);
+        BehaviourScheduler.Registration slowRegistration = scheduler.schedule(counter(slow), 100);
+
+        driver.advance(1000);
+
+        assertEquals(20, fast1.get());
+        assertEquals(20, fast2.get());
+        assertEquals(10, slow.get());
+
+        SchedulerStats stats = scheduler.getStats();
+        //the 100 ms group is aligned with the 50 ms one
+        assertEquals(20, stats.getWakeups());
+        assertEquals(2, stats.getGroups());
+        assertEquals(50, stats.getSteps());
+
+        slowRegistration.setPeriod(3000);
+        driver.advance(6000);
+        assertEquals(12, slow.get());
+
+        slowRegistration.cancel();
+        assertEquals(2, scheduler.getStats().getBehaviours());
+
+    }
+
+
+    /** A step that takes 'duration' ms of the manual clock on its first execution */
+    private static Runnable slowFirstStep(final ManualDriver driver, final AtomicInteger count, final long duration) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                if (count.getAndIncrement() == 0) {
+                    driver.now += duration;
+                }
+            }
+        };
+    }
+
+
+    /** Runs a step of 20 ms period whose first execution takes 100 ms, during 400 ms */
+    private static int stepsAfterOverrun(StepTiming timing) {
+
+        ManualDriver driver = new ManualDriver();
+        BehaviourScheduler scheduler = new BehaviourScheduler(driver);
+        AtomicInteger count = new AtomicInteger();
+
+        scheduler.schedule(slowFirstStep(driver, count, 100), 20, timing);
+
+        driver.advance(400);
+
+        return count.get();
+
+    }
+
+
+    @Test
+    public void testOverrunPolicies() {
+
+        //first step at 1020, it finishes at 1120 (4 ticks missed), then every 20 ms until 1400
+        int skip = stepsAfterOverrun(StepTiming.FIXED_RATE_SKIP);
+        assertEquals(1 + (1400 - 1120) / 20, skip);
+
+        assertEquals(skip + BehaviourScheduler.MAX_CATCH_UP_TICKS, stepsAfterOverrun(StepTiming.FIXED_RATE_CATCH_UP));
+
+        //stretch runs at 1120 and then every 20 ms
+        assertEquals(skip + 1, stepsAfterOverrun(StepTiming.FIXED_RATE_STRETCH));
+
+        //fixed delay accumulates the duration of the step
+        assertEquals(1 + (1400 - 1120) / 20, stepsAfterOverrun(StepTiming.FIXED_DELAY));
+
+    }
+
+
+    @Test
+    public void testBehaviourMetrics() {
+
+        ManualDriver driver = new ManualDriver();
+        BehaviourScheduler scheduler = new BehaviourScheduler(driver);
+        AtomicInteger count = new AtomicInteger();
+
+        scheduler.schedule("slow", slowFirstStep(driver, count, 100), 20, StepTiming.FIXED_RATE_SKIP);
+
+        driver.advance(400);
+
+        BehaviourMetricsSnapshot metrics = scheduler.getMetrics().get(0);
+
+        assertEquals("slow", metrics.getName());
+        assertEquals(count.get(), metrics.getSteps());
+        assertEquals(1, metrics.getDeadlineMisses());
+        assertEquals(100000, metrics.getStepDuration().getMaxMicros());
+        assertEquals(0, metrics.getStepDuration().getPercentileMicros(50));
+        //the step after the overrun started 120 ms after the first one, the rest every 20 ms
+        assertEquals(120000, metrics.getInterTick().getMaxMicros());
+        assertTrue(metrics.getInterTick().getPercentileMicros(50) >= 20000);
+        assertTrue(metrics.getInterTick().getPercentileMicros(50) <= 20000 * 1.125);
+
+    }
+
+
+
+    @Test
+    public void testTriggeredStepsAreCoalesced() {
+
+        ManualDriver driver = new ManualDriver();
+        BehaviourScheduler scheduler = new BehaviourScheduler(driver);
+        AtomicInteger count = new AtomicInteger();
+
+        BehaviourScheduler.Registration registration =
+                scheduler.scheduleTriggered("triggered", counter(count), 30, 200);
+
+        //a burst of events results in a single step, executed immediately
+        registration.trigger();
+        registration.trigger();
+        registration.trigger();
+        driver.advance(10);
+        assertEquals(1, count.get());
+
+        //the next step waits for the minimum interval
+        registration.trigger();
+        registration.trigger();
+        driver.advance(10);
+        assertEquals(1, count.get());
+        driver.advance(20);
+        assertEquals(2, count.get());
+
+        //without events the step is executed after the fallback period
+        driver.advance(189);
+        assertEquals(2, count.get());
+        driver.advance(1);
+        assertEquals(3, count.get());
+
+        SchedulerStats stats = scheduler.getStats();
+        assertEquals(5, stats.getTriggers());
+        assertEquals(3, stats.getCoalescedTriggers());
+
+        registration.cancel();
+        registration.trigger();
+        driver.advance(1000);
+        assertEquals(3, count.get());
+        assertEquals(0, scheduler.getStats().getBehaviours());
+
+    }
+
+
+
+    @Test
+    public void testVirtualClockRunsFasterThanRealTime() {
+
+        VirtualClockDriver clock = new VirtualClockDriver();
+        BehaviourScheduler shared = new BehaviourScheduler(clock);
+        BehaviourScheduler pinned = new BehaviourScheduler(clock);
+
+        AtomicInteger fast = new AtomicInteger();
+        AtomicInteger slow = new AtomicInteger();
+
+        shared.schedule(counter(fast), 50);
+        pinned.schedule(counter(slow), 100);
+
+        long start = System.currentTimeMillis();
+
+        //an hour of behaviour execution
+        clock.runFor(3600000);
+
+        assertTrue(System.currentTimeMillis() - start < 60000);
+        assertEquals(3600000, clock.uptimeMillis());
+        assertEquals(72000, fast.get());
+        assertEquals(36000, slow.get());
+
+    }
+
+
+
+    /** Allocation counter whose allocations are simulated by the steps */
+    static class FakeAllocationCounter implements IAllocationCounter {
+
+        long allocated = 0;
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public long allocatedBytes() {
+            return allocated;
+        }
+
+        @Override
+        public void stop() {
+        }
+
+    }
+
+
+    @Test
+    public void testAllocationTrackingFlagsAllocatingBehaviours() {
+
+        ManualDriver driver = new ManualDriver();
+        BehaviourScheduler scheduler = new BehaviourScheduler(driver);
+        final FakeAllocationCounter counter = new FakeAllocationCounter();
+        scheduler.setAllocationCounter(counter);
+
+        final AtomicInteger count = new AtomicInteger();
+
+        scheduler.schedule("clean", counter(new AtomicInteger()), 20, StepTiming.FIXED_RATE_SKIP);
+        scheduler.schedule("allocating", new Runnable() {
+            @Override
+            public void run() {
+                //allocates every other step
+                if (count.getAndIncrement() % 2 == 0) {
+                    counter.allocated += 64;
+                }
+            }
+        }, 20, StepTiming.FIXED_RATE_SKIP);
+
+        driver.advance(200);
+
+        BehaviourMetricsSnapshot clean = scheduler.getMetrics().get(0);
+        BehaviourMetricsSnapshot allocating = scheduler.getMetrics().get(1);
+
+        assertFalse(clean.isAllocating());
+        assertTrue(allocating.isAllocating());
+        assertEquals((count.get() + 1) / 2, allocating.getAllocatingSteps());
+        assertEquals(64 * allocating.getAllocatingSteps(), allocating.getAllocatedBytes());
+        assertEquals(64, allocating.getMaxStepAllocation());
+        assertEquals(0, scheduler.getStats().getFrameworkAllocatedBytes());
+
+    }
+
+
+
+    /** Allocation counter of the JVM, the equivalent of the Android Debug counters */
+    static class JvmAllocationCounter implements IAllocationCounter {
+
+        private final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public long allocatedBytes() {
+            return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+
+        @Override
+        public void stop() {
+        }
+
+    }
+
+
+    @Test
+    public void testTickPathDoesNotAllocate() {
+
+        ManualDriver driver = new ManualDriver();
+        BehaviourScheduler scheduler = new BehaviourScheduler(driver);
+
+        scheduler.schedule("fast", counter(new AtomicInteger()), 20, StepTiming.FIXED_RATE_SKIP);
+        scheduler.schedule("slow", counter(new AtomicInteger()), 1000, StepTiming.FIXED_DELAY);
+        BehaviourScheduler.Registration triggered =
+                scheduler.scheduleTriggered("triggered", counter(new AtomicInteger()), 0, 300);
+
+        //warm up
+        driver.advance(10000);
+
+        scheduler.setAllocationCounter(new JvmAllocationCounter());
+        for (int i = 0; i < 100; i++) {
+            triggered.trigger();
+            driver.advance(100);
+        }
+
+        assertEquals(0, scheduler.getStats().getFrameworkAllocatedBytes());
+        for (BehaviourMetricsSnapshot metrics : scheduler.getMetrics()) {
+            assertFalse(metrics.getName(), metrics.isAllocating());
+        }
+
+    }
+
+}
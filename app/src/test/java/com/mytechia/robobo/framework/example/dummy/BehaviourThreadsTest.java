@@ -0,0 +1,176 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+package com.mytechia.robobo.framework.example.dummy;
+
+import com.mytechia.robobo.framework.behaviour.BehaviourScheduler;
+import com.mytechia.robobo.framework.behaviour.BehaviourThreads;
+import com.mytechia.robobo.framework.behaviour.IBehaviourThreadFactory;
+import com.mytechia.robobo.framework.behaviour.ISchedulerDriver;
+import com.mytechia.robobo.framework.behaviour.VirtualClockDriver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Gervasio Varela
+ */
+public class BehaviourThreadsTest {
+
+
+    /** Thread factory that records the threads started and stopped, using virtual clocks as threads */
+    static class RecordingThreadFactory implements IBehaviourThreadFactory {
+
+        final List<String> names = new ArrayList<>();
+        final List<Integer> priorities = new ArrayList<>();
+        final List<ISchedulerDriver> running = new ArrayList<>();
+
+        @Override
+        public ISchedulerDriver startThread(String name, int priority) {
+            names.add(name);
+            priorities.add(priority);
+            ISchedulerDriver driver = new VirtualClockDriver();
+            running.add(driver);
+            return driver;
+        }
+
+        @Override
+        public void stopThread(ISchedulerDriver driver) {
+            assertTrue(running.remove(driver));
+        }
+
+        @Override
+        public Thread newThread(String name, int priority, Runnable task) {
+            names.add(name);
+            priorities.add(priority);
+            Thread thread = new Thread(task, name);
+            thread.setDaemon(true);
+            return thread;
+        }
+
+    }
+
+
+    @Test
+    public void testPoolThreadsAreStartedOnDemand() {
+
+        RecordingThreadFactory factory = new RecordingThreadFactory();
+        BehaviourThreads threads = new BehaviourThreads(2, 5, factory);
+
+        assertTrue(factory.names.isEmpty());
+
+        BehaviourScheduler first = threads.getScheduler();
+        BehaviourScheduler second = threads.getScheduler();
+        BehaviourScheduler third = threads.getScheduler();
+
+        //the behaviours are distributed among the threads of the pool
+        assertNotSame(first, second);
+        assertSame(first, third);
+        assertEquals(Arrays.asList("robobo-behaviours-1", "robobo-behaviours-2"), factory.names);
+        assertEquals(Arrays.asList(5, 5), factory.priorities);
+
+        threads.shutdown();
+
+        assertTrue(factory.running.isEmpty());
+        assertTrue(threads.getSchedulers().isEmpty());
+
+    }
+
+
+    @Test
+    public void testPinnedThreads() {
+
+        RecordingThreadFactory factory = new RecordingThreadFactory();
+        BehaviourThreads threads = new BehaviourThreads(0, -4, factory);
+
+        BehaviourScheduler pinned = threads.newPinnedScheduler("Camera");
+        BehaviourScheduler other = threads.newPinnedScheduler("Speech");
+
+        assertEquals(Arrays.asList("robobo-behaviour-Camera", "robobo-behaviour-Speech"), factory.names);
+        assertEquals(Arrays.asList(-4, -4), factory.priorities);
+
+        threads.release(pinned);
+
+        assertEquals(1, factory.running.size());
+        assertEquals(Collections.singletonList(other), threads.getSchedulers());
+
+        threads.shutdown();
+
+        assertTrue(factory.running.isEmpty());
+
+    }
+
+
+    @Test
+    public void testTaskThreadsUseTheFactory() {
+
+        RecordingThreadFactory factory = new RecordingThreadFactory();
+        BehaviourThreads threads = new BehaviourThreads(0, -4, factory);
+
+        Thread thread = threads.newThread("robobo-task", new Runnable() {
+            @Override
+            public void run() {
+            }
+        });
+
+        assertEquals("robobo-task", thread.getName());
+        assertTrue(thread.isDaemon());
+        assertEquals(Collections.singletonList(-4), factory.priorities);
+
+    }
+
+
+    @Test
+    public void testDriverDoesNotStartThreads() {
+
+        RecordingThreadFactory factory = new RecordingThreadFactory();
+        BehaviourThreads threads = new BehaviourThreads(2, 5, factory);
+
+        threads.useDriver(new VirtualClockDriver());
+
+        BehaviourScheduler scheduler = threads.getScheduler();
+        assertSame(scheduler, threads.getScheduler());
+        threads.release(threads.newPinnedScheduler("Camera"));
+
+        assertTrue(factory.names.isEmpty());
+
+        threads.shutdown();
+
+    }
+
+
+    @Test(expected = IllegalStateException.class)
+    public void testDriverAfterScheduling() {
+
+        BehaviourThreads threads = new BehaviourThreads(1, 5, new RecordingThreadFactory());
+
+        threads.getScheduler();
+        threads.useDriver(new VirtualClockDriver());
+
+    }
+
+}
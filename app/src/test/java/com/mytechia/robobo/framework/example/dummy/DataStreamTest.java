@@ -0,0 +1,249 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.example.dummy;
+
+import com.mytechia.robobo.framework.stream.AStream;
+import com.mytechia.robobo.framework.stream.BackpressureStrategy;
+import com.mytechia.robobo.framework.stream.DataStream;
+import com.mytechia.robobo.framework.stream.ISubscriber;
+import com.mytechia.robobo.framework.stream.ISubscription;
+import com.mytechia.robobo.framework.stream.StreamRegistry;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Gervasio Varela
+ */
+public class DataStreamTest {
+
+
+    /** Executor that runs the tasks when the test decides */
+    static class ManualExecutor implements Executor {
+
+        private final LinkedList<Runnable> tasks = new LinkedList<>();
+
+        @Override
+        public synchronized void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            Runnable task;
+            while ((task = next()) != null) {
+                task.run();
+            }
+        }
+
+        private synchronized Runnable next() {
+            return tasks.poll();
+        }
+
+    }
+
+
+    /** Subscriber that records the items, requesting them when the test decides */
+    static class Recorder<T> implements ISubscriber<T> {
+
+        final List<T> items = new ArrayList<>();
+        final long initialRequest;
+        final CountDownLatch completed = new CountDownLatch(1);
+        final CountDownLatch received = new CountDownLatch(1);
+        ISubscription subscription;
+        Throwable error;
+
+        Recorder(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(ISubscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        public synchronized void onNext(T item) {
+            items.add(item);
+            received.countDown();
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            this.error = error;
+            completed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+
+        synchronized List<T> getItems() {
+            return new ArrayList<>(items);
+        }
+
+    }
+
+
+    private static List<Integer> range(int from, int to) {
+        List<Integer> values = new ArrayList<>();
+        for (int i = from; i <= to; i++) {
+            values.add(i);
+        }
+        return values;
+    }
+
+
+    @Test
+    public void testSlowSubscribersKeepBoundedBuffers() {
+
+        StreamRegistry registry = new StreamRegistry();
+        DataStream<Integer> imu = registry.createStream("imu", Integer.class);
+        assertSame(imu, registry.getStream("imu", Integer.class));
+
+        ManualExecutor executor = new ManualExecutor();
+        Recorder<Integer> latest = new Recorder<>(0);
+        Recorder<Integer> oldest = new Recorder<>(0);
+        Recorder<Integer> newest = new Recorder<>(0);
+        imu.subscribe(latest, BackpressureStrategy.latest(), executor);
+        imu.subscribe(oldest, BackpressureStrategy.buffer(3, BackpressureStrategy.Overflow.DROP_OLDEST), executor);
+        imu.subscribe(newest, BackpressureStrategy.buffer(3, BackpressureStrategy.Overflow.DROP_NEWEST), executor);
+        executor.runAll();
+
+        for (int i = 1; i <= 100; i++) {
+            imu.publish(i);
+        }
+        executor.runAll();
+        assertTrue(latest.getItems().isEmpty());
+
+        latest.subscription.request(1);
+        oldest.subscription.request(10);
+        newest.subscription.request(2);
+        executor.runAll();
+
+        assertEquals(range(100, 100), latest.getItems());
+        assertEquals(range(98, 100), oldest.getItems());
+        assertEquals(range(1, 2), newest.getItems());
+        assertEquals(99 + 97 + 97, imu.getDroppedItems());
+
+        //the pending demand of the subscriber is delivered as soon as the items are published
+        imu.publish(101);
+        executor.runAll();
+        assertEquals(range(98, 101), oldest.getItems());
+
+        registry.removeStream("imu");
+        assertNull(registry.getStream("imu", Integer.class));
+        executor.runAll();
+        assertEquals(1, latest.completed.getCount());
+        assertEquals(0, oldest.completed.getCount());
+        assertEquals(1, newest.completed.getCount());
+
+        //the stream finishes when the subscribers have received the buffered items
+        newest.subscription.request(Long.MAX_VALUE);
+        executor.runAll();
+        List<Integer> expected = range(1, 3);
+        expected.add(101);
+        assertEquals(expected, newest.getItems());
+        assertEquals(0, newest.completed.getCount());
+        assertEquals(1, imu.getSubscriberCount());
+
+    }
+
+
+    @Test
+    public void testWindowAndThrottleOperators() {
+
+        StreamRegistry registry = new StreamRegistry();
+        DataStream<Integer> camera = registry.createStream("camera", Integer.class);
+
+        ManualExecutor executor = new ManualExecutor();
+        Recorder<List<Integer>> windows = new Recorder<>(Long.MAX_VALUE);
+        Recorder<Integer> throttled = new Recorder<>(Long.MAX_VALUE);
+
+        AStream<List<Integer>> windowed = camera.window(10);
+        windowed.subscribe(windows, BackpressureStrategy.buffer(16, BackpressureStrategy.Overflow.DROP_NEWEST), executor);
+        camera.throttle(1, TimeUnit.HOURS).subscribe(throttled, BackpressureStrategy.latest(), executor);
+        executor.runAll();
+        assertEquals(2, camera.getSubscriberCount());
+
+        for (int i = 1; i <= 25; i++) {
+            camera.publish(i);
+        }
+        camera.complete();
+        executor.runAll();
+
+        assertEquals(3, windows.getItems().size());
+        assertEquals(range(1, 10), windows.getItems().get(0));
+        assertEquals(range(21, 25), windows.getItems().get(2));
+        assertEquals(0, windows.completed.getCount());
+        assertEquals(range(1, 1), throttled.getItems());
+        assertEquals(0, throttled.completed.getCount());
+
+        try {
+            registry.getStream("camera", String.class);
+            fail("The type of the items must be checked");
+        } catch (IllegalArgumentException ex) {
+            //expected
+        }
+
+    }
+
+
+    @Test
+    public void testOperatorsDisconnectWithoutSubscribers() throws InterruptedException {
+
+        StreamRegistry registry = new StreamRegistry();
+        DataStream<Integer> odometry = registry.createStream("odometry", Integer.class);
+
+        Recorder<Integer> sampled = new Recorder<>(Long.MAX_VALUE);
+        odometry.sample(20, TimeUnit.MILLISECONDS).subscribe(sampled);
+
+        odometry.publish(2);
+
+        assertTrue(sampled.received.await(5, TimeUnit.SECONDS));
+        assertEquals(range(2, 2), sampled.getItems());
+
+        sampled.subscription.cancel();
+        assertEquals(0, odometry.getSubscriberCount());
+
+        //the subscriber of a finished stream is completed immediately
+        odometry.complete();
+        Recorder<Integer> late = new Recorder<>(1);
+        odometry.subscribe(late);
+        assertTrue(late.completed.await(5, TimeUnit.SECONDS));
+        assertTrue(late.getItems().isEmpty());
+
+    }
+
+}
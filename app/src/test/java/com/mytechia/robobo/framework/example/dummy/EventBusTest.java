@@ -0,0 +1,162 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.example.dummy;
+
+import com.mytechia.robobo.framework.eventbus.BlockingWaitStrategy;
+import com.mytechia.robobo.framework.eventbus.BusySpinWaitStrategy;
+import com.mytechia.robobo.framework.eventbus.EventBus;
+import com.mytechia.robobo.framework.eventbus.IEventFactory;
+import com.mytechia.robobo.framework.eventbus.IEventHandler;
+import com.mytechia.robobo.framework.eventbus.IEventTranslatorOneArg;
+import com.mytechia.robobo.framework.eventbus.IWaitStrategy;
+import com.mytechia.robobo.framework.eventbus.Subscription;
+import com.mytechia.robobo.framework.eventbus.Topic;
+import com.mytechia.robobo.framework.eventbus.YieldingWaitStrategy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Gervasio Varela
+ */
+public class EventBusTest {
+
+
+    private static final int EVENTS = 20000;
+
+
+    /** A sensor reading, preallocated in the topic */
+    static class Reading {
+        int publisher;
+        long value;
+    }
+
+    private static final IEventFactory<Reading> READINGS = new IEventFactory<Reading>() {
+        @Override
+        public Reading newInstance() {
+            return new Reading();
+        }
+    };
+
+    private static final IEventTranslatorOneArg<Reading, long[]> TRANSLATOR = new IEventTranslatorOneArg<Reading, long[]>() {
+        @Override
+        public void translateTo(Reading event, long sequence, long[] arg) {
+            event.publisher = (int) arg[0];
+            event.value = arg[1];
+        }
+    };
+
+
+    /** Checks that the values of each publisher arrive in order */
+    static class Checker implements IEventHandler<Reading> {
+
+        final long[] lastValue = {-1, -1};
+        final CountDownLatch done = new CountDownLatch(2 * EVENTS);
+        volatile boolean ordered = true;
+
+        @Override
+        public void onEvent(Reading event, long sequence, boolean endOfBatch) {
+            if (event.value != lastValue[event.publisher] + 1) {
+                ordered = false;
+            }
+            lastValue[event.publisher] = event.value;
+            done.countDown();
+        }
+
+    }
+
+
+    private static void publishFromTwoThreads(IWaitStrategy waitStrategy) throws InterruptedException {
+
+        EventBus bus = new EventBus();
+        final Topic<Reading> topic = bus.createTopic("readings", Reading.class, READINGS, 64, waitStrategy);
+
+        Checker first = new Checker();
+        Checker second = new Checker();
+        Subscription<Reading> subscription = topic.subscribe(first);
+        topic.subscribe(second);
+
+        Thread[] publishers = new Thread[2];
+        for (int p = 0; p < 2; p++) {
+            final long[] arg = {p, 0};
+            publishers[p] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < EVENTS; i++) {
+                        arg[1] = i;
+                        topic.publish(TRANSLATOR, arg);
+                    }
+                }
+            });
+            publishers[p].start();
+        }
+
+        assertTrue(first.done.await(20, TimeUnit.SECONDS));
+        assertTrue(second.done.await(20, TimeUnit.SECONDS));
+        assertTrue(first.ordered);
+        assertTrue(second.ordered);
+        assertEquals(2 * EVENTS, topic.getPublished());
+
+        for (Thread publisher : publishers) {
+            publisher.join();
+        }
+
+        //the subscriber thread finishes its last batch before stopping
+        bus.shutdown();
+        assertTrue(subscription.isCancelled());
+        assertEquals(2 * EVENTS, subscription.getProcessed());
+        assertNull(bus.getTopic("readings", Reading.class));
+
+    }
+
+
+    @Test
+    public void testBlockingWaitStrategy() throws InterruptedException {
+        publishFromTwoThreads(new BlockingWaitStrategy());
+    }
+
+
+    @Test
+    public void testYieldingWaitStrategy() throws InterruptedException {
+        publishFromTwoThreads(new YieldingWaitStrategy());
+    }
+
+
+    @Test
+    public void testBusySpinWaitStrategy() throws InterruptedException {
+        publishFromTwoThreads(new BusySpinWaitStrategy());
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTopicsAreTyped() {
+        EventBus bus = new EventBus();
+        bus.createTopic("readings", Reading.class, READINGS);
+        bus.getTopic("readings", String.class);
+    }
+
+}
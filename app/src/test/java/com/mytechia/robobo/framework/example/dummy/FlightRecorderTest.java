@@ -0,0 +1,190 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.example.dummy;
+
+import com.mytechia.robobo.framework.recorder.FlightRecord;
+import com.mytechia.robobo.framework.recorder.FlightRecordReader;
+import com.mytechia.robobo.framework.recorder.FlightRecordType;
+import com.mytechia.robobo.framework.recorder.FlightRecorder;
+import com.mytechia.robobo.framework.recorder.IFlightRecordHandler;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Gervasio Varela
+ */
+public class FlightRecorderTest {
+
+    private File file;
+
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("robobo", ".rec");
+        assertTrue(file.delete());
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+        new File(file.getPath() + FlightRecorder.PREVIOUS_SUFFIX).delete();
+    }
+
+
+    @Test
+    public void testRecordsFromSeveralThreadsAreRead() throws Exception {
+
+        final FlightRecorder recorder = FlightRecorder.open(file, 10000);
+        final int behaviour = recorder.symbol("com.example.Behaviour");
+        int event = recorder.symbol("event");
+        assertEquals(behaviour, recorder.symbol("com.example.Behaviour"));
+
+        Thread[] threads = new Thread[2];
+        for (int t = 0; t < threads.length; t++) {
+            final int thread = t;
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 1000; i++) {
+                        recorder.record(FlightRecordType.BEHAVIOUR_STEP, behaviour, thread, i);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        recorder.recordModuleEvent(event, 1, 0);
+        recorder.setModuleEventsEnabled(true);
+        recorder.recordModuleEvent(event, 2, 0);
+
+        //not flushed, as if the application crashed
+        FlightRecordReader reader = FlightRecordReader.open(file);
+        List<FlightRecord> records = reader.readAll();
+
+        assertEquals(2001, records.size());
+        assertEquals("com.example.Behaviour", reader.getSymbols().get(behaviour));
+
+        long[] next = new long[threads.length];
+        for (FlightRecord record : records.subList(0, 2000)) {
+            assertEquals(FlightRecordType.BEHAVIOUR_STEP, record.getType());
+            assertEquals("com.example.Behaviour", record.getSymbolName());
+            assertEquals(next[(int) record.getValue1()]++, record.getValue2());
+        }
+
+        FlightRecord moduleEvent = records.get(2000);
+        assertEquals(FlightRecordType.MODULE_EVENT, moduleEvent.getType());
+        assertEquals("event", moduleEvent.getSymbolName());
+        assertEquals(2, moduleEvent.getValue1());
+
+        recorder.close();
+        recorder.record(FlightRecordType.BEHAVIOUR_STEP, behaviour, 0, 0);
+        assertEquals(2001, FlightRecordReader.open(file).readAll().size());
+
+        //a new recording keeps the previous one
+        FlightRecorder.open(file, 10).close();
+        assertEquals(0, FlightRecordReader.open(file).readAll().size());
+        assertEquals(2001, FlightRecordReader.open(new File(file.getPath() + FlightRecorder.PREVIOUS_SUFFIX)).readAll().size());
+
+    }
+
+
+    @Test
+    public void testReadingStartsFromTheIndex() throws Exception {
+
+        FlightRecorder recorder = FlightRecorder.open(file, 2000);
+        int step = recorder.symbol("step");
+
+        for (int i = 0; i < 2100; i++) {
+            recorder.record(FlightRecordType.BEHAVIOUR_STEP, step, i, 0);
+            if (i % 100 == 0) {
+                Thread.sleep(1);
+            }
+        }
+        recorder.flush();
+
+        FlightRecordReader reader = FlightRecordReader.open(file);
+        assertEquals(2000, reader.getRecordCount());
+        assertEquals(102, reader.getDroppedRecords());
+
+        List<FlightRecord> all = reader.readAll();
+        //the symbol uses two records
+        assertEquals(1998, all.size());
+
+        long from = all.get(1500).getTimeNanos();
+        final List<FlightRecord> tail = new ArrayList<>();
+        reader.read(from, new IFlightRecordHandler() {
+            @Override
+            public void onRecord(FlightRecord record) {
+                tail.add(record);
+            }
+        });
+
+        List<FlightRecord> expected = new ArrayList<>();
+        for (FlightRecord record : all) {
+            if (record.getTimeNanos() >= from) {
+                expected.add(record);
+            }
+        }
+        assertEquals(expected.size(), tail.size());
+        assertEquals(expected.get(0).getValue1(), tail.get(0).getValue1());
+
+    }
+
+
+    @Test
+    public void testRecordingDoesNotAllocate() throws Exception {
+
+        FlightRecorder recorder = FlightRecorder.open(file, 100000);
+        int step = recorder.symbol("step");
+
+        //warm up
+        for (int i = 0; i < 20000; i++) {
+            recorder.record(FlightRecordType.BEHAVIOUR_STEP, step, i, 0);
+        }
+
+        BehaviourSchedulerTest.JvmAllocationCounter allocations = new BehaviourSchedulerTest.JvmAllocationCounter();
+        long start = allocations.allocatedBytes();
+        for (int i = 0; i < 50000; i++) {
+            recorder.record(FlightRecordType.BEHAVIOUR_STEP, step, i, 0);
+        }
+        long allocated = allocations.allocatedBytes() - start;
+
+        assertEquals(0, allocated);
+        recorder.close();
+
+    }
+
+}
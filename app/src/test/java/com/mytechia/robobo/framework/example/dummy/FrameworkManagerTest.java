@@ -23,10 +23,26 @@
 package com.mytechia.robobo.framework.example.dummy;
 
 import com.mytechia.commons.framework.exception.InternalErrorException;
+import com.mytechia.robobo.framework.IModule;
+import com.mytechia.robobo.framework.IModuleIndex;
+import com.mytechia.robobo.framework.IStartupProgressListener;
+import com.mytechia.robobo.framework.ListenerDispatchMode;
+import com.mytechia.robobo.framework.ModuleDescriptor;
 import com.mytechia.robobo.framework.RoboboManager;
+import com.mytechia.robobo.framework.RoboboManagerListenerAdapter;
+import com.mytechia.robobo.framework.RoboboManagerState;
+import com.mytechia.robobo.framework.StartupProgress;
 import com.mytechia.robobo.framework.exception.ModuleNotFoundException;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.junit.After;
@@ -123,7 +139,189 @@ public class FrameworkManagerTest {
 
     }
 
+
+    @Test
+    public void testAmbiguousLookupReturnsFirstModule() throws InternalErrorException {
+
+        Properties modules = new Properties();
+        modules.put("robobo.module.0", "com.mytechia.robobo.framework.example.dummy.DummyTestModule2");
+        modules.put("robobo.module.1", "com.mytechia.robobo.framework.example.dummy.DummyTestModule1");
+
+        RoboboManager frameworkManager = RoboboManager.instantiate(modules, null, null);
+
+        frameworkManager.startup();
+
+        //both modules implement IModule, the first one started is returned
+        assertSame(frameworkManager.getModuleInstance(DummyTestModule2.class),
+                frameworkManager.getModuleInstance(IModule.class));
+
+        frameworkManager.shutdown();
+
+    }
+
+
+    @Test
+    public void testModuleIndex() throws InternalErrorException {
+
+        final Set<String> describedModules = new HashSet<>();
+
+        //the index knows modules that can not be found by name (i.e. obfuscated classes)
+        IModuleIndex index = new IModuleIndex() {
+            @Override
+            public IModule newModule(String moduleClassName) {
+                return "indexed.Module".equals(moduleClassName) ? new DummyTestModule1() : null;
+            }
+
+            @Override
+            public ModuleDescriptor getDescriptor(String moduleClassName) {
+                describedModules.add(moduleClassName);
+                return null;
+            }
+        };
+
+        Properties modules = new Properties();
+        modules.put("robobo.module.0", "indexed.Module");
+        modules.put("robobo.module.7", "com.mytechia.robobo.framework.example.dummy.DummyTestModule2");
+        modules.put("robobo.module.7.option", "not a module");
+
+        RoboboManager frameworkManager = RoboboManager.instantiate(modules, null, null, index);
+
+        frameworkManager.startup();
+
+        assertNotNull(frameworkManager.getModuleInstance(DummyTestModule1.class));
+        assertNotNull(frameworkManager.getModuleInstance(DummyTestModule2.class));
+
+        //modules are always described by the name used in the configuration
+        assertEquals(new HashSet<>(Arrays.asList("indexed.Module", DummyTestModule2.class.getName())), describedModules);
+
+        frameworkManager.shutdown();
+
+    }
+
     
     
     
+
+    @Test
+    public void testStartupAsync() throws Exception {
+
+        Properties modules = new Properties();
+        modules.put("robobo.module.0", "com.mytechia.robobo.framework.example.dummy.DummyTestModule1");
+        modules.put("robobo.module.1", "com.mytechia.robobo.framework.example.dummy.DummyTestModule2");
+
+        RoboboManager frameworkManager = RoboboManager.instantiate(modules, null, null);
+
+        final List<StartupProgress> progress = new CopyOnWriteArrayList<>();
+        frameworkManager.addStartupProgressListener(new IStartupProgressListener() {
+            @Override
+            public void startupProgress(StartupProgress startupProgress) {
+                progress.add(startupProgress);
+            }
+        });
+
+        Future<RoboboManagerState> startup = frameworkManager.startupAsync();
+
+        assertTrue(frameworkManager.awaitState(RoboboManagerState.RUNNING, 10, TimeUnit.SECONDS));
+        assertEquals(RoboboManagerState.RUNNING, startup.get());
+
+        assertEquals(2, progress.size());
+        assertEquals(1, progress.get(0).getStartedModules());
+        assertTrue(progress.get(1).isComplete());
+        assertEquals(2, progress.get(1).getTotalModules());
+
+        frameworkManager.shutdown();
+
+        assertEquals(RoboboManagerState.STOPPED, frameworkManager.state());
+        assertFalse(frameworkManager.awaitState(RoboboManagerState.RUNNING, 10, TimeUnit.SECONDS));
+
+    }
+
+
+
+    @Test
+    public void testShutdownAsyncDoesNotWaitForTheStartup() throws Exception {
+
+        Properties modules = new Properties();
+        modules.put("robobo.module.0", SlowStartupModule.class.getName());
+
+        RoboboManager frameworkManager = RoboboManager.instantiate(modules, null, null);
+
+        SlowStartupModule.release = new CountDownLatch(1);
+        SlowStartupModule.starting = new CountDownLatch(1);
+
+        Future<RoboboManagerState> startup = frameworkManager.startupAsync();
+        assertTrue(SlowStartupModule.starting.await(5, TimeUnit.SECONDS));
+
+        //the caller (i.e. the main thread) returns while the startup holds the manager
+        Future<RoboboManagerState> shutdown = frameworkManager.shutdownAsync();
+        assertFalse(shutdown.isDone());
+
+        SlowStartupModule.release.countDown();
+
+        //the shutdown waits for the startup in its own thread
+        startup.get(5, TimeUnit.SECONDS);
+        assertEquals(RoboboManagerState.STOPPED, shutdown.get(5, TimeUnit.SECONDS));
+        assertNull(frameworkManager.exception());
+
+    }
+
+
+
+    @Test
+    public void testAsynchronousListenersReceiveTheErrorEvents() throws Exception {
+
+        Properties modules = new Properties();
+        modules.put("robobo.module.0", "com.mytechia.robobo.framework.example.dummy.DummyTestModule1");
+        modules.put("robobo.module.1", "com.mytechia.robobo.framework.example.dummy.MissingModule");
+
+        RoboboManager frameworkManager = RoboboManager.instantiate(modules, null, null);
+
+        final List<RoboboManagerState> states = new CopyOnWriteArrayList<>();
+        final CountDownLatch errorNotified = new CountDownLatch(1);
+        frameworkManager.addFrameworkListener(new RoboboManagerListenerAdapter() {
+            @Override
+            public void frameworkStateChanged(RoboboManagerState state) {
+                states.add(state);
+            }
+
+            @Override
+            public void frameworkError(Throwable ex) {
+                errorNotified.countDown();
+            }
+        }, ListenerDispatchMode.FRAMEWORK_EXECUTOR);
+
+        try {
+            frameworkManager.startup();
+            fail("The missing module was not reported");
+        } catch (InternalErrorException ex) {
+            //expected
+        }
+
+        //the listener thread is stopped after delivering the ERROR events
+        assertTrue(errorNotified.await(5, TimeUnit.SECONDS));
+        assertEquals(RoboboManagerState.ERROR, states.get(states.size() - 1));
+        assertEquals(RoboboManagerState.ERROR, frameworkManager.state());
+
+    }
+
+
+
+    public static class SlowStartupModule extends DummyTestModule1 {
+
+        static CountDownLatch starting;
+        static CountDownLatch release;
+
+        @Override
+        public void startup(RoboboManager manager) throws InternalErrorException {
+            starting.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new InternalErrorException(e);
+            }
+            super.startup(manager);
+        }
+
+    }
+
 }
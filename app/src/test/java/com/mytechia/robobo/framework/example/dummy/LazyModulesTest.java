@@ -0,0 +1,365 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.example.dummy;
+
+import com.mytechia.commons.framework.exception.InternalErrorException;
+import com.mytechia.robobo.framework.IModule;
+import com.mytechia.robobo.framework.RoboboManager;
+import com.mytechia.robobo.framework.RoboboModule;
+import com.mytechia.robobo.framework.exception.ModuleNotFoundException;
+
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Gervasio Varela
+ */
+public class LazyModulesTest {
+
+
+    static final AtomicInteger startups = new AtomicInteger();
+    static final AtomicInteger shutdowns = new AtomicInteger();
+    static CountDownLatch slowStarting;
+    static CountDownLatch slowRelease;
+
+
+    @Before
+    public void setUp() {
+        startups.set(0);
+        shutdowns.set(0);
+    }
+
+
+    @Test
+    public void testLazyModuleStartedOnlyOnce() throws Exception {
+
+        Properties modules = new Properties();
+        modules.put("robobo.module.0", "com.mytechia.robobo.framework.example.dummy.DummyTestModule1");
+        modules.put("robobo.module.1", LazyTestModule.class.getName());
+
+        final RoboboManager manager = RoboboManager.instantiate(modules, null, null);
+
+        manager.startup();
+
+        assertEquals(0, startups.get());
+        assertEquals(1, manager.getAllModules().size());
+
+        final CountDownLatch go = new CountDownLatch(1);
+        Thread[] threads = new Thread[8];
+        final IModule[] instances = new IModule[threads.length];
+
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        go.await();
+                        instances[index] = manager.getModuleInstance(ILazyTestModule.class);
+                    } catch (Exception e) {
+                        //the instance stays null
+                    }
+                }
+            });
+            threads[i].start();
+        }
+
+        go.countDown();
+
+        for (int i = 0; i < threads.length; i++) {
+            threads[i].join();
+            assertNotNull(instances[i]);
+            assertSame(instances[0], instances[i]);
+        }
+
+        assertEquals(1, startups.get());
+        assertEquals(2, manager.getAllModules().size());
+
+        manager.shutdown();
+
+        assertEquals(1, shutdowns.get());
+
+    }
+
+
+    @Test
+    public void testEagerModuleStartsItsLazyDependencies() throws Exception {
+
+        Properties modules = new Properties();
+        modules.put("robobo.module.0", "com.mytechia.robobo.framework.example.dummy.DummyTestModule1");
+        modules.put("robobo.module.1", LazyTestModule.class.getName());
+        modules.put("robobo.module.2", EagerTestModule.class.getName());
+
+        RoboboManager manager = RoboboManager.instantiate(modules, null, null);
+
+        manager.startup();
+
+        //the lazy module was started before the module that depends on it
+        assertEquals(2, startups.get());
+        assertNotNull(manager.getModuleInstance(EagerTestModule.class).lazyModule);
+
+        manager.shutdown();
+
+        assertEquals(2, shutdowns.get());
+
+    }
+
+
+    @Test
+    public void testFailedLazyModuleIsNotStopped() throws Exception {
+
+        Properties modules = new Properties();
+        modules.put("robobo.module.0", FailingLazyTestModule.class.getName());
+
+        RoboboManager manager = RoboboManager.instantiate(modules, null, null);
+
+        manager.startup();
+
+        try {
+            manager.getModuleInstance(FailingLazyTestModule.class);
+            fail("The lazy module must fail to start");
+        } catch (ModuleNotFoundException ex) {
+            //expected
+        }
+
+        assertEquals(1, startups.get());
+        assertEquals(0, shutdowns.get());
+        assertTrue(manager.getAllModules().isEmpty());
+
+        manager.shutdown();
+
+        assertEquals(0, shutdowns.get());
+
+    }
+
+
+    @Test(timeout = 10000)
+    public void testRunningLazyModuleDoesNotWaitForOtherStartups() throws Exception {
+
+        Properties modules = new Properties();
+        modules.put("robobo.module.0", "com.mytechia.robobo.framework.example.dummy.DummyTestModule1");
+        modules.put("robobo.module.1", LazyTestModule.class.getName());
+        modules.put("robobo.module.2", SlowLazyTestModule.class.getName());
+
+        final RoboboManager manager = RoboboManager.instantiate(modules, null, null);
+
+        manager.startup();
+
+        ILazyTestModule running = manager.getModuleInstance(ILazyTestModule.class);
+
+        slowStarting = new CountDownLatch(1);
+        slowRelease = new CountDownLatch(1);
+
+        Thread slowRequest = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    manager.getModuleInstance(SlowLazyTestModule.class);
+                } catch (ModuleNotFoundException e) {
+                    //checked by the number of startups
+                }
+            }
+        });
+        slowRequest.start();
+
+        assertTrue(slowStarting.await(5, TimeUnit.SECONDS));
+
+        //the running module is returned while the other lazy module is starting
+        assertSame(running, manager.getModuleInstance(ILazyTestModule.class));
+
+        slowRelease.countDown();
+        slowRequest.join();
+
+        assertEquals(2, startups.get());
+
+        manager.shutdown();
+
+        assertEquals(2, shutdowns.get());
+
+    }
+
+
+    @Test
+    public void testCircularLazyModulesFromDifferentThreads() throws Exception {
+
+        Properties modules = new Properties();
+        modules.put("robobo.module.0", CircularLazyModuleA.class.getName());
+        modules.put("robobo.module.1", CircularLazyModuleB.class.getName());
+
+        final RoboboManager manager = RoboboManager.instantiate(modules, null, null);
+
+        manager.startup();
+
+        final CountDownLatch go = new CountDownLatch(1);
+        final AtomicInteger failures = new AtomicInteger();
+        Class<?>[] requested = {CircularLazyModuleA.class, CircularLazyModuleB.class};
+        Thread[] threads = new Thread[requested.length];
+
+        for (int i = 0; i < threads.length; i++) {
+            final Class<?> moduleClass = requested[i];
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        go.await();
+                        manager.getModuleInstance(moduleClass);
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                    }
+                }
+            });
+            threads[i].start();
+        }
+
+        go.countDown();
+
+        //the cycle is detected instead of blocking each thread in the startup of the other module
+        for (Thread thread : threads) {
+            thread.join(5000);
+            assertFalse(thread.isAlive());
+        }
+        assertEquals(2, failures.get());
+        assertEquals(0, startups.get());
+
+        manager.shutdown();
+
+    }
+
+
+
+    public interface ILazyTestModule extends IModule {
+    }
+
+
+    @RoboboModule(lazy = true, dependencies = {DummyTestModule1.class})
+    public static class LazyTestModule implements ILazyTestModule {
+
+        @Override
+        public void startup(RoboboManager manager) throws InternalErrorException {
+            manager.getModuleInstance(DummyTestModule1.class);
+            startups.incrementAndGet();
+        }
+
+        @Override
+        public void shutdown() throws InternalErrorException {
+            shutdowns.incrementAndGet();
+        }
+
+        @Override
+        public String getModuleInfo() {
+            return "Lazy Test Module";
+        }
+
+        @Override
+        public String getModuleVersion() {
+            return "0.1";
+        }
+
+    }
+
+
+    static abstract class CountingModule implements IModule {
+
+        @Override
+        public void startup(RoboboManager manager) throws InternalErrorException {
+            startups.incrementAndGet();
+        }
+
+        @Override
+        public void shutdown() throws InternalErrorException {
+            shutdowns.incrementAndGet();
+        }
+
+        @Override
+        public String getModuleInfo() {
+            return getClass().getSimpleName();
+        }
+
+        @Override
+        public String getModuleVersion() {
+            return "0.1";
+        }
+
+    }
+
+
+    @RoboboModule(sequential = true, dependencies = {ILazyTestModule.class})
+    public static class EagerTestModule extends CountingModule {
+
+        ILazyTestModule lazyModule;
+
+        @Override
+        public void startup(RoboboManager manager) throws InternalErrorException {
+            this.lazyModule = manager.getModuleInstance(ILazyTestModule.class);
+            super.startup(manager);
+        }
+
+    }
+
+
+    @RoboboModule(lazy = true)
+    public static class FailingLazyTestModule extends CountingModule {
+
+        @Override
+        public void startup(RoboboManager manager) throws InternalErrorException {
+            super.startup(manager);
+            throw new InternalErrorException("Startup failed");
+        }
+
+    }
+
+
+    @RoboboModule(lazy = true)
+    public static class SlowLazyTestModule extends CountingModule {
+
+        @Override
+        public void startup(RoboboManager manager) throws InternalErrorException {
+            slowStarting.countDown();
+            try {
+                slowRelease.await();
+            } catch (InterruptedException e) {
+                throw new InternalErrorException(e);
+            }
+            super.startup(manager);
+        }
+
+    }
+
+
+    @RoboboModule(lazy = true, dependencies = {CircularLazyModuleB.class})
+    public static class CircularLazyModuleA extends CountingModule {
+    }
+
+
+    @RoboboModule(lazy = true, dependencies = {CircularLazyModuleA.class})
+    public static class CircularLazyModuleB extends CountingModule {
+    }
+
+}
@@ -0,0 +1,202 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.example.dummy;
+
+import com.mytechia.robobo.framework.concurrent.ListenerRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Gervasio Varela
+ */
+public class ListenerRegistryTest {
+
+
+    private static final ListenerRegistry.Notification<Runnable> RUN = new ListenerRegistry.Notification<Runnable>() {
+        @Override
+        public void notifyListener(Runnable listener) {
+            listener.run();
+        }
+    };
+
+
+    @Test
+    public void testListenersAreIsolated() {
+
+        final ListenerRegistry<Runnable> registry = new ListenerRegistry<>("test");
+        final List<String> calls = new ArrayList<>();
+
+        final Runnable last = new Runnable() {
+            @Override
+            public void run() {
+                calls.add("last");
+            }
+        };
+
+        registry.add(new Runnable() {
+            @Override
+            public void run() {
+                calls.add("failing");
+                throw new IllegalStateException("listener error");
+            }
+        });
+        registry.add(new Runnable() {
+            @Override
+            public void run() {
+                calls.add("removing");
+                //removed during the notification, it still receives this one
+                registry.remove(last);
+            }
+        });
+        registry.add(last);
+
+        assertEquals(1, registry.dispatch(RUN));
+        assertEquals("[failing, removing, last]", calls.toString());
+
+        calls.clear();
+        registry.dispatch(RUN);
+        assertEquals("[failing, removing]", calls.toString());
+
+        List<ListenerRegistry.ListenerTiming<Runnable>> timings = registry.getTimings();
+        assertEquals(2, timings.size());
+        assertEquals(2, timings.get(0).getDeliveries());
+        assertEquals(2, timings.get(0).getFailures());
+        assertEquals(0, timings.get(1).getFailures());
+
+    }
+
+
+
+    /** Executor that runs the tasks when the test decides */
+    static class ManualExecutor implements Executor {
+
+        final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+        }
+
+    }
+
+
+    private static ListenerRegistry.Notification<List<String>> event(final String name, boolean progress) {
+        return progress ? progress(name, "module") : event(name);
+    }
+
+
+    private static ListenerRegistry.Notification<List<String>> progress(final String name, final String kind) {
+        return new ListenerRegistry.ProgressNotification<List<String>>() {
+            @Override
+            public void notifyListener(List<String> listener) {
+                listener.add(name);
+            }
+
+            @Override
+            public Object getMergeKey() {
+                return kind;
+            }
+        };
+    }
+
+
+    private static ListenerRegistry.Notification<List<String>> event(final String name) {
+        return new ListenerRegistry.Notification<List<String>>() {
+            @Override
+            public void notifyListener(List<String> listener) {
+                listener.add(name);
+            }
+        };
+    }
+
+
+    @Test
+    public void testAsynchronousListenersMergeProgress() {
+
+        ListenerRegistry<List<String>> registry = new ListenerRegistry<>("test");
+        ManualExecutor executor = new ManualExecutor();
+
+        List<String> merging = new ArrayList<>();
+        List<String> dropping = new ArrayList<>();
+        registry.add(merging, executor, 2, ListenerRegistry.OverflowPolicy.MERGE);
+        registry.add(dropping, executor, 2, ListenerRegistry.OverflowPolicy.DROP_OLDEST);
+
+        registry.dispatch(event("starting", false));
+        for (int i = 1; i <= 4; i++) {
+            registry.dispatch(event("module" + i, true));
+        }
+        registry.dispatch(event("running", false));
+
+        //nothing delivered until the executor runs
+        assertTrue(merging.isEmpty());
+        assertEquals(2, executor.tasks.size());
+
+        executor.runAll();
+
+        //only the latest progress is kept, state changes are never dropped
+        assertEquals("[starting, module4, running]", merging.toString());
+        assertEquals("[starting, module4, running]", dropping.toString());
+
+        assertEquals(3, registry.getTimings().get(0).getMerged());
+        assertEquals(3, registry.getTimings().get(1).getDropped());
+
+    }
+
+
+
+    @Test
+    public void testOnlyProgressOfTheSameKindIsMerged() {
+
+        ListenerRegistry<List<String>> registry = new ListenerRegistry<>("test");
+        ManualExecutor executor = new ManualExecutor();
+
+        List<String> merging = new ArrayList<>();
+        registry.add(merging, executor, 2, ListenerRegistry.OverflowPolicy.MERGE);
+
+        registry.dispatch(progress("battery1", "battery"));
+        registry.dispatch(progress("startup1", "startup"));
+        registry.dispatch(progress("battery2", "battery"));
+        registry.dispatch(progress("wifi1", "wifi"));
+        registry.dispatch(progress("startup2", "startup"));
+
+        executor.runAll();
+
+        //the latest progress of each kind, in the order of the latest notifications
+        assertEquals("[battery2, wifi1, startup2]", merging.toString());
+        assertEquals(2, registry.getTimings().get(0).getMerged());
+
+    }
+
+}
@@ -0,0 +1,385 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.example.dummy;
+
+import com.mytechia.commons.framework.exception.InternalErrorException;
+import com.mytechia.robobo.framework.IModule;
+import com.mytechia.robobo.framework.RoboboManager;
+import com.mytechia.robobo.framework.RoboboManagerState;
+import com.mytechia.robobo.framework.RoboboModule;
+import com.mytechia.robobo.framework.profiling.LifecycleTimeline;
+import com.mytechia.robobo.framework.profiling.TimelineEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Gervasio Varela
+ */
+public class ModuleDependenciesTest {
+
+
+    static final List<String> started = Collections.synchronizedList(new ArrayList<String>());
+    static final List<String> stopped = Collections.synchronizedList(new ArrayList<String>());
+    static final Map<String, Thread> shutdownThreads = new ConcurrentHashMap<>();
+    static CountDownLatch concurrentStart;
+    static CountDownLatch stuckShutdown;
+    static CountDownLatch stuckStopped;
+
+
+    @Before
+    public void setUp() {
+        started.clear();
+        stopped.clear();
+        shutdownThreads.clear();
+        concurrentStart = new CountDownLatch(2);
+        stuckShutdown = new CountDownLatch(1);
+        stuckStopped = new CountDownLatch(1);
+    }
+
+
+    private static Properties modules(Class<?>... classes) {
+        Properties modules = new Properties();
+        for (int i = 0; i < classes.length; i++) {
+            modules.put("robobo.module." + i, classes[i].getName());
+        }
+        return modules;
+    }
+
+
+    @Test
+    public void testIndependentModulesStartConcurrently() throws InternalErrorException {
+
+        RoboboManager manager = RoboboManager.instantiate(
+                modules(ConcurrentModuleA.class, ConcurrentModuleB.class, DependentModule.class), null, null);
+
+        manager.startup();
+
+        //both concurrent modules waited for each other, so they were started at the same time
+        assertEquals(3, started.size());
+        assertEquals("dependent", started.get(2));
+
+        manager.shutdown();
+
+        //reverse dependency order
+        assertEquals("dependent", stopped.get(0));
+
+    }
+
+
+    @Test
+    public void testClassicModulesKeepDeclarationOrder() throws InternalErrorException {
+
+        RoboboManager manager = RoboboManager.instantiate(
+                modules(DependentModule.class, DummyTestModule1.class, ConcurrentModuleA.class, ConcurrentModuleB.class), null, null);
+
+        manager.startup();
+
+        //DummyTestModule1 is sequential and waits for the modules declared before it
+        assertNotNull(manager.getModuleInstance(DummyTestModule1.class));
+        assertEquals(3, started.size());
+
+        manager.shutdown();
+
+    }
+
+
+    @Test
+    public void testClassicModulesShutdownInTheCallingThread() throws InternalErrorException {
+
+        RoboboManager manager = RoboboManager.instantiate(
+                modules(ClassicModule.class, ConcurrentModuleA.class, ConcurrentModuleB.class), null, null);
+
+        manager.startup();
+        manager.shutdown();
+
+        assertSame(Thread.currentThread(), shutdownThreads.get("classic"));
+        assertNotSame(Thread.currentThread(), shutdownThreads.get("a"));
+        assertNotSame(Thread.currentThread(), shutdownThreads.get("b"));
+        assertEquals(3, stopped.size());
+
+    }
+
+
+    @Test
+    public void testStartupTimeline() throws InternalErrorException {
+
+        RoboboManager manager = RoboboManager.instantiate(
+                modules(ConcurrentModuleA.class, ConcurrentModuleB.class, DependentModule.class), null, null);
+
+        manager.startup();
+        manager.shutdown();
+
+        LifecycleTimeline timeline = manager.getLifecycleTimeline();
+
+        assertEquals(3, timeline.getEvents(TimelineEvent.Category.STARTUP).size());
+        assertEquals(3, timeline.getEvents(TimelineEvent.Category.SHUTDOWN).size());
+        assertEquals(2, timeline.getEvents(TimelineEvent.Category.FRAMEWORK).size());
+
+        List<TimelineEvent> criticalPath = timeline.getCriticalPath();
+        assertEquals(2, criticalPath.size());
+        assertEquals(DependentModule.class.getName(), criticalPath.get(1).getName());
+
+        String trace = timeline.toChromeTrace();
+        assertTrue(trace.startsWith("{\"displayTimeUnit\":\"ms\",\"traceEvents\":["));
+        assertTrue(trace.contains("\"ph\":\"X\""));
+
+    }
+
+
+    @Test
+    public void testStuckModuleDoesNotBlockShutdown() throws InternalErrorException, InterruptedException {
+
+        RoboboManager manager = RoboboManager.instantiate(
+                modules(StuckModule.class, ConcurrentModuleA.class, ConcurrentModuleB.class), null, null);
+
+        manager.startup();
+
+        manager.shutdown();
+        stuckShutdown.countDown();
+
+        assertEquals(1, manager.getShutdownOverruns().size());
+        assertTrue(manager.getShutdownOverruns().get(0) instanceof StuckModule);
+        assertTrue(stopped.contains("a"));
+        assertTrue(stopped.contains("b"));
+
+        //the stuck module finishes its shutdown in background, before the next test starts
+        assertTrue(stuckStopped.await(5, TimeUnit.SECONDS));
+        assertEquals("stuck", stopped.get(stopped.size() - 1));
+
+    }
+
+
+    @Test
+    public void testStuckModuleDoesNotBlockItsDependencies() throws InternalErrorException, InterruptedException {
+
+        RoboboManager manager = RoboboManager.instantiate(
+                modules(BaseModule.class, StuckDependentModule.class), null, null);
+
+        manager.startup();
+
+        manager.shutdown();
+
+        //the dependency is stopped in the next wave, while the stuck module is still running
+        assertEquals(1, manager.getShutdownOverruns().size());
+        assertTrue(manager.getShutdownOverruns().get(0) instanceof StuckDependentModule);
+        assertEquals(Collections.singletonList("base"), new ArrayList<>(stopped));
+
+        stuckShutdown.countDown();
+        assertTrue(stuckStopped.await(5, TimeUnit.SECONDS));
+
+    }
+
+
+    @Test(timeout = 10000)
+    public void testModuleErrorDuringConcurrentStartup() throws InternalErrorException {
+
+        RoboboManager manager = RoboboManager.instantiate(
+                modules(ConcurrentModuleA.class, FailingModule.class), null, null);
+
+        //the failing module reports the error from a startup thread while startup() waits for it
+        try {
+            manager.startup();
+            fail("The error of the module was not reported");
+        } catch (InternalErrorException ex) {
+            assertEquals("Module failure", ex.getMessage());
+        }
+
+        assertEquals(RoboboManagerState.ERROR, manager.state());
+        assertEquals("Module failure", manager.exception().getMessage());
+        assertTrue(stopped.contains("a"));
+        assertTrue(stopped.contains("failing"));
+
+    }
+
+
+    @Test(expected = InternalErrorException.class)
+    public void testCircularDependencies() throws InternalErrorException {
+
+        RoboboManager manager = RoboboManager.instantiate(
+                modules(CircularModuleA.class, CircularModuleB.class), null, null);
+
+        manager.startup();
+
+    }
+
+
+
+    static abstract class RecordingModule implements IModule {
+
+        private final String name;
+
+        RecordingModule(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void startup(RoboboManager manager) throws InternalErrorException {
+            started.add(name);
+        }
+
+        @Override
+        public void shutdown() throws InternalErrorException {
+            shutdownThreads.put(name, Thread.currentThread());
+            stopped.add(name);
+        }
+
+        @Override
+        public String getModuleInfo() {
+            return name;
+        }
+
+        @Override
+        public String getModuleVersion() {
+            return "0.1";
+        }
+
+    }
+
+
+    static abstract class ConcurrentModule extends RecordingModule {
+
+        ConcurrentModule(String name) {
+            super(name);
+        }
+
+        @Override
+        public void startup(RoboboManager manager) throws InternalErrorException {
+            concurrentStart.countDown();
+            try {
+                if (!concurrentStart.await(5, TimeUnit.SECONDS)) {
+                    throw new InternalErrorException("Modules were not started concurrently");
+                }
+            } catch (InterruptedException e) {
+                throw new InternalErrorException(e);
+            }
+            super.startup(manager);
+        }
+
+    }
+
+
+    @RoboboModule
+    public static class ConcurrentModuleA extends ConcurrentModule {
+        public ConcurrentModuleA() {
+            super("a");
+        }
+    }
+
+
+    @RoboboModule
+    public static class ConcurrentModuleB extends ConcurrentModule {
+        public ConcurrentModuleB() {
+            super("b");
+        }
+    }
+
+
+    @RoboboModule
+    public static class FailingModule extends ConcurrentModule {
+        public FailingModule() {
+            super("failing");
+        }
+
+        @Override
+        public void startup(RoboboManager manager) throws InternalErrorException {
+            super.startup(manager);
+            manager.notifyModuleError(new InternalErrorException("Module failure"));
+        }
+    }
+
+
+    public static class ClassicModule extends RecordingModule {
+        public ClassicModule() {
+            super("classic");
+        }
+    }
+
+
+    @RoboboModule(dependencies = {ConcurrentModule.class})
+    public static class DependentModule extends RecordingModule {
+        public DependentModule() {
+            super("dependent");
+        }
+    }
+
+
+    @RoboboModule
+    public static class StuckModule extends RecordingModule {
+        public StuckModule() {
+            super("stuck");
+        }
+
+        @Override
+        public void shutdown() throws InternalErrorException {
+            try {
+                stuckShutdown.await();
+            } catch (InterruptedException e) {
+                throw new InternalErrorException(e);
+            }
+            super.shutdown();
+            stuckStopped.countDown();
+        }
+    }
+
+
+    @RoboboModule
+    public static class BaseModule extends RecordingModule {
+        public BaseModule() {
+            super("base");
+        }
+    }
+
+
+    @RoboboModule(dependencies = {BaseModule.class})
+    public static class StuckDependentModule extends StuckModule {
+    }
+
+
+    @RoboboModule(dependencies = {CircularModuleB.class})
+    public static class CircularModuleA extends RecordingModule {
+        public CircularModuleA() {
+            super("circularA");
+        }
+    }
+
+
+    @RoboboModule(dependencies = {CircularModuleA.class})
+    public static class CircularModuleB extends RecordingModule {
+        public CircularModuleB() {
+            super("circularB");
+        }
+    }
+
+}
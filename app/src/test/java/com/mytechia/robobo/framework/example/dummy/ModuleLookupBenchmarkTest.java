@@ -0,0 +1,127 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.example.dummy;
+
+import com.mytechia.commons.di.container.IDIContainer;
+import com.mytechia.commons.di.container.PicoContainerWrapper;
+import com.mytechia.commons.framework.exception.InternalErrorException;
+import com.mytechia.robobo.framework.IModule;
+import com.mytechia.robobo.framework.RoboboManager;
+
+import java.util.Properties;
+
+import org.junit.Assume;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/** Compares the module lookup of the RoboboManager with a lookup through the DI container,
+ * which was the path used by getModuleInstance() before.
+ *
+ * It is skipped by default because the times depend on the machine, run it on demand with the
+ * system property robobo.benchmark set to true (./gradlew test -Drobobo.benchmark=true) to check
+ * that the lookup of the RoboboManager is not slower than the one of the DI container.
+ *
+ * @author Gervasio Varela
+ */
+public class ModuleLookupBenchmarkTest {
+
+
+    private static final int WARMUP_ITERATIONS = 200000;
+    private static final int ITERATIONS = 2000000;
+
+    public static final String BENCHMARK_PROPERTY = "robobo.benchmark";
+
+
+    @Test
+    public void benchmarkModuleLookup() throws InternalErrorException {
+
+        Assume.assumeTrue("Benchmark, run it with -D" + BENCHMARK_PROPERTY + "=true", Boolean.getBoolean(BENCHMARK_PROPERTY));
+
+        Properties modules = new Properties();
+        modules.put("robobo.module.0", "com.mytechia.robobo.framework.example.dummy.DummyTestModule1");
+        modules.put("robobo.module.1", "com.mytechia.robobo.framework.example.dummy.DummyTestModule2");
+
+        RoboboManager manager = RoboboManager.instantiate(modules, null, null);
+        manager.startup();
+
+        IDIContainer container = new PicoContainerWrapper();
+        container.registerSingleton(DummyTestModule1.class, manager.getModuleInstance(DummyTestModule1.class));
+        container.registerSingleton(DummyTestModule2.class, manager.getModuleInstance(DummyTestModule2.class));
+
+        //by concrete class and by interface (implemented by both modules, the first one is returned)
+        benchmarkLookup(manager, container, DummyTestModule2.class);
+        benchmarkLookup(manager, container, IModule.class);
+
+        manager.shutdown();
+
+    }
+
+
+    private static <T extends IModule> void benchmarkLookup(RoboboManager manager, IDIContainer container, Class<T> moduleClass)
+            throws InternalErrorException {
+
+        assertSame(container.getInstance(moduleClass), manager.getModuleInstance(moduleClass));
+
+        lookupManager(manager, moduleClass, WARMUP_ITERATIONS);
+        lookupContainer(container, moduleClass, WARMUP_ITERATIONS);
+
+        long managerNanos = lookupManager(manager, moduleClass, ITERATIONS);
+        long containerNanos = lookupContainer(container, moduleClass, ITERATIONS);
+
+        assertTrue(String.format("getModuleInstance(%s): RoboboManager %.1f ns/op, DI container %.1f ns/op",
+                moduleClass.getSimpleName(), managerNanos / (double) ITERATIONS, containerNanos / (double) ITERATIONS),
+                managerNanos <= containerNanos);
+
+    }
+
+
+    private static <T extends IModule> long lookupManager(RoboboManager manager, Class<T> moduleClass, int iterations) throws InternalErrorException {
+
+        T last = null;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            last = manager.getModuleInstance(moduleClass);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertNotNull(last);
+        return elapsed;
+
+    }
+
+
+    private static <T extends IModule> long lookupContainer(IDIContainer container, Class<T> moduleClass, int iterations) {
+
+        T last = null;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            last = container.getInstance(moduleClass);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertNotNull(last);
+        return elapsed;
+
+    }
+
+}
@@ -0,0 +1,170 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+package com.mytechia.robobo.framework.example.dummy;
+
+import com.mytechia.commons.framework.exception.InternalErrorException;
+import com.mytechia.robobo.framework.behaviour.APipelinedBehaviourModule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Gervasio Varela
+ */
+public class PipelinedBehaviourTest {
+
+
+    /** Senses the numbers 1, 2, 3..., plans their doubles and acts recording them */
+    static class DoublingBehaviour extends APipelinedBehaviourModule<Integer, Integer> {
+
+        final List<Integer> acted = Collections.synchronizedList(new ArrayList<Integer>());
+        final CountDownLatch actedAll;
+        final int samples;
+        int sensed = 0;
+        boolean stopped = false;
+
+        DoublingBehaviour(int samples) {
+            super(samples);
+            this.samples = samples;
+            this.actedAll = new CountDownLatch(samples);
+        }
+
+        @Override
+        protected void startPipelinedBehaviour() throws InternalErrorException {
+            setPeriod(20);
+        }
+
+        @Override
+        protected void stopPipelinedBehaviour() throws InternalErrorException {
+            stopped = true;
+        }
+
+        @Override
+        protected Integer sense() {
+            return (sensed < samples) ? ++sensed : null;
+        }
+
+        @Override
+        protected Integer plan(Integer sample) {
+            return sample * 2;
+        }
+
+        @Override
+        protected void act(Integer plan) {
+            acted.add(plan);
+            actedAll.countDown();
+        }
+
+        @Override
+        public String getModuleInfo() {
+            return "doubling";
+        }
+
+        @Override
+        public String getModuleVersion() {
+            return "0.1";
+        }
+
+    }
+
+
+    /** Its act stage ignores the interruptions until it is released */
+    static class StuckBehaviour extends DoublingBehaviour {
+
+        final CountDownLatch release = new CountDownLatch(1);
+
+        StuckBehaviour() {
+            super(1);
+        }
+
+        @Override
+        protected void act(Integer plan) {
+            super.act(plan);
+            boolean waiting = true;
+            while (waiting) {
+                try {
+                    waiting = !release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    //ignored, the stage does not stop
+                }
+            }
+        }
+
+    }
+
+
+    @Test
+    public void testStagesProcessTheSamplesInOrder() throws InternalErrorException, InterruptedException {
+
+        BehaviourHostTest.VirtualHost host = new BehaviourHostTest.VirtualHost();
+        DoublingBehaviour behaviour = new DoublingBehaviour(3);
+
+        behaviour.startup(host);
+        host.clock.runFor(100);
+
+        assertTrue(behaviour.actedAll.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(2, 4, 6), behaviour.acted);
+
+        behaviour.shutdown();
+
+        assertTrue(behaviour.stopped);
+        assertEquals(3, behaviour.getSensed());
+        assertEquals(3, behaviour.getPlanned());
+        assertEquals(3, behaviour.getActed());
+        assertEquals(0, behaviour.getStageErrors());
+
+    }
+
+
+    @Test
+    public void testStuckStageIsReported() throws InterruptedException {
+
+        BehaviourHostTest.VirtualHost host = new BehaviourHostTest.VirtualHost();
+        StuckBehaviour behaviour = new StuckBehaviour();
+
+        try {
+            behaviour.startup(host);
+            host.clock.runFor(100);
+            assertTrue(behaviour.actedAll.await(5, TimeUnit.SECONDS));
+
+            behaviour.shutdown();
+            fail("The stuck stage was not reported");
+        } catch (InternalErrorException ex) {
+            assertTrue(ex.getMessage().contains("robobo-pipeline-StuckBehaviour-act"));
+            //the resources are released and the behaviour unscheduled anyway
+            assertTrue(behaviour.stopped);
+            assertTrue(host.listeners.isEmpty());
+        } finally {
+            behaviour.release.countDown();
+        }
+
+    }
+
+}
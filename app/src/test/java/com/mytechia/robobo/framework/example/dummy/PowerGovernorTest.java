@@ -0,0 +1,105 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.example.dummy;
+
+import com.mytechia.robobo.framework.behaviour.PeriodRange;
+import com.mytechia.robobo.framework.power.LoadPowerGovernor;
+import com.mytechia.robobo.framework.power.LoadSample;
+import com.mytechia.robobo.framework.power.PowerMode;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Gervasio Varela
+ */
+public class PowerGovernorTest {
+
+
+    private static final LoadSample SATURATED = new LoadSample(1000, 100, 50, 0.2, 0.3);
+    private static final LoadSample BAND = new LoadSample(1000, 100, 7, 0.2, 0.3);
+    private static final LoadSample IDLE = new LoadSample(1000, 100, 0, 0.1, 0.3);
+
+
+    @Test
+    public void testGovernorAppliesHysteresis() {
+
+        LoadPowerGovernor governor = new LoadPowerGovernor();
+        PowerMode mode = PowerMode.NORMAL;
+
+        mode = governor.selectMode(mode, SATURATED);
+        assertEquals(PowerMode.NORMAL, mode);
+        mode = governor.selectMode(mode, SATURATED);
+        assertEquals(PowerMode.REDUCED, mode);
+
+        //inside the hysteresis band the mode does not change
+        for (int i = 0; i < 10; i++) {
+            mode = governor.selectMode(mode, BAND);
+        }
+        assertEquals(PowerMode.REDUCED, mode);
+
+        for (int i = 0; i < 4; i++) {
+            mode = governor.selectMode(mode, SATURATED);
+        }
+        assertEquals(PowerMode.LOWPOWER, mode);
+        //LOWPOWER is the most restrictive mode by default
+        assertEquals(PowerMode.LOWPOWER, governor.selectMode(mode, SATURATED));
+
+        for (int i = 0; i < LoadPowerGovernor.DEFAULT_RELAX_SAMPLES; i++) {
+            mode = governor.selectMode(mode, IDLE);
+        }
+        assertEquals(PowerMode.REDUCED, mode);
+
+    }
+
+
+
+    @Test
+    public void testPeriodRangeScalesWithPowerMode() {
+
+        PeriodRange range = new PeriodRange(50, 200);
+
+        assertEquals(50, range.periodFor(PowerMode.NORMAL, 1.0));
+        assertEquals(100, range.periodFor(PowerMode.REDUCED, 1.0));
+        assertEquals(150, range.periodFor(PowerMode.LOWPOWER, 1.0));
+        assertEquals(200, range.periodFor(PowerMode.MINIMAL, 1.0));
+
+        //overruns stretch the period, never beyond the maximum
+        assertEquals(75, range.periodFor(PowerMode.NORMAL, 1.5));
+        assertEquals(200, range.periodFor(PowerMode.LOWPOWER, 2.0));
+
+    }
+
+
+    @Test
+    public void testAllRestrictiveModesAreReduced() {
+
+        assertFalse(PowerMode.NORMAL.isReduced());
+        assertTrue(PowerMode.REDUCED.isReduced());
+        assertTrue(PowerMode.LOWPOWER.isReduced());
+        assertTrue(PowerMode.MINIMAL.isReduced());
+
+    }
+
+}
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.example.dummy;
+
+import com.mytechia.robobo.framework.power.IPowerModeListener;
+import com.mytechia.robobo.framework.power.PowerMode;
+import com.mytechia.robobo.framework.power.PowerModeDispatcher;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Gervasio Varela
+ */
+public class PowerModeDispatcherTest {
+
+
+    @Test
+    public void testChangesAreOrderedAndCoalesced() throws Exception {
+
+        final CountDownLatch firstDelivery = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<PowerMode> received = new CopyOnWriteArrayList<>();
+
+        PowerModeDispatcher dispatcher = new PowerModeDispatcher(PowerMode.NORMAL);
+
+        dispatcher.addListener(new IPowerModeListener() {
+            @Override
+            public void onPowerModeChange(PowerMode newMode) {
+                received.add(newMode);
+                firstDelivery.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        dispatcher.addListener(new IPowerModeListener() {
+            @Override
+            public void onPowerModeChange(PowerMode newMode) {
+                throw new IllegalStateException("listener errors do not stop the delivery");
+            }
+        });
+
+        assertTrue(dispatcher.changeMode(PowerMode.LOWPOWER));
+        assertTrue(firstDelivery.await(5, TimeUnit.SECONDS));
+
+        //requested while LOWPOWER is being delivered, only the last one is delivered next
+        for (int i = 0; i < 10; i++) {
+            dispatcher.changeMode(PowerMode.NORMAL);
+            dispatcher.changeMode(PowerMode.LOWPOWER);
+        }
+        assertFalse(dispatcher.changeMode(PowerMode.LOWPOWER));
+        dispatcher.changeMode(PowerMode.NORMAL);
+
+        release.countDown();
+
+        assertTrue(dispatcher.awaitAcknowledged(PowerMode.NORMAL, 5, TimeUnit.SECONDS));
+
+        assertEquals(2, received.size());
+        assertEquals(PowerMode.LOWPOWER, received.get(0));
+        assertEquals(PowerMode.NORMAL, received.get(1));
+
+        assertEquals(2, dispatcher.getListenerLatencies().get(0).getDeliveries());
+        assertEquals(2, dispatcher.getListenerLatencies().get(1).getFailures());
+
+    }
+
+}
@@ -0,0 +1,151 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.example.dummy;
+
+import com.mytechia.commons.framework.exception.InternalErrorException;
+import com.mytechia.robobo.framework.IModule;
+import com.mytechia.robobo.framework.ModuleDescriptor;
+import com.mytechia.robobo.framework.RoboboManager;
+import com.mytechia.robobo.framework.RoboboManagerState;
+import com.mytechia.robobo.framework.RoboboModule;
+
+import java.util.Properties;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Gervasio Varela
+ */
+public class WarmRestartTest {
+
+
+    private static Properties modules(String... moduleClasses) {
+        Properties modules = new Properties();
+        for (int i = 0; i < moduleClasses.length; i++) {
+            modules.put("robobo.module." + i, moduleClasses[i]);
+        }
+        return modules;
+    }
+
+
+    @Test
+    public void testWarmRestartReusesModules() throws Exception {
+
+        Properties modules = modules(DummyTestModule1.class.getName(), DummyTestModule2.class.getName());
+
+        RoboboManager manager = RoboboManager.instantiate(modules, null, null);
+        manager.startup();
+
+        IModule module1 = manager.getModuleInstance(DummyTestModule1.class);
+        IModule module2 = manager.getModuleInstance(DummyTestModule2.class);
+
+        manager.warmRestart(modules, null);
+
+        assertEquals(RoboboManagerState.RUNNING, manager.state());
+        assertSame(module1, manager.getModuleInstance(DummyTestModule1.class));
+        assertSame(module2, manager.getModuleInstance(DummyTestModule2.class));
+
+        //a failed module is restarted, the rest are kept
+        manager.notifyModuleError(module2, new Exception("test error"));
+        manager.warmRestart(modules, null);
+
+        assertSame(module1, manager.getModuleInstance(DummyTestModule1.class));
+        assertNotSame(module2, manager.getModuleInstance(DummyTestModule2.class));
+        assertEquals(2, manager.getAllModules().size());
+
+        //modules removed from the configuration are shutdown
+        manager.warmRestart(modules(DummyTestModule1.class.getName()), null);
+
+        assertSame(module1, manager.getModuleInstance(DummyTestModule1.class));
+        assertEquals(1, manager.getAllModules().size());
+
+        manager.shutdown();
+
+    }
+
+
+    @Test
+    public void testWarmRestartAsync() throws Exception {
+
+        Properties modules = modules(DummyTestModule1.class.getName(), DummyTestModule2.class.getName());
+
+        RoboboManager manager = RoboboManager.instantiate(modules, null, null);
+        manager.startup();
+
+        IModule module1 = manager.getModuleInstance(DummyTestModule1.class);
+
+        Future<RoboboManagerState> restart = manager.warmRestartAsync(modules(DummyTestModule1.class.getName()), null);
+
+        assertEquals(RoboboManagerState.RUNNING, restart.get(10, TimeUnit.SECONDS));
+        assertSame(module1, manager.getModuleInstance(DummyTestModule1.class));
+        assertEquals(1, manager.getAllModules().size());
+
+        manager.shutdown();
+
+    }
+
+
+    @Test
+    public void testModulesOnlyReadTheirOptions() {
+
+        ModuleDescriptor camera = ModuleDescriptor.fromAnnotation(CameraModule.class);
+        assertTrue(camera.usesOption("robobo.camera.resolution"));
+        assertTrue(camera.usesOption("robobo.fps"));
+        assertFalse(camera.usesOption("robobo.fps.max"));
+        assertFalse(camera.usesOption("robobo.sound.volume"));
+
+        //by default modules read all the options
+        ModuleDescriptor classic = ModuleDescriptor.fromAnnotation(DummyTestModule1.class);
+        assertTrue(classic.usesOption("robobo.sound.volume"));
+
+    }
+
+
+    @RoboboModule(options = {"robobo.camera.*", "robobo.fps"})
+    public static class CameraModule implements IModule {
+
+        @Override
+        public void startup(RoboboManager manager) throws InternalErrorException {
+        }
+
+        @Override
+        public void shutdown() throws InternalErrorException {
+        }
+
+        @Override
+        public String getModuleInfo() {
+            return "Camera Module";
+        }
+
+        @Override
+        public String getModuleVersion() {
+            return "0.1";
+        }
+
+    }
+
+}
@@ -0,0 +1,12 @@
+# Rules applied to the applications that use the Robobo Framework
+
+# The RoboboModule annotation is read at runtime for the modules that are not in a module index
+-keepattributes *Annotation*
+-keep @interface com.mytechia.robobo.framework.RoboboModule
+
+# The module indexes generated by robobo-framework-processor are loaded as services,
+# they reference the modules so the modules they create are kept without extra rules.
+# Applications without module index must add the rules of proguard-reflection-modules.pro
+-keep class * implements com.mytechia.robobo.framework.IModuleIndex {
+    public <init>();
+}
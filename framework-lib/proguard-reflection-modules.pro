@@ -0,0 +1,15 @@
+# Rules for the applications that use the Robobo Framework without a module index.
+#
+# Without the index generated by robobo-framework-processor the modules declared by class name
+# in modules.properties are created by reflection, so they must be kept explicitly.
+# Add this file to the proguardFiles of the application, keeping all the modules:
+
+-keep class * implements com.mytechia.robobo.framework.IModule {
+    public <init>();
+}
+
+# or, better, only the modules the application declares, for example:
+#
+# -keep class com.example.robot.MyModule {
+#     public <init>();
+# }
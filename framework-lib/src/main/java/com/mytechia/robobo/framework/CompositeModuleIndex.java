@@ -0,0 +1,72 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework;
+
+import java.util.List;
+
+/** Module index that combines the indexes generated for the application and its libraries.
+ *
+ * Each index is queried in order, the first one that contains a module is used.
+ *
+ * @author Gervasio Varela
+ */
+class CompositeModuleIndex implements IModuleIndex {
+
+    private final IModuleIndex[] indexes;
+
+
+    CompositeModuleIndex(List<IModuleIndex> indexes) {
+        this.indexes = indexes.toArray(new IModuleIndex[indexes.size()]);
+    }
+
+
+    @Override
+    public IModule newModule(String moduleClassName) {
+
+        for (IModuleIndex index : this.indexes) {
+            IModule module = index.newModule(moduleClassName);
+            if (module != null) {
+                return module;
+            }
+        }
+
+        return null;
+
+    }
+
+
+    @Override
+    public ModuleDescriptor getDescriptor(String moduleClassName) {
+
+        for (IModuleIndex index : this.indexes) {
+            ModuleDescriptor descriptor = index.getDescriptor(moduleClassName);
+            if (descriptor != null) {
+                return descriptor;
+            }
+        }
+
+        return null;
+
+    }
+
+}
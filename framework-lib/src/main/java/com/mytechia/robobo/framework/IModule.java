@@ -38,7 +38,9 @@ import com.mytechia.commons.framework.exception.InternalErrorException;
  * The modules receives an instance of the RoboboManager during startup. It
  * can be used to obtain instances of other modules that are requiered by
  * this module to operate. Modules are started in order, so that a module must be 
- * started after their dependencies.
+ * started after their dependencies. Modules annotated with {@link RoboboModule} declare
+ * their dependencies explicitly and can be started concurrently with other modules,
+ * in a thread different from the one that started the framework.
  *
  * @author Gervasio Varela
  */
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework;
+
+/** An index of the modules available in the application.
+ *
+ * The Robobo framework annotation processor (robobo-framework-processor) generates an
+ * implementation of this interface with all the modules annotated with RoboboModule,
+ * so the RoboboManager can instantiate them directly instead of looking up their
+ * classes by name and creating them using reflection.
+ *
+ * @author Gervasio Varela
+ */
+public interface IModuleIndex {
+
+    /** Creates a new instance of a module
+     *
+     * @param moduleClassName the binary name of the class of the module
+     * @return a new instance of the module, or null if the module is not in the index
+     */
+    IModule newModule(String moduleClassName);
+
+    /** Returns the descriptor of a module
+     *
+     * @param moduleClassName the binary name of the class of the module
+     * @return the descriptor of the module, or null if the module is not in the index
+     */
+    ModuleDescriptor getDescriptor(String moduleClassName);
+
+}
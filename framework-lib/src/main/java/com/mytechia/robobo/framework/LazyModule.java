@@ -0,0 +1,279 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework;
+
+import android.os.SystemClock;
+
+import com.mytechia.robobo.framework.exception.ModuleNotFoundException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/** Holder of a lazy module, a module that is only started the first time it is requested.
+ *
+ * The module is started only once even when it is requested concurrently from different
+ * threads. If the module has an idle timeout, it is shutdown when it has not been requested
+ * for that time, and a new instance is started the next time it is requested.
+ *
+ * Requests of a running module do not lock, they only read the instance and mark it as used.
+ * The startups and shutdowns of each lazy module are serialized by its own lock, and the
+ * module is never stopped between being returned and being marked as used. The startups run
+ * without holding any lock, so lazy modules that depend on each other can not deadlock when
+ * they are requested from different threads: circular dependencies are always detected.
+ *
+ * @author Gervasio Varela
+ */
+class LazyModule {
+
+
+    /** Operations used to create, start and stop the instances of the lazy module */
+    interface Lifecycle {
+
+        IModule create(String moduleClassName) throws Exception;
+
+        /** Starts an instance of the module, when it fails the instance is discarded without stopping it */
+        void start(LazyModule lazyModule, IModule module) throws Exception;
+
+        void stop(IModule module);
+
+    }
+
+
+    /** Lazy module each thread is waiting to be started by another thread (guarded by itself) */
+    private static final Map<Thread, LazyModule> WAITING_THREADS = new HashMap<>();
+
+
+    final String moduleClassName;
+    final ModuleDescriptor descriptor;
+    private final Lifecycle lifecycle;
+
+    /** The running instance of the module, null while the module is dormant */
+    private volatile IModule module = null;
+    /** Last request of the module, SystemClock.elapsedRealtime() */
+    private volatile long lastAccess = 0;
+    /** Thread that is starting the module, null if it is not being started (written while holding this) */
+    private volatile Thread startingThread = null;
+
+
+    LazyModule(String moduleClassName, ModuleDescriptor descriptor, Lifecycle lifecycle) {
+        this.moduleClassName = moduleClassName;
+        this.descriptor = descriptor;
+        this.lifecycle = lifecycle;
+    }
+
+
+    /** Returns whether this lazy module can be used as an instance of a class
+     *
+     * @param moduleClass the class requested
+     * @return whether this lazy module can be used as an instance of the class requested
+     */
+    boolean provides(Class<?> moduleClass) {
+        return moduleClass.isAssignableFrom(descriptor.getModuleClass());
+    }
+
+
+    /** Returns the running instance of the module, starting it if it was dormant
+     *
+     * @return the running instance of the module
+     * @throws ModuleNotFoundException if the module could not be started
+     */
+    IModule get() throws ModuleNotFoundException {
+
+        //marked as used before reading the instance, see stopIfIdle()
+        this.lastAccess = SystemClock.elapsedRealtime();
+
+        IModule running = this.module;
+
+        if (running == null) {
+            running = start();
+            this.lastAccess = SystemClock.elapsedRealtime();
+        }
+
+        return running;
+
+    }
+
+
+    private IModule start() throws ModuleNotFoundException {
+
+        Thread current = Thread.currentThread();
+
+        synchronized (this) {
+
+            while (this.module == null) {
+
+                if (this.startingThread == null) {
+                    this.startingThread = current;
+                    break;
+                }
+
+                awaitStartup(current);
+
+            }
+
+            if (this.startingThread != current) {
+                return this.module;
+            }
+
+        }
+
+        try {
+
+            IModule newModule = lifecycle.create(moduleClassName);
+            lifecycle.start(this, newModule);
+
+            this.module = newModule;
+
+            return newModule;
+
+        } catch (Exception ex) {
+            throw new ModuleNotFoundException(moduleClassName, ex);
+        } finally {
+            synchronized (this) {
+                this.startingThread = null;
+                this.notifyAll();
+            }
+        }
+
+    }
+
+
+    /** Waits for the startup of the module by another thread, called while holding this
+     *
+     * @param current the current thread
+     * @throws ModuleNotFoundException if the module is being started by a thread that waits
+     * for the current one, or the current thread is interrupted
+     */
+    private void awaitStartup(Thread current) throws ModuleNotFoundException {
+
+        synchronized (WAITING_THREADS) {
+
+            //follows the chain of startups the starting thread is waiting for
+            Thread waited = this.startingThread;
+            while (waited != null) {
+                if (waited == current) {
+                    throw new ModuleNotFoundException(moduleClassName + " (circular dependency between lazy modules)");
+                }
+                LazyModule waitedModule = WAITING_THREADS.get(waited);
+                waited = (waitedModule == null) ? null : waitedModule.startingThread;
+            }
+
+            WAITING_THREADS.put(current, this);
+
+        }
+
+        try {
+            this.wait();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ModuleNotFoundException(moduleClassName, ex);
+        } finally {
+            synchronized (WAITING_THREADS) {
+                WAITING_THREADS.remove(current);
+            }
+        }
+
+    }
+
+
+    /** Returns whether the module is running
+     *
+     * @return whether the module is running
+     */
+    boolean isRunning() {
+        return this.module != null;
+    }
+
+
+    /** Returns the running instance of the module, without starting it
+     *
+     * @return the running instance of the module, or null if it is dormant
+     */
+    IModule getRunningModule() {
+        return this.module;
+    }
+
+
+    /** Shutdowns the module if it has not been requested during its idle timeout
+     *
+     * @param now current time, SystemClock.elapsedRealtime()
+     * @return true if the module was shutdown
+     */
+    boolean stopIfIdle(long now) {
+
+        long idleTimeout = descriptor.getIdleTimeout();
+
+        if (idleTimeout <= 0) {
+            return false;
+        }
+
+        synchronized (this) {
+
+            long lastUse = this.lastAccess;
+            IModule idle = this.module;
+
+            if ((idle == null) || (now - lastUse < idleTimeout)) {
+                return false;
+            }
+
+            this.module = null;
+
+            //a request that read the instance before it was cleared has already marked it as used
+            if (this.lastAccess != lastUse) {
+                this.module = idle;
+                return false;
+            }
+
+            lifecycle.stop(idle);
+
+            return true;
+
+        }
+
+    }
+
+
+    /** Forgets the running instance of the module, which is shutdown by the framework.
+     * It waits for a startup in progress in other thread. */
+    void reset() {
+
+        Thread current = Thread.currentThread();
+
+        synchronized (this) {
+
+            while ((this.startingThread != null) && (this.startingThread != current)) {
+                try {
+                    this.wait();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+
+            this.module = null;
+
+        }
+
+    }
+
+}
@@ -0,0 +1,38 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework;
+
+/** How the events of the framework are delivered to a listener
+ *
+ * @author Gervasio Varela
+ */
+public enum ListenerDispatchMode {
+
+    /** In the thread that produces the event, the framework waits for the listener.
+     * The events of modules started concurrently can be delivered concurrently */
+    SYNCHRONOUS,
+
+    /** Queued and delivered in order by a thread of the framework, the framework does not wait for the listener */
+    FRAMEWORK_EXECUTOR
+
+}
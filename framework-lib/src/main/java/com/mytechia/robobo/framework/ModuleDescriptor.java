@@ -0,0 +1,178 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework;
+
+/** Describes how a module must be started by the RoboboManager.
+ *
+ * Descriptors are obtained from the RoboboModule annotation of the modules, or from
+ * the module index generated at build time by the Robobo framework annotation processor.
+ *
+ * @author Gervasio Varela
+ */
+public final class ModuleDescriptor {
+
+    private static final Class<?>[] NO_DEPENDENCIES = new Class<?>[0];
+    private static final String[] ALL_OPTIONS = {RoboboModule.ALL_OPTIONS};
+
+    private final Class<? extends IModule> moduleClass;
+    private final Class<?>[] dependencies;
+    private final boolean sequential;
+    private final boolean lazy;
+    private final long idleTimeout;
+    private final String[] options;
+
+
+    /** Creates a new module descriptor
+     *
+     * @param moduleClass the class of the module
+     * @param dependencies the modules (interfaces or classes) that must be started before the module
+     * @param sequential whether the module must be started like a classic module
+     */
+    public ModuleDescriptor(Class<? extends IModule> moduleClass, Class<?>[] dependencies, boolean sequential) {
+        this(moduleClass, dependencies, sequential, false, 0);
+    }
+
+
+    /** Creates a new module descriptor
+     *
+     * @param moduleClass the class of the module
+     * @param dependencies the modules (interfaces or classes) that must be started before the module
+     * @param sequential whether the module must be started like a classic module
+     * @param lazy whether the module is only started when it is requested for the first time
+     * @param idleTimeout time (ms) without requests after which a lazy module is shutdown, 0 to keep it running
+     */
+    public ModuleDescriptor(Class<? extends IModule> moduleClass, Class<?>[] dependencies, boolean sequential,
+                            boolean lazy, long idleTimeout) {
+        this(moduleClass, dependencies, sequential, lazy, idleTimeout, ALL_OPTIONS);
+    }
+
+
+    /** Creates a new module descriptor
+     *
+     * @param moduleClass the class of the module
+     * @param dependencies the modules (interfaces or classes) that must be started before the module
+     * @param sequential whether the module must be started like a classic module
+     * @param lazy whether the module is only started when it is requested for the first time
+     * @param idleTimeout time (ms) without requests after which a lazy module is shutdown, 0 to keep it running
+     * @param options the framework options read by the module (see {@link RoboboModule#options()})
+     */
+    public ModuleDescriptor(Class<? extends IModule> moduleClass, Class<?>[] dependencies, boolean sequential,
+                            boolean lazy, long idleTimeout, String[] options) {
+        this.moduleClass = moduleClass;
+        this.dependencies = dependencies == null ? NO_DEPENDENCIES : dependencies;
+        this.sequential = sequential;
+        this.lazy = lazy;
+        this.idleTimeout = idleTimeout;
+        this.options = options == null ? ALL_OPTIONS : options;
+    }
+
+
+    /** Creates the descriptor of a module from its RoboboModule annotation
+     *
+     * @param moduleClass the class of the module
+     * @return the descriptor of the module, or null if the module is not annotated
+     */
+    public static ModuleDescriptor fromAnnotation(Class<? extends IModule> moduleClass) {
+
+        RoboboModule annotation = moduleClass.getAnnotation(RoboboModule.class);
+
+        if (annotation == null) {
+            return null;
+        }
+
+        return new ModuleDescriptor(moduleClass, annotation.dependencies(), annotation.sequential(),
+                annotation.lazy(), annotation.idleTimeout(), annotation.options());
+
+    }
+
+
+    public Class<? extends IModule> getModuleClass() {
+        return moduleClass;
+    }
+
+
+    /** Returns the modules (interfaces or classes) that must be started before the module
+     *
+     * @return the dependencies of the module
+     */
+    public Class<?>[] getDependencies() {
+        return dependencies.clone();
+    }
+
+
+    /** Returns whether the module must be started in the thread that started the framework
+     * and after all the modules declared before it.
+     *
+     * @return whether the module must be started like a classic module
+     */
+    public boolean isSequential() {
+        return sequential;
+    }
+
+
+    /** Returns whether the module is only started when it is requested for the first time
+     *
+     * @return whether the module is lazy
+     */
+    public boolean isLazy() {
+        return lazy;
+    }
+
+
+    /** Returns the time (ms) without requests after which a lazy module is shutdown
+     *
+     * @return the idle timeout of the module, 0 if the module is never shutdown for being idle
+     */
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+
+    /** Returns the framework options read by the module
+     *
+     * @return the keys of the options read by the module, see {@link RoboboModule#options()}
+     */
+    public String[] getOptions() {
+        return options.clone();
+    }
+
+
+    /** Returns whether the module reads an option, so it must be restarted when the option changes
+     *
+     * @param key the key of the option
+     * @return whether the module reads the option
+     */
+    public boolean usesOption(String key) {
+
+        for (String option : options) {
+            if (option.endsWith(RoboboModule.ALL_OPTIONS) ?
+                    key.startsWith(option.substring(0, option.length() - 1)) : key.equals(option)) {
+                return true;
+            }
+        }
+
+        return false;
+
+    }
+
+}
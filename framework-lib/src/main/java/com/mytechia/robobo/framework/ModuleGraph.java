@@ -0,0 +1,361 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework;
+
+import com.mytechia.commons.framework.exception.InternalErrorException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/** Dependency graph (DAG) of the modules managed by the RoboboManager.
+ *
+ * Each module is a node of the graph. The dependencies of a node are obtained from the
+ * descriptor of the module (module index or RoboboModule annotation). Modules without that annotation depend
+ * on all the modules declared before them (as well as sequential modules), so they are started exactly as they were
+ * started when the framework loaded the modules one by one.
+ *
+ * @author Gervasio Varela
+ */
+class ModuleGraph {
+
+
+    private final List<Node> nodes;
+
+
+    private ModuleGraph(List<Node> nodes) {
+        this.nodes = nodes;
+    }
+
+
+    /** Builds the dependency graph of a list of modules
+     *
+     * @param modules the modules, in the order they were declared in the configuration
+     * @param classNames the class names of the modules in the configuration, in the same order
+     * @param index the module index used to obtain the descriptors of the modules, can be null
+     * @return the dependency graph of the modules
+     * @throws InternalErrorException if there is a circular dependency between the modules
+     */
+    static ModuleGraph build(List<IModule> modules, List<String> classNames, IModuleIndex index) throws InternalErrorException {
+
+        List<Node> nodes = new ArrayList<>(modules.size());
+
+        for (int i = 0; i < modules.size(); i++) {
+            IModule module = modules.get(i);
+            String className = classNames.get(i);
+            nodes.add(new Node(nodes.size(), module, className, module.getClass(),
+                    describe(className, module.getClass(), index)));
+        }
+
+        for (Node node : nodes) {
+
+            if ((node.descriptor == null) || node.descriptor.isSequential()) {
+                //classic module, it depends on every module declared before it
+                for (int i = 0; i < node.index; i++) {
+                    node.addDependency(nodes.get(i));
+                }
+            } else {
+                node.concurrent = true;
+            }
+
+            if (node.descriptor != null) {
+                for (Class<?> dependency : node.descriptor.getDependencies()) {
+                    resolveDependency(nodes, node, dependency);
+                }
+            }
+
+        }
+
+        ModuleGraph graph = new ModuleGraph(Collections.unmodifiableList(nodes));
+        graph.checkCycles();
+
+        return graph;
+
+    }
+
+
+    private static ModuleDescriptor describe(String className, Class<? extends IModule> moduleClass, IModuleIndex index) {
+
+        ModuleDescriptor descriptor = null;
+
+        //the index is looked up by the configured name, the runtime name may be obfuscated
+        if (index != null) {
+            descriptor = index.getDescriptor(className);
+        }
+
+        if (descriptor == null) {
+            descriptor = ModuleDescriptor.fromAnnotation(moduleClass);
+        }
+
+        return descriptor;
+
+    }
+
+
+    private static void resolveDependency(List<Node> nodes, Node node, Class<?> dependency) {
+
+        boolean found = false;
+
+        for (Node candidate : nodes) {
+            if ((candidate != node) && dependency.isAssignableFrom(candidate.moduleClass)) {
+                node.addDependency(candidate);
+                found = true;
+            }
+        }
+
+        if (!found) {
+            node.missingDependencies.add(dependency);
+        }
+
+    }
+
+
+    private void checkCycles() throws InternalErrorException {
+
+        int[] pending = new int[nodes.size()];
+        LinkedList<Node> ready = new LinkedList<>();
+
+        for (Node node : nodes) {
+            pending[node.index] = node.dependencies.size();
+            if (pending[node.index] == 0) {
+                ready.add(node);
+            }
+        }
+
+        int visited = 0;
+        while (!ready.isEmpty()) {
+            Node node = ready.poll();
+            visited++;
+            for (Node dependent : node.dependents) {
+                if (--pending[dependent.index] == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        if (visited < nodes.size()) {
+            StringBuilder cycle = new StringBuilder();
+            for (Node node : nodes) {
+                if (pending[node.index] > 0) {
+                    if (cycle.length() > 0) cycle.append(", ");
+                    cycle.append(node.moduleClass.getName());
+                }
+            }
+            throw new InternalErrorException("Circular dependency between modules: " + cycle);
+        }
+
+    }
+
+
+    /** Returns the nodes of the graph in the order they were declared
+     *
+     * @return the nodes of the graph in the order they were declared
+     */
+    List<Node> nodes() {
+        return this.nodes;
+    }
+
+
+    /** Visits all the nodes of the graph, each one after all its dependencies have been visited.
+     *
+     * Nodes of modules described as concurrent are visited concurrently using the executor,
+     * the rest of nodes are visited in the calling thread. When the visit of a node fails no
+     * more nodes are dispatched, the nodes already running are allowed to finish and then the
+     * first error is returned.
+     *
+     * @param executor the executor used to visit concurrent nodes, if null all the nodes are visited in the calling thread
+     * @param visitor the visitor of the nodes
+     * @return the first error thrown by the visitor, or null if all the nodes were visited successfully
+     */
+    Throwable visitInDependencyOrder(Executor executor, Visitor visitor) {
+
+        BlockingQueue<Visit> finished = new LinkedBlockingQueue<>();
+
+        int[] pending = new int[nodes.size()];
+        LinkedList<Node> ready = new LinkedList<>();
+
+        for (Node node : nodes) {
+            pending[node.index] = node.dependencies.size();
+            if (pending[node.index] == 0) {
+                ready.add(node);
+            }
+        }
+
+        Throwable failure = null;
+        boolean interrupted = false;
+        int running = 0;
+
+        while (true) {
+
+            if (failure == null) {
+
+                Node inline = null;
+
+                Iterator<Node> readyIterator = ready.iterator();
+                while (readyIterator.hasNext()) {
+                    Node node = readyIterator.next();
+                    if ((executor != null) && node.concurrent) {
+                        readyIterator.remove();
+                        visitor.dispatch(node);
+                        running++;
+                        executor.execute(new Visit(node, visitor, finished));
+                    } else if (inline == null) {
+                        readyIterator.remove();
+                        inline = node;
+                    }
+                }
+
+                if (inline != null) {
+                    visitor.dispatch(inline);
+                    running++;
+                    new Visit(inline, visitor, finished).run();
+                }
+
+            }
+
+            if (running == 0) {
+                break;
+            }
+
+            Visit visit;
+            try {
+                visit = finished.take();
+            } catch (InterruptedException ex) {
+                interrupted = true;
+                if (failure == null) {
+                    failure = ex;
+                }
+                continue;
+            }
+
+            running--;
+
+            if (visit.error != null) {
+                if (failure == null) {
+                    failure = visit.error;
+                }
+            } else {
+                for (Node dependent : visit.node.dependents) {
+                    if (--pending[dependent.index] == 0) {
+                        ready.add(dependent);
+                    }
+                }
+            }
+
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        return failure;
+
+    }
+
+
+    /** A module in the dependency graph */
+    static class Node {
+
+        final int index;
+        final IModule module;
+        /** name of the class of the module in the configuration */
+        final String className;
+        final Class<? extends IModule> moduleClass;
+        final ModuleDescriptor descriptor;
+
+        final List<Node> dependencies = new ArrayList<>(2);
+        final List<Node> dependents = new ArrayList<>(2);
+        final List<Class<?>> missingDependencies = new ArrayList<>(0);
+
+        /** whether the module can be started concurrently with other modules */
+        boolean concurrent = false;
+
+
+        Node(int index, IModule module, String className, Class<? extends IModule> moduleClass, ModuleDescriptor descriptor) {
+            this.index = index;
+            this.module = module;
+            this.className = className;
+            this.moduleClass = moduleClass;
+            this.descriptor = descriptor;
+        }
+
+        private void addDependency(Node dependency) {
+            if (!this.dependencies.contains(dependency)) {
+                this.dependencies.add(dependency);
+                dependency.dependents.add(this);
+            }
+        }
+
+    }
+
+
+    /** Action executed on each node of the graph */
+    interface Visitor {
+
+        /** Called in the coordinator thread right before the node is visited
+         *
+         * @param node the node that is going to be visited
+         */
+        void dispatch(Node node);
+
+        /** Visits the node, it can be called from a thread of the executor
+         *
+         * @param node the node visited
+         * @throws Exception if there was an error visiting the node
+         */
+        void visit(Node node) throws Exception;
+
+    }
+
+
+    private static class Visit implements Runnable {
+
+        private final Node node;
+        private final Visitor visitor;
+        private final BlockingQueue<Visit> finished;
+        private Throwable error;
+
+        Visit(Node node, Visitor visitor, BlockingQueue<Visit> finished) {
+            this.node = node;
+            this.visitor = visitor;
+            this.finished = finished;
+        }
+
+        @Override
+        public void run() {
+            try {
+                visitor.visit(node);
+            } catch (Throwable th) {
+                this.error = th;
+            }
+            finished.add(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,172 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Read-optimized registry of the running modules, used to resolve module instances by
+ * class or by any of their interfaces/superclasses.
+ *
+ * The registered modules are kept in an immutable snapshot that is replaced (copy on write)
+ * when a module is registered or removed. Each snapshot caches the resolution of each class
+ * requested, so after the first request lookups do not lock nor allocate memory.
+ * This is intended for modules and behaviours requesting other modules very frequently.
+ *
+ * @author Gervasio Varela
+ */
+class ModuleRegistry {
+
+
+    private static final Object NOT_FOUND = new Object();
+
+    private volatile Snapshot snapshot = new Snapshot(new Class<?>[0], new Object[0]);
+
+
+    /** Returns the module registered for a class, or the first module registered that is
+     * an instance of the class (ambiguous requests are resolved in registration order)
+     *
+     * @param moduleClass the class of the module requested
+     * @return the module, or null if there is no module of that class
+     */
+    <T> T get(Class<T> moduleClass) {
+
+        Snapshot current = this.snapshot;
+
+        Object module = current.resolved.get(moduleClass);
+
+        if (module == null) {
+            module = current.resolve(moduleClass);
+        }
+
+        return module == NOT_FOUND ? null : moduleClass.cast(module);
+
+    }
+
+
+    /** Registers a module
+     *
+     * @param moduleClass the class used to register the module
+     * @param module the module instance
+     */
+    synchronized void register(Class<?> moduleClass, Object module) {
+
+        Snapshot current = this.snapshot;
+
+        int length = current.classes.length;
+
+        Class<?>[] classes = Arrays.copyOf(current.classes, length + 1);
+        Object[] instances = Arrays.copyOf(current.instances, length + 1);
+        classes[length] = moduleClass;
+        instances[length] = module;
+
+        this.snapshot = new Snapshot(classes, instances);
+
+    }
+
+
+    /** Removes a module
+     *
+     * @param module the module instance to remove
+     */
+    synchronized void remove(Object module) {
+
+        Snapshot current = this.snapshot;
+
+        int length = current.instances.length;
+        Class<?>[] classes = new Class<?>[length];
+        Object[] instances = new Object[length];
+
+        int kept = 0;
+        for (int i = 0; i < length; i++) {
+            if (current.instances[i] != module) {
+                classes[kept] = current.classes[i];
+                instances[kept] = current.instances[i];
+                kept++;
+            }
+        }
+
+        if (kept < length) {
+            this.snapshot = new Snapshot(Arrays.copyOf(classes, kept), Arrays.copyOf(instances, kept));
+        }
+
+    }
+
+
+    /** Removes all the modules */
+    synchronized void clear() {
+        this.snapshot = new Snapshot(new Class<?>[0], new Object[0]);
+    }
+
+
+    /** Immutable set of registered modules with a cache of resolved classes */
+    private static final class Snapshot {
+
+        private final Class<?>[] classes;
+        private final Object[] instances;
+        private final Map<Class<?>, Object> registered;
+
+        /** Resolution cache of this snapshot, including negative results (NOT_FOUND) */
+        private final ConcurrentHashMap<Class<?>, Object> resolved = new ConcurrentHashMap<>(16, 0.75f, 2);
+
+
+        Snapshot(Class<?>[] classes, Object[] instances) {
+            this.classes = classes;
+            this.instances = instances;
+            this.registered = new HashMap<>(classes.length * 2);
+            for (int i = 0; i < classes.length; i++) {
+                if (!registered.containsKey(classes[i])) {
+                    registered.put(classes[i], instances[i]);
+                }
+            }
+        }
+
+
+        Object resolve(Class<?> moduleClass) {
+
+            Object module = registered.get(moduleClass);
+
+            if (module == null) {
+                for (Object instance : instances) {
+                    if (moduleClass.isInstance(instance)) {
+                        module = instance;
+                        break;
+                    }
+                }
+            }
+
+            if (module == null) {
+                module = NOT_FOUND;
+            }
+
+            Object previous = resolved.putIfAbsent(moduleClass, module);
+
+            return previous == null ? module : previous;
+
+        }
+
+    }
+
+}
@@ -0,0 +1,263 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework;
+
+import com.mytechia.robobo.framework.concurrent.FrameworkThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/** Shutdowns the running modules in reverse dependency waves.
+ *
+ * The first wave contains the modules no other running module depends on, the second one
+ * the modules only the first wave depends on, and so on. The concurrent modules of a wave are
+ * shutdown concurrently, and the next wave starts when all the modules of the current one have
+ * finished or when they exceed the per-module deadline. When the global deadline is exceeded
+ * the rest of the waves are dispatched without waiting for them.
+ *
+ * As in the startup, classic and sequential modules are shutdown one at a time in the calling
+ * thread, so they are not bounded by the deadlines.
+ *
+ * Concurrent modules that exceed their deadline are reported as overruns, but they are not
+ * interrupted, they continue their shutdown in a daemon thread. Each concurrent shutdown runs
+ * in a thread of its own, so a module that never finishes does not delay the modules of the
+ * next waves.
+ *
+ * @author Gervasio Varela
+ */
+class ModuleShutdown {
+
+
+    /** Shutdowns a single module */
+    interface Action {
+
+        void shutdown(IModule module);
+
+        void overran(IModule module, long startNanos, TimeoutException timeout);
+
+    }
+
+
+    private final long moduleTimeoutNanos;
+    private final long globalTimeoutNanos;
+
+
+    /** Creates a new module shutdown
+     *
+     * @param moduleTimeout maximum time (ms) to wait for the shutdown of each module
+     * @param globalTimeout maximum time (ms) to wait for the shutdown of all the modules
+     */
+    ModuleShutdown(long moduleTimeout, long globalTimeout) {
+        this.moduleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(moduleTimeout);
+        this.globalTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(globalTimeout);
+    }
+
+
+    /** Groups the running modules in reverse dependency waves
+     *
+     * @param running the running modules, in startup order
+     * @param graph the dependency graph of the modules started with the framework, can be null
+     * @return the shutdown waves, in the order they must be executed
+     */
+    static List<List<IModule>> waves(List<IModule> running, ModuleGraph graph) {
+
+        Map<IModule, ModuleGraph.Node> nodes = new IdentityHashMap<>();
+        if (graph != null) {
+            for (ModuleGraph.Node node : graph.nodes()) {
+                nodes.put(node.module, node);
+            }
+        }
+
+        int count = running.size();
+        int[] wave = new int[count];
+        int waveCount = 0;
+
+        //modules are started after their dependencies, so dependents are always later in the list
+        for (int i = count - 1; i >= 0; i--) {
+
+            ModuleGraph.Node node = nodes.get(running.get(i));
+
+            for (int j = i + 1; j < count; j++) {
+                ModuleGraph.Node laterNode = nodes.get(running.get(j));
+                if (dependsOn(laterNode, node) && (wave[j] + 1 > wave[i])) {
+                    wave[i] = wave[j] + 1;
+                }
+            }
+
+            waveCount = Math.max(waveCount, wave[i] + 1);
+
+        }
+
+        List<List<IModule>> waves = new ArrayList<>(waveCount);
+        for (int w = 0; w < waveCount; w++) {
+            waves.add(new ArrayList<IModule>());
+        }
+
+        for (int i = count - 1; i >= 0; i--) {
+            waves.get(wave[i]).add(running.get(i));
+        }
+
+        return waves;
+
+    }
+
+
+    /** Selects the modules that can be shutdown concurrently, the ones started concurrently
+     *
+     * @param running the running modules
+     * @param graph the dependency graph of the modules started with the framework, can be null
+     * @return the concurrent modules
+     */
+    static Set<IModule> concurrent(List<IModule> running, ModuleGraph graph) {
+
+        Map<IModule, ModuleGraph.Node> nodes = new IdentityHashMap<>();
+        if (graph != null) {
+            for (ModuleGraph.Node node : graph.nodes()) {
+                nodes.put(node.module, node);
+            }
+        }
+
+        Set<IModule> concurrent = Collections.newSetFromMap(new IdentityHashMap<IModule, Boolean>());
+
+        for (IModule module : running) {
+            ModuleGraph.Node node = nodes.get(module);
+            if (node != null) {
+                if (node.concurrent) {
+                    concurrent.add(module);
+                }
+            } else {
+                //lazy modules are not in the graph, they are described by their annotation
+                ModuleDescriptor descriptor = ModuleDescriptor.fromAnnotation(module.getClass());
+                if ((descriptor != null) && !descriptor.isSequential()) {
+                    concurrent.add(module);
+                }
+            }
+        }
+
+        return concurrent;
+
+    }
+
+
+    private static boolean dependsOn(ModuleGraph.Node dependent, ModuleGraph.Node dependency) {
+
+        if ((dependent == null) || (dependency == null)) {
+            //lazy modules are not in the graph, they can depend on (or be used by) any module started before
+            return true;
+        }
+
+        return dependent.dependencies.contains(dependency);
+
+    }
+
+
+    /** Shutdowns the modules wave by wave
+     *
+     * @param waves the shutdown waves
+     * @param concurrent the modules that can be shutdown concurrently, the rest are shutdown in the calling thread
+     * @param action the shutdown of each module
+     * @return the modules that exceeded their deadline
+     */
+    List<IModule> run(List<List<IModule>> waves, Set<IModule> concurrent, final Action action) {
+
+        List<IModule> overruns = new ArrayList<>();
+
+        //overrunning modules keep their threads, the pool creates new ones for the next waves
+        ExecutorService shutdownPool = Executors.newCachedThreadPool(new FrameworkThreadFactory("robobo-shutdown"));
+
+        long globalDeadline = System.nanoTime() + this.globalTimeoutNanos;
+        boolean interrupted = false;
+
+        try {
+
+            for (List<IModule> wave : waves) {
+
+                long waveStart = System.nanoTime();
+                long waveDeadline = Math.min(waveStart + this.moduleTimeoutNanos, globalDeadline);
+
+                List<IModule> dispatched = new ArrayList<>(wave.size());
+                List<Future<?>> shutdowns = new ArrayList<>(wave.size());
+                for (final IModule module : wave) {
+                    if (concurrent.contains(module)) {
+                        dispatched.add(module);
+                        shutdowns.add(shutdownPool.submit(new Runnable() {
+                            @Override
+                            public void run() {
+                                action.shutdown(module);
+                            }
+                        }));
+                    }
+                }
+
+                //classic modules, while the concurrent ones are running
+                for (IModule module : wave) {
+                    if (!concurrent.contains(module)) {
+                        action.shutdown(module);
+                    }
+                }
+
+                for (int i = 0; i < dispatched.size(); i++) {
+
+                    try {
+                        long remaining = interrupted ? 0 : Math.max(0, waveDeadline - System.nanoTime());
+                        shutdowns.get(i).get(remaining, TimeUnit.NANOSECONDS);
+                    } catch (TimeoutException ex) {
+                        overruns.add(dispatched.get(i));
+                        action.overran(dispatched.get(i), waveStart, ex);
+                    } catch (InterruptedException ex) {
+                        //stop waiting, but keep dispatching the shutdown of the rest of modules
+                        interrupted = true;
+                        overruns.add(dispatched.get(i));
+                        action.overran(dispatched.get(i), waveStart, new TimeoutException("Interrupted"));
+                    } catch (ExecutionException ex) {
+                        //errors are handled by the action
+                    }
+
+                }
+
+            }
+
+        } finally {
+            //modules still running finish in the background
+            shutdownPool.shutdown();
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        return overruns;
+
+    }
+
+}
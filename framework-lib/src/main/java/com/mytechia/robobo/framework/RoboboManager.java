@@ -27,23 +27,73 @@ import android.app.Application;
 import android.content.Context;
 import android.os.Binder;
 import android.os.Bundle;
+import android.os.SystemClock;
 import android.util.Log;
 
 
 import com.mytechia.commons.di.container.IDIContainer;
 import com.mytechia.commons.di.container.PicoContainerWrapper;
 import com.mytechia.commons.framework.exception.InternalErrorException;
+import com.mytechia.robobo.framework.behaviour.BehaviourMetricsSnapshot;
+import com.mytechia.robobo.framework.behaviour.BehaviourScheduler;
+import com.mytechia.robobo.framework.behaviour.BehaviourThreads;
+import com.mytechia.robobo.framework.behaviour.DebugAllocationCounter;
+import com.mytechia.robobo.framework.behaviour.DebugThreadCpuClock;
+import com.mytechia.robobo.framework.behaviour.IBehaviourHost;
+import com.mytechia.robobo.framework.behaviour.ISchedulerDriver;
+import com.mytechia.robobo.framework.behaviour.IThreadCpuClock;
+import com.mytechia.robobo.framework.behaviour.VirtualClockDriver;
+import com.mytechia.robobo.framework.concurrent.FrameworkThreadFactory;
+import com.mytechia.robobo.framework.concurrent.ListenerRegistry;
+import com.mytechia.robobo.framework.eventbus.EventBus;
 import com.mytechia.robobo.framework.exception.ModuleNotFoundException;
+import com.mytechia.robobo.framework.power.FrameworkLoad;
+import com.mytechia.robobo.framework.power.IPowerGovernor;
 import com.mytechia.robobo.framework.power.IPowerModeListener;
+import com.mytechia.robobo.framework.power.LoadPowerGovernor;
+import com.mytechia.robobo.framework.power.LoadSample;
 import com.mytechia.robobo.framework.power.PowerMode;
+import com.mytechia.robobo.framework.power.PowerModeDispatcher;
+import com.mytechia.robobo.framework.profiling.LifecycleTimeline;
+import com.mytechia.robobo.framework.profiling.TimelineEvent;
+import com.mytechia.robobo.framework.recorder.FlightRecordType;
+import com.mytechia.robobo.framework.recorder.FlightRecorder;
+import com.mytechia.robobo.framework.stream.StreamRegistry;
 
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -62,35 +112,157 @@ import ch.qos.logback.core.util.StatusPrinter;
  * modules.put("robobo.module.1", "com.mytechia.robobo.framework.DummyTestModule2");
  * <p>
  * RoboboManager frameworkManager = RoboboManager.instantiate(modules, null);
+ * <p>
+ * Modules annotated with {@link RoboboModule} are started concurrently as soon as the modules
+ * they depend on are running. The maximum number of modules started at the same time can
+ * be configured with the option {@link #OPTION_STARTUP_THREADS}.
+ * <p>
+ * When the application or its libraries include the module indexes generated by the Robobo framework
+ * annotation processor (registered as services of {@link IModuleIndex}), the modules are instantiated
+ * through those indexes instead of using reflection. Otherwise, applications shrunk with ProGuard
+ * must keep the modules with the rules of proguard-reflection-modules.pro.
+ * <p>
+ * Modules declared as lazy ({@link RoboboModule#lazy()}) are not started with the framework,
+ * they are started the first time they are requested through {@link #getModuleInstance(Class)}.
  *
  * @author Gervasio Varela
  */
-public class RoboboManager extends Binder {
+public class RoboboManager extends Binder implements IBehaviourHost {
 
 
     public static final String TAG = "ROBOBO-MANAGER";
-    private final String MODULE_LOADER_KEY = "robobo.module.%d";
+    private static final String MODULE_LOADER_KEY_PREFIX = "robobo.module.";
+
+    /** Option (int) with the maximum number of modules that can be started concurrently,
+     * 1 to start the modules one by one */
+    public static final String OPTION_STARTUP_THREADS = "robobo.startup.threads";
+    //module startup is usually I/O bound (camera, network...), so use at least two threads
+    private static final int DEFAULT_STARTUP_THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    /** Option (int) with the maximum time, in milliseconds, to wait for the shutdown of each concurrent module */
+    public static final String OPTION_SHUTDOWN_MODULE_TIMEOUT = "robobo.shutdown.moduleTimeout";
+    private static final int DEFAULT_SHUTDOWN_MODULE_TIMEOUT = 2000;
+
+    /** Option (int) with the maximum time, in milliseconds, to wait for the shutdown of all the concurrent modules */
+    public static final String OPTION_SHUTDOWN_TIMEOUT = "robobo.shutdown.timeout";
+    //well below the 5 seconds after which Android reports a blocked main thread (ANR)
+    private static final int DEFAULT_SHUTDOWN_TIMEOUT = 3000;
+
+    /** Option (int) with the time, in milliseconds, the RoboboService keeps the modules running after
+     * the last client unbinds, so they can be reused by the next client (warm restart). 0 disables it */
+    public static final String OPTION_WARM_RESTART_GRACE_PERIOD = "robobo.warmRestart.gracePeriod";
+
+    /** Option (int) with the period, in milliseconds, of the sampling of the load of the framework
+     * by the power governor. 0 (the default) disables the automatic power mode changes */
+    public static final String OPTION_POWER_GOVERNOR_PERIOD = "robobo.power.governorPeriod";
+
+    /** Option (int) with the number of framework threads that execute the behaviours,
+     * 0 (the default) to execute them in the main thread */
+    public static final String OPTION_BEHAVIOUR_THREADS = "robobo.behaviour.threads";
+
+    /** Option (int) with the Android priority of the behaviour threads, by default
+     * {@link BehaviourThreads#DEFAULT_PRIORITY} */
+    public static final String OPTION_BEHAVIOUR_THREAD_PRIORITY = "robobo.behaviour.threadPriority";
+
+    /** Option (boolean) to measure the memory allocated by the behaviour steps and flag the
+     * behaviours that allocate, only for debugging because it slows down all the allocations */
+    public static final String OPTION_ALLOCATION_TRACKING = "robobo.debug.allocationTracking";
+
+    /** Option (int) with the time, in milliseconds, a framework listener can take to process
+     * an event before a warning is logged, by default {@link #DEFAULT_LISTENER_BUDGET} */
+    public static final String OPTION_LISTENER_BUDGET = "robobo.listeners.budget";
+
+    /** Default budget of the framework listeners, a frame of the UI */
+    public static final int DEFAULT_LISTENER_BUDGET = 16;
+
+    /** Option (String) with the file of the flight recorder, relative to the files directory of
+     * the application if it is not absolute. When it is not set the flight recorder is disabled */
+    public static final String OPTION_RECORDER_FILE = "robobo.recorder.file";
+
+    /** Option (int) with the maximum number of records of the flight recorder, by default
+     * {@link #DEFAULT_RECORDER_CAPACITY} */
+    public static final String OPTION_RECORDER_CAPACITY = "robobo.recorder.capacity";
+
+    /** Default capacity of the flight recorder, 2 MB */
+    public static final int DEFAULT_RECORDER_CAPACITY = 65536;
 
+    /** Option (boolean) to record the events of the modules in the flight recorder */
+    public static final String OPTION_RECORDER_MODULE_EVENTS = "robobo.recorder.moduleEvents";
 
-    private final Properties modulesFile;
-    private final Bundle options;
+    private static final long MIN_IDLE_CHECK_PERIOD = 250;
+    //the listeners thread finishes when there are no events to deliver
+    private static final long LISTENER_THREAD_KEEP_ALIVE = 30;
+
+
+    private volatile Properties modulesFile;
+    private volatile Bundle options;
     private Application app;
 
+    /** Running modules, in startup order (guarded by itself, modules can be started from different threads) */
     private final LinkedList<IModule> modules;
     private final IDIContainer diContainer;
+    /** Lock-free view of the modules registered in the DI container, used by getModuleInstance() */
+    private final ModuleRegistry registry;
+    private ModuleGraph moduleGraph;
+
+    private final List<LazyModule> lazyModules;
+    /** Lazy module that provides each class requested (or NO_LAZY_MODULE), lazy modules only change on startup and shutdown */
+    private final ConcurrentHashMap<Class<?>, Object> lazyModulesCache = new ConcurrentHashMap<>();
+    private static final Object NO_LAZY_MODULE = new Object();
+
+    private final LifecycleTimeline timeline = new LifecycleTimeline();
+
+    private List<IModule> shutdownOverruns = Collections.emptyList();
+
+    /** Modules that reported an error but did not stop the framework, restarted on a warm restart */
+    private final Set<IModule> failedModules = Collections.newSetFromMap(new IdentityHashMap<IModule, Boolean>());
+    private ScheduledExecutorService idleModulesMonitor;
+
+    private final IModuleIndex moduleIndex;
+
+    private volatile RoboboManagerState state = RoboboManagerState.CREATED;
+    /** Notified each time the state changes, used by awaitState() */
+    private final Object stateLock = new Object();
 
-    private int modulesIndex = 0;
-    private int modulesCount = 0;
+    private volatile Throwable exception;
 
-    private RoboboManagerState state = RoboboManagerState.CREATED;
+    /** While the modules are being started, the fatal errors they report are collected here and
+     * handled by the starting thread, instead of stopping the framework from the reporting thread
+     * (guarded by moduleErrorsLock) */
+    private final Object moduleErrorsLock = new Object();
+    private boolean collectingModuleErrors = false;
+    private Throwable collectedModuleError = null;
 
-    private Throwable exception;
+    private final ListenerRegistry<IStartupProgressListener> progressListeners = new ListenerRegistry<>("startup progress");
 
-    private PowerMode powerMode = PowerMode.NORMAL;
-    private boolean powerManagement = true;
+    private final PowerModeDispatcher powerModeDispatcher = new PowerModeDispatcher(PowerMode.NORMAL);
+    private volatile boolean powerManagement = true;
+    private final FrameworkLoad frameworkLoad = new FrameworkLoad();
 
-    private final ArrayList<RoboboManagerListener> listeners;
-    private final ArrayList<IPowerModeListener> powerModeListeners;
+    /** Measures the CPU time of the behaviour steps */
+    private final IThreadCpuClock threadCpuClock = new DebugThreadCpuClock();
+    private volatile IPowerGovernor powerGovernor = new LoadPowerGovernor();
+    private ScheduledExecutorService powerGovernorMonitor;
+
+    /** Event bus for the communication between modules */
+    private final EventBus eventBus = new EventBus();
+
+    /** Data streams with flow control published by the modules */
+    private final StreamRegistry streams = new StreamRegistry();
+
+    /** Threads that execute the steps of the behaviours */
+    private final BehaviourThreads behaviourThreads;
+
+    /** Listeners of the framework, they can be added and removed while they are notified */
+    private final ListenerRegistry<RoboboManagerListener> listeners = new ListenerRegistry<>("framework listener");
+
+    /** Recorder of the events of the framework, FlightRecorder.DISABLED if it is not enabled */
+    private final FlightRecorder recorder;
+
+    /** Delivers the events to the listeners in ListenerDispatchMode.FRAMEWORK_EXECUTOR mode */
+    private final ThreadPoolExecutor listenerExecutor = new ThreadPoolExecutor(0, 1,
+            LISTENER_THREAD_KEEP_ALIVE, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+            new FrameworkThreadFactory("robobo-listeners"));
 
 
     private static RoboboManager _instance = null;
@@ -99,14 +271,27 @@ public class RoboboManager extends Binder {
     LoggerContext lc;
 
 
-    private RoboboManager(Properties modulesFile, Bundle options, Application app) {
+    private RoboboManager(Properties modulesFile, Bundle options, Application app, IModuleIndex moduleIndex) {
         this.modulesFile = modulesFile;
+        this.moduleIndex = moduleIndex;
         this.options = options == null ? new Bundle() : options;
         this.app = app;
         this.modules = new LinkedList<>();
+        this.lazyModules = new CopyOnWriteArrayList<>();
         this.diContainer = new PicoContainerWrapper();
-        this.listeners = new ArrayList<>(2);
-        this.powerModeListeners = new ArrayList<>(5);
+        this.registry = new ModuleRegistry();
+        this.behaviourThreads = new BehaviourThreads(this.options.getInt(OPTION_BEHAVIOUR_THREADS, 0),
+                this.options.containsKey(OPTION_BEHAVIOUR_THREAD_PRIORITY) ?
+                        this.options.getInt(OPTION_BEHAVIOUR_THREAD_PRIORITY) : BehaviourThreads.DEFAULT_PRIORITY);
+        int listenerBudget = this.options.getInt(OPTION_LISTENER_BUDGET, 0);
+        if (listenerBudget <= 0) {
+            listenerBudget = DEFAULT_LISTENER_BUDGET;
+        }
+        this.listeners.setSlowListenerBudget(listenerBudget, TimeUnit.MILLISECONDS);
+        this.progressListeners.setSlowListenerBudget(listenerBudget, TimeUnit.MILLISECONDS);
+        if (this.options.getBoolean(OPTION_ALLOCATION_TRACKING, false)) {
+            this.behaviourThreads.setAllocationCounter(new DebugAllocationCounter());
+        }
 
 
         lc = (LoggerContext) LoggerFactory.getILoggerFactory();
@@ -114,6 +299,41 @@ public class RoboboManager extends Binder {
         log = LoggerFactory.getLogger("com.mytechia.robobo.framework");
         log.info("Starting Robobo Framework");
 
+        this.recorder = openFlightRecorder();
+        this.behaviourThreads.setFlightRecorder(this.recorder.isEnabled() ? this.recorder : null);
+
+    }
+
+
+    /**
+     * Opens the flight recorder configured by {@link #OPTION_RECORDER_FILE}. Errors are logged,
+     * the framework runs without recorder.
+     *
+     * @return the flight recorder, FlightRecorder.DISABLED if it is not configured or it failed
+     */
+    private FlightRecorder openFlightRecorder() {
+
+        String fileName = this.options.getString(OPTION_RECORDER_FILE);
+        if (fileName == null) {
+            return FlightRecorder.DISABLED;
+        }
+
+        File file = new File(fileName);
+        if (!file.isAbsolute() && (this.app != null)) {
+            file = new File(this.app.getFilesDir(), fileName);
+        }
+
+        try {
+            FlightRecorder flightRecorder = FlightRecorder.open(file,
+                    getIntOption(OPTION_RECORDER_CAPACITY, DEFAULT_RECORDER_CAPACITY));
+            flightRecorder.setModuleEventsEnabled(this.options.getBoolean(OPTION_RECORDER_MODULE_EVENTS, false));
+            log.info("Flight recorder enabled: " + file);
+            return flightRecorder;
+        } catch (IOException | IllegalArgumentException ex) {
+            log.error("Error opening the flight recorder " + file, ex);
+            return FlightRecorder.DISABLED;
+        }
+
     }
 
 
@@ -127,7 +347,22 @@ public class RoboboManager extends Binder {
      * @return a new instance of RoboboManager
      */
     public static final RoboboManager instantiate(Properties modulesFile, Bundle options, Application app) {
-        _instance = new RoboboManager(modulesFile, options, app);
+        return instantiate(modulesFile, options, app, loadDefaultModuleIndex());
+    }
+
+
+    /**
+     * Instantiates a new Framework manager that uses a module index to create the modules
+     * instead of reflection. Modules not available in the index are created using reflection.
+     *
+     * @param modulesFile a properties file with the modules to load
+     * @param options     a Bundle opbjec with optional parameters for the framework and modules
+     * @param app         the Robobo Android application
+     * @param moduleIndex the index of the modules available, can be null
+     * @return a new instance of RoboboManager
+     */
+    public static final RoboboManager instantiate(Properties modulesFile, Bundle options, Application app, IModuleIndex moduleIndex) {
+        _instance = new RoboboManager(modulesFile, options, app, moduleIndex);
         return _instance;
     }
 
@@ -137,8 +372,107 @@ public class RoboboManager extends Binder {
     }
 
 
+    /**
+     * Waits until the framework reaches a state.
+     *
+     * It returns false without waiting for the timeout when the framework can not reach the
+     * state anymore, because it failed (ERROR) or it was shutdown (STOPPED).
+     *
+     * @param expectedState the state to wait for
+     * @param timeout the maximum time to wait
+     * @param unit the unit of the timeout
+     * @return true if the framework reached the state, false otherwise
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    public boolean awaitState(RoboboManagerState expectedState, long timeout, TimeUnit unit) throws InterruptedException {
+
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        synchronized (this.stateLock) {
+
+            while (this.state != expectedState) {
+
+                if (isFinalState(this.state)) {
+                    return false;
+                }
+
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+
+                TimeUnit.NANOSECONDS.timedWait(this.stateLock, remaining);
+
+            }
+
+            return true;
+
+        }
+
+    }
+
+
+    private boolean isFinalState(RoboboManagerState state) {
+        //STOPPED is followed by ERROR when the shutdown was caused by an error
+        return (state == RoboboManagerState.ERROR) ||
+                ((state == RoboboManagerState.STOPPED) && (this.exception == null));
+    }
+
+
+    /**
+     * Starts the framework and the configured Robobo modules in a background thread.
+     * The progress of the startup is notified to the IStartupProgressListeners, and
+     * {@link #awaitState(RoboboManagerState, long, TimeUnit)} can be used to wait for it.
+     *
+     * @return a future that completes with the state of the framework after the startup, or
+     * with the InternalErrorException thrown by {@link #startup()}
+     */
+    public Future<RoboboManagerState> startupAsync() {
+
+        FutureTask<RoboboManagerState> startupTask = new FutureTask<>(new Callable<RoboboManagerState>() {
+            @Override
+            public RoboboManagerState call() throws Exception {
+                startup();
+                return state;
+            }
+        });
+
+        new FrameworkThreadFactory("robobo-manager").newThread(startupTask).start();
+
+        return startupTask;
+
+    }
+
+
+    /**
+     * Performs a warm restart of the framework (see {@link #warmRestart(Properties, Bundle)})
+     * in a background thread, so it can be requested from the main thread.
+     *
+     * @param modulesFile the configuration of the modules to use
+     * @param options the options of the framework
+     * @return a future that completes with the state of the framework after the restart, or
+     * with the InternalErrorException thrown by {@link #warmRestart(Properties, Bundle)}
+     */
+    public Future<RoboboManagerState> warmRestartAsync(final Properties modulesFile, final Bundle options) {
+
+        FutureTask<RoboboManagerState> restartTask = new FutureTask<>(new Callable<RoboboManagerState>() {
+            @Override
+            public RoboboManagerState call() throws Exception {
+                warmRestart(modulesFile, options);
+                return state;
+            }
+        });
+
+        new FrameworkThreadFactory("robobo-manager").newThread(restartTask).start();
+
+        return restartTask;
+
+    }
+
+
     /**
      * Starts the framework and the configured Robobo modules.
+     * It blocks until all the modules have been started, see {@link #startupAsync()}.
      *
      * @throws InternalErrorException if there was an error while loading the modules
      */
@@ -150,41 +484,61 @@ public class RoboboManager extends Binder {
 
             log(LogLvl.INFO, TAG, "Starting up Robobo Manager.");
 
-            while (isNextModule()) {
+            if (this.moduleIndex == null) {
+                log(LogLvl.INFO, TAG, "No module index found, the modules are created by reflection " +
+                        "(shrunk applications must keep them, see proguard-reflection-modules.pro)");
+            }
+
+            frameworkStateChanged(RoboboManagerState.STARTING);
 
-                try {
+            long startupStart = this.timeline.now();
 
-                    IModule module = registerNextModule();
-
-                    notifyLoadingModule(module);
-
-                    module.startup(this);
-
-                    notifyModuleLoaded(module);
-
-                } catch (ClassNotFoundException ex) {
-                    logError(TAG, "Error loading module", ex);
-                    InternalErrorException newEx = new InternalErrorException("Module not found: " + ex.getMessage());
-                    frameworkError(newEx);
-                    throw newEx;
-                } catch (InstantiationException ex) {
-                    logError(TAG, "Error loading module", ex);
-                    InternalErrorException newEx = new InternalErrorException(ex);
-                    frameworkError(ex);
-                    throw newEx;
-                } catch (IllegalAccessException ex) {
-                    logError(TAG, "Error loading module", ex);
-                    InternalErrorException newEx = new InternalErrorException(ex);
-                    frameworkError(ex);
-                    throw newEx;
-                } catch (InternalErrorException ex) {
-                    logError(TAG, "Error loading module", ex);
-                    frameworkError(ex);
-                    throw ex;
-                }
+            collectModuleErrors();
+
+            try {
 
+                List<String> loadedClassNames = new ArrayList<>();
+                List<IModule> loadedModules = loadModules(Collections.<String, IModule>emptyMap(),
+                        Collections.<String, LazyModule>emptyMap(), loadedClassNames);
+
+                startIdleModulesMonitor();
+
+                startModules(loadedModules, loadedClassNames, Collections.<IModule>emptySet());
+
+                startPowerGovernor();
+
+                throwCollectedModuleError();
+
+            } catch (ClassNotFoundException ex) {
+                logError(TAG, "Error loading module", ex);
+                InternalErrorException newEx = new InternalErrorException("Module not found: " + ex.getMessage());
+                this.timeline.record(TimelineEvent.Category.FRAMEWORK, "startup", startupStart, newEx);
+                frameworkError(newEx);
+                throw newEx;
+            } catch (InstantiationException ex) {
+                logError(TAG, "Error loading module", ex);
+                InternalErrorException newEx = new InternalErrorException(ex);
+                this.timeline.record(TimelineEvent.Category.FRAMEWORK, "startup", startupStart, ex);
+                frameworkError(ex);
+                throw newEx;
+            } catch (IllegalAccessException ex) {
+                logError(TAG, "Error loading module", ex);
+                InternalErrorException newEx = new InternalErrorException(ex);
+                this.timeline.record(TimelineEvent.Category.FRAMEWORK, "startup", startupStart, ex);
+                frameworkError(ex);
+                throw newEx;
+            } catch (InternalErrorException ex) {
+                logError(TAG, "Error loading module", ex);
+                this.timeline.record(TimelineEvent.Category.FRAMEWORK, "startup", startupStart, ex);
+                frameworkError(ex);
+                throw ex;
+            } finally {
+                stopCollectingModuleErrors();
             }
 
+            this.timeline.record(TimelineEvent.Category.FRAMEWORK, "startup", startupStart, null);
+            log(LogLvl.DEBUG, TAG, "Startup timeline:\n" + this.timeline.getSummary());
+
             frameworkStateChanged(RoboboManagerState.ALL_MODULES_LOADED);
 
             frameworkStateChanged(RoboboManagerState.RUNNING);
@@ -194,110 +548,1062 @@ public class RoboboManager extends Binder {
     }
 
 
-    /**
-     * Shutdowns the framework and all the modules
-     *
-     * @throws InternalErrorException if there was an error while shutting down the modules
-     */
-    public synchronized void shutdown() throws InternalErrorException {
+    /**
+     * Loads the classes of the configured modules and instantiates the ones that are not lazy
+     *
+     * @param runningModules modules already running (by class name) that must be reused instead of instantiated
+     * @param runningLazyModules lazy modules (by class name) that must be reused
+     * @param loadedClassNames receives the configured class names of the modules returned, in the same order
+     * @return the instances of the modules that must be started with the framework, in declaration order
+     * @throws ClassNotFoundException
+     * @throws InstantiationException
+     * @throws IllegalAccessException
+     */
+    private List<IModule> loadModules(Map<String, IModule> runningModules, Map<String, LazyModule> runningLazyModules,
+                                      List<String> loadedClassNames)
+            throws ClassNotFoundException, InstantiationException, IllegalAccessException {
+
+        List<IModule> loadedModules = new ArrayList<>();
+
+        for (String moduleClassName : readModuleClassNames()) {
+
+            if (runningModules.containsKey(moduleClassName)) {
+                loadedModules.add(runningModules.get(moduleClassName));
+                loadedClassNames.add(moduleClassName);
+                continue;
+            }
+
+            if (runningLazyModules.containsKey(moduleClassName)) {
+                this.lazyModules.add(runningLazyModules.get(moduleClassName));
+                continue;
+            }
+
+            long loadStart = this.timeline.now();
+
+            try {
+
+                ModuleDescriptor descriptor = describeModule(moduleClassName);
+
+                if ((descriptor != null) && descriptor.isLazy()) {
+                    this.lazyModules.add(new LazyModule(moduleClassName, descriptor, lazyModulesLifecycle));
+                } else {
+                    loadedModules.add(instantiateModule(moduleClassName));
+                    loadedClassNames.add(moduleClassName);
+                }
+
+                this.timeline.record(TimelineEvent.Category.CLASS_LOADING, moduleClassName, loadStart, null);
+
+            } catch (ClassNotFoundException | InstantiationException | IllegalAccessException | RuntimeException ex) {
+                this.timeline.record(TimelineEvent.Category.CLASS_LOADING, moduleClassName, loadStart, ex);
+                throw ex;
+            }
+
+        }
+
+        return loadedModules;
+
+    }
+
+
+    /**
+     * Builds the dependency graph of the modules and starts them
+     *
+     * @param loadedModules the modules, in declaration order
+     * @param loadedClassNames the configured class names of the modules, in the same order
+     * @param runningModules the modules that are already running and must not be started again
+     * @throws InternalErrorException if there is a circular dependency or a module failed to start
+     */
+    private void startModules(List<IModule> loadedModules, List<String> loadedClassNames, Set<IModule> runningModules)
+            throws InternalErrorException {
+
+        this.moduleGraph = ModuleGraph.build(loadedModules, loadedClassNames, this.moduleIndex);
+
+        logMissingDependencies(this.moduleGraph);
+
+        for (ModuleGraph.Node node : this.moduleGraph.nodes()) {
+            List<String> dependencies = new ArrayList<>(node.dependencies.size());
+            for (ModuleGraph.Node dependency : node.dependencies) {
+                dependencies.add(dependency.moduleClass.getName());
+            }
+            this.timeline.setDependencies(node.moduleClass.getName(), dependencies);
+        }
+
+        Throwable error = startModules(this.moduleGraph, runningModules);
+
+        if (error != null) {
+            throw (error instanceof InternalErrorException) ?
+                    (InternalErrorException) error : new InternalErrorException(error);
+        }
+
+    }
+
+
+    /**
+     * Starts the modules of the dependency graph, each one after its dependencies.
+     *
+     * @param graph the dependency graph of the modules to start
+     * @param runningModules the modules that are already running and must not be started again
+     * @return the first error thrown by a module during startup, or null if all of them started correctly
+     */
+    private Throwable startModules(ModuleGraph graph, final Set<IModule> runningModules) {
+
+        int threads = getIntOption(OPTION_STARTUP_THREADS, DEFAULT_STARTUP_THREADS);
+
+        ExecutorService startupPool = null;
+        if (threads > 1) {
+            startupPool = Executors.newFixedThreadPool(threads, new FrameworkThreadFactory("robobo-startup"));
+        }
+
+        final long startupStart = System.nanoTime();
+        final int totalModules = graph.nodes().size() - runningModules.size();
+        final AtomicInteger startedModules = new AtomicInteger(0);
+
+        try {
+
+            return graph.visitInDependencyOrder(startupPool, new ModuleGraph.Visitor() {
+                @Override
+                public void dispatch(ModuleGraph.Node node) {
+                    if (runningModules.contains(node.module)) {
+                        return;
+                    }
+                    long registrationStart = timeline.now();
+                    registerModuleInstance(node.module, node.moduleClass);
+                    timeline.record(TimelineEvent.Category.REGISTRATION, node.moduleClass.getName(), registrationStart, null);
+                }
+
+                @Override
+                public void visit(ModuleGraph.Node node) throws Exception {
+                    if (runningModules.contains(node.module)) {
+                        return;
+                    }
+                    startLazyDependencies(node);
+                    notifyLoadingModule(node.module);
+                    startModule(node.module);
+                    notifyModuleLoaded(node.module);
+                    notifyStartupProgress(node, startedModules.incrementAndGet(), totalModules,
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startupStart));
+                }
+            });
+
+        } finally {
+            if (startupPool != null) {
+                startupPool.shutdown();
+            }
+        }
+
+    }
+
+
+    /**
+     * Starts a module, recording its startup in the lifecycle timeline
+     *
+     * @param module the module to start
+     * @throws InternalErrorException if the module failed to start
+     */
+    private void startModule(IModule module) throws InternalErrorException {
+
+        long moduleStart = this.timeline.now();
+
+        try {
+            module.startup(this);
+        } catch (InternalErrorException | RuntimeException ex) {
+            this.timeline.record(TimelineEvent.Category.STARTUP, module.getClass().getName(), moduleStart, ex);
+            recordModule(FlightRecordType.MODULE_STARTUP, module, moduleStart, true);
+            throw ex;
+        }
+
+        this.timeline.record(TimelineEvent.Category.STARTUP, module.getClass().getName(), moduleStart, null);
+        recordModule(FlightRecordType.MODULE_STARTUP, module, moduleStart, false);
+
+    }
+
+
+    /**
+     * Shutdowns the running modules in reverse dependency waves. Inside each wave the concurrent
+     * modules are shutdown concurrently, bounded by the per-module and global shutdown deadlines,
+     * and the classic modules one by one in the calling thread.
+     *
+     * @param runningModules the running modules, in startup order
+     * @return the modules that did not finish their shutdown before their deadline
+     */
+    private List<IModule> shutdownModules(List<IModule> runningModules) {
+
+        List<List<IModule>> waves = ModuleShutdown.waves(runningModules, this.moduleGraph);
+
+        ModuleShutdown moduleShutdown = new ModuleShutdown(
+                getIntOption(OPTION_SHUTDOWN_MODULE_TIMEOUT, DEFAULT_SHUTDOWN_MODULE_TIMEOUT),
+                getIntOption(OPTION_SHUTDOWN_TIMEOUT, DEFAULT_SHUTDOWN_TIMEOUT));
+
+        Set<IModule> concurrentModules = ModuleShutdown.concurrent(runningModules, this.moduleGraph);
+
+        return moduleShutdown.run(waves, concurrentModules, new ModuleShutdown.Action() {
+            @Override
+            public void shutdown(IModule module) {
+                shutdownModule(module);
+            }
+
+            @Override
+            public void overran(IModule module, long startNanos, TimeoutException timeout) {
+                log(LogLvl.WARNING, TAG, "Module " + module.getClass().getName() +
+                        " exceeded its shutdown deadline, the framework shutdown continues without it");
+                timeline.record(TimelineEvent.Category.SHUTDOWN, module.getClass().getName(), startNanos, timeout);
+            }
+        });
+
+    }
+
+
+    /**
+     * Returns the modules that exceeded their shutdown deadline in the last shutdown.
+     * They were still shutting down in background when the framework finished its shutdown.
+     *
+     * @return the modules that exceeded their shutdown deadline
+     */
+    public List<IModule> getShutdownOverruns() {
+        return this.shutdownOverruns;
+    }
+
+
+    /**
+     * Reads an integer option, using the default value if it is not set or not valid (<= 0)
+     *
+     * @param option the name of the option
+     * @param defaultValue the default value of the option
+     * @return the value of the option
+     */
+    private int getIntOption(String option, int defaultValue) {
+        int value = this.options.getInt(option, defaultValue);
+        return value > 0 ? value : defaultValue;
+    }
+
+
+    /**
+     * Shutdowns a module, recording its shutdown in the lifecycle timeline.
+     * Errors are logged, but not thrown.
+     *
+     * @param module the module to shutdown
+     */
+    private void shutdownModule(IModule module) {
+
+        long moduleStop = this.timeline.now();
+        Throwable error = null;
+
+        try {
+            module.shutdown();
+        } catch (Throwable th) {
+            error = th;
+            logError(TAG, "Error shutdown module", th);
+        }
+
+        this.timeline.record(TimelineEvent.Category.SHUTDOWN, module.getClass().getName(), moduleStop, error);
+        recordModule(FlightRecordType.MODULE_SHUTDOWN, module, moduleStop, error != null);
+
+    }
+
+
+    /**
+     * Records the startup or shutdown of a module in the flight recorder
+     *
+     * @param type MODULE_STARTUP or MODULE_SHUTDOWN
+     * @param module the module
+     * @param startNanos when the operation started, timeline.now()
+     * @param failed whether the operation failed
+     */
+    private void recordModule(FlightRecordType type, IModule module, long startNanos, boolean failed) {
+        if (this.recorder.isEnabled()) {
+            this.recorder.record(type, this.recorder.symbol(module.getClass().getName()),
+                    this.timeline.now() - startNanos, failed ? 1 : 0);
+        }
+    }
+
+
+    private void logMissingDependencies(ModuleGraph graph) {
+
+        for (ModuleGraph.Node node : graph.nodes()) {
+            for (Class<?> dependency : node.missingDependencies) {
+                if (!isLazyModule(dependency)) {
+                    log(LogLvl.WARNING, TAG, "Module " + node.moduleClass.getName() +
+                            " depends on a module not loaded: " + dependency.getName());
+                }
+            }
+        }
+
+    }
+
+
+    private boolean isLazyModule(Class<?> moduleClass) {
+
+        for (LazyModule lazyModule : this.lazyModules) {
+            if (lazyModule.provides(moduleClass)) {
+                return true;
+            }
+        }
+
+        return false;
+
+    }
+
+
+    /**
+     * Starts the lazy modules a module depends on, before starting the module
+     *
+     * @param node the module that is going to be started
+     * @throws ModuleNotFoundException if a lazy dependency could not be started
+     */
+    private void startLazyDependencies(ModuleGraph.Node node) throws ModuleNotFoundException {
+
+        for (Class<?> dependency : node.missingDependencies) {
+            getLazyModuleInstance(dependency);
+        }
+
+    }
+
+
+    /**
+     * Shutdowns the framework and all the modules.
+     * Modules are shutdown in reverse dependency order. Concurrent modules are shutdown concurrently
+     * when they do not depend on each other, and the ones that do not finish before their deadline
+     * ({@link #OPTION_SHUTDOWN_MODULE_TIMEOUT}, {@link #OPTION_SHUTDOWN_TIMEOUT}) are reported in
+     * {@link #getShutdownOverruns()} and the shutdown continues without waiting for them.
+     * As in the startup, classic and sequential modules are shutdown in the calling thread.
+     * Finally, the flight recorder is closed and the thread of the asynchronous listeners is
+     * stopped once it delivers the pending events.
+     * It blocks until the modules are stopped, and while a startup or a warm restart is in
+     * progress, see {@link #shutdownAsync()}.
+     *
+     * @throws InternalErrorException if there was an error while shutting down the modules
+     */
+    public synchronized void shutdown() throws InternalErrorException {
+        try {
+            stopFramework();
+        } finally {
+            closeResources();
+        }
+    }
+
+
+    /**
+     * Shutdowns the framework (see {@link #shutdown()}) in a background thread, so it can be
+     * requested from the main thread, for example in onDestroy(), without waiting for the
+     * modules or for a startup in progress.
+     *
+     * @return a future that completes with the state of the framework after the shutdown, or
+     * with the InternalErrorException thrown by {@link #shutdown()}
+     */
+    public Future<RoboboManagerState> shutdownAsync() {
+
+        FutureTask<RoboboManagerState> shutdownTask = new FutureTask<>(new Callable<RoboboManagerState>() {
+            @Override
+            public RoboboManagerState call() throws Exception {
+                shutdown();
+                return state;
+            }
+        });
+
+        new FrameworkThreadFactory("robobo-manager").newThread(shutdownTask).start();
+
+        return shutdownTask;
+
+    }
+
+
+    /**
+     * Shutdowns all the modules and the services used by them, leaving the framework STOPPED
+     */
+    private void stopFramework() throws InternalErrorException {
+
+
+        log(LogLvl.INFO, TAG, "Shutting down Robobo Manager.");
+
+        frameworkStateChanged(RoboboManagerState.STOPPING);
+
+        long shutdownStart = this.timeline.now();
+
+        stopIdleModulesMonitor();
+        stopPowerGovernor();
+
+        for (LazyModule lazyModule : this.lazyModules) {
+            //running lazy modules are in the list of modules and are shutdown with the rest
+            lazyModule.reset();
+        }
+        this.lazyModules.clear();
+        this.lazyModulesCache.clear();
+
+        LinkedList<IModule> runningModules;
+        synchronized (this.modules) {
+            runningModules = new LinkedList<>(this.modules);
+        }
+
+        List<IModule> overruns = shutdownModules(runningModules);
+
+        this.shutdownOverruns = Collections.unmodifiableList(overruns);
+
+        Iterator<IModule> modulesIterator = runningModules.descendingIterator();
+
+        while (modulesIterator.hasNext()) {
+            IModule module = modulesIterator.next();
+            this.diContainer.unregister(module.getClass());
+            this.registry.remove(module);
+            synchronized (this.modules) {
+                this.modules.remove(module);
+            }
+        }
+
+        this.behaviourThreads.shutdown();
+
+        this.eventBus.shutdown();
+
+        this.streams.shutdown();
+
+        this.timeline.record(TimelineEvent.Category.FRAMEWORK, "shutdown", shutdownStart, null);
+
+        frameworkStateChanged(RoboboManagerState.STOPPED);
+
+        this.recorder.flush();
+
+    }
+
+
+    /**
+     * Releases the resources of the framework once the last events have been dispatched
+     */
+    private void closeResources() {
+
+        this.recorder.close();
+
+        //the pending events are still delivered to the asynchronous listeners
+        this.listenerExecutor.shutdown();
+
+        //Stops the logging system
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        loggerContext.stop();
+
+    }
+
+
+    /**
+     * Restarts the framework reusing the modules that are still valid, instead of shutting down
+     * and starting again all the modules.
+     *
+     * Running modules are kept unless they are no longer configured, they reported an error
+     * (see {@link #notifyModuleError(IModule, Throwable)}) or they read some option of the framework
+     * that changed (see {@link RoboboModule#options()}, modules without RoboboModule annotation are
+     * restarted when any option changes). The modules that depend on a restarted module are
+     * restarted too. New modules of the configuration are loaded and started as usual.
+     * <p>
+     * It blocks until the modules have been restarted, see {@link #warmRestartAsync(Properties, Bundle)}.
+     *
+     * @param modulesFile the configuration of the modules to use
+     * @param options the options of the framework
+     * @throws InternalErrorException if the framework is not running or a module failed to start
+     */
+    public synchronized void warmRestart(Properties modulesFile, Bundle options) throws InternalErrorException {
+
+        if (this.state != RoboboManagerState.RUNNING) {
+            throw new InternalErrorException("Warm restart not possible, the framework is not running: " + this.state);
+        }
+
+        Bundle newOptions = (options == null) ? new Bundle() : options;
+        Set<String> changedOptions = changedOptions(this.options, newOptions);
+
+        this.modulesFile = modulesFile;
+        this.options = newOptions;
+
+        log(LogLvl.INFO, TAG, "Warm restart of Robobo Manager" +
+                (changedOptions.isEmpty() ? "." : ", options changed: " + changedOptions));
+
+        long restartStart = this.timeline.now();
+
+        collectModuleErrors();
+
+        try {
+
+            stopIdleModulesMonitor();
+            stopPowerGovernor();
+
+            Set<String> configuredModules = new HashSet<>(readModuleClassNames());
+
+            Set<IModule> restartedModules = modulesToRestart(configuredModules, changedOptions);
+
+            //lazy modules are kept dormant or running, unless they must be restarted
+            Map<String, LazyModule> keptLazyModules = new HashMap<>();
+            for (LazyModule lazyModule : this.lazyModules) {
+                IModule running = lazyModule.getRunningModule();
+                if (!readsChangedOptions(lazyModule.descriptor, changedOptions) &&
+                        configuredModules.contains(lazyModule.moduleClassName) &&
+                        ((running == null) || !restartedModules.contains(running))) {
+                    keptLazyModules.put(lazyModule.moduleClassName, lazyModule);
+                } else {
+                    lazyModule.reset();
+                }
+            }
+            this.lazyModules.clear();
+            this.lazyModulesCache.clear();
+
+            LinkedList<IModule> stoppedModules = new LinkedList<>();
+            Map<String, IModule> keptModules = new HashMap<>();
+            synchronized (this.modules) {
+                for (IModule module : this.modules) {
+                    if (restartedModules.contains(module)) {
+                        stoppedModules.add(module);
+                    } else if (!isLazyInstance(module, keptLazyModules)) {
+                        keptModules.put(configuredClassName(module), module);
+                    }
+                }
+            }
+
+            this.shutdownOverruns = Collections.unmodifiableList(shutdownModules(stoppedModules));
+
+            Iterator<IModule> stoppedIterator = stoppedModules.descendingIterator();
+            while (stoppedIterator.hasNext()) {
+                IModule module = stoppedIterator.next();
+                this.diContainer.unregister(module.getClass());
+                this.registry.remove(module);
+                synchronized (this.modules) {
+                    this.modules.remove(module);
+                }
+            }
+
+            synchronized (this.failedModules) {
+                this.failedModules.clear();
+            }
+
+            log(LogLvl.DEBUG, TAG, "Warm restart: " + keptModules.size() + " modules kept, " +
+                    stoppedModules.size() + " modules stopped.");
+
+            frameworkStateChanged(RoboboManagerState.STARTING);
+
+            List<String> loadedClassNames = new ArrayList<>();
+            List<IModule> loadedModules = loadModules(keptModules, keptLazyModules, loadedClassNames);
+
+            Set<IModule> runningModules = Collections.newSetFromMap(new IdentityHashMap<IModule, Boolean>());
+            runningModules.addAll(keptModules.values());
+
+            startIdleModulesMonitor();
+
+            startModules(loadedModules, loadedClassNames, runningModules);
+
+            startPowerGovernor();
+
+            throwCollectedModuleError();
+
+        } catch (ClassNotFoundException | InstantiationException | IllegalAccessException ex) {
+            this.timeline.record(TimelineEvent.Category.FRAMEWORK, "warm restart", restartStart, ex);
+            InternalErrorException error = new InternalErrorException(ex, "Error loading modules during warm restart.");
+            frameworkError(error);
+            throw error;
+        } catch (InternalErrorException ex) {
+            this.timeline.record(TimelineEvent.Category.FRAMEWORK, "warm restart", restartStart, ex);
+            frameworkError(ex);
+            throw ex;
+        } finally {
+            stopCollectingModuleErrors();
+        }
+
+        this.timeline.record(TimelineEvent.Category.FRAMEWORK, "warm restart", restartStart, null);
+
+        frameworkStateChanged(RoboboManagerState.ALL_MODULES_LOADED);
+
+        frameworkStateChanged(RoboboManagerState.RUNNING);
+
+    }
+
+
+    /**
+     * Selects the running modules that must be restarted: the ones no longer configured, the ones
+     * that failed, the ones that read some changed option, and the modules depending on them.
+     */
+    private Set<IModule> modulesToRestart(Set<String> configuredModules, Set<String> changedOptions) {
+
+        Set<IModule> restart = Collections.newSetFromMap(new IdentityHashMap<IModule, Boolean>());
+
+        List<IModule> runningModules;
+        synchronized (this.modules) {
+            runningModules = new ArrayList<>(this.modules);
+        }
+
+        synchronized (this.failedModules) {
+            for (IModule module : runningModules) {
+                if (this.failedModules.contains(module) ||
+                        !configuredModules.contains(configuredClassName(module)) ||
+                        readsChangedOptions(runningModuleDescriptor(module), changedOptions)) {
+                    restart.add(module);
+                }
+            }
+        }
+
+        //dependencies can be declared after their dependents, iterate until no more modules are added
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (ModuleGraph.Node node : this.moduleGraph.nodes()) {
+                if (restart.contains(node.module)) {
+                    continue;
+                }
+                for (ModuleGraph.Node dependency : node.dependencies) {
+                    if (restart.contains(dependency.module)) {
+                        restart.add(node.module);
+                        changed = true;
+                        break;
+                    }
+                }
+            }
+        }
+
+        return restart;
+
+    }
+
+
+    private static boolean isLazyInstance(IModule module, Map<String, LazyModule> lazyModules) {
+        for (LazyModule lazyModule : lazyModules.values()) {
+            if (lazyModule.getRunningModule() == module) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    /**
+     * Returns the class name used in the configuration to declare a running module, which can be
+     * different from the name of its class at runtime when the application is obfuscated
+     */
+    private String configuredClassName(IModule module) {
+
+        for (ModuleGraph.Node node : this.moduleGraph.nodes()) {
+            if (node.module == module) {
+                return node.className;
+            }
+        }
+
+        for (LazyModule lazyModule : this.lazyModules) {
+            if (lazyModule.getRunningModule() == module) {
+                return lazyModule.moduleClassName;
+            }
+        }
+
+        return module.getClass().getName();
+
+    }
+
+
+    /**
+     * Returns the descriptor of a running module, null if the module is not annotated
+     */
+    private ModuleDescriptor runningModuleDescriptor(IModule module) {
+
+        for (ModuleGraph.Node node : this.moduleGraph.nodes()) {
+            if (node.module == module) {
+                return node.descriptor;
+            }
+        }
+
+        for (LazyModule lazyModule : this.lazyModules) {
+            if (lazyModule.getRunningModule() == module) {
+                return lazyModule.descriptor;
+            }
+        }
+
+        return null;
+
+    }
+
+
+    private static boolean readsChangedOptions(ModuleDescriptor descriptor, Set<String> changedOptions) {
+
+        if (changedOptions.isEmpty()) {
+            return false;
+        }
+
+        if (descriptor == null) {
+            //classic modules can read any option
+            return true;
+        }
+
+        for (String key : changedOptions) {
+            if (descriptor.usesOption(key)) {
+                return true;
+            }
+        }
+
+        return false;
+
+    }
+
+
+    /**
+     * Returns the keys of the options that were added, removed or changed
+     */
+    private static Set<String> changedOptions(Bundle options, Bundle newOptions) {
+
+        Set<String> keys = options.keySet();
+        Set<String> newKeys = newOptions.keySet();
+
+        if ((keys == null) || (newKeys == null)) {
+            return (keys == newKeys) ? Collections.<String>emptySet() :
+                    new HashSet<>(keys == null ? newKeys : keys);
+        }
+
+        Set<String> changed = new HashSet<>();
+
+        for (String key : keys) {
+            //deepEquals also compares the contents of array options
+            if (!Arrays.deepEquals(new Object[] {options.get(key)}, new Object[] {newOptions.get(key)})) {
+                changed.add(key);
+            }
+        }
+
+        for (String key : newKeys) {
+            if (!keys.contains(key)) {
+                changed.add(key);
+            }
+        }
+
+        return changed;
+
+    }
+
+
+    /**
+     * Returns the timeline of the lifecycle of the framework, with the times of the loading,
+     * startup and shutdown of each module. It can be exported as a text summary or using
+     * the Chrome trace event format.
+     *
+     * @return the lifecycle timeline of the framework
+     */
+    public LifecycleTimeline getLifecycleTimeline() {
+        return this.timeline;
+    }
+
+
+    public Bundle getOptions() {
+        return this.options;
+    }
+
+
+    public Throwable exception() {
+        return this.exception;
+    }
+
+
+    /**
+     * Reads the class names of the modules to load from the modules file, in a single pass.
+     * Module entries are sorted by their index, which does not need to be consecutive.
+     *
+     * @return the class names of the modules to load, sorted by their index
+     */
+    private List<String> readModuleClassNames() {
+
+        TreeMap<Integer, String> sortedModules = new TreeMap<>();
+
+        for (String key : this.modulesFile.stringPropertyNames()) {
+
+            if (key.startsWith(MODULE_LOADER_KEY_PREFIX)) {
+                try {
+                    int index = Integer.parseInt(key.substring(MODULE_LOADER_KEY_PREFIX.length()));
+                    sortedModules.put(index, this.modulesFile.getProperty(key).trim());
+                } catch (NumberFormatException ex) {
+                    //not a module entry (i.e. a module option)
+                }
+            }
+
+        }
+
+        return new ArrayList<>(sortedModules.values());
+
+    }
+
+
+    /**
+     * Instantiates a module, using the module index when the module is available in it,
+     * and reflection otherwise.
+     * The instance is not registered until it is going to be started.
+     *
+     * @param moduleClassName the name of the class of the module
+     * @return a new instance of the module
+     * @throws ClassNotFoundException
+     * @throws InstantiationException
+     * @throws IllegalAccessException
+     */
+    private IModule instantiateModule(String moduleClassName) throws ClassNotFoundException, InstantiationException, IllegalAccessException {
+
+        if (this.moduleIndex != null) {
+            IModule module = this.moduleIndex.newModule(moduleClassName);
+            if (module != null) {
+                return module;
+            }
+        }
+
+        Class ssLoaderClass = Class.forName(moduleClassName);
+
+        return (IModule) ssLoaderClass.newInstance();
+
+    }
+
+
+    /**
+     * Obtains the descriptor of a module from the module index, or from its annotation if the
+     * module is not in the index.
+     *
+     * @param moduleClassName the name of the class of the module
+     * @return the descriptor of the module, or null if the module is not annotated
+     * @throws ClassNotFoundException if the module is not in the index and its class is not found
+     */
+    private ModuleDescriptor describeModule(String moduleClassName) throws ClassNotFoundException {
+
+        if (this.moduleIndex != null) {
+            ModuleDescriptor descriptor = this.moduleIndex.getDescriptor(moduleClassName);
+            if (descriptor != null) {
+                return descriptor;
+            }
+        }
+
+        Class<?> moduleClass;
+        try {
+            moduleClass = Class.forName(moduleClassName);
+        } catch (ClassNotFoundException ex) {
+            if (this.moduleIndex != null) {
+                //it may be available in the index, without descriptor
+                return null;
+            }
+            throw ex;
+        }
+
+        if (!IModule.class.isAssignableFrom(moduleClass)) {
+            return null;
+        }
+
+        return ModuleDescriptor.fromAnnotation(moduleClass.asSubclass(IModule.class));
+
+    }
+
+
+    /**
+     * Loads the module indexes generated by the Robobo framework annotation processor for the
+     * application and its libraries, registered as services of {@link IModuleIndex}
+     *
+     * @return the generated module indexes, or null if the application does not have any
+     */
+    private static IModuleIndex loadDefaultModuleIndex() {
+
+        List<IModuleIndex> indexes = new ArrayList<>();
+
+        try {
+            for (IModuleIndex index : ServiceLoader.load(IModuleIndex.class, IModuleIndex.class.getClassLoader())) {
+                indexes.add(index);
+            }
+        } catch (ServiceConfigurationError ex) {
+            Log.w(TAG, "Unable to load the module indexes", ex);
+        }
+
+        if (indexes.isEmpty()) {
+            return null;
+        }
+
+        return (indexes.size() == 1) ? indexes.get(0) : new CompositeModuleIndex(indexes);
+
+    }
+
+
+    /**
+     * Returns the instance of the request Robobo module.
+     * Lookups are resolved against an immutable snapshot of the registered modules and cached
+     * per class, so this method can be called frequently (i.e. in each step of a behaviour)
+     * without locking or allocating memory.
+     * <p>
+     * When the class requested is an interface or superclass implemented by more than one module,
+     * the module registered first is returned: the first one in startup order, or if none of them
+     * is running, the first lazy module in declaration order. The same module is returned until
+     * the modules change, request the concrete class to choose a different one.
+     *
+     * @param moduleClass the class of the module requested
+     * @return the instance of the module requested
+     */
+    public <T> T getModuleInstance(Class<T> moduleClass) throws ModuleNotFoundException {
+
+        Objects.requireNonNull(moduleClass, "The parameter class is required");
+
+        T module = this.registry.get(moduleClass);
+
+        if (module == null) {
+            module = getLazyModuleInstance(moduleClass);
+        }
+
+        if (module == null) {
+            throw new ModuleNotFoundException(moduleClass.getCanonicalName());
+        } else {
+            return module;
+        }
+
+    }
+
+
+    /**
+     * Returns the instance of a lazy module, starting it if it is not running yet
+     *
+     * @param moduleClass the class of the module requested
+     * @return the instance of the module, or null if there is not a lazy module of that class
+     * @throws ModuleNotFoundException if the lazy module could not be started
+     */
+    private <T> T getLazyModuleInstance(Class<T> moduleClass) throws ModuleNotFoundException {
+
+        if (this.lazyModules.isEmpty()) {
+            return null;
+        }
+
+        Object lazyModule = this.lazyModulesCache.get(moduleClass);
+
+        if (lazyModule == null) {
+            lazyModule = NO_LAZY_MODULE;
+            for (LazyModule candidate : this.lazyModules) {
+                if (candidate.provides(moduleClass)) {
+                    lazyModule = candidate;
+                    break;
+                }
+            }
+            this.lazyModulesCache.put(moduleClass, lazyModule);
+        }
+
+        if (lazyModule == NO_LAZY_MODULE) {
+            return null;
+        }
+
+        return moduleClass.cast(((LazyModule) lazyModule).get());
+
+    }
+
+
+    /** Starts and stops the instances of the lazy modules */
+    private final LazyModule.Lifecycle lazyModulesLifecycle = new LazyModule.Lifecycle() {
+
+        @Override
+        public IModule create(String moduleClassName) throws Exception {
+            return instantiateModule(moduleClassName);
+        }
 
+        @Override
+        public void start(LazyModule lazyModule, IModule module) throws Exception {
 
-        log(LogLvl.INFO, TAG, "Shutting down Robobo Manager.");
+            //lazy dependencies must be running before the module
+            for (Class<?> dependency : lazyModule.descriptor.getDependencies()) {
+                getLazyModuleInstance(dependency);
+            }
 
-        Iterator<IModule> modulesIterator = this.modules.descendingIterator();
+            log(LogLvl.INFO, TAG, "Starting lazy module: " + lazyModule.moduleClassName);
 
-        while (modulesIterator.hasNext()) {
+            synchronized (modules) {
+                modules.add(module);
+            }
 
-            IModule module = modulesIterator.next();
+            notifyLoadingModule(module);
             try {
-                module.shutdown();
-            }catch (Throwable th){
-                logError(TAG, "Error shutdown module", th);
+                startModule(module);
+            } catch (InternalErrorException | RuntimeException ex) {
+                //the module is not running, so it is discarded without shutting it down
+                synchronized (modules) {
+                    modules.remove(module);
+                }
+                throw ex;
             }
+            notifyModuleLoaded(module);
 
         }
 
-        modulesIterator = this.modules.descendingIterator();
+        @Override
+        public void stop(IModule module) {
+
+            log(LogLvl.INFO, TAG, "Stopping lazy module: " + module.getClass().getName());
+
+            shutdownModule(module);
+
+            synchronized (modules) {
+                modules.remove(module);
+            }
 
-        while (modulesIterator.hasNext()) {
-            IModule module = modulesIterator.next();
-            this.diContainer.unregister(module.getClass());
-            modulesIterator.remove();
         }
 
-        //Stops the logging system
-        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
-        loggerContext.stop();
+    };
 
-    }
 
+    /**
+     * Starts the periodic check of the lazy modules that have been idle for too long,
+     * if some lazy module has an idle timeout
+     */
+    private void startIdleModulesMonitor() {
 
-    public Bundle getOptions() {
-        return this.options;
-    }
+        long checkPeriod = Long.MAX_VALUE;
 
+        for (LazyModule lazyModule : this.lazyModules) {
+            long idleTimeout = lazyModule.descriptor.getIdleTimeout();
+            if (idleTimeout > 0) {
+                checkPeriod = Math.min(checkPeriod, Math.max(MIN_IDLE_CHECK_PERIOD, idleTimeout / 4));
+            }
+        }
 
-    public Throwable exception() {
-        return this.exception;
-    }
+        if (checkPeriod == Long.MAX_VALUE) {
+            return;
+        }
 
+        this.idleModulesMonitor = Executors.newSingleThreadScheduledExecutor(new FrameworkThreadFactory("robobo-idle-modules"));
+        this.idleModulesMonitor.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                long now = SystemClock.elapsedRealtime();
+                for (LazyModule lazyModule : lazyModules) {
+                    lazyModule.stopIfIdle(now);
+                }
+            }
+        }, checkPeriod, checkPeriod, TimeUnit.MILLISECONDS);
 
-    /**
-     * Checks whether there is more subsystems to load or not
-     *
-     * @return true if there is more subsystems to load, false otherwise
-     */
-    private boolean isNextModule() {
-        return this.modulesCount < this.modulesFile.values().size();
     }
 
 
-    /**
-     * Loads the next subsystem loader and instantiates the loader
-     *
-     * @return an instance of the next subsystem loader
-     * @throws ClassNotFoundException
-     * @throws InstantiationException
-     * @throws IllegalAccessException
-     */
-    private IModule registerNextModule() throws ClassNotFoundException, InstantiationException, IllegalAccessException {
-        String key = String.format(MODULE_LOADER_KEY, this.modulesIndex++);
+    private void stopIdleModulesMonitor() {
 
-        while (!modulesFile.containsKey(key)) {
-            key = String.format(MODULE_LOADER_KEY, this.modulesIndex++);
+        if (this.idleModulesMonitor != null) {
+            this.idleModulesMonitor.shutdownNow();
+            this.idleModulesMonitor = null;
         }
 
-        final String propertyName = key;
-        String ssLoaderClassName = modulesFile.getProperty(propertyName);
+    }
 
-        Objects.requireNonNull(ssLoaderClassName, String.format("Not found property=%s", propertyName));
 
-        Class ssLoaderClass = Class.forName(ssLoaderClassName);
+    private void startPowerGovernor() {
 
-        IModule module = (IModule) ssLoaderClass.newInstance();
+        int period = Math.max(0, this.options.getInt(OPTION_POWER_GOVERNOR_PERIOD, 0));
 
-        registerModuleInstance(module, ssLoaderClass);
-        modulesCount++;
-        return module;
-    }
+        if (period == 0) {
+            return;
+        }
 
+        //discards the load of the startup
+        this.frameworkLoad.sample();
+
+        this.powerGovernorMonitor = Executors.newSingleThreadScheduledExecutor(new FrameworkThreadFactory("robobo-power-governor"));
+        this.powerGovernorMonitor.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                LoadSample load = frameworkLoad.sample();
+                if (isPowerManagementEnabled()) {
+                    PowerMode currentMode = getPowerMode();
+                    PowerMode newMode = powerGovernor.selectMode(currentMode, load);
+                    if (newMode != currentMode) {
+                        log(LogLvl.INFO, TAG, "Power governor: " + currentMode + " -> " + newMode + " (" + load + ")");
+                        changePowerModeTo(newMode);
+                    }
+                }
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
 
-    /**
-     * Returns the instance of the request Robobo module
-     *
-     * @param moduleClass the class of the module requested
-     * @return the instance of the module requested
-     */
-    public <T> T getModuleInstance(Class<T> moduleClass) throws ModuleNotFoundException {
+    }
 
-        Objects.requireNonNull(moduleClass, "The parameter class is required");
 
-        T module = this.diContainer.getInstance(moduleClass);
+    private void stopPowerGovernor() {
 
-        if (module == null) {
-            throw new ModuleNotFoundException(moduleClass.getCanonicalName());
-        } else {
-            return module;
+        if (this.powerGovernorMonitor != null) {
+            this.powerGovernorMonitor.shutdownNow();
+            this.powerGovernorMonitor = null;
         }
 
     }
@@ -305,7 +1611,9 @@ public class RoboboManager extends Binder {
 
     public Collection<IModule> getAllModules() {
 
-        return new ArrayList<>(this.modules);
+        synchronized (this.modules) {
+            return new ArrayList<>(this.modules);
+        }
 
     }
 
@@ -323,7 +1631,10 @@ public class RoboboManager extends Binder {
         Objects.requireNonNull(moduleClass, "The parameter class is required");
 
         this.diContainer.registerSingleton(moduleClass, module);
-        this.modules.add(module);
+        this.registry.register(moduleClass, module);
+        synchronized (this.modules) {
+            this.modules.add(module);
+        }
 
     }
 
@@ -338,7 +1649,10 @@ public class RoboboManager extends Binder {
         Objects.requireNonNull(module, "The parameter module is required");
 
         this.diContainer.unregister(module.getClass());
-        this.modules.remove(module);
+        this.registry.remove(module);
+        synchronized (this.modules) {
+            this.modules.remove(module);
+        }
 
     }
 
@@ -358,67 +1672,287 @@ public class RoboboManager extends Binder {
     }
 
 
-    private void frameworkStateChanged(RoboboManagerState state) {
+    private void frameworkStateChanged(final RoboboManagerState state) {
 
-        this.state = state;
-
-        for (RoboboManagerListener listener : this.listeners) {
-            listener.frameworkStateChanged(state);
+        synchronized (this.stateLock) {
+            this.state = state;
+            this.stateLock.notifyAll();
         }
 
+        this.recorder.record(FlightRecordType.FRAMEWORK_STATE, FlightRecorder.NO_SYMBOL, state.ordinal(), 0);
+
+        this.listeners.dispatch(new ListenerRegistry.Notification<RoboboManagerListener>() {
+            @Override
+            public void notifyListener(RoboboManagerListener listener) {
+                listener.frameworkStateChanged(state);
+            }
+        });
+
     }
 
 
-    private void frameworkError(Throwable th) {
+    private void frameworkError(final Throwable th) {
 
         this.exception = th;
 
         try {
-            this.shutdown();
+            synchronized (this) {
+                stopFramework();
+            }
         } catch (InternalErrorException e) {
             logError(TAG, "Error framework shutdown", e);
         }
 
         frameworkStateChanged(RoboboManagerState.ERROR);
+        this.recorder.flush();
 
-        for (RoboboManagerListener listener : this.listeners) {
-            listener.frameworkError(th);
-        }
+        this.listeners.dispatch(new ListenerRegistry.Notification<RoboboManagerListener>() {
+            @Override
+            public void notifyListener(RoboboManagerListener listener) {
+                listener.frameworkError(th);
+            }
+        });
+
+        //after the ERROR events, so they are recorded and delivered to the asynchronous listeners
+        closeResources();
 
     }
 
+    /**
+     * Notifies an error of a module that prevents the framework to continue running, the framework
+     * is stopped and its state changes to ERROR.
+     * While the modules are being started the error is handled by the thread that starts them,
+     * once the startup of the running modules finishes, so a module can report it from its
+     * startup in any thread.
+     *
+     * @param th the error of the module
+     */
     public void notifyModuleError(Throwable th) {
+
+        synchronized (this.moduleErrorsLock) {
+            if (this.collectingModuleErrors) {
+                if (this.collectedModuleError == null) {
+                    this.collectedModuleError = th;
+                }
+                return;
+            }
+        }
+
         this.frameworkError(th);
+
     }
 
 
-    private void notifyLoadingModule(IModule module) {
+    /**
+     * Starts collecting the errors reported by the modules with {@link #notifyModuleError(Throwable)}.
+     * Stopping the framework from the reporting thread would deadlock when the error is reported
+     * during a startup, which holds the lock of the manager while it waits for the module.
+     */
+    private void collectModuleErrors() {
+        synchronized (this.moduleErrorsLock) {
+            this.collectingModuleErrors = true;
+            this.collectedModuleError = null;
+        }
+    }
+
+
+    /**
+     * Throws the first error reported by a module since {@link #collectModuleErrors()}, if any
+     *
+     * @throws InternalErrorException the error reported, wrapped if it is not an InternalErrorException
+     */
+    private void throwCollectedModuleError() throws InternalErrorException {
+
+        Throwable error = stopCollectingModuleErrors();
 
-        String moduleInfo = module.getModuleInfo();
-        String moduleVersion = module.getModuleVersion();
+        if (error != null) {
+            throw (error instanceof InternalErrorException) ?
+                    (InternalErrorException) error : new InternalErrorException(error);
+        }
+
+    }
+
+
+    /**
+     * Stops collecting the errors of the modules, the next errors stop the framework immediately
+     *
+     * @return the first error reported by a module since {@link #collectModuleErrors()}, or null
+     */
+    private Throwable stopCollectingModuleErrors() {
+        synchronized (this.moduleErrorsLock) {
+            Throwable error = this.collectedModuleError;
+            this.collectingModuleErrors = false;
+            this.collectedModuleError = null;
+            return error;
+        }
+    }
+
+
+    /**
+     * Notifies an error of a module that does not prevent the framework to continue running.
+     * The module is restarted on the next warm restart of the framework.
+     *
+     * @param module the module that failed
+     * @param th the error of the module
+     */
+    public void notifyModuleError(IModule module, Throwable th) {
+
+        logError(TAG, "Error in module " + module.getClass().getName(), th);
 
-        for (RoboboManagerListener listener : this.listeners) {
-            listener.loadingModule(moduleInfo, moduleVersion);
+        synchronized (this.failedModules) {
+            this.failedModules.add(module);
         }
 
+    }
+
+
+    private void notifyLoadingModule(IModule module) {
+
+        final String moduleInfo = module.getModuleInfo();
+        final String moduleVersion = module.getModuleVersion();
+
+        //modules can be started concurrently, so synchronous listeners can be notified concurrently
+        //module events are never dropped, each one is about a different module
+        this.listeners.dispatch(new ListenerRegistry.Notification<RoboboManagerListener>() {
+            @Override
+            public void notifyListener(RoboboManagerListener listener) {
+                listener.loadingModule(moduleInfo, moduleVersion);
+            }
+        });
+
         log("ROBOBO-MANAGER", "Loading module: "+moduleInfo+" - "+moduleVersion);
 
     }
 
     private void notifyModuleLoaded(IModule module) {
 
-        String moduleInfo = module.getModuleInfo();
-        String moduleVersion = module.getModuleVersion();
+        final String moduleInfo = module.getModuleInfo();
+        final String moduleVersion = module.getModuleVersion();
+
+        this.listeners.dispatch(new ListenerRegistry.Notification<RoboboManagerListener>() {
+            @Override
+            public void notifyListener(RoboboManagerListener listener) {
+                listener.moduleLoaded(moduleInfo, moduleVersion);
+            }
+        });
+
+    }
+
+
+    private void notifyStartupProgress(ModuleGraph.Node node, int startedModules, int totalModules, long elapsedMillis) {
+
+        if (this.progressListeners.isEmpty()) {
+            return;
+        }
+
+        final StartupProgress progress = new StartupProgress(node.moduleClass.getName(),
+                node.module.getModuleInfo(), node.module.getModuleVersion(),
+                startedModules, totalModules, elapsedMillis);
+
+        this.progressListeners.dispatch(new ListenerRegistry.ProgressNotification<IStartupProgressListener>() {
+            @Override
+            public void notifyListener(IStartupProgressListener listener) {
+                listener.startupProgress(progress);
+            }
+
+            @Override
+            public Object getMergeKey() {
+                return StartupProgress.class;
+            }
+        });
+
+    }
+
 
-        for (RoboboManagerListener listener : this.listeners) {
-            listener.moduleLoaded(moduleInfo, moduleVersion);
+    /**
+     * Adds a listener of the progress of the startup, notified synchronously
+     *
+     * @param listener the listener
+     */
+    public void addStartupProgressListener(IStartupProgressListener listener) {
+        addStartupProgressListener(listener, ListenerDispatchMode.SYNCHRONOUS);
+    }
+
+    /**
+     * Adds a listener of the progress of the startup
+     *
+     * @param listener the listener
+     * @param mode how the progress is delivered to the listener
+     */
+    public void addStartupProgressListener(IStartupProgressListener listener, ListenerDispatchMode mode) {
+        if (mode == ListenerDispatchMode.FRAMEWORK_EXECUTOR) {
+            this.progressListeners.add(listener, this.listenerExecutor);
+        } else {
+            this.progressListeners.add(listener);
         }
+    }
+
+    /**
+     * Adds a listener of the progress of the startup, notified by an executor, for example
+     * one that runs the notifications in the UI thread. When the listener falls behind,
+     * only the latest progress is kept.
+     *
+     * @param listener the listener
+     * @param executor the executor that delivers the progress to the listener
+     */
+    public void addStartupProgressListener(IStartupProgressListener listener, Executor executor) {
+        this.progressListeners.add(listener, executor);
+    }
 
+    public void removeStartupProgressListener(IStartupProgressListener listener) {
+        this.progressListeners.remove(listener);
     }
 
 
+    /**
+     * Adds a listener of the framework, notified synchronously: the framework waits for the
+     * listener, so it must return quickly
+     *
+     * @param listener the listener
+     */
     public void addFrameworkListener(RoboboManagerListener listener) {
-        this.listeners.add(listener);
+        addFrameworkListener(listener, ListenerDispatchMode.SYNCHRONOUS);
+    }
+
+    /**
+     * Adds a listener of the framework
+     *
+     * @param listener the listener
+     * @param mode how the events are delivered to the listener
+     */
+    public void addFrameworkListener(RoboboManagerListener listener, ListenerDispatchMode mode) {
+        if (mode == ListenerDispatchMode.FRAMEWORK_EXECUTOR) {
+            this.listeners.add(listener, this.listenerExecutor);
+        } else {
+            this.listeners.add(listener);
+        }
+    }
+
+    /**
+     * Adds a listener of the framework notified by an executor, for example one that runs the
+     * notifications in the UI thread, so the startup does not wait for the listener.
+     * The events are delivered in order. When the listener falls behind, the progress events
+     * (loadingModule and moduleLoaded) are merged, keeping only the latest ones, while the
+     * state changes and errors are always delivered.
+     *
+     * @param listener the listener
+     * @param executor the executor that delivers the events to the listener
+     */
+    public void addFrameworkListener(RoboboManagerListener listener, Executor executor) {
+        this.listeners.add(listener, executor);
+    }
+
+    /**
+     * Adds a listener of the framework notified by an executor
+     *
+     * @param listener the listener
+     * @param executor the executor that delivers the events to the listener
+     * @param queueCapacity the maximum number of progress events queued for the listener
+     * @param policy what to do with the progress events when the queue is full
+     */
+    public void addFrameworkListener(RoboboManagerListener listener, Executor executor, int queueCapacity,
+                                     ListenerRegistry.OverflowPolicy policy) {
+        this.listeners.add(listener, executor, queueCapacity, policy);
     }
 
     public void removeFrameworkListener(RoboboManagerListener listener) {
@@ -426,6 +1960,17 @@ public class RoboboManager extends Binder {
     }
 
 
+    /**
+     * Returns the time each framework listener takes to process the events of the framework,
+     * and the number of events each one failed to process
+     *
+     * @return the timings of the framework listeners, in registration order
+     */
+    public List<ListenerRegistry.ListenerTiming<RoboboManagerListener>> getFrameworkListenerTimings() {
+        return this.listeners.getTimings();
+    }
+
+
     /**
      * Logs a message with a tag and Debug logError level,
      * can be configured via logback.xml in thye assets folder of the app
@@ -522,9 +2067,11 @@ public class RoboboManager extends Binder {
     /**
      * Enables or disables the power management features of the framework.
      * When disabled, the frame is locked in PowerMode.NORMAL
-     * WHen enabled, apps or modules can change the power mode from NORMAL to LOWPOWER and
-     * viceversa. In LOWPOWER mode modules are "invited" to free resources and stop
-     * consuming processor time and memory.
+     * WHen enabled, apps or modules can change the power mode from NORMAL to the more restrictive
+     * modes and viceversa. In those modes ({@link PowerMode#isReduced()}) modules are "invited"
+     * to free resources and stop consuming processor time and memory.
+     * If the power governor is enabled ({@link #OPTION_POWER_GOVERNOR_PERIOD}) it also changes
+     * the power mode depending on the load of the framework.
      *
      * @param enabled whether to enable or disable power management
      */
@@ -549,20 +2096,162 @@ public class RoboboManager extends Binder {
     /**
      * Private method to internally change the power mode of the robot.
      * It allows to change the mode without looking at the power management state.
+     * The change is delivered to the listeners in background by the power mode dispatcher.
      *
      * @param newMode new power mode.
      */
     private void forcePowerModeTo(PowerMode newMode) {
-        if (newMode != this.powerMode) {
-            this.powerMode = newMode;
-            Thread t = new Thread(new Runnable() {
-                @Override
-                public void run() {
-                    notifyPowerModeChange();
-                }
-            });
-            t.start();
+        PowerMode oldMode = this.powerModeDispatcher.getMode();
+        if (oldMode != newMode) {
+            this.recorder.record(FlightRecordType.POWER_MODE, FlightRecorder.NO_SYMBOL, oldMode.ordinal(), newMode.ordinal());
         }
+        this.powerModeDispatcher.changeMode(newMode);
+    }
+
+
+    /**
+     * Returns the current power mode, the last one requested. Listeners may be still
+     * processing it, see {@link #getPowerModeDispatcher()}.
+     *
+     * @return the current power mode
+     */
+    @Override
+    public PowerMode getPowerMode() {
+        return this.powerModeDispatcher.getMode();
+    }
+
+
+    /**
+     * Returns the scheduler where a new behaviour must be scheduled. It executes the steps in
+     * the main thread or, if {@link #OPTION_BEHAVIOUR_THREADS} is set, in one of the framework
+     * behaviour threads.
+     *
+     * @return the behaviour scheduler for a new behaviour
+     */
+    @Override
+    public BehaviourScheduler getBehaviourScheduler() {
+        return this.behaviourThreads.getScheduler();
+    }
+
+
+    /**
+     * Returns the event bus of the framework, that modules can use to publish and subscribe
+     * to typed topics of events instead of registering listeners in other modules.
+     * All the topics are removed when the framework is shutdown.
+     *
+     * @return the event bus of the framework
+     */
+    public EventBus getEventBus() {
+        return this.eventBus;
+    }
+
+
+    /**
+     * Returns the registry of the data streams of the framework, that modules can use to
+     * publish streams of items, like sensor readings, with flow control: each subscriber
+     * requests the items it can process and has a bounded buffer for the rest, so fast
+     * producers are not blocked by slow subscribers. All the streams are completed when the
+     * framework is shutdown.
+     *
+     * @return the registry of the data streams of the framework
+     */
+    public StreamRegistry getStreamRegistry() {
+        return this.streams;
+    }
+
+
+    /**
+     * Returns the flight recorder of the framework, a low overhead recorder of the lifecycle of
+     * the framework and the modules, the power mode changes and the steps of the behaviours,
+     * enabled by {@link #OPTION_RECORDER_FILE}. Modules can record their own events with
+     * {@link FlightRecorder#recordModuleEvent(int, long, long)}, which are only recorded if
+     * {@link #OPTION_RECORDER_MODULE_EVENTS} is set.
+     *
+     * @return the flight recorder, FlightRecorder.DISABLED if it is not enabled
+     */
+    public FlightRecorder getFlightRecorder() {
+        return this.recorder;
+    }
+
+
+    /**
+     * Runs all the behaviours with a scheduler driver instead of the main thread or the
+     * framework behaviour threads, for example a {@link VirtualClockDriver} to run them
+     * headless and faster than real time. It must be called before the behaviours are started.
+     *
+     * @param driver the driver of the behaviour schedulers
+     * @throws IllegalStateException if some behaviour has already been started
+     */
+    public void setBehaviourSchedulerDriver(ISchedulerDriver driver) {
+        this.behaviourThreads.useDriver(driver);
+    }
+
+
+    /**
+     * Returns the threads that execute the behaviours
+     *
+     * @return the threads that execute the behaviours
+     */
+    @Override
+    public BehaviourThreads getBehaviourThreads() {
+        return this.behaviourThreads;
+    }
+
+
+    /**
+     * Returns the execution metrics of the running behaviours: histograms of the duration of
+     * their steps, of the jitter of their start and of the interval between steps, and the
+     * number of steps that missed their deadline.
+     *
+     * @return the metrics of the running behaviours
+     */
+    public List<BehaviourMetricsSnapshot> getBehaviourMetrics() {
+        return this.behaviourThreads.getMetrics();
+    }
+
+
+    /**
+     * Returns the load of the framework, used by the power governor.
+     * Behaviours record their steps on it.
+     *
+     * @return the load of the framework
+     */
+    @Override
+    public FrameworkLoad getFrameworkLoad() {
+        return this.frameworkLoad;
+    }
+
+
+    /**
+     * Returns the clock used to measure the CPU time of the behaviour steps
+     *
+     * @return the thread CPU clock, based on android.os.Debug
+     */
+    @Override
+    public IThreadCpuClock getThreadCpuClock() {
+        return this.threadCpuClock;
+    }
+
+
+    /**
+     * Changes the governor that selects the power mode from the load of the framework,
+     * when it is enabled by {@link #OPTION_POWER_GOVERNOR_PERIOD}.
+     *
+     * @param governor the new power governor
+     */
+    public void setPowerGovernor(IPowerGovernor governor) {
+        this.powerGovernor = governor;
+    }
+
+
+    /**
+     * Returns the dispatcher of the power mode changes, that tracks the acknowledgement of the
+     * modes by the listeners and the time they take to process them.
+     *
+     * @return the power mode dispatcher
+     */
+    public PowerModeDispatcher getPowerModeDispatcher() {
+        return this.powerModeDispatcher;
     }
 
     /**
@@ -578,20 +2267,14 @@ public class RoboboManager extends Binder {
         }
     }
 
-
-    private void notifyPowerModeChange() {
-        for (IPowerModeListener l : this.powerModeListeners) {
-            l.onPowerModeChange(this.powerMode);
-        }
-    }
-
     /**
      * Subscribes a listener to power mode change events.
      *
      * @param listener the listener to receive power mode change events
      */
+    @Override
     public void subscribeToPowerModeChanges(IPowerModeListener listener) {
-        this.powerModeListeners.add(listener);
+        this.powerModeDispatcher.addListener(listener);
     }
 
     /**
@@ -599,8 +2282,9 @@ public class RoboboManager extends Binder {
      *
      * @param listener the listener to unsubscribe
      */
+    @Override
     public void unsubscribeFromPowerModeChanges(IPowerModeListener listener) {
-        this.powerModeListeners.remove(listener);
+        this.powerModeDispatcher.removeListener(listener);
     }
 
 }
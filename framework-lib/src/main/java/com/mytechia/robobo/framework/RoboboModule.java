@@ -0,0 +1,89 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/** Optional descriptor of a Robobo module.
+ *
+ * Modules annotated with @RoboboModule declare explicitly the other modules they depend on,
+ * so the RoboboManager can start them as soon as their dependencies are running, concurrently
+ * with other independent modules. The dependencies can be expressed using the module
+ * interfaces or the module implementation classes.
+ *
+ * Modules without this annotation, or annotated as sequential, keep the classic behaviour:
+ * they are started in the thread that called RoboboManager.startup() and only after all the
+ * modules declared before them in the modules configuration file have been started.
+ *
+ * Modules can also be declared as lazy, so they are only started when another module or app
+ * requests them for the first time.
+ *
+ * Annotated modules are also included in the module index generated at build time by the
+ * Robobo framework annotation processor, if it is configured in the application.
+ *
+ * Example:
+ *
+ * <pre>
+ * &#64;RoboboModule(dependencies = {IRobInterfaceModule.class})
+ * public class MyMovementModule implements IModule { ... }
+ * </pre>
+ *
+ * @author Gervasio Varela
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface RoboboModule {
+
+    /** Value of {@link #options()} that matches all the options of the framework */
+    String ALL_OPTIONS = "*";
+
+    /** The modules (interfaces or classes) that must be started before this module */
+    Class<?>[] dependencies() default {};
+
+    /** Whether the module must be started like a classic (non annotated) module */
+    boolean sequential() default false;
+
+    /** Lazy modules are not started with the framework, they are started the first time
+     * they are requested using RoboboManager.getModuleInstance() */
+    boolean lazy() default false;
+
+    /** Time (milliseconds) after which a lazy module that has not been requested is shutdown,
+     * it will be started again the next time it is requested. By default (0) lazy modules are
+     * not shutdown until the framework is shutdown.
+     * Only use it with modules that are always obtained through RoboboManager.getModuleInstance()
+     * and never kept by other modules or apps. */
+    long idleTimeout() default 0;
+
+    /** The framework options (keys of the options Bundle) read by the module. When the options
+     * change in a warm restart of the framework, only the modules that read some changed option
+     * are restarted. A key ending with '*' matches all the options with that prefix.
+     * By default ({@link #ALL_OPTIONS}) the module is restarted when any option changes, modules
+     * that do not read any option can declare an empty list. */
+    String[] options() default {ALL_OPTIONS};
+
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework;
+
+
+/** Progress of the startup of the Robobo framework, notified each time a module has been started
+ *
+ * @author Gervasio Varela
+ */
+public final class StartupProgress {
+
+    private final String moduleClassName;
+    private final String moduleInfo;
+    private final String moduleVersion;
+    private final int startedModules;
+    private final int totalModules;
+    private final long elapsedMillis;
+
+
+    public StartupProgress(String moduleClassName, String moduleInfo, String moduleVersion,
+                           int startedModules, int totalModules, long elapsedMillis) {
+        this.moduleClassName = moduleClassName;
+        this.moduleInfo = moduleInfo;
+        this.moduleVersion = moduleVersion;
+        this.startedModules = startedModules;
+        this.totalModules = totalModules;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+
+    /** Returns the class of the module that has just been started */
+    public String getModuleClassName() {
+        return moduleClassName;
+    }
+
+    public String getModuleInfo() {
+        return moduleInfo;
+    }
+
+    public String getModuleVersion() {
+        return moduleVersion;
+    }
+
+    /** Returns the number of modules started so far (N of M) */
+    public int getStartedModules() {
+        return startedModules;
+    }
+
+    /** Returns the number of modules that are started with the framework (lazy modules are not included) */
+    public int getTotalModules() {
+        return totalModules;
+    }
+
+    /** Returns the time elapsed since the beginning of the startup, in milliseconds */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /** Returns whether all the modules have been started */
+    public boolean isComplete() {
+        return startedModules == totalModules;
+    }
+
+
+    @Override
+    public String toString() {
+        return "Started " + moduleInfo + " (" + startedModules + "/" + totalModules + ", " + elapsedMillis + " ms)";
+    }
+
+}
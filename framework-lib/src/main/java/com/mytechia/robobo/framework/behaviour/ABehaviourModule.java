@@ -24,11 +24,17 @@
 
 package com.mytechia.robobo.framework.behaviour;
 
-import android.os.Handler;
-
 import com.mytechia.commons.framework.exception.InternalErrorException;
 import com.mytechia.robobo.framework.IModule;
 import com.mytechia.robobo.framework.RoboboManager;
+import com.mytechia.robobo.framework.power.FrameworkLoad;
+import com.mytechia.robobo.framework.power.IPowerModeListener;
+import com.mytechia.robobo.framework.power.PowerMode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
 /** An abstract class to facilitate the implementation of new behaviours/apps for the Robobo robot
  *
@@ -37,6 +43,19 @@ import com.mytechia.robobo.framework.RoboboManager;
  * stopBehaviour() -- To release resources, like unsubscribing listeners
  * runStep() -- To execute some logic periodically
  *
+ * Instead of polling, a behaviour can be event triggered (see setEventTriggered()), and then
+ * runStep() is executed when the listeners of the behaviour call trigger().
+ *
+ * A behaviour can also declare a range of periods (see setPeriodRange()), and then the framework
+ * adapts its period to the power mode and to the overruns of its steps.
+ *
+ * Behaviours only depend on the services of IBehaviourHost, so they can also be executed
+ * outside of Android with startup(IBehaviourHost), for example in a plain JVM with a
+ * VirtualClockDriver.
+ *
+ * Behaviours that share an actuator can compete for it in a BehaviourArbiter (see joinArbiter()),
+ * proposing their outputs instead of sending orders to the actuator in runStep().
+ *
  * @author Gervasio Varela | gervasio.varela@mytechia.com
  *
  */
@@ -45,71 +64,413 @@ public abstract class ABehaviourModule implements IModule {
     private static final int MIN_PERIOD = 10;
     private static final int DEFAULT_PERIOD = 50;
 
+    /** Number of steps used to measure the overrun rate of adaptive behaviours */
+    private static final int OVERRUN_WINDOW = 20;
+    /** Overrun rate that stretches the period of adaptive behaviours */
+    private static final double OVERRUN_RATE_THRESHOLD = 0.25;
+    private static final double LOAD_FACTOR_INCREASE = 1.5;
+    private static final double LOAD_FACTOR_DECREASE = 1.25;
+
 
-    /** Robobo manager instance */
+    /** Robobo manager instance, null when the behaviour is executed by another host */
     private RoboboManager robobo = null;
 
-    /** Handler for periodic behaviour execution */
-    private Handler handler = null;
-    /** Code to run each period */
-    private Runnable runnableCode = null;
+    /** The services used to execute the behaviour */
+    private IBehaviourHost host = null;
+
+    /** Registration of the periodic behaviour execution in the framework scheduler */
+    private volatile BehaviourScheduler.Registration registration = null;
+
+    /** Whether the behaviour runs in a thread of its own */
+    private boolean dedicatedThread = false;
+    private BehaviourScheduler pinnedScheduler = null;
 
     /** Period of each step run */
-    private int stepPeriod = DEFAULT_PERIOD;
+    private volatile int stepPeriod = DEFAULT_PERIOD;
+
+    /** How the next step run is computed */
+    private volatile StepTiming stepTiming = StepTiming.FIXED_DELAY;
+
+    /** Whether steps are executed when triggered instead of periodically */
+    private boolean eventTriggered = false;
+    private long minTriggerInterval = 0;
+
+    /** Whether power mode changes trigger a step */
+    private boolean triggeredByPowerMode = false;
+
+    /** Range of periods of adaptive behaviours, null if the period is fixed */
+    private volatile PeriodRange periodRange = null;
+    /** Factor applied to the period of adaptive behaviours due to their overruns, guarded by this */
+    private double loadFactor = 1.0;
+    private PowerMode powerMode = PowerMode.NORMAL;
+    //overruns of the current window, only accessed by the step
+    private int windowSteps = 0;
+    private int windowOverruns = 0;
+
+    private final List<IStepPeriodListener> periodListeners = new CopyOnWriteArrayList<>();
+
+    private boolean listensPowerMode = false;
+
+    /** Arbiters joined by the behaviour, left when it is stopped. Guarded by this */
+    private final List<ArbiterMembership<?>> arbiters = new ArrayList<>();
+
+    private final IPowerModeListener powerModeListener = new IPowerModeListener() {
+        @Override
+        public void onPowerModeChange(PowerMode newMode) {
+            synchronized (ABehaviourModule.this) {
+                powerMode = newMode;
+            }
+            adaptPeriod();
+            if (eventTriggered && triggeredByPowerMode) {
+                trigger();
+            }
+        }
+    };
 
 
 
     /** Returns the current Robobo manager instace
      *
-     * @return the current Robobo manager instace
+     * @return the current Robobo manager instace, null if the behaviour was started by another host
      */
     public final RoboboManager getRobobo() {
         return this.robobo;
     }
 
 
+    /** Returns the services used to execute the behaviour
+     *
+     * @return the host of the behaviour, null if it has not been started
+     */
+    IBehaviourHost getBehaviourHost() {
+        return this.host;
+    }
+
+
     /** Changes the period of execution of the runStep() method.
      * By default is 50 ms (20 times/second)
      * The minimum allowed is 10 ms (100 times/second)
+     * For event triggered behaviours it changes the fallback period.
+     * It disables the adaptive period set by setPeriodRange().
      *
      * @param period period of execution of the runStep() method
      */
     public final void setPeriod(int period) {
+        this.periodRange = null;
+        changePeriod(period);
+    }
+
+
+    private synchronized void changePeriod(int period) {
         if (period >= MIN_PERIOD) {
             this.stepPeriod = period;
         }
         else {
             this.stepPeriod = MIN_PERIOD;
         }
+        BehaviourScheduler.Registration running = this.registration;
+        if (running != null) {
+            running.setPeriod(this.stepPeriod);
+        }
+    }
+
+
+    /** Lets the framework adapt the period of execution of the runStep() method: the period
+     * is the minimum in PowerMode.NORMAL, grows in the more restrictive power modes up to the
+     * maximum, and it is also stretched while the steps take longer than the period.
+     * For event triggered behaviours it adapts the fallback period.
+     *
+     * @param minPeriod the period in PowerMode.NORMAL, in milliseconds
+     * @param maxPeriod the maximum period, in milliseconds
+     */
+    public final void setPeriodRange(int minPeriod, int maxPeriod) {
+        this.periodRange = new PeriodRange(Math.max(MIN_PERIOD, minPeriod), Math.max(MIN_PERIOD, maxPeriod));
+        adaptPeriod();
+    }
+
+
+    /** Returns the range of periods of the behaviour, or null if its period is fixed */
+    public final PeriodRange getPeriodRange() {
+        return this.periodRange;
+    }
+
+
+    /** Returns the current period of execution of the runStep() method, in milliseconds */
+    public final int getPeriod() {
+        return this.stepPeriod;
+    }
+
+
+    public final void addStepPeriodListener(IStepPeriodListener listener) {
+        this.periodListeners.add(listener);
+    }
+
+    public final void removeStepPeriodListener(IStepPeriodListener listener) {
+        this.periodListeners.remove(listener);
+    }
+
+
+    /** Updates the period of an adaptive behaviour, notifying the listeners if it changes */
+    private void adaptPeriod() {
+
+        int oldPeriod;
+        int newPeriod;
+        PowerMode mode;
+
+        synchronized (this) {
+            PeriodRange range = this.periodRange;
+            if (range == null) {
+                return;
+            }
+            mode = this.powerMode;
+            oldPeriod = this.stepPeriod;
+            newPeriod = range.periodFor(mode, this.loadFactor);
+            if (newPeriod == oldPeriod) {
+                return;
+            }
+            changePeriod(newPeriod);
+        }
+
+        for (IStepPeriodListener listener : this.periodListeners) {
+            listener.onStepPeriodChanged(this, oldPeriod, newPeriod, mode);
+        }
+
+    }
+
+
+    /** Measures the overrun rate of an adaptive behaviour, called after each step */
+    private void recordOverrun(boolean overrun) {
+
+        if (overrun) {
+            this.windowOverruns++;
+        }
+
+        if (++this.windowSteps < OVERRUN_WINDOW) {
+            return;
+        }
+
+        double overrunRate = (double) this.windowOverruns / this.windowSteps;
+        this.windowSteps = 0;
+        this.windowOverruns = 0;
+
+        synchronized (this) {
+            if (overrunRate > OVERRUN_RATE_THRESHOLD) {
+                this.loadFactor = this.loadFactor * LOAD_FACTOR_INCREASE;
+            } else if (overrunRate == 0) {
+                this.loadFactor = Math.max(1.0, this.loadFactor / LOAD_FACTOR_DECREASE);
+            }
+            //the factor is only useful while the period is below the maximum
+            PeriodRange range = this.periodRange;
+            if (range != null) {
+                this.loadFactor = Math.min(this.loadFactor, (double) range.getMaxPeriod() / range.getMinPeriod());
+            }
+        }
+
+        adaptPeriod();
+
+    }
+
+
+    /** Changes how the next execution of the runStep() method is computed.
+     * By default (StepTiming.FIXED_DELAY) the next step starts a whole period after the end of
+     * the previous one, as behaviours have always done. Fixed-rate timings are opt-in: with
+     * StepTiming.FIXED_RATE_SKIP, for example, steps start at multiples of the period, skipping
+     * the periods missed when a step takes longer than the period, and behaviours with the same
+     * period share the wakeups of the scheduler.
+     *
+     * @param timing how the next execution of the runStep() method is computed
+     */
+    public final void setStepTiming(StepTiming timing) {
+        this.stepTiming = timing;
+        BehaviourScheduler.Registration running = this.registration;
+        if (running != null) {
+            running.setTiming(timing);
+        }
+    }
+
+
+    /** Runs the behaviour in a thread of its own, instead of the thread shared by the behaviours
+     * (the main thread by default, see RoboboManager.OPTION_BEHAVIOUR_THREADS).
+     * It must be called before the behaviour is started.
+     *
+     * @param dedicatedThread whether the behaviour runs in a thread of its own
+     */
+    public final void setDedicatedThread(boolean dedicatedThread) {
+        this.dedicatedThread = dedicatedThread;
+    }
+
+
+    /** Executes the runStep() method when the behaviour is triggered, instead of periodically.
+     * Triggers received before the step is executed are coalesced, so a burst of events
+     * results in a single step. It must be called before the behaviour is started.
+     *
+     * @param minIntervalMillis minimum time between two steps, limits the rate of steps (0 for no limit)
+     * @param fallbackPeriodMillis the step is also executed if it has not been triggered during
+     *                             this period (0 to only execute it when triggered)
+     */
+    public final void setEventTriggered(long minIntervalMillis, long fallbackPeriodMillis) {
+        this.eventTriggered = true;
+        this.minTriggerInterval = Math.max(0, minIntervalMillis);
+        this.stepPeriod = (int) Math.max(0, fallbackPeriodMillis);
+    }
+
+
+    /** Also triggers a step each time the power mode of the framework changes.
+     * It must be called before the behaviour is started.
+     *
+     * @param triggered whether power mode changes trigger a step
+     */
+    public final void setTriggeredByPowerModeChanges(boolean triggered) {
+        this.triggeredByPowerMode = triggered;
+    }
+
+
+    /** Requests the execution of the runStep() method of an event triggered behaviour.
+     * It can be called from any thread, typically from the listeners of the behaviour.
+     * It is ignored when the behaviour is not running.
+     *
+     * @throws IllegalStateException if the behaviour is not event triggered
+     */
+    public final void trigger() {
+        if (!this.eventTriggered) {
+            throw new IllegalStateException("The behaviour is not event triggered");
+        }
+        BehaviourScheduler.Registration running = this.registration;
+        if (running != null) {
+            running.trigger();
+        }
     }
 
 
-    /** Starts the periodic execution of the behaviour by intializing a handler and setting
-     * it to run periodically
+    /** Adds a proposer of the behaviour to an arbiter shared with other behaviours, usually
+     * from startBehaviour(). The proposer is removed from the arbiter when the behaviour is
+     * stopped. The arbiter is started in the behaviour scheduler of the framework, with the
+     * period and step timing of this behaviour, if it was not running, and it is stopped when
+     * the last behaviour leaves it.
+     *
+     * @param arbiter the arbiter of the shared output
+     * @param proposer the proposer of the outputs of this behaviour
+     * @param priority the priority of the proposer in the arbiter, higher values win
+     * @param <O> the type of the output
+     * @throws IllegalStateException if the behaviour has not been started
+     */
+    protected final <O> void joinArbiter(BehaviourArbiter<O> arbiter, IArbitratedBehaviour<O> proposer, int priority) {
+
+        IBehaviourHost behaviourHost = this.host;
+        if (behaviourHost == null) {
+            throw new IllegalStateException("The behaviour has not been started");
+        }
+
+        synchronized (arbiter) {
+            arbiter.addBehaviour(proposer, priority);
+            arbiter.start(behaviourHost.getBehaviourScheduler(), this.stepPeriod, this.stepTiming);
+        }
+
+        synchronized (this) {
+            this.arbiters.add(new ArbiterMembership<>(arbiter, proposer));
+        }
+
+    }
+
+
+    private void leaveArbiters() {
+
+        List<ArbiterMembership<?>> joined;
+        synchronized (this) {
+            joined = new ArrayList<>(this.arbiters);
+            this.arbiters.clear();
+        }
+
+        for (ArbiterMembership<?> membership : joined) {
+            membership.leave();
+        }
+
+    }
+
+
+    /** Starts the periodic execution of the behaviour by registering it in the behaviour
+     * scheduler of the framework, shared by all the behaviours
      *
      * @param manager The instance of the Robobo manager framework
      * @throws InternalErrorException if there is an unexpected error during start-up
      */
     @Override
     public final void startup(RoboboManager manager) throws InternalErrorException {
-
         this.robobo = manager;
+        startup((IBehaviourHost) manager);
+    }
+
+
+    /** Starts the periodic execution of the behaviour with the services of a host other than
+     * the RoboboManager, for example to execute it in a plain JVM
+     *
+     * @param behaviourHost the services used to execute the behaviour
+     * @throws InternalErrorException if there is an unexpected error during start-up
+     */
+    public final void startup(IBehaviourHost behaviourHost) throws InternalErrorException {
+
+        this.host = behaviourHost;
 
         startBehaviour();
 
-        this.handler = new Handler();
+        final FrameworkLoad load = behaviourHost.getFrameworkLoad();
+        final IThreadCpuClock cpuClock = behaviourHost.getThreadCpuClock();
+
+        synchronized (this) {
+            this.powerMode = behaviourHost.getPowerMode();
+        }
+        adaptPeriod();
+
+        Runnable runnableCode = new Runnable() {
+
+            private int stepsToCpuSample = 0;
 
-        this.runnableCode = new Runnable() {
             @Override
             public void run() {
 
+                boolean cpuSample = (--stepsToCpuSample <= 0);
+                if (cpuSample) {
+                    stepsToCpuSample = FrameworkLoad.CPU_SAMPLING_STEPS;
+                }
+
+                long stepStart = System.nanoTime();
+                long cpuStart = cpuSample ? cpuClock.threadCpuTimeNanos() : -1;
+
                 runStep();
 
-                handler.postDelayed(this, stepPeriod);
+                long duration = System.nanoTime() - stepStart;
+                long cpuNanos = (cpuStart < 0) ? -1 :
+                        (cpuClock.threadCpuTimeNanos() - cpuStart) * FrameworkLoad.CPU_SAMPLING_STEPS;
+                //triggered steps have no period to overrun
+                long periodNanos = eventTriggered ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(stepPeriod);
+                if (load != null) {
+                    load.recordStep(duration, cpuNanos, periodNanos);
+                }
+
+                if (periodRange != null) {
+                    recordOverrun(duration > periodNanos);
+                }
             }
         };
 
-        this.handler.post(runnableCode);
+        BehaviourScheduler scheduler;
+        if (this.dedicatedThread) {
+            this.pinnedScheduler = behaviourHost.getBehaviourThreads().newPinnedScheduler(getClass().getSimpleName());
+            scheduler = this.pinnedScheduler;
+        } else {
+            scheduler = behaviourHost.getBehaviourScheduler();
+        }
+
+        if (this.eventTriggered) {
+            this.registration = scheduler.scheduleTriggered(getClass().getName(), runnableCode,
+                    this.minTriggerInterval, this.stepPeriod);
+        } else {
+            this.registration = scheduler.schedule(getClass().getName(), runnableCode, this.stepPeriod, this.stepTiming);
+        }
+
+        //the period range can be set while running, so the power mode is always listened
+        this.listensPowerMode = true;
+        behaviourHost.subscribeToPowerModeChanges(this.powerModeListener);
 
     }
 
@@ -121,9 +482,28 @@ public abstract class ABehaviourModule implements IModule {
     @Override
     public final void shutdown() throws InternalErrorException {
 
-        stopBehaviour();
+        try {
+            stopBehaviour();
+        } finally {
+            //the behaviour is unscheduled even if its resources could not be released
+
+            leaveArbiters();
+
+            if (this.listensPowerMode) {
+                this.host.unsubscribeFromPowerModeChanges(this.powerModeListener);
+                this.listensPowerMode = false;
+            }
+
+            if (this.registration != null) {
+                this.registration.cancel();
+                this.registration = null;
+            }
 
-        this.handler.removeCallbacks(this.runnableCode);
+            if (this.pinnedScheduler != null) {
+                this.host.getBehaviourThreads().release(this.pinnedScheduler);
+                this.pinnedScheduler = null;
+            }
+        }
 
     }
 
@@ -144,12 +524,37 @@ public abstract class ABehaviourModule implements IModule {
 
     /** Users must override this method with the particular logic for their Robobo behaviour.
      * This method is called periodically, so each 'run' must be 'short in time' and return the control quickly.
-     * If some heavy processing is required it should be done in a different thread.
+     * If some heavy processing is required it should be done in a different thread, for example
+     * splitting the step in the pipelined stages of APipelinedBehaviourModule.
      * This method should only be used to read sensors and send orders to actuators.
      */
     protected abstract void runStep();
 
 
 
+    /** A proposer of the behaviour that takes part in an arbiter */
+    private static final class ArbiterMembership<O> {
+
+        private final BehaviourArbiter<O> arbiter;
+        private final IArbitratedBehaviour<O> proposer;
+
+        ArbiterMembership(BehaviourArbiter<O> arbiter, IArbitratedBehaviour<O> proposer) {
+            this.arbiter = arbiter;
+            this.proposer = proposer;
+        }
+
+        void leave() {
+            synchronized (this.arbiter) {
+                this.arbiter.removeBehaviour(this.proposer);
+                if (this.arbiter.getBehaviourCount() == 0) {
+                    this.arbiter.stop();
+                }
+            }
+        }
+
+    }
+
+
+
 
 }
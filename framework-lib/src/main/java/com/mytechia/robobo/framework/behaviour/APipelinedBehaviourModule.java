@@ -0,0 +1,340 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.behaviour;
+
+import com.mytechia.commons.framework.exception.InternalErrorException;
+import com.mytechia.robobo.framework.concurrent.SpscQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/** An abstract class for behaviours whose steps are split in three pipelined stages: sense,
+ * plan and act.
+ *
+ * The sense stage runs periodically in the thread of the behaviour scheduler, like runStep(),
+ * while the plan and act stages run in two threads of the behaviour. The stages are connected
+ * by bounded single-producer/single-consumer queues, so the planning of a step overlaps the
+ * sensing of the next one, and heavy planning does not delay the other behaviours.
+ *
+ * When a queue is full the new element is dropped (and counted), so a slow stage reduces
+ * the rate of the pipeline instead of increasing its latency.
+ *
+ * Users must override five methods:
+ * startPipelinedBehaviour() -- To setup the behaviour execution, like in startBehaviour()
+ * stopPipelinedBehaviour() -- To release resources, like in stopBehaviour()
+ * sense() -- To read the sensors, returning the sample to plan (or null to skip the step)
+ * plan() -- To decide the actions from a sample, returning the plan to execute (or null)
+ * act() -- To send the orders of a plan to the actuators
+ *
+ * The plan and act threads are created by the BehaviourThreads of the framework, with the
+ * priority of the behaviour threads.
+ *
+ * @param <S> the type of the samples produced by the sense stage
+ * @param <P> the type of the plans produced by the plan stage
+ * @author Gervasio Varela
+ */
+public abstract class APipelinedBehaviourModule<S, P> extends ABehaviourModule {
+
+    /** Default capacity of the queues between stages */
+    public static final int DEFAULT_QUEUE_CAPACITY = 4;
+
+    private static final Logger LOG = LoggerFactory.getLogger("com.mytechia.robobo.framework.behaviour");
+    private static final long STOP_TIMEOUT = 1000;
+
+
+    private final int queueCapacity;
+
+    private SpscQueue<S> samples;
+    private SpscQueue<P> plans;
+
+    private volatile boolean running = false;
+    private Thread planThread;
+    private Thread actThread;
+
+    private final AtomicLong sensed = new AtomicLong();
+    private final AtomicLong planned = new AtomicLong();
+    private final AtomicLong acted = new AtomicLong();
+    private final AtomicLong droppedSamples = new AtomicLong();
+    private final AtomicLong droppedPlans = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+
+    /** Creates a pipelined behaviour with queues of the default capacity */
+    protected APipelinedBehaviourModule() {
+        this(DEFAULT_QUEUE_CAPACITY);
+    }
+
+
+    /** Creates a pipelined behaviour
+     *
+     * @param queueCapacity the capacity of the queues between stages
+     */
+    protected APipelinedBehaviourModule(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+
+    /** Starts the plan and act stages. Subclasses that override it must call it.
+     *
+     * @throws InternalErrorException if there is an unexpected error during start-up
+     */
+    @Override
+    protected void startBehaviour() throws InternalErrorException {
+
+        startPipelinedBehaviour();
+
+        this.samples = new SpscQueue<>(this.queueCapacity);
+        this.plans = new SpscQueue<>(this.queueCapacity);
+        this.running = true;
+
+        BehaviourThreads threads = getBehaviourHost().getBehaviourThreads();
+        String threadName = "robobo-pipeline-" + getClass().getSimpleName();
+
+        this.actThread = threads.newThread(threadName + "-act", new Runnable() {
+            @Override
+            public void run() {
+                runActStage();
+            }
+        });
+        this.planThread = threads.newThread(threadName + "-plan", new Runnable() {
+            @Override
+            public void run() {
+                runPlanStage();
+            }
+        });
+
+        this.actThread.start();
+        this.planThread.start();
+
+    }
+
+
+    /** Stops the plan and act stages, interrupting their threads. Subclasses that override it must call it.
+     *
+     * @throws InternalErrorException if a stage does not stop in STOP_TIMEOUT milliseconds,
+     * after releasing the resources of the behaviour
+     */
+    @Override
+    protected void stopBehaviour() throws InternalErrorException {
+
+        this.running = false;
+
+        List<String> stuckStages = new ArrayList<>();
+        stopThread(this.planThread, stuckStages);
+        stopThread(this.actThread, stuckStages);
+        this.planThread = null;
+        this.actThread = null;
+
+        stopPipelinedBehaviour();
+
+        if (!stuckStages.isEmpty()) {
+            throw new InternalErrorException("Pipeline stages not stopped: " + stuckStages);
+        }
+
+    }
+
+
+    private static void stopThread(Thread thread, List<String> stuckStages) {
+
+        if (thread == null) {
+            return;
+        }
+
+        //wakes up the stage if it is waiting, or blocked in an interruptible call
+        thread.interrupt();
+
+        try {
+            thread.join(STOP_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (thread.isAlive()) {
+            LOG.warn("Pipeline stage " + thread.getName() + " not stopped after " + STOP_TIMEOUT + " ms");
+            stuckStages.add(thread.getName());
+        }
+
+    }
+
+
+    /** The sense stage, executed periodically by the behaviour scheduler */
+    @Override
+    protected final void runStep() {
+
+        if (!this.running) {
+            return;
+        }
+
+        S sample;
+        try {
+            sample = sense();
+        } catch (RuntimeException ex) {
+            this.errors.incrementAndGet();
+            LOG.error("Error in the sense stage of " + getClass().getName(), ex);
+            return;
+        }
+
+        if (sample == null) {
+            return;
+        }
+
+        this.sensed.incrementAndGet();
+
+        if (this.samples.offer(sample)) {
+            LockSupport.unpark(this.planThread);
+        } else {
+            this.droppedSamples.incrementAndGet();
+        }
+
+    }
+
+
+    private void runPlanStage() {
+
+        while (this.running) {
+
+            S sample = this.samples.poll();
+            if (sample == null) {
+                LockSupport.park(this);
+                continue;
+            }
+
+            P plan;
+            try {
+                plan = plan(sample);
+            } catch (RuntimeException ex) {
+                this.errors.incrementAndGet();
+                LOG.error("Error in the plan stage of " + getClass().getName(), ex);
+                continue;
+            }
+
+            if (plan == null) {
+                continue;
+            }
+
+            this.planned.incrementAndGet();
+
+            if (this.plans.offer(plan)) {
+                LockSupport.unpark(this.actThread);
+            } else {
+                this.droppedPlans.incrementAndGet();
+            }
+
+        }
+
+    }
+
+
+    private void runActStage() {
+
+        while (this.running) {
+
+            P plan = this.plans.poll();
+            if (plan == null) {
+                LockSupport.park(this);
+                continue;
+            }
+
+            try {
+                act(plan);
+                this.acted.incrementAndGet();
+            } catch (RuntimeException ex) {
+                this.errors.incrementAndGet();
+                LOG.error("Error in the act stage of " + getClass().getName(), ex);
+            }
+
+        }
+
+    }
+
+
+    /** Returns the number of samples produced by the sense stage */
+    public final long getSensed() {
+        return this.sensed.get();
+    }
+
+    /** Returns the number of plans produced by the plan stage */
+    public final long getPlanned() {
+        return this.planned.get();
+    }
+
+    /** Returns the number of plans executed by the act stage */
+    public final long getActed() {
+        return this.acted.get();
+    }
+
+    /** Returns the number of samples dropped because the plan stage was busy */
+    public final long getDroppedSamples() {
+        return this.droppedSamples.get();
+    }
+
+    /** Returns the number of plans dropped because the act stage was busy */
+    public final long getDroppedPlans() {
+        return this.droppedPlans.get();
+    }
+
+    /** Returns the number of errors in the three stages */
+    public final long getStageErrors() {
+        return this.errors.get();
+    }
+
+
+    /** Users must override this method with the code required to start-up the execution of the
+     * behaviour, like getting instances of Robobo modules or any other resource.
+     *
+     * @throws InternalErrorException
+     */
+    protected abstract void startPipelinedBehaviour() throws InternalErrorException;
+
+    /** Users must override this method with the core required to stop the execution of the
+     * behaviour, like freeing some resource. The plan and act stages are already stopped.
+     *
+     * @throws InternalErrorException
+     */
+    protected abstract void stopPipelinedBehaviour() throws InternalErrorException;
+
+    /** Reads the sensors, executed periodically in the thread of the behaviour scheduler.
+     *
+     * @return the sample to plan, or null to skip this step
+     */
+    protected abstract S sense();
+
+    /** Decides the actions from a sample, executed in the plan thread of the behaviour.
+     *
+     * @param sample a sample produced by sense()
+     * @return the plan to execute, or null if there is nothing to do
+     */
+    protected abstract P plan(S sample);
+
+    /** Sends the orders of a plan to the actuators, executed in the act thread of the behaviour.
+     *
+     * @param plan a plan produced by plan()
+     */
+    protected abstract void act(P plan);
+
+}
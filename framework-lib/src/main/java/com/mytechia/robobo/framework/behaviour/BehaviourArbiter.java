@@ -0,0 +1,432 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.behaviour;
+
+
+import java.util.Arrays;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Arbitrates the access of several behaviours to a shared output, following the subsumption
+ * architecture.
+ *
+ * All the behaviours are ticked together in a single cycle, scheduled in a BehaviourScheduler.
+ * In each cycle every behaviour proposes an output, and only the output of the winner is
+ * forwarded to the IBehaviourOutput: the active behaviour with the highest priority (and,
+ * between behaviours of the same priority, the one with the highest activation level).
+ *
+ * The priorities can be refined with two rules between pairs of behaviours:
+ * <ul>
+ *     <li>Suppression: when the suppressor is active, its output replaces the output of the
+ *     suppressed behaviour, whatever their priorities are.</li>
+ *     <li>Inhibition: when the inhibitor is active, the output of the inhibited behaviour is
+ *     blocked, if it wins the cycle no output is forwarded.</li>
+ * </ul>
+ *
+ * Behaviour modules take part in an arbiter with ABehaviourModule.joinArbiter(), that starts the
+ * arbiter when the first behaviour joins it and stops it when the last one leaves.
+ *
+ * @param <O> the type of the output
+ * @author Gervasio Varela
+ */
+public class BehaviourArbiter<O> {
+
+    private static final Logger LOG = LoggerFactory.getLogger("com.mytechia.robobo.framework.behaviour");
+
+
+    private final String name;
+    private final IBehaviourOutput<O> output;
+
+    /** Behaviours sorted by priority, from the highest to the lowest. Copy on write */
+    private volatile Participant<O>[] participants = newParticipants(0);
+
+    private volatile boolean forwardOnlyChanges = false;
+
+    private BehaviourScheduler.Registration registration = null;
+
+    //only used by the thread of the arbiter
+    private Participant<O> lastWinner = null;
+    private O lastOutput = null;
+    private volatile long cycles = 0;
+    private volatile long switches = 0;
+    private volatile long blockedCycles = 0;
+
+    private final Runnable cycle = new Runnable() {
+        @Override
+        public void run() {
+            runCycle();
+        }
+    };
+
+
+    /** Creates a new arbiter
+     *
+     * @param name the name of the arbiter, used to identify it in the behaviour metrics
+     * @param output the output that receives the output of the winners
+     */
+    public BehaviourArbiter(String name, IBehaviourOutput<O> output) {
+        this.name = name;
+        this.output = output;
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private static <O> Participant<O>[] newParticipants(int size) {
+        return (Participant<O>[]) new Participant<?>[size];
+    }
+
+
+    /** Adds a behaviour to the arbitration
+     *
+     * @param behaviour the behaviour
+     * @param priority the priority of the behaviour, higher values win
+     */
+    public synchronized void addBehaviour(IArbitratedBehaviour<O> behaviour, int priority) {
+
+        Participant<O>[] current = this.participants;
+        Participant<O>[] updated = newParticipants(current.length + 1);
+
+        //stable: behaviours of the same priority are evaluated in the order they were added
+        int position = 0;
+        while ((position < current.length) && (current[position].priority >= priority)) {
+            position++;
+        }
+
+        System.arraycopy(current, 0, updated, 0, position);
+        updated[position] = new Participant<>(behaviour, priority);
+        System.arraycopy(current, position, updated, position + 1, current.length - position);
+
+        this.participants = updated;
+
+    }
+
+
+    /** Removes a behaviour from the arbitration, and the rules where it takes part
+     *
+     * @param behaviour the behaviour
+     */
+    public synchronized void removeBehaviour(IArbitratedBehaviour<O> behaviour) {
+
+        Participant<O> removed = find(behaviour);
+
+        if (removed == null) {
+            return;
+        }
+
+        Participant<O>[] current = this.participants;
+        Participant<O>[] updated = newParticipants(current.length - 1);
+        int index = 0;
+        for (Participant<O> participant : current) {
+            if (participant != removed) {
+                participant.suppressors = without(participant.suppressors, removed);
+                participant.inhibitors = without(participant.inhibitors, removed);
+                updated[index++] = participant;
+            }
+        }
+
+        this.participants = updated;
+
+    }
+
+
+    /** Adds a suppression rule: when the suppressor is active, its output replaces the output
+     * of the suppressed behaviour
+     *
+     * @param suppressor the suppressor behaviour
+     * @param suppressed the suppressed behaviour
+     */
+    public synchronized void addSuppression(IArbitratedBehaviour<O> suppressor, IArbitratedBehaviour<O> suppressed) {
+        Participant<O> target = get(suppressed);
+        target.suppressors = with(target.suppressors, get(suppressor));
+    }
+
+
+    /** Adds an inhibition rule: when the inhibitor is active, the output of the inhibited behaviour is blocked
+     *
+     * @param inhibitor the inhibitor behaviour
+     * @param inhibited the inhibited behaviour
+     */
+    public synchronized void addInhibition(IArbitratedBehaviour<O> inhibitor, IArbitratedBehaviour<O> inhibited) {
+        Participant<O> target = get(inhibited);
+        target.inhibitors = with(target.inhibitors, get(inhibitor));
+    }
+
+
+    /** Forwards the output only when the winner or its output change, instead of on every cycle.
+     * Outputs are compared using equals().
+     *
+     * @param forwardOnlyChanges whether to forward only the changes of the output
+     */
+    public void setForwardOnlyChanges(boolean forwardOnlyChanges) {
+        this.forwardOnlyChanges = forwardOnlyChanges;
+    }
+
+
+    /** Starts the periodic arbitration cycles
+     *
+     * @param scheduler the scheduler that executes the cycles
+     * @param periodMillis the period of the cycles
+     * @param timing how the next cycle is computed
+     */
+    public synchronized void start(BehaviourScheduler scheduler, long periodMillis, StepTiming timing) {
+        if (this.registration == null) {
+            this.registration = scheduler.schedule(this.name, this.cycle, periodMillis, timing);
+        }
+    }
+
+
+    /** Stops the periodic arbitration cycles */
+    public synchronized void stop() {
+        if (this.registration != null) {
+            this.registration.cancel();
+            this.registration = null;
+        }
+    }
+
+
+    /** Executes an arbitration cycle: asks all the behaviours for their proposals and forwards
+     * the output of the winner. It is called periodically once the arbiter has been started.
+     */
+    public void runCycle() {
+
+        Participant<O>[] current = this.participants;
+
+        for (Participant<O> participant : current) {
+            try {
+                participant.active = participant.behaviour.propose(participant.proposal);
+            } catch (RuntimeException ex) {
+                participant.active = false;
+                LOG.error("Error in the proposal of " + participant.behaviour.getName(), ex);
+            }
+        }
+
+        Participant<O> winner = selectWinner(current);
+
+        this.cycles++;
+
+        if ((winner != null) && (active(winner.inhibitors) != null)) {
+            //the winner is inhibited, nothing is forwarded this cycle
+            this.blockedCycles++;
+            winner = null;
+        }
+
+        if (winner != this.lastWinner) {
+            this.switches++;
+        }
+
+        if (winner == null) {
+            this.lastWinner = null;
+            this.lastOutput = null;
+            return;
+        }
+
+        O winnerOutput = winner.proposal.getOutput();
+
+        boolean unchanged = (winner == this.lastWinner) &&
+                ((winnerOutput == null) ? (this.lastOutput == null) : winnerOutput.equals(this.lastOutput));
+
+        this.lastWinner = winner;
+        this.lastOutput = winnerOutput;
+        winner.wins++;
+
+        if (this.forwardOnlyChanges && unchanged) {
+            return;
+        }
+
+        this.output.forward(winnerOutput, winner.behaviour);
+
+    }
+
+
+    private Participant<O> selectWinner(Participant<O>[] current) {
+
+        Participant<O> winner = null;
+        //priority of the place taken by the winner, a suppressor takes the place of the suppressed behaviour
+        int winnerPriority = 0;
+
+        for (Participant<O> participant : current) {
+
+            if (!participant.active) {
+                continue;
+            }
+
+            if ((winner != null) && (participant.priority < winnerPriority)) {
+                //sorted by priority, the rest can not win
+                break;
+            }
+
+            //an active suppressor takes the place of the suppressed behaviour
+            Participant<O> candidate = participant;
+            Participant<O> suppressor = active(candidate.suppressors);
+            if (suppressor != null) {
+                candidate = suppressor;
+            }
+
+            if ((winner == null) || (candidate.proposal.getActivation() > winner.proposal.getActivation())) {
+                winner = candidate;
+                winnerPriority = participant.priority;
+            }
+
+        }
+
+        return winner;
+
+    }
+
+
+    private static <O> Participant<O> active(Participant<O>[] participants) {
+        for (Participant<O> participant : participants) {
+            if (participant.active) {
+                return participant;
+            }
+        }
+        return null;
+    }
+
+
+    private Participant<O> find(IArbitratedBehaviour<O> behaviour) {
+        for (Participant<O> participant : this.participants) {
+            if (participant.behaviour == behaviour) {
+                return participant;
+            }
+        }
+        return null;
+    }
+
+
+    private Participant<O> get(IArbitratedBehaviour<O> behaviour) {
+        Participant<O> participant = find(behaviour);
+        if (participant == null) {
+            throw new IllegalArgumentException("Behaviour not added to the arbiter: " + behaviour.getName());
+        }
+        return participant;
+    }
+
+
+    private static <O> Participant<O>[] with(Participant<O>[] participants, Participant<O> participant) {
+        Participant<O>[] updated = Arrays.copyOf(participants, participants.length + 1);
+        updated[participants.length] = participant;
+        return updated;
+    }
+
+
+    private static <O> Participant<O>[] without(Participant<O>[] participants, Participant<O> participant) {
+        int count = 0;
+        for (Participant<O> p : participants) {
+            if (p != participant) {
+                count++;
+            }
+        }
+        Participant<O>[] updated = newParticipants(count);
+        int index = 0;
+        for (Participant<O> p : participants) {
+            if (p != participant) {
+                updated[index++] = p;
+            }
+        }
+        return updated;
+    }
+
+
+    /** Returns the number of behaviours taking part in the arbitration
+     *
+     * @return the number of behaviours
+     */
+    public int getBehaviourCount() {
+        return this.participants.length;
+    }
+
+
+    /** Returns whether the periodic arbitration cycles are running
+     *
+     * @return true if the arbiter has been started and not stopped
+     */
+    public synchronized boolean isRunning() {
+        return this.registration != null;
+    }
+
+
+    /** Returns the behaviour that won the last cycle
+     *
+     * @return the behaviour that won the last cycle, null if there was no winner
+     */
+    public IArbitratedBehaviour<O> getLastWinner() {
+        Participant<O> winner = this.lastWinner;
+        return winner == null ? null : winner.behaviour;
+    }
+
+
+    /** Returns the number of cycles won by a behaviour
+     *
+     * @param behaviour the behaviour
+     * @return the number of cycles won by the behaviour
+     */
+    public long getWins(IArbitratedBehaviour<O> behaviour) {
+        Participant<O> participant = find(behaviour);
+        return participant == null ? 0 : participant.wins;
+    }
+
+
+    /** Returns the number of arbitration cycles executed */
+    public long getCycles() {
+        return this.cycles;
+    }
+
+
+    /** Returns the number of times the winner has changed */
+    public long getSwitches() {
+        return this.switches;
+    }
+
+
+    /** Returns the number of cycles where the output of the winner was inhibited */
+    public long getBlockedCycles() {
+        return this.blockedCycles;
+    }
+
+
+
+    /** A behaviour taking part in the arbitration */
+    private static final class Participant<O> {
+
+        final IArbitratedBehaviour<O> behaviour;
+        final int priority;
+        final Proposal<O> proposal = new Proposal<>();
+
+        volatile Participant<O>[] suppressors = newParticipants(0);
+        volatile Participant<O>[] inhibitors = newParticipants(0);
+
+        //only used by the thread of the arbiter
+        boolean active = false;
+        volatile long wins = 0;
+
+
+        Participant(IArbitratedBehaviour<O> behaviour, int priority) {
+            this.behaviour = behaviour;
+            this.priority = priority;
+        }
+
+    }
+
+}
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.behaviour;
+
+import com.mytechia.robobo.framework.profiling.LatencyHistogram;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Execution metrics of a behaviour scheduled by the BehaviourScheduler: the duration of its
+ * steps, the jitter of their start (time between the deadline and the actual start), the
+ * interval between consecutive steps, and the number of steps that missed their deadline
+ * (that finished after the deadline of the next step). When the allocation tracking of the
+ * scheduler is enabled, it also records the memory allocated by the steps.
+ *
+ * Metrics are recorded without locks, they can be read at any time using {@link #snapshot()}.
+ *
+ * @author Gervasio Varela
+ */
+public class BehaviourMetrics {
+
+    private final String name;
+
+    private final LatencyHistogram stepDuration = new LatencyHistogram();
+    private final LatencyHistogram jitter = new LatencyHistogram();
+    private final LatencyHistogram interTick = new LatencyHistogram();
+    private final AtomicLong steps = new AtomicLong(0);
+    private final AtomicLong deadlineMisses = new AtomicLong(0);
+    private final AtomicLong allocatedBytes = new AtomicLong(0);
+    private final AtomicLong allocatingSteps = new AtomicLong(0);
+    private final AtomicLong maxStepAllocation = new AtomicLong(0);
+
+    /** Start of the previous step, only used by the thread of the scheduler */
+    private long lastStartNanos = -1;
+
+
+    BehaviourMetrics(String name) {
+        this.name = name;
+    }
+
+
+    /** Records the execution of a step
+     *
+     * @param deadlineNanos the time the step should have started
+     * @param startNanos the time the step started
+     * @param endNanos the time the step finished
+     * @param periodNanos the period of the step
+     */
+    void record(long deadlineNanos, long startNanos, long endNanos, long periodNanos) {
+
+        this.steps.incrementAndGet();
+        this.stepDuration.record(endNanos - startNanos);
+        this.jitter.record(startNanos - deadlineNanos);
+
+        if (this.lastStartNanos >= 0) {
+            this.interTick.record(startNanos - this.lastStartNanos);
+        }
+        this.lastStartNanos = startNanos;
+
+        if (endNanos > deadlineNanos + periodNanos) {
+            this.deadlineMisses.incrementAndGet();
+        }
+
+    }
+
+
+    /** Records the memory allocated by a step
+     *
+     * @param bytes the number of bytes allocated by the step
+     * @return true if it is the first step of the behaviour that allocates memory
+     */
+    boolean recordAllocation(long bytes) {
+
+        if (bytes <= 0) {
+            return false;
+        }
+
+        this.allocatedBytes.addAndGet(bytes);
+
+        long max;
+        while (bytes > (max = this.maxStepAllocation.get())) {
+            if (this.maxStepAllocation.compareAndSet(max, bytes)) {
+                break;
+            }
+        }
+
+        return this.allocatingSteps.incrementAndGet() == 1;
+
+    }
+
+
+    public String getName() {
+        return name;
+    }
+
+
+    /** Returns a copy of the current metrics
+     *
+     * @return a copy of the current metrics
+     */
+    public BehaviourMetricsSnapshot snapshot() {
+        return new BehaviourMetricsSnapshot(name, steps.get(), deadlineMisses.get(),
+                stepDuration.snapshot(), jitter.snapshot(), interTick.snapshot(),
+                allocatedBytes.get(), allocatingSteps.get(), maxStepAllocation.get());
+    }
+
+}
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.behaviour;
+
+import com.mytechia.robobo.framework.profiling.HistogramSnapshot;
+
+/** An immutable copy of the execution metrics of a behaviour
+ *
+ * @author Gervasio Varela
+ */
+public final class BehaviourMetricsSnapshot {
+
+    private final String name;
+    private final long steps;
+    private final long deadlineMisses;
+    private final HistogramSnapshot stepDuration;
+    private final HistogramSnapshot jitter;
+    private final HistogramSnapshot interTick;
+    private final long allocatedBytes;
+    private final long allocatingSteps;
+    private final long maxStepAllocation;
+
+
+    BehaviourMetricsSnapshot(String name, long steps, long deadlineMisses, HistogramSnapshot stepDuration,
+                             HistogramSnapshot jitter, HistogramSnapshot interTick,
+                             long allocatedBytes, long allocatingSteps, long maxStepAllocation) {
+        this.name = name;
+        this.steps = steps;
+        this.deadlineMisses = deadlineMisses;
+        this.stepDuration = stepDuration;
+        this.jitter = jitter;
+        this.interTick = interTick;
+        this.allocatedBytes = allocatedBytes;
+        this.allocatingSteps = allocatingSteps;
+        this.maxStepAllocation = maxStepAllocation;
+    }
+
+
+    /** Returns the name of the behaviour, its class name for ABehaviourModules */
+    public String getName() {
+        return name;
+    }
+
+    public long getSteps() {
+        return steps;
+    }
+
+    /** Returns the number of steps that finished after the deadline of the next step */
+    public long getDeadlineMisses() {
+        return deadlineMisses;
+    }
+
+    /** Returns the histogram of the duration of the steps */
+    public HistogramSnapshot getStepDuration() {
+        return stepDuration;
+    }
+
+    /** Returns the histogram of the time between the deadline of the steps and their start */
+    public HistogramSnapshot getJitter() {
+        return jitter;
+    }
+
+    /** Returns the histogram of the time between the start of consecutive steps */
+    public HistogramSnapshot getInterTick() {
+        return interTick;
+    }
+
+    /** Returns the bytes allocated by the steps, only measured with allocation tracking enabled */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /** Returns the number of steps that allocated memory, only measured with allocation tracking enabled */
+    public long getAllocatingSteps() {
+        return allocatingSteps;
+    }
+
+    /** Returns the maximum number of bytes allocated by a step */
+    public long getMaxStepAllocation() {
+        return maxStepAllocation;
+    }
+
+    /** Returns whether some step of the behaviour allocated memory */
+    public boolean isAllocating() {
+        return allocatingSteps > 0;
+    }
+
+
+    @Override
+    public String toString() {
+        return name + ": " + steps + " steps, " + deadlineMisses + " deadline misses" +
+                (isAllocating() ? ", " + allocatingSteps + " steps allocated " + allocatedBytes + " bytes" : "") + "\n" +
+                "  duration:   " + stepDuration + "\n" +
+                "  jitter:     " + jitter + "\n" +
+                "  inter-tick: " + interTick;
+    }
+
+}
@@ -0,0 +1,874 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.behaviour;
+
+
+import com.mytechia.robobo.framework.recorder.FlightRecordType;
+import com.mytechia.robobo.framework.recorder.FlightRecorder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Framework scheduler that executes the steps of all the behaviours from a single timer.
+ *
+ * Scheduled steps are grouped by period and timing: all the behaviours with the same period
+ * and timing are executed one after the other in a single wakeup. The deadlines of the fixed
+ * rate groups are aligned to multiples of their period, so groups with harmonic periods
+ * (50 ms and 100 ms, for example) are also executed in the same wakeup. See {@link StepTiming}
+ * for the ways the next execution of a group is computed.
+ *
+ * Groups are stored in a hashed timer wheel of {@link #TICK_MILLIS} resolution. The scheduler
+ * does not wake up on every tick of the wheel, only when the next group is due, using an
+ * ISchedulerDriver that also defines the thread where the steps are executed.
+ *
+ * Steps can also be event triggered (see {@link #scheduleTriggered(String, Runnable, long, long)}):
+ * they are executed as soon as they are triggered, coalescing the triggers received before
+ * the step starts, with an optional minimum interval between steps and a fallback period.
+ *
+ * The tick path does not allocate memory in steady state. For debugging, an allocation counter
+ * can be set (see {@link #setAllocationCounter(IAllocationCounter)}) to measure the memory
+ * allocated by each step and by the scheduler itself, and to flag the behaviours that allocate.
+ *
+ * The steps can be recorded by a {@link FlightRecorder} (see {@link #setFlightRecorder(FlightRecorder)}),
+ * which does not allocate memory either, except for the name of each behaviour the first time.
+ *
+ * @author Gervasio Varela
+ */
+public class BehaviourScheduler {
+
+    //plain slf4j instead of android.util.Log, so behaviours can also run headless on a JVM
+    private static final Logger LOG = LoggerFactory.getLogger("com.mytechia.robobo.framework.behaviour");
+
+    /** Resolution of the scheduler, in milliseconds */
+    public static final long TICK_MILLIS = 5;
+
+    //one revolution of the wheel takes 2.56 s, longer periods stay more than one revolution in their slot
+    private static final int WHEEL_SIZE = 512;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    /** Maximum number of missed ticks executed after an overrun with {@link StepTiming#FIXED_RATE_CATCH_UP} */
+    public static final int MAX_CATCH_UP_TICKS = 3;
+
+
+    private static final long NEVER = Long.MAX_VALUE;
+    //event triggered steps have no deadline to miss
+    private static final long NO_DEADLINE_NANOS = Long.MAX_VALUE / 4;
+
+
+    private final ISchedulerDriver driver;
+
+    /** First group of each slot of the wheel, groups of a slot are linked */
+    private final PeriodGroup[] wheel = new PeriodGroup[WHEEL_SIZE];
+    private final EnumMap<StepTiming, Map<Long, PeriodGroup>> groups = new EnumMap<>(StepTiming.class);
+    private int groupCount = 0;
+    private int behaviours = 0;
+    /** Registrations of the behaviours scheduled, to read their metrics */
+    private final CopyOnWriteArrayList<Registration> registrations = new CopyOnWriteArrayList<>();
+
+    /** Last tick of the wheel processed */
+    private long currentTick = 0;
+    /** Time of the next wakeup requested to the driver, -1 if there is none */
+    private long nextWakeUpTime = -1;
+
+    private final List<PeriodGroup> dueGroups = new ArrayList<>();
+
+    /** Event triggered steps, they are not stored in the wheel */
+    private final List<Registration> triggeredRegistrations = new ArrayList<>();
+    private final List<Registration> dueTriggered = new ArrayList<>();
+
+    private long wakeups = 0;
+    private long steps = 0;
+    private long errors = 0;
+    private long skippedTicks = 0;
+    private long triggers = 0;
+    private long coalescedTriggers = 0;
+    private long frameworkAllocatedBytes = 0;
+
+    /** Counter of allocations, null when allocation tracking is disabled */
+    private volatile IAllocationCounter allocationCounter = null;
+    /** Recorder of the steps, null when they are not recorded */
+    private volatile FlightRecorder recorder = null;
+    private long executedGroups = 0;
+    private long totalLateness = 0;
+    private long maxLateness = 0;
+
+    private final Runnable tickTask = new Runnable() {
+        @Override
+        public void run() {
+            tick();
+        }
+    };
+
+
+    /** Creates a new scheduler
+     *
+     * @param driver the driver that provides the clock and the thread of the scheduler
+     */
+    public BehaviourScheduler(ISchedulerDriver driver) {
+        this.driver = driver;
+        for (StepTiming timing : StepTiming.values()) {
+            this.groups.put(timing, new HashMap<Long, PeriodGroup>());
+        }
+    }
+
+
+    /** Schedules the periodic execution of a behaviour step at a fixed rate, skipping the missed ticks
+     *
+     * @param step the step to execute
+     * @param periodMillis the period of the step, in milliseconds
+     * @return the registration of the step, used to change its period or to cancel it
+     */
+    public Registration schedule(Runnable step, long periodMillis) {
+        return schedule(step, periodMillis, StepTiming.FIXED_RATE_SKIP);
+    }
+
+
+    /** Schedules the periodic execution of a behaviour step, named after the class of the step
+     *
+     * @param step the step to execute
+     * @param periodMillis the period of the step, in milliseconds
+     * @param timing how the next executions of the step are computed
+     * @return the registration of the step, used to change its period or to cancel it
+     */
+    public Registration schedule(Runnable step, long periodMillis, StepTiming timing) {
+        return schedule(step.getClass().getName(), step, periodMillis, timing);
+    }
+
+
+    /** Schedules the periodic execution of a behaviour step
+     *
+     * @param name the name of the behaviour, used in its metrics
+     * @param step the step to execute
+     * @param periodMillis the period of the step, in milliseconds
+     * @param timing how the next executions of the step are computed
+     * @return the registration of the step, used to change its period or to cancel it
+     */
+    public synchronized Registration schedule(String name, Runnable step, long periodMillis, StepTiming timing) {
+
+        Registration registration = new Registration(name, step, Math.max(TICK_MILLIS, periodMillis), timing);
+        this.registrations.add(registration);
+
+        addToGroup(registration);
+        this.behaviours++;
+
+        scheduleNextWakeUp();
+
+        return registration;
+
+    }
+
+
+    /** Schedules the execution of a behaviour step when it is triggered, see {@link Registration#trigger()}.
+     * Triggers received while the step is waiting to be executed are coalesced in a single execution.
+     *
+     * @param name the name of the behaviour, used in its metrics
+     * @param step the step to execute
+     * @param minIntervalMillis minimum time between the start of two consecutive steps, it limits
+     *                          the maximum rate of execution of the step (0 for no limit)
+     * @param fallbackPeriodMillis the step is also executed when it has not been triggered during
+     *                             this period (0 for no fallback period)
+     * @return the registration of the step, used to trigger it or to cancel it
+     */
+    public synchronized Registration scheduleTriggered(String name, Runnable step, long minIntervalMillis,
+                                                      long fallbackPeriodMillis) {
+
+        Registration registration = new Registration(name, step, Math.max(0, fallbackPeriodMillis), null);
+        registration.minInterval = Math.max(0, minIntervalMillis);
+        //the fallback period starts now
+        registration.lastStart = this.driver.uptimeMillis();
+        updateDue(registration);
+
+        this.registrations.add(registration);
+        this.triggeredRegistrations.add(registration);
+        this.behaviours++;
+
+        scheduleNextWakeUp();
+
+        return registration;
+
+    }
+
+
+    private synchronized void trigger(Registration registration) {
+
+        if (!registration.isTriggered()) {
+            throw new IllegalStateException("Only event triggered steps can be triggered: " + registration.metrics.getName());
+        }
+
+        if (registration.cancelled) {
+            return;
+        }
+
+        this.triggers++;
+
+        if (registration.pending) {
+            this.coalescedTriggers++;
+            return;
+        }
+
+        registration.pending = true;
+        registration.triggerTime = this.driver.uptimeMillis();
+        updateDue(registration);
+
+        scheduleNextWakeUp();
+
+    }
+
+
+    /** Computes when an event triggered step must be executed */
+    private static void updateDue(Registration registration) {
+        if (registration.pending) {
+            //the minimum interval does not delay the first step
+            registration.due = registration.started ?
+                    Math.max(registration.triggerTime, registration.lastStart + registration.minInterval) :
+                    registration.triggerTime;
+        } else if (registration.period > 0) {
+            registration.due = registration.lastStart + registration.period;
+        } else {
+            registration.due = NEVER;
+        }
+    }
+
+
+    private synchronized void cancel(Registration registration) {
+
+        if (registration.cancelled) {
+            return;
+        }
+
+        registration.cancelled = true;
+        if (registration.isTriggered()) {
+            this.triggeredRegistrations.remove(registration);
+        } else {
+            removeFromGroup(registration);
+        }
+        this.behaviours--;
+        this.registrations.remove(registration);
+
+        scheduleNextWakeUp();
+
+    }
+
+
+    private synchronized void reschedule(Registration registration, long periodMillis, StepTiming timing) {
+
+        if (registration.isTriggered()) {
+            //the period of a triggered step is its fallback period
+            registration.period = Math.max(0, periodMillis);
+            updateDue(registration);
+            scheduleNextWakeUp();
+            return;
+        }
+
+        periodMillis = Math.max(TICK_MILLIS, periodMillis);
+
+        if (registration.cancelled || ((registration.period == periodMillis) && (registration.timing == timing))) {
+            registration.period = periodMillis;
+            registration.timing = timing;
+            return;
+        }
+
+        removeFromGroup(registration);
+        registration.period = periodMillis;
+        registration.timing = timing;
+        addToGroup(registration);
+
+        scheduleNextWakeUp();
+
+    }
+
+
+    private void addToGroup(Registration registration) {
+
+        Map<Long, PeriodGroup> timingGroups = this.groups.get(registration.timing);
+        PeriodGroup group = timingGroups.get(registration.period);
+
+        if (group == null) {
+
+            long now = this.driver.uptimeMillis();
+
+            if (this.groupCount == 0) {
+                //the wheel has been stopped, nothing to process until now
+                this.currentTick = now / TICK_MILLIS;
+            }
+
+            group = new PeriodGroup(registration.period, registration.timing);
+            group.setDeadline(registration.timing == StepTiming.FIXED_DELAY ?
+                    now + registration.period : alignedDeadline(now, registration.period));
+            timingGroups.put(registration.period, group);
+            this.groupCount++;
+            insert(group);
+
+        }
+
+        group.add(registration);
+
+    }
+
+
+    private void removeFromGroup(Registration registration) {
+
+        Map<Long, PeriodGroup> timingGroups = this.groups.get(registration.timing);
+        PeriodGroup group = timingGroups.get(registration.period);
+
+        if (group == null) {
+            return;
+        }
+
+        group.remove(registration);
+
+        if (group.members.length == 0) {
+            timingGroups.remove(group.period);
+            group.registered = false;
+            this.groupCount--;
+            if (!group.running) {
+                unlink(group);
+            }
+        }
+
+    }
+
+
+    /** Computes the next deadline of a group that has just been executed
+     *
+     * @param group the group executed
+     * @param now the time at the end of the execution of the group
+     * @return the next deadline of the group
+     */
+    private long nextDeadline(PeriodGroup group, long now) {
+
+        long period = group.period;
+        long next = group.deadline + period;
+
+        switch (group.timing) {
+
+            case FIXED_DELAY:
+                return now + period;
+
+            case FIXED_RATE_SKIP:
+                if (next <= now) {
+                    long missed = (now - next) / period + 1;
+                    this.skippedTicks += missed;
+                    next += missed * period;
+                }
+                return next;
+
+            case FIXED_RATE_CATCH_UP:
+                if (next <= now) {
+                    //ticks already due, the first one is executed right now
+                    long due = (now - next) / period + 1;
+                    if (due > MAX_CATCH_UP_TICKS) {
+                        long skipped = due - MAX_CATCH_UP_TICKS;
+                        this.skippedTicks += skipped;
+                        next += skipped * period;
+                    }
+                }
+                return next;
+
+            case FIXED_RATE_STRETCH:
+            default:
+                return Math.max(next, now);
+
+        }
+
+    }
+
+
+    /** Next multiple of the period, so groups with harmonic periods share their wakeups */
+    private static long alignedDeadline(long now, long period) {
+        return (now / period + 1) * period;
+    }
+
+
+    private void insert(PeriodGroup group) {
+        if (group.deadlineTick <= this.currentTick) {
+            //already due, executed in the next tick
+            group.deadlineTick = this.currentTick + 1;
+        }
+        int slot = (int) (group.deadlineTick & WHEEL_MASK);
+        group.next = this.wheel[slot];
+        group.previous = null;
+        if (group.next != null) {
+            group.next.previous = group;
+        }
+        this.wheel[slot] = group;
+    }
+
+
+    private void unlink(PeriodGroup group) {
+        if (group.previous != null) {
+            group.previous.next = group.next;
+        } else {
+            this.wheel[(int) (group.deadlineTick & WHEEL_MASK)] = group.next;
+        }
+        if (group.next != null) {
+            group.next.previous = group.previous;
+        }
+        group.next = null;
+        group.previous = null;
+    }
+
+
+    /** Enables the measurement of the memory allocated in each tick, for debugging
+     *
+     * @param counter the allocation counter to use, already started, null to disable the measurement
+     */
+    public void setAllocationCounter(IAllocationCounter counter) {
+        this.allocationCounter = counter;
+    }
+
+
+    /** Records the steps in a flight recorder
+     *
+     * @param recorder the recorder of the steps, null to stop recording them
+     */
+    public void setFlightRecorder(FlightRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+
+    /** Executes the groups that are due, called by the driver */
+    private void tick() {
+
+        IAllocationCounter allocations = this.allocationCounter;
+        FlightRecorder stepRecorder = this.recorder;
+        long tickAllocationStart = (allocations != null) ? allocations.allocatedBytes() : 0;
+        long stepsAllocation = 0;
+
+        synchronized (this) {
+
+            this.nextWakeUpTime = -1;
+            this.wakeups++;
+
+            long now = this.driver.uptimeMillis();
+            long nowTick = now / TICK_MILLIS;
+
+            //after a long pause only one revolution of the wheel has to be processed
+            for (long tick = Math.max(this.currentTick + 1, nowTick - WHEEL_MASK); tick <= nowTick; tick++) {
+                PeriodGroup group = this.wheel[(int) (tick & WHEEL_MASK)];
+                while (group != null) {
+                    PeriodGroup next = group.next;
+                    if (group.deadlineTick <= nowTick) {
+                        unlink(group);
+                        group.running = true;
+                        this.dueGroups.add(group);
+                        long lateness = Math.max(0, now - group.deadline);
+                        this.totalLateness += lateness;
+                        this.maxLateness = Math.max(this.maxLateness, lateness);
+                        this.executedGroups++;
+                    }
+                    group = next;
+                }
+            }
+
+            this.currentTick = Math.max(this.currentTick, nowTick);
+
+            for (int i = 0; i < this.triggeredRegistrations.size(); i++) {
+                Registration registration = this.triggeredRegistrations.get(i);
+                if (!registration.running && (registration.due <= now)) {
+                    registration.running = true;
+                    //triggers received from now on require a new execution
+                    registration.pending = false;
+                    registration.runDeadline = registration.due;
+                    this.dueTriggered.add(registration);
+                }
+            }
+
+        }
+
+        long executed = 0;
+        long failed = 0;
+
+        //triggered steps first, they are waiting for an event
+        for (int i = 0; i < this.dueTriggered.size(); i++) {
+            Registration registration = this.dueTriggered.get(i);
+            if (!registration.cancelled) {
+                executed++;
+                long start = this.driver.uptimeNanos();
+                registration.runStart = TimeUnit.NANOSECONDS.toMillis(start);
+                long allocationStart = (allocations != null) ? allocations.allocatedBytes() : 0;
+                if (!runStep(registration)) {
+                    failed++;
+                }
+                long end = this.driver.uptimeNanos();
+                long deadlineNanos = TimeUnit.MILLISECONDS.toNanos(registration.runDeadline);
+                registration.metrics.record(deadlineNanos, start, end, NO_DEADLINE_NANOS);
+                if (stepRecorder != null) {
+                    recordStep(stepRecorder, registration, deadlineNanos, start, end);
+                }
+                if (allocations != null) {
+                    stepsAllocation += recordAllocation(registration, allocations.allocatedBytes() - allocationStart);
+                }
+            }
+        }
+
+        //steps are executed without holding the lock, so they can schedule or cancel behaviours
+        for (int i = 0; i < this.dueGroups.size(); i++) {
+
+            PeriodGroup group = this.dueGroups.get(i);
+            long deadlineNanos = TimeUnit.MILLISECONDS.toNanos(group.deadline);
+            long periodNanos = TimeUnit.MILLISECONDS.toNanos(group.period);
+
+            for (Registration registration : group.members) {
+                if (!registration.cancelled) {
+                    executed++;
+                    long start = this.driver.uptimeNanos();
+                    long allocationStart = (allocations != null) ? allocations.allocatedBytes() : 0;
+                    if (!runStep(registration)) {
+                        failed++;
+                    }
+                    long end = this.driver.uptimeNanos();
+                    registration.metrics.record(deadlineNanos, start, end, periodNanos);
+                    if (stepRecorder != null) {
+                        recordStep(stepRecorder, registration, deadlineNanos, start, end);
+                    }
+                    if (allocations != null) {
+                        stepsAllocation += recordAllocation(registration, allocations.allocatedBytes() - allocationStart);
+                    }
+                }
+            }
+
+        }
+
+        synchronized (this) {
+
+            this.steps += executed;
+            this.errors += failed;
+
+            long now = this.driver.uptimeMillis();
+
+            for (int i = 0; i < this.dueGroups.size(); i++) {
+                PeriodGroup group = this.dueGroups.get(i);
+                group.running = false;
+                //groups emptied while running are not scheduled again
+                if (group.registered) {
+                    group.setDeadline(nextDeadline(group, now));
+                    insert(group);
+                }
+            }
+
+            this.dueGroups.clear();
+
+            for (int i = 0; i < this.dueTriggered.size(); i++) {
+                Registration registration = this.dueTriggered.get(i);
+                registration.running = false;
+                registration.lastStart = registration.runStart;
+                registration.started = true;
+                updateDue(registration);
+            }
+
+            this.dueTriggered.clear();
+
+            scheduleNextWakeUp();
+
+            if (allocations != null) {
+                this.frameworkAllocatedBytes += Math.max(0,
+                        allocations.allocatedBytes() - tickAllocationStart - stepsAllocation);
+            }
+
+        }
+
+    }
+
+
+    /** Records the memory allocated by a step, warning the first time a behaviour allocates
+     *
+     * @return the bytes allocated
+     */
+    private static long recordAllocation(Registration registration, long bytes) {
+        if (registration.metrics.recordAllocation(bytes)) {
+            LOG.warn("Behaviour " + registration.metrics.getName() + " allocates memory in its steps (" +
+                    bytes + " bytes), it can cause GC pauses");
+        }
+        return Math.max(0, bytes);
+    }
+
+
+    /** Records the execution of a step, registering the name of the behaviour the first time */
+    private static void recordStep(FlightRecorder recorder, Registration registration, long deadlineNanos,
+                                   long start, long end) {
+        if (registration.recorder != recorder) {
+            registration.recorderSymbol = recorder.symbol(registration.metrics.getName());
+            registration.recorder = recorder;
+        }
+        recorder.record(FlightRecordType.BEHAVIOUR_STEP, registration.recorderSymbol,
+                end - start, Math.max(0, start - deadlineNanos));
+    }
+
+
+    /** Runs a step, errors are logged
+     *
+     * @return false if the step failed
+     */
+    private static boolean runStep(Registration registration) {
+        try {
+            registration.step.run();
+            return true;
+        } catch (RuntimeException ex) {
+            LOG.error("Error in behaviour step " + registration.metrics.getName(), ex);
+            return false;
+        }
+    }
+
+
+    private void scheduleNextWakeUp() {
+
+        long wakeUpTime = NEVER;
+
+        if (this.groupCount > 0) {
+
+            //first slot of the next revolution with a group due, or the end of the revolution
+            long wakeUpTick = this.currentTick + WHEEL_SIZE;
+
+            search:
+            for (long tick = this.currentTick + 1; tick < this.currentTick + WHEEL_SIZE; tick++) {
+                for (PeriodGroup group = this.wheel[(int) (tick & WHEEL_MASK)]; group != null; group = group.next) {
+                    if (group.deadlineTick <= tick) {
+                        wakeUpTick = tick;
+                        break search;
+                    }
+                }
+            }
+
+            wakeUpTime = wakeUpTick * TICK_MILLIS;
+
+        }
+
+        //triggered steps are executed at their exact time, not aligned to the ticks of the wheel
+        for (int i = 0; i < this.triggeredRegistrations.size(); i++) {
+            Registration registration = this.triggeredRegistrations.get(i);
+            if (!registration.running) {
+                wakeUpTime = Math.min(wakeUpTime, registration.due);
+            }
+        }
+
+        if (wakeUpTime == NEVER) {
+            if (this.nextWakeUpTime >= 0) {
+                this.driver.cancel(this.tickTask);
+                this.nextWakeUpTime = -1;
+            }
+            return;
+        }
+
+        if (wakeUpTime != this.nextWakeUpTime) {
+            this.nextWakeUpTime = wakeUpTime;
+            this.driver.wakeUpAt(this.tickTask, wakeUpTime);
+        }
+
+    }
+
+
+    /** Returns a copy of the current metrics of each behaviour scheduled
+     *
+     * @return the metrics of the behaviours, in scheduling order
+     */
+    public List<BehaviourMetricsSnapshot> getMetrics() {
+        List<BehaviourMetricsSnapshot> metrics = new ArrayList<>(this.registrations.size());
+        for (Registration registration : this.registrations) {
+            metrics.add(registration.metrics.snapshot());
+        }
+        return metrics;
+    }
+
+
+    /** Returns the statistics of the scheduler
+     *
+     * @return the statistics of the scheduler
+     */
+    public synchronized SchedulerStats getStats() {
+        return new SchedulerStats(this.wakeups, this.steps, this.errors, this.skippedTicks,
+                this.triggers, this.coalescedTriggers, this.frameworkAllocatedBytes, this.groupCount, this.behaviours,
+                this.executedGroups == 0 ? 0 : (double) this.totalLateness / this.executedGroups,
+                this.maxLateness);
+    }
+
+
+
+    /** The registration of a behaviour step in the scheduler */
+    public final class Registration {
+
+        private final Runnable step;
+        private final BehaviourMetrics metrics;
+        private long period;
+        private StepTiming timing;
+        //read by the scheduler without holding the lock
+        private volatile boolean cancelled = false;
+
+        //state of event triggered steps, guarded by the scheduler
+        private long minInterval = 0;
+        private boolean pending = false;
+        private boolean running = false;
+        private boolean started = false;
+        private long triggerTime = 0;
+        private long lastStart = 0;
+        private long due = NEVER;
+        private long runDeadline = 0;
+        private long runStart = 0;
+
+        //symbol of the behaviour in the flight recorder, only used by the thread of the scheduler
+        private FlightRecorder recorder = null;
+        private int recorderSymbol = FlightRecorder.NO_SYMBOL;
+
+
+        private Registration(String name, Runnable step, long period, StepTiming timing) {
+            this.step = step;
+            this.metrics = new BehaviourMetrics(name);
+            this.period = period;
+            this.timing = timing;
+        }
+
+
+        /** Returns the execution metrics of the step */
+        public BehaviourMetrics getMetrics() {
+            return this.metrics;
+        }
+
+
+        /** Returns whether the step is event triggered */
+        public boolean isTriggered() {
+            return this.timing == null;
+        }
+
+
+        /** Requests the execution of an event triggered step as soon as possible. It can be
+         * called from any thread.
+         *
+         * @throws IllegalStateException if the step is not event triggered
+         */
+        public void trigger() {
+            BehaviourScheduler.this.trigger(this);
+        }
+
+
+        /** Returns the period of the step (the fallback period of triggered steps), in milliseconds */
+        public long getPeriod() {
+            synchronized (BehaviourScheduler.this) {
+                return this.period;
+            }
+        }
+
+
+        /** Changes the period of the step
+         *
+         * @param periodMillis the new period, in milliseconds
+         */
+        public void setPeriod(long periodMillis) {
+            synchronized (BehaviourScheduler.this) {
+                BehaviourScheduler.this.reschedule(this, periodMillis, this.timing);
+            }
+        }
+
+
+        /** Returns how the next executions of the step are computed, null for triggered steps */
+        public StepTiming getTiming() {
+            synchronized (BehaviourScheduler.this) {
+                return this.timing;
+            }
+        }
+
+
+        /** Changes how the next executions of the step are computed
+         *
+         * @param timing the new timing of the step
+         */
+        public void setTiming(StepTiming timing) {
+            synchronized (BehaviourScheduler.this) {
+                BehaviourScheduler.this.reschedule(this, this.period, timing);
+            }
+        }
+
+
+        /** Stops the periodic execution of the step */
+        public void cancel() {
+            BehaviourScheduler.this.cancel(this);
+        }
+
+
+        public boolean isCancelled() {
+            return this.cancelled;
+        }
+
+    }
+
+
+    /** The behaviours with the same period, executed in the same wakeup */
+    private static final class PeriodGroup {
+
+        final long period;
+        final StepTiming timing;
+        long deadline;
+        long deadlineTick;
+        boolean running = false;
+        /** Whether the group is still in the groups of the scheduler, checked without boxing its period */
+        boolean registered = true;
+        /** Copy on write, so it can be iterated without holding the lock */
+        volatile Registration[] members = new Registration[0];
+
+        PeriodGroup next;
+        PeriodGroup previous;
+
+
+        PeriodGroup(long period, StepTiming timing) {
+            this.period = period;
+            this.timing = timing;
+        }
+
+
+        void setDeadline(long deadline) {
+            this.deadline = deadline;
+            //rounded up, groups are never executed before their deadline
+            this.deadlineTick = (deadline + TICK_MILLIS - 1) / TICK_MILLIS;
+        }
+
+
+        void add(Registration registration) {
+            Registration[] newMembers = Arrays.copyOf(this.members, this.members.length + 1);
+            newMembers[this.members.length] = registration;
+            this.members = newMembers;
+        }
+
+
+        void remove(Registration registration) {
+            for (int i = 0; i < this.members.length; i++) {
+                if (this.members[i] == registration) {
+                    Registration[] newMembers = new Registration[this.members.length - 1];
+                    System.arraycopy(this.members, 0, newMembers, 0, i);
+                    System.arraycopy(this.members, i + 1, newMembers, i, this.members.length - i - 1);
+                    this.members = newMembers;
+                    return;
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,301 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.behaviour;
+
+import android.os.Process;
+
+import com.mytechia.robobo.framework.recorder.FlightRecorder;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** The threads that execute the behaviours, each one with its own BehaviourScheduler.
+ *
+ * By default behaviours are executed in the main thread. They can also be executed by a small
+ * pool of framework threads with elevated priority, off the UI thread, distributing the
+ * behaviours among them. Besides, a behaviour can be pinned to a thread of its own.
+ *
+ * Framework threads are created when the first behaviour is scheduled in them.
+ *
+ * The framework threads are started by an {@link IBehaviourThreadFactory}, Android HandlerThreads
+ * by default.
+ *
+ * For headless executions, a driver can be used instead of the threads (see
+ * {@link #useDriver(ISchedulerDriver)}), and then all the behaviours follow its clock.
+ *
+ * @author Gervasio Varela
+ */
+public class BehaviourThreads {
+
+    /** Default priority of the behaviour threads, higher than the normal threads of the application */
+    public static final int DEFAULT_PRIORITY = Process.THREAD_PRIORITY_DISPLAY;
+
+
+    private final int poolSize;
+    private final int priority;
+    private final IBehaviourThreadFactory threadFactory;
+
+    private BehaviourScheduler mainScheduler = null;
+    private final BehaviourScheduler[] poolSchedulers;
+    private final ISchedulerDriver[] poolThreads;
+    private int nextPoolScheduler = 0;
+
+    /** Pinned schedulers and the drivers of their threads, without thread when using a driver */
+    private final Map<BehaviourScheduler, ISchedulerDriver> pinnedThreads = new IdentityHashMap<>();
+
+    /** Driver of all the schedulers, null to use the threads */
+    private ISchedulerDriver driver = null;
+
+    /** Allocation counter of all the schedulers, null when allocation tracking is disabled */
+    private IAllocationCounter allocationCounter = null;
+
+    /** Recorder of the steps of all the schedulers, null when they are not recorded */
+    private FlightRecorder recorder = null;
+
+
+    /** Creates the behaviour threads
+     *
+     * @param poolSize number of framework threads that execute the behaviours, 0 to use the main thread
+     * @param priority the Android priority of the framework threads (see android.os.Process)
+     */
+    public BehaviourThreads(int poolSize, int priority) {
+        this(poolSize, priority, new HandlerThreadFactory());
+    }
+
+
+    /** Creates the behaviour threads
+     *
+     * @param poolSize number of framework threads that execute the behaviours, 0 to use the main thread
+     * @param priority the Android priority of the framework threads (see android.os.Process)
+     * @param threadFactory the factory that starts and stops the framework threads
+     */
+    public BehaviourThreads(int poolSize, int priority, IBehaviourThreadFactory threadFactory) {
+        this.poolSize = Math.max(0, poolSize);
+        this.priority = priority;
+        this.threadFactory = threadFactory;
+        this.poolSchedulers = new BehaviourScheduler[this.poolSize];
+        this.poolThreads = new ISchedulerDriver[this.poolSize];
+    }
+
+
+    /** Runs all the behaviours with a driver instead of the main thread or the framework threads,
+     * for example a {@link VirtualClockDriver} to run them faster than real time.
+     * It must be called before any behaviour is scheduled.
+     *
+     * @param driver the driver of all the schedulers
+     * @throws IllegalStateException if some behaviour has already been scheduled
+     */
+    public synchronized void useDriver(ISchedulerDriver driver) {
+        if (!getSchedulers().isEmpty()) {
+            throw new IllegalStateException("The driver must be set before scheduling the behaviours");
+        }
+        this.driver = driver;
+    }
+
+
+    /** Enables the measurement of the memory allocated by the behaviours in all the schedulers,
+     * see {@link BehaviourScheduler#setAllocationCounter(IAllocationCounter)}
+     *
+     * @param counter the allocation counter to use, null to disable the measurement
+     */
+    public synchronized void setAllocationCounter(IAllocationCounter counter) {
+        if (this.allocationCounter != null) {
+            this.allocationCounter.stop();
+        }
+        if (counter != null) {
+            counter.start();
+        }
+        this.allocationCounter = counter;
+        for (BehaviourScheduler scheduler : getSchedulers()) {
+            scheduler.setAllocationCounter(counter);
+        }
+    }
+
+
+    /** Records the steps of the behaviours of all the schedulers,
+     * see {@link BehaviourScheduler#setFlightRecorder(FlightRecorder)}
+     *
+     * @param recorder the recorder of the steps, null to stop recording them
+     */
+    public synchronized void setFlightRecorder(FlightRecorder recorder) {
+        this.recorder = recorder;
+        for (BehaviourScheduler scheduler : getSchedulers()) {
+            scheduler.setFlightRecorder(recorder);
+        }
+    }
+
+
+    private BehaviourScheduler newScheduler(ISchedulerDriver schedulerDriver) {
+        BehaviourScheduler scheduler = new BehaviourScheduler(schedulerDriver);
+        if (this.allocationCounter != null) {
+            scheduler.setAllocationCounter(this.allocationCounter);
+        }
+        scheduler.setFlightRecorder(this.recorder);
+        return scheduler;
+    }
+
+
+    /** Returns the scheduler for a new behaviour: the scheduler of the main thread or,
+     * if there is a pool of framework threads, the one of the next thread of the pool
+     *
+     * @return the scheduler where the new behaviour must be scheduled
+     */
+    public synchronized BehaviourScheduler getScheduler() {
+
+        if ((this.poolSize == 0) || (this.driver != null)) {
+            if (this.mainScheduler == null) {
+                this.mainScheduler = newScheduler(this.driver != null ? this.driver : new HandlerSchedulerDriver());
+            }
+            return this.mainScheduler;
+        }
+
+        int index = this.nextPoolScheduler;
+        this.nextPoolScheduler = (index + 1) % this.poolSize;
+
+        if (this.poolSchedulers[index] == null) {
+            this.poolThreads[index] = this.threadFactory.startThread("robobo-behaviours-" + (index + 1), this.priority);
+            this.poolSchedulers[index] = newScheduler(this.poolThreads[index]);
+        }
+
+        return this.poolSchedulers[index];
+
+    }
+
+
+    /** Creates a scheduler with a thread of its own, for a behaviour that must not share its thread
+     *
+     * @param name name of the behaviour, used to name the thread
+     * @return the new scheduler, that must be released with {@link #release(BehaviourScheduler)}
+     */
+    public synchronized BehaviourScheduler newPinnedScheduler(String name) {
+
+        if (this.driver != null) {
+            BehaviourScheduler scheduler = newScheduler(this.driver);
+            this.pinnedThreads.put(scheduler, null);
+            return scheduler;
+        }
+
+        ISchedulerDriver thread = this.threadFactory.startThread("robobo-behaviour-" + name, this.priority);
+        BehaviourScheduler scheduler = newScheduler(thread);
+
+        this.pinnedThreads.put(scheduler, thread);
+
+        return scheduler;
+
+    }
+
+
+    /** Stops the thread of a pinned scheduler
+     *
+     * @param scheduler a scheduler created by {@link #newPinnedScheduler(String)}
+     */
+    public synchronized void release(BehaviourScheduler scheduler) {
+
+        ISchedulerDriver thread = this.pinnedThreads.remove(scheduler);
+
+        if (thread != null) {
+            this.threadFactory.stopThread(thread);
+        }
+
+    }
+
+
+    /** Creates a thread for a task of a behaviour, with the priority of the framework threads
+     *
+     * @param name name of the thread
+     * @param task the task executed by the thread
+     * @return the new thread, not started
+     */
+    public Thread newThread(String name, Runnable task) {
+        return this.threadFactory.newThread(name, this.priority, task);
+    }
+
+
+    /** Returns all the schedulers in use
+     *
+     * @return all the schedulers in use
+     */
+    public synchronized List<BehaviourScheduler> getSchedulers() {
+
+        List<BehaviourScheduler> schedulers = new ArrayList<>();
+
+        if (this.mainScheduler != null) {
+            schedulers.add(this.mainScheduler);
+        }
+        for (BehaviourScheduler scheduler : this.poolSchedulers) {
+            if (scheduler != null) {
+                schedulers.add(scheduler);
+            }
+        }
+        schedulers.addAll(this.pinnedThreads.keySet());
+
+        return schedulers;
+
+    }
+
+
+    /** Returns the metrics of all the behaviours, in all the schedulers
+     *
+     * @return the metrics of all the behaviours
+     */
+    public List<BehaviourMetricsSnapshot> getMetrics() {
+
+        List<BehaviourMetricsSnapshot> metrics = new ArrayList<>();
+
+        for (BehaviourScheduler scheduler : getSchedulers()) {
+            metrics.addAll(scheduler.getMetrics());
+        }
+
+        return metrics;
+
+    }
+
+
+    /** Stops all the framework threads, the behaviours must have been cancelled before */
+    public synchronized void shutdown() {
+
+        for (int i = 0; i < this.poolSize; i++) {
+            if (this.poolThreads[i] != null) {
+                this.threadFactory.stopThread(this.poolThreads[i]);
+                this.poolThreads[i] = null;
+                this.poolSchedulers[i] = null;
+            }
+        }
+
+        for (ISchedulerDriver thread : this.pinnedThreads.values()) {
+            if (thread != null) {
+                this.threadFactory.stopThread(thread);
+            }
+        }
+        this.pinnedThreads.clear();
+
+        if (this.allocationCounter != null) {
+            this.allocationCounter.stop();
+            this.allocationCounter = null;
+        }
+
+    }
+
+}
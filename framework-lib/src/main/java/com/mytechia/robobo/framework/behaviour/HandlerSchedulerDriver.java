@@ -0,0 +1,88 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.behaviour;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+/** Scheduler driver that runs the behaviours in the thread of an Android Looper,
+ * the main thread by default.
+ *
+ * @author Gervasio Varela
+ */
+public class HandlerSchedulerDriver implements ISchedulerDriver {
+
+    private final Handler handler;
+
+
+    /** Creates a driver that runs the behaviours in the main thread */
+    public HandlerSchedulerDriver() {
+        this(Looper.getMainLooper());
+    }
+
+
+    /** Creates a driver that runs the behaviours in the thread of a looper
+     *
+     * @param looper the looper of the thread that runs the behaviours
+     */
+    public HandlerSchedulerDriver(Looper looper) {
+        this(new Handler(looper));
+    }
+
+
+    /** Creates a driver that runs the behaviours with a handler
+     *
+     * @param handler the handler that runs the behaviours in its thread
+     */
+    public HandlerSchedulerDriver(Handler handler) {
+        this.handler = handler;
+    }
+
+
+    @Override
+    public long uptimeMillis() {
+        return SystemClock.uptimeMillis();
+    }
+
+
+    @Override
+    public long uptimeNanos() {
+        //both are based on the monotonic clock of the system
+        return System.nanoTime();
+    }
+
+
+    @Override
+    public void wakeUpAt(Runnable tick, long uptimeMillis) {
+        this.handler.removeCallbacks(tick);
+        this.handler.postAtTime(tick, uptimeMillis);
+    }
+
+
+    @Override
+    public void cancel(Runnable tick) {
+        this.handler.removeCallbacks(tick);
+    }
+
+}
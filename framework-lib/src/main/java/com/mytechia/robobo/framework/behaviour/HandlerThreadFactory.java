@@ -0,0 +1,83 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+package com.mytechia.robobo.framework.behaviour;
+
+import android.os.HandlerThread;
+import android.os.Process;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/** Default behaviour thread factory, it starts an Android HandlerThread for each thread
+ * and runs the behaviours in its looper.
+ *
+ * @author Gervasio Varela
+ */
+public class HandlerThreadFactory implements IBehaviourThreadFactory {
+
+    private final Map<ISchedulerDriver, HandlerThread> threads = new IdentityHashMap<>();
+
+
+    @Override
+    public synchronized ISchedulerDriver startThread(String name, int priority) {
+
+        HandlerThread thread = new HandlerThread(name, priority);
+        thread.setDaemon(true);
+        thread.start();
+
+        ISchedulerDriver driver = new HandlerSchedulerDriver(thread.getLooper());
+        this.threads.put(driver, thread);
+
+        return driver;
+
+    }
+
+
+    @Override
+    public synchronized void stopThread(ISchedulerDriver driver) {
+
+        HandlerThread thread = this.threads.remove(driver);
+
+        if (thread != null) {
+            thread.quit();
+        }
+
+    }
+
+
+    @Override
+    public Thread newThread(String name, final int priority, final Runnable task) {
+
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                Process.setThreadPriority(priority);
+                task.run();
+            }
+        }, name);
+        thread.setDaemon(true);
+
+        return thread;
+
+    }
+
+}
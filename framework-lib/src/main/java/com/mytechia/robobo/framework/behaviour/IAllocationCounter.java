@@ -0,0 +1,48 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.behaviour;
+
+/** Counter of the memory allocated by the current thread, used by the BehaviourScheduler
+ * to measure the allocations of each tick when allocation tracking is enabled.
+ *
+ * @author Gervasio Varela
+ */
+public interface IAllocationCounter {
+
+
+    /** Enables the counting of allocations */
+    void start();
+
+
+    /** Returns the number of bytes allocated by the current thread since the counting started
+     *
+     * @return the number of bytes allocated by the current thread
+     */
+    long allocatedBytes();
+
+
+    /** Disables the counting of allocations */
+    void stop();
+
+
+}
@@ -0,0 +1,52 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.behaviour;
+
+
+/** A behaviour that competes with other behaviours for an output (the motors, for example)
+ * in a BehaviourArbiter. In each arbitration cycle all the behaviours propose an output and
+ * only the output of the winner is forwarded.
+ *
+ * @param <O> the type of the output
+ * @author Gervasio Varela
+ */
+public interface IArbitratedBehaviour<O> {
+
+
+    /** Returns the name of the behaviour, used in the statistics of the arbiter
+     *
+     * @return the name of the behaviour
+     */
+    String getName();
+
+
+    /** Proposes an output for the current arbitration cycle. It is called from the thread
+     * of the arbiter, once per cycle.
+     *
+     * @param proposal the proposal to fill, reused between cycles
+     * @return true if the behaviour is active and wants to control the output, false otherwise
+     */
+    boolean propose(Proposal<O> proposal);
+
+
+}
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+package com.mytechia.robobo.framework.behaviour;
+
+import com.mytechia.robobo.framework.power.FrameworkLoad;
+import com.mytechia.robobo.framework.power.IPowerModeListener;
+import com.mytechia.robobo.framework.power.PowerMode;
+
+/** The services of the framework used to execute the behaviours. It is implemented by the
+ * RoboboManager, and it can also be implemented to run behaviours outside of Android,
+ * in a plain JVM (see ABehaviourModule.startup(IBehaviourHost)).
+ *
+ * @author Gervasio Varela
+ */
+public interface IBehaviourHost {
+
+
+    /** Returns the scheduler for a new behaviour
+     *
+     * @return the scheduler where the new behaviour must be scheduled
+     */
+    BehaviourScheduler getBehaviourScheduler();
+
+
+    /** Returns the threads that execute the behaviours
+     *
+     * @return the behaviour threads
+     */
+    BehaviourThreads getBehaviourThreads();
+
+
+    /** Returns the load collected from the behaviour steps
+     *
+     * @return the load of the framework, null if it is not collected
+     */
+    FrameworkLoad getFrameworkLoad();
+
+
+    /** Returns the clock used to measure the CPU time of the behaviour steps
+     *
+     * @return the thread CPU clock
+     */
+    IThreadCpuClock getThreadCpuClock();
+
+
+    /** Returns the current power mode
+     *
+     * @return the current power mode
+     */
+    PowerMode getPowerMode();
+
+
+    void subscribeToPowerModeChanges(IPowerModeListener listener);
+
+
+    void unsubscribeFromPowerModeChanges(IPowerModeListener listener);
+
+
+}
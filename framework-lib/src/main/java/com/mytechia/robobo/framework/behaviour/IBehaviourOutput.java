@@ -0,0 +1,42 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.behaviour;
+
+
+/** Receives the output of the behaviour that wins each arbitration cycle of a BehaviourArbiter
+ *
+ * @param <O> the type of the output
+ * @author Gervasio Varela
+ */
+public interface IBehaviourOutput<O> {
+
+
+    /** Forwards the output of the winner of an arbitration cycle to the actuators
+     *
+     * @param output the output proposed by the winner
+     * @param winner the behaviour that won the cycle
+     */
+    void forward(O output, IArbitratedBehaviour<O> winner);
+
+
+}
@@ -0,0 +1,62 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+package com.mytechia.robobo.framework.behaviour;
+
+
+/** Factory of the framework threads that execute the behaviours, used by BehaviourThreads
+ * to start and stop them. Each thread is represented by the driver of its schedulers.
+ *
+ * It also creates the plain threads used by the behaviours, like the stages of
+ * APipelinedBehaviourModule, so the priority of all the behaviour threads is set by the factory.
+ *
+ * @author Gervasio Varela
+ */
+public interface IBehaviourThreadFactory {
+
+
+    /** Starts a new thread for the behaviours
+     *
+     * @param name name of the thread
+     * @param priority the Android priority of the thread (see android.os.Process)
+     * @return the driver that runs the behaviours in the new thread
+     */
+    ISchedulerDriver startThread(String name, int priority);
+
+
+    /** Stops a thread started by this factory
+     *
+     * @param driver the driver returned when the thread was started
+     */
+    void stopThread(ISchedulerDriver driver);
+
+
+    /** Creates a daemon thread that runs a task of a behaviour, not started
+     *
+     * @param name name of the thread
+     * @param priority the Android priority of the thread (see android.os.Process)
+     * @param task the task executed by the thread
+     * @return the new thread
+     */
+    Thread newThread(String name, int priority, Runnable task);
+
+
+}
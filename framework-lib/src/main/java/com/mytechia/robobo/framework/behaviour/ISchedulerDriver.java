@@ -0,0 +1,64 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.behaviour;
+
+
+/** The source of time and wakeups of a BehaviourScheduler, it defines in which thread
+ * the behaviours are executed.
+ *
+ * @author Gervasio Varela
+ */
+public interface ISchedulerDriver {
+
+
+    /** Returns the current time, in milliseconds, of the clock used by the scheduler
+     *
+     * @return the current time in milliseconds
+     */
+    long uptimeMillis();
+
+
+    /** Returns the current time, in nanoseconds, of the same clock of {@link #uptimeMillis()},
+     * used to measure the behaviour steps
+     *
+     * @return the current time in nanoseconds
+     */
+    long uptimeNanos();
+
+
+    /** Runs the tick task at the time specified, replacing any previous wakeup of the same task
+     *
+     * @param tick the task to run
+     * @param uptimeMillis the time to run it, in the clock of the driver
+     */
+    void wakeUpAt(Runnable tick, long uptimeMillis);
+
+
+    /** Cancels the pending wakeup of a task
+     *
+     * @param tick the task
+     */
+    void cancel(Runnable tick);
+
+
+}
@@ -0,0 +1,42 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.behaviour;
+
+import com.mytechia.robobo.framework.power.PowerMode;
+
+/** Listener of the changes of the effective step period of adaptive behaviours
+ *
+ * @author Gervasio Varela
+ */
+public interface IStepPeriodListener {
+
+    /** Called when the framework changes the step period of a behaviour
+     *
+     * @param behaviour the behaviour
+     * @param oldPeriod the previous period, in milliseconds
+     * @param newPeriod the new period, in milliseconds
+     * @param mode the power mode of the framework when the period was changed
+     */
+    void onStepPeriodChanged(ABehaviourModule behaviour, int oldPeriod, int newPeriod, PowerMode mode);
+
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.behaviour;
+
+import com.mytechia.robobo.framework.power.PowerMode;
+
+/** Range of periods of an adaptive behaviour, and the scaling of the period to the power mode
+ * of the framework and the overruns of the behaviour.
+ *
+ * The period grows linearly from the minimum, in PowerMode.NORMAL, to the maximum, in the most
+ * restrictive power mode. The period of each mode is stretched by a load factor when the
+ * steps of the behaviour take longer than its period, and it never leaves the range.
+ *
+ * @author Gervasio Varela
+ */
+public final class PeriodRange {
+
+
+    private final int minPeriod;
+    private final int maxPeriod;
+
+
+    /** Creates a new period range
+     *
+     * @param minPeriod the period in PowerMode.NORMAL, in milliseconds
+     * @param maxPeriod the period in the most restrictive power mode, in milliseconds
+     */
+    public PeriodRange(int minPeriod, int maxPeriod) {
+        if ((minPeriod <= 0) || (maxPeriod < minPeriod)) {
+            throw new IllegalArgumentException("Invalid period range: " + minPeriod + " - " + maxPeriod);
+        }
+        this.minPeriod = minPeriod;
+        this.maxPeriod = maxPeriod;
+    }
+
+
+    public int getMinPeriod() {
+        return minPeriod;
+    }
+
+    public int getMaxPeriod() {
+        return maxPeriod;
+    }
+
+
+    /** Returns the period of a behaviour
+     *
+     * @param mode the current power mode of the framework
+     * @param loadFactor factor (>= 1) applied to the period due to the overruns of the behaviour
+     * @return the period, in milliseconds
+     */
+    public int periodFor(PowerMode mode, double loadFactor) {
+
+        int lastMode = PowerMode.values().length - 1;
+        double period = minPeriod + (double) (maxPeriod - minPeriod) * mode.ordinal() / lastMode;
+
+        period = period * Math.max(1.0, loadFactor);
+
+        return (int) Math.min(maxPeriod, Math.round(period));
+
+    }
+
+
+    @Override
+    public String toString() {
+        return minPeriod + " - " + maxPeriod + " ms";
+    }
+
+}
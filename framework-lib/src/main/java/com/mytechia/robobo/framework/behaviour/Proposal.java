@@ -0,0 +1,71 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.behaviour;
+
+
+/** The output proposed by a behaviour in an arbitration cycle, with its activation level.
+ * Proposals are reused between cycles, so behaviours do not allocate them on each cycle.
+ *
+ * @param <O> the type of the output
+ * @author Gervasio Varela
+ */
+public final class Proposal<O> {
+
+    private O output = null;
+    private double activation = 0;
+
+
+    Proposal() {
+    }
+
+
+    /** Sets the output proposed and its activation level
+     *
+     * @param output the output proposed
+     * @param activation the activation level of the behaviour, it breaks the ties between
+     *                   active behaviours of the same priority
+     */
+    public void set(O output, double activation) {
+        this.output = output;
+        this.activation = activation;
+    }
+
+
+    /** Sets the output proposed, with activation level 1
+     *
+     * @param output the output proposed
+     */
+    public void set(O output) {
+        set(output, 1);
+    }
+
+
+    public O getOutput() {
+        return output;
+    }
+
+    public double getActivation() {
+        return activation;
+    }
+
+}
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.behaviour;
+
+import java.util.Locale;
+
+/** Statistics of the ticks of a BehaviourScheduler
+ *
+ * @author Gervasio Varela
+ */
+public final class SchedulerStats {
+
+    private final long wakeups;
+    private final long steps;
+    private final long errors;
+    private final long skippedTicks;
+    private final long triggers;
+    private final long coalescedTriggers;
+    private final long frameworkAllocatedBytes;
+    private final int groups;
+    private final int behaviours;
+    private final double meanLatenessMillis;
+    private final long maxLatenessMillis;
+
+
+    public SchedulerStats(long wakeups, long steps, long errors, long skippedTicks, long triggers,
+                          long coalescedTriggers, long frameworkAllocatedBytes, int groups, int behaviours,
+                          double meanLatenessMillis, long maxLatenessMillis) {
+        this.wakeups = wakeups;
+        this.steps = steps;
+        this.errors = errors;
+        this.skippedTicks = skippedTicks;
+        this.triggers = triggers;
+        this.coalescedTriggers = coalescedTriggers;
+        this.frameworkAllocatedBytes = frameworkAllocatedBytes;
+        this.groups = groups;
+        this.behaviours = behaviours;
+        this.meanLatenessMillis = meanLatenessMillis;
+        this.maxLatenessMillis = maxLatenessMillis;
+    }
+
+
+    /** Returns the number of times the scheduler has been woken up */
+    public long getWakeups() {
+        return wakeups;
+    }
+
+    /** Returns the number of behaviour steps executed */
+    public long getSteps() {
+        return steps;
+    }
+
+    /** Returns the number of behaviour steps that threw an exception */
+    public long getErrors() {
+        return errors;
+    }
+
+    /** Returns the number of fixed rate ticks skipped because of overruns */
+    public long getSkippedTicks() {
+        return skippedTicks;
+    }
+
+    /** Returns the number of triggers of event triggered steps */
+    public long getTriggers() {
+        return triggers;
+    }
+
+    /** Returns the number of triggers coalesced with a previous one, without an execution of their own */
+    public long getCoalescedTriggers() {
+        return coalescedTriggers;
+    }
+
+    /** Returns the bytes allocated by the scheduler itself in its ticks, excluding the steps,
+     * only measured with allocation tracking enabled. It must be 0 in steady state. */
+    public long getFrameworkAllocatedBytes() {
+        return frameworkAllocatedBytes;
+    }
+
+    /** Returns the number of different periods scheduled, each one is a single wakeup */
+    public int getGroups() {
+        return groups;
+    }
+
+    /** Returns the number of behaviours scheduled */
+    public int getBehaviours() {
+        return behaviours;
+    }
+
+    /** Returns the mean time between the deadline of the groups and their execution */
+    public double getMeanLatenessMillis() {
+        return meanLatenessMillis;
+    }
+
+    /** Returns the maximum time between the deadline of a group and its execution */
+    public long getMaxLatenessMillis() {
+        return maxLatenessMillis;
+    }
+
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US,
+                "%d behaviours in %d groups, %d wakeups, %d steps (%d errors), %d ticks skipped, %d triggers (%d coalesced), lateness mean %.2f ms, max %d ms",
+                behaviours, groups, wakeups, steps, errors, skippedTicks, triggers, coalescedTriggers, meanLatenessMillis, maxLatenessMillis);
+    }
+
+}
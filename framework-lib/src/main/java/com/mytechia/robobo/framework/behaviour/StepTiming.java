@@ -0,0 +1,50 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.behaviour;
+
+
+/** How the BehaviourScheduler computes the next execution of a behaviour step,
+ * and what it does when a step takes longer than its period (an overrun).
+ *
+ * @author Gervasio Varela
+ */
+public enum StepTiming {
+
+    /** The next step starts a period after the end of the previous one, so the real period
+     * is the period plus the duration of the step */
+    FIXED_DELAY,
+
+    /** Steps start at multiples of the period of a monotonic clock. The ticks missed during
+     * an overrun are skipped, the next step starts at the next multiple of the period */
+    FIXED_RATE_SKIP,
+
+    /** Steps start at multiples of the period of a monotonic clock. The ticks missed during
+     * an overrun are executed one after the other, up to {@link BehaviourScheduler#MAX_CATCH_UP_TICKS},
+     * the rest are skipped */
+    FIXED_RATE_CATCH_UP,
+
+    /** Steps start at multiples of the period. After an overrun the next step starts as soon
+     * as the previous one finishes, and the following ones a period after it */
+    FIXED_RATE_STRETCH
+
+}
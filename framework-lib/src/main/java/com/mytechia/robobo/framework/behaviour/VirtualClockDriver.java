@@ -0,0 +1,194 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.behaviour;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/** Scheduler driver with a virtual clock, to run behaviours headless and faster than real time.
+ *
+ * Time only advances when {@link #runFor(long)} or {@link #runUntil(long)} are called: the
+ * wakeups of the schedulers are executed in order of time, in the calling thread, jumping the
+ * clock directly from one wakeup to the next one, so hours of behaviour execution can be
+ * simulated in seconds. Wakeups of the same time are executed in the order they were requested,
+ * so the executions are deterministic.
+ *
+ * Steps take no virtual time, unless they call {@link #consume(long)} to simulate their duration.
+ * A driver can be shared by several schedulers, all of them following the same clock. It does
+ * not depend on Android, so it can be used on a plain JVM.
+ *
+ * @author Gervasio Varela
+ */
+public class VirtualClockDriver implements ISchedulerDriver {
+
+
+    /** A pending wakeup of a task */
+    private static final class WakeUp implements Comparable<WakeUp> {
+
+        private final Runnable task;
+        private final long time;
+        private final long sequence;
+
+        WakeUp(Runnable task, long time, long sequence) {
+            this.task = task;
+            this.time = time;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(WakeUp other) {
+            if (this.time != other.time) {
+                return this.time < other.time ? -1 : 1;
+            }
+            return this.sequence < other.sequence ? -1 : (this.sequence == other.sequence ? 0 : 1);
+        }
+
+    }
+
+
+    private final PriorityQueue<WakeUp> queue = new PriorityQueue<>();
+    /** The pending wakeup of each task, a task only has one */
+    private final Map<Runnable, WakeUp> pending = new IdentityHashMap<>();
+
+    private long nowNanos;
+    private long sequence = 0;
+    private long executedWakeUps = 0;
+
+
+    /** Creates a virtual clock that starts at time 0 */
+    public VirtualClockDriver() {
+        this(0);
+    }
+
+
+    /** Creates a virtual clock
+     *
+     * @param startMillis the initial time of the clock, in milliseconds
+     */
+    public VirtualClockDriver(long startMillis) {
+        this.nowNanos = TimeUnit.MILLISECONDS.toNanos(startMillis);
+    }
+
+
+    @Override
+    public synchronized long uptimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.nowNanos);
+    }
+
+
+    @Override
+    public synchronized long uptimeNanos() {
+        return this.nowNanos;
+    }
+
+
+    @Override
+    public synchronized void wakeUpAt(Runnable tick, long uptimeMillis) {
+        WakeUp previous = this.pending.remove(tick);
+        if (previous != null) {
+            this.queue.remove(previous);
+        }
+        WakeUp wakeUp = new WakeUp(tick, uptimeMillis, this.sequence++);
+        this.pending.put(tick, wakeUp);
+        this.queue.add(wakeUp);
+    }
+
+
+    @Override
+    public synchronized void cancel(Runnable tick) {
+        WakeUp previous = this.pending.remove(tick);
+        if (previous != null) {
+            this.queue.remove(previous);
+        }
+    }
+
+
+    /** Advances the clock, executing the wakeups due in the meantime
+     *
+     * @param millis the time to advance, in milliseconds
+     */
+    public void runFor(long millis) {
+        runUntil(uptimeMillis() + millis);
+    }
+
+
+    /** Advances the clock up to a time, executing the wakeups due until that time.
+     * Wakeups scheduled in the past are executed immediately.
+     *
+     * @param endMillis the final time of the clock, in milliseconds
+     */
+    public void runUntil(long endMillis) {
+
+        long endNanos = TimeUnit.MILLISECONDS.toNanos(endMillis);
+
+        while (true) {
+
+            WakeUp next;
+
+            synchronized (this) {
+                next = this.queue.peek();
+                if ((next == null) || (next.time > endMillis)) {
+                    break;
+                }
+                this.queue.poll();
+                this.pending.remove(next.task);
+                this.nowNanos = Math.max(this.nowNanos, TimeUnit.MILLISECONDS.toNanos(next.time));
+                this.executedWakeUps++;
+            }
+
+            //executed without the lock, the task schedules its next wakeup
+            next.task.run();
+
+        }
+
+        synchronized (this) {
+            this.nowNanos = Math.max(this.nowNanos, endNanos);
+        }
+
+    }
+
+
+    /** Advances the clock without executing any wakeup, used by the steps to simulate
+     * the time they take
+     *
+     * @param millis the time consumed, in milliseconds
+     */
+    public synchronized void consume(long millis) {
+        this.nowNanos += TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+
+    /** Returns whether there are wakeups pending */
+    public synchronized boolean isIdle() {
+        return this.queue.isEmpty();
+    }
+
+
+    /** Returns the number of wakeups executed since the creation of the clock */
+    public synchronized long getExecutedWakeUps() {
+        return this.executedWakeUps;
+    }
+
+}
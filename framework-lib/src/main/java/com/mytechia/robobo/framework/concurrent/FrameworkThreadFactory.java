@@ -0,0 +1,71 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.concurrent;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Thread factory for the threads created by the framework itself.
+ *
+ * Threads are named using a common prefix (useful when profiling or reading the logs) and
+ * are created as daemon threads, so a framework that was not properly shutdown does not
+ * keep the process alive.
+ *
+ * @author Gervasio Varela
+ */
+public class FrameworkThreadFactory implements ThreadFactory {
+
+    private final String namePrefix;
+    private final int priority;
+    private final AtomicInteger threadCount = new AtomicInteger(0);
+
+
+    /** Creates a new factory of normal priority threads
+     *
+     * @param namePrefix prefix of the names of the threads created
+     */
+    public FrameworkThreadFactory(String namePrefix) {
+        this(namePrefix, Thread.NORM_PRIORITY);
+    }
+
+
+    /** Creates a new factory of threads
+     *
+     * @param namePrefix prefix of the names of the threads created
+     * @param priority the Java priority of the threads created
+     */
+    public FrameworkThreadFactory(String namePrefix, int priority) {
+        this.namePrefix = namePrefix;
+        this.priority = priority;
+    }
+
+
+    @Override
+    public Thread newThread(Runnable r) {
+        Thread thread = new Thread(r, namePrefix + "-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        thread.setPriority(priority);
+        return thread;
+    }
+
+}
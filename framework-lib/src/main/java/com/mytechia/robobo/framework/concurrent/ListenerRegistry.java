@@ -0,0 +1,519 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.concurrent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/** Thread-safe registry of listeners, used by the framework to notify its events.
+ *
+ * Listeners are stored in a copy-on-write array replaced with compare-and-set, so they can be
+ * added and removed from any thread, even during a notification, without locks. Notifications
+ * iterate a snapshot of the listeners: a listener added during a notification only receives
+ * the next ones.
+ *
+ * Each listener is isolated from the errors of the others: an exception thrown by a listener
+ * is logged and counted, and the rest of listeners are notified anyway. The time each listener
+ * takes to process the notifications is also tracked, see {@link #getTimings()}, and a warning
+ * is logged when a listener takes longer than the budget of the registry.
+ *
+ * Listeners are notified synchronously, in the thread that dispatches the notification, unless
+ * they are added with an executor. Then the notifications are queued and delivered in order by
+ * the executor, so a slow listener does not delay the dispatcher. The queue of each asynchronous
+ * listener is bounded for {@link ProgressNotification}s: when it is full, progress notifications
+ * are dropped or merged following the {@link OverflowPolicy} of the listener. The rest of
+ * notifications are never dropped.
+ *
+ * @param <L> the type of the listeners
+ * @author Gervasio Varela
+ */
+public final class ListenerRegistry<L> {
+
+
+    /** A notification to deliver to each listener */
+    public interface Notification<L> {
+
+        void notifyListener(L listener);
+
+    }
+
+
+    /** A notification of progress, that a slow asynchronous listener can miss */
+    public interface ProgressNotification<L> extends Notification<L> {
+
+        /** Returns the kind of progress notified, only notifications of the same kind are merged
+         *
+         * @return the kind of the notification, compared with equals()
+         */
+        Object getMergeKey();
+
+    }
+
+
+    /** What to do with a progress notification for an asynchronous listener whose queue is full */
+    public enum OverflowPolicy {
+        /** The new notification is discarded */
+        DROP_NEWEST,
+        /** The oldest progress notification of the queue is discarded */
+        DROP_OLDEST,
+        /** The newest progress notification of the queue with the same merge key is discarded, and
+         * the new one is queued. If there is none, the new notification is queued anyway */
+        MERGE
+    }
+
+
+    /** Default capacity of the queues of the asynchronous listeners */
+    public static final int DEFAULT_QUEUE_CAPACITY = 16;
+
+
+    private static final Logger LOG = LoggerFactory.getLogger("com.mytechia.robobo.framework");
+
+    private static final ListenerTiming<?>[] EMPTY = new ListenerTiming<?>[0];
+
+
+    private final String name;
+
+    /** Time a listener can take to process a notification before a warning is logged, 0 for no limit */
+    private volatile long budgetNanos = 0;
+
+    private final AtomicReference<ListenerTiming<?>[]> listeners = new AtomicReference<ListenerTiming<?>[]>(EMPTY);
+
+
+    /** Creates a new empty registry
+     *
+     * @param name the name of the listeners, used in the logs
+     */
+    public ListenerRegistry(String name) {
+        this.name = name;
+    }
+
+
+    /** Adds a listener notified synchronously, a listener can be added more than once */
+    public void add(L listener) {
+        add(new ListenerTiming<>(this, listener, null, 0, null));
+    }
+
+
+    /** Adds a listener notified asynchronously, with a queue of the default capacity that merges
+     * the progress notifications when it is full
+     *
+     * @param listener the listener
+     * @param executor the executor that delivers the notifications to the listener
+     */
+    public void add(L listener, Executor executor) {
+        add(listener, executor, DEFAULT_QUEUE_CAPACITY, OverflowPolicy.MERGE);
+    }
+
+
+    /** Adds a listener notified asynchronously
+     *
+     * @param listener the listener
+     * @param executor the executor that delivers the notifications to the listener
+     * @param queueCapacity the maximum number of notifications queued for the listener,
+     *                      only exceeded by notifications that are not progress notifications
+     * @param policy what to do with the progress notifications when the queue is full
+     */
+    public void add(L listener, Executor executor, int queueCapacity, OverflowPolicy policy) {
+        if (executor == null) {
+            throw new NullPointerException("Null executor for " + name);
+        }
+        add(new ListenerTiming<>(this, listener, executor, Math.max(1, queueCapacity), policy));
+    }
+
+
+    private void add(ListenerTiming<L> timing) {
+
+        if (timing.listener == null) {
+            throw new NullPointerException("Null listener for " + name);
+        }
+
+        while (true) {
+            ListenerTiming<?>[] current = this.listeners.get();
+            ListenerTiming<?>[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = timing;
+            if (this.listeners.compareAndSet(current, updated)) {
+                return;
+            }
+        }
+
+    }
+
+
+    /** Removes the first registration of a listener
+     *
+     * @return false if the listener was not registered
+     */
+    public boolean remove(L listener) {
+
+        while (true) {
+
+            ListenerTiming<?>[] current = this.listeners.get();
+
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i].listener == listener) {
+                    index = i;
+                    break;
+                }
+            }
+
+            if (index < 0) {
+                return false;
+            }
+
+            ListenerTiming<?>[] updated = (current.length == 1) ? EMPTY : new ListenerTiming<?>[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+
+            if (this.listeners.compareAndSet(current, updated)) {
+                return true;
+            }
+
+        }
+
+    }
+
+
+    public boolean isEmpty() {
+        return this.listeners.get().length == 0;
+    }
+
+
+    public int size() {
+        return this.listeners.get().length;
+    }
+
+
+    /** Changes the time a listener can take to process a notification before a warning is logged
+     *
+     * @param budget the budget, 0 for no limit
+     * @param unit the unit of the budget
+     */
+    public void setSlowListenerBudget(long budget, TimeUnit unit) {
+        this.budgetNanos = unit.toNanos(Math.max(0, budget));
+    }
+
+
+    /** Delivers a notification to all the listeners registered, in registration order.
+     * Asynchronous listeners only get the notification queued.
+     *
+     * @param notification the notification to deliver
+     * @return the number of synchronous listeners that failed to process the notification
+     */
+    @SuppressWarnings("unchecked")
+    public int dispatch(Notification<L> notification) {
+
+        ListenerTiming<?>[] snapshot = this.listeners.get();
+        int failures = 0;
+
+        for (int i = 0; i < snapshot.length; i++) {
+            ListenerTiming<L> timing = (ListenerTiming<L>) snapshot[i];
+            if (timing.executor != null) {
+                timing.enqueue(notification);
+            } else if (!timing.deliver(notification)) {
+                failures++;
+            }
+        }
+
+        return failures;
+
+    }
+
+
+    /** Returns the timings of the listeners currently registered
+     *
+     * @return the timings of the listeners, in registration order
+     */
+    @SuppressWarnings("unchecked")
+    public List<ListenerTiming<L>> getTimings() {
+        List<ListenerTiming<L>> timings = new ArrayList<>();
+        for (ListenerTiming<?> timing : this.listeners.get()) {
+            timings.add((ListenerTiming<L>) timing);
+        }
+        return Collections.unmodifiableList(timings);
+    }
+
+
+
+    /** A listener registered, with its dispatch mode and the timing of its notifications */
+    public static final class ListenerTiming<L> {
+
+        private final L listener;
+        private final ListenerRegistry<L> registry;
+
+        /** Executor of the asynchronous listeners, null for synchronous ones */
+        private final Executor executor;
+        private final int queueCapacity;
+        private final OverflowPolicy policy;
+        //guarded by the queue
+        private final LinkedList<Notification<L>> queue = new LinkedList<>();
+        private boolean draining = false;
+
+        private final AtomicLong deliveries = new AtomicLong(0);
+        private final AtomicLong failures = new AtomicLong(0);
+        private final AtomicLong slowDeliveries = new AtomicLong(0);
+        private final AtomicLong dropped = new AtomicLong(0);
+        private final AtomicLong merged = new AtomicLong(0);
+        private final AtomicLong totalNanos = new AtomicLong(0);
+        private final AtomicLong maxNanos = new AtomicLong(0);
+        private volatile long lastNanos = 0;
+
+        private final Runnable drainTask = new Runnable() {
+            @Override
+            public void run() {
+                drain();
+            }
+        };
+
+
+        ListenerTiming(ListenerRegistry<L> registry, L listener, Executor executor, int queueCapacity,
+                       OverflowPolicy policy) {
+            this.registry = registry;
+            this.listener = listener;
+            this.executor = executor;
+            this.queueCapacity = queueCapacity;
+            this.policy = policy;
+        }
+
+
+        /** Queues a notification for an asynchronous listener */
+        void enqueue(Notification<L> notification) {
+
+            boolean submit;
+
+            synchronized (this.queue) {
+
+                if ((this.queue.size() >= this.queueCapacity) && (notification instanceof ProgressNotification)) {
+                    if (overflow(notification)) {
+                        return;
+                    }
+                }
+
+                this.queue.add(notification);
+                submit = !this.draining;
+                this.draining = true;
+
+            }
+
+            if (submit) {
+                try {
+                    this.executor.execute(this.drainTask);
+                } catch (RejectedExecutionException ex) {
+                    synchronized (this.queue) {
+                        this.dropped.addAndGet(this.queue.size());
+                        this.queue.clear();
+                        this.draining = false;
+                    }
+                    LOG.warn("Executor of " + registry.name + " " + listener.getClass().getName() +
+                            " rejected its notifications", ex);
+                }
+            }
+
+        }
+
+
+        /** Applies the overflow policy to a progress notification, with the queue full
+         *
+         * @return true if the notification was dropped or merged, false if it must be queued
+         */
+        private boolean overflow(Notification<L> notification) {
+
+            switch (this.policy) {
+
+                case DROP_NEWEST:
+                    this.dropped.incrementAndGet();
+                    return true;
+
+                case DROP_OLDEST:
+                    for (ListIterator<Notification<L>> it = this.queue.listIterator(); it.hasNext(); ) {
+                        if (it.next() instanceof ProgressNotification) {
+                            it.remove();
+                            this.dropped.incrementAndGet();
+                            break;
+                        }
+                    }
+                    return false;
+
+                case MERGE:
+                default:
+                    Object mergeKey = ((ProgressNotification<L>) notification).getMergeKey();
+                    for (ListIterator<Notification<L>> it = this.queue.listIterator(this.queue.size()); it.hasPrevious(); ) {
+                        Notification<L> queued = it.previous();
+                        if ((queued instanceof ProgressNotification) &&
+                                mergeKey.equals(((ProgressNotification<L>) queued).getMergeKey())) {
+                            //the latest progress is delivered in the position of the new notification
+                            it.remove();
+                            this.merged.incrementAndGet();
+                            break;
+                        }
+                    }
+                    return false;
+
+            }
+
+        }
+
+
+        /** Delivers the queued notifications, in the executor of the listener */
+        private void drain() {
+
+            while (true) {
+
+                Notification<L> notification;
+
+                synchronized (this.queue) {
+                    notification = this.queue.poll();
+                    if (notification == null) {
+                        this.draining = false;
+                        return;
+                    }
+                }
+
+                deliver(notification);
+
+            }
+
+        }
+
+
+        /** Delivers a notification to the listener, isolating the rest of listeners from its errors
+         *
+         * @return false if the listener failed
+         */
+        boolean deliver(Notification<L> notification) {
+
+            long start = System.nanoTime();
+            boolean failed = false;
+
+            try {
+                notification.notifyListener(listener);
+            } catch (RuntimeException ex) {
+                failed = true;
+                LOG.error("Error notifying " + registry.name + " " + listener.getClass().getName(), ex);
+            }
+
+            long elapsed = System.nanoTime() - start;
+
+            this.deliveries.incrementAndGet();
+            if (failed) {
+                this.failures.incrementAndGet();
+            }
+            this.totalNanos.addAndGet(elapsed);
+            this.lastNanos = elapsed;
+
+            long max;
+            while (elapsed > (max = this.maxNanos.get())) {
+                if (this.maxNanos.compareAndSet(max, elapsed)) {
+                    break;
+                }
+            }
+
+            long budget = registry.budgetNanos;
+            if ((budget > 0) && (elapsed > budget)) {
+                this.slowDeliveries.incrementAndGet();
+                LOG.warn("Slow " + registry.name + " " + listener.getClass().getName() + ": " +
+                        TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms (budget " +
+                        TimeUnit.NANOSECONDS.toMillis(budget) + " ms)" +
+                        (this.executor == null ? ", consider notifying it asynchronously" : ""));
+            }
+
+            return !failed;
+
+        }
+
+
+        public L getListener() {
+            return listener;
+        }
+
+        public long getDeliveries() {
+            return deliveries.get();
+        }
+
+        public long getFailures() {
+            return failures.get();
+        }
+
+        /** Returns the number of notifications that took longer than the budget of the registry */
+        public long getSlowDeliveries() {
+            return slowDeliveries.get();
+        }
+
+        /** Returns the number of progress notifications dropped because the queue was full */
+        public long getDropped() {
+            return dropped.get();
+        }
+
+        /** Returns the number of progress notifications merged with a queued one */
+        public long getMerged() {
+            return merged.get();
+        }
+
+        /** Returns the number of notifications waiting to be delivered */
+        public int getQueued() {
+            synchronized (queue) {
+                return queue.size();
+            }
+        }
+
+        public boolean isAsynchronous() {
+            return executor != null;
+        }
+
+        public long getMeanNanos() {
+            long count = deliveries.get();
+            return count == 0 ? 0 : totalNanos.get() / count;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        public long getLastNanos() {
+            return lastNanos;
+        }
+
+        @Override
+        public String toString() {
+            return listener.getClass().getName() + (isAsynchronous() ? " (async): " : ": ") +
+                    getDeliveries() + " deliveries, " + getFailures() + " failures, " +
+                    getSlowDeliveries() + " slow, " + (getDropped() + getMerged()) + " dropped/merged, mean " +
+                    TimeUnit.NANOSECONDS.toMicros(getMeanNanos()) +
+                    " us, max " + TimeUnit.NANOSECONDS.toMicros(getMaxNanos()) + " us";
+        }
+
+    }
+
+}
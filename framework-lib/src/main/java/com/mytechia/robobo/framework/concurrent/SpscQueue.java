@@ -0,0 +1,134 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Bounded lock-free queue for exactly one producer thread and one consumer thread.
+ *
+ * The elements are stored in a ring buffer whose capacity is a power of two. Each side only
+ * writes its own index, publishing it with an ordered store, and caches the index of the other
+ * side, so offer() and poll() do not block, do not allocate and rarely touch shared state.
+ * Using it from more than one producer or more than one consumer is not safe.
+ *
+ * @param <E> the type of the elements
+ * @author Gervasio Varela
+ */
+public final class SpscQueue<E> {
+
+    private final Object[] buffer;
+    private final int mask;
+
+    /** Next position to read, only written by the consumer */
+    private final AtomicLong head = new AtomicLong(0);
+    /** Next position to write, only written by the producer */
+    private final AtomicLong tail = new AtomicLong(0);
+
+    //last head seen by the producer, and last tail seen by the consumer
+    private long producerHead = 0;
+    private long consumerTail = 0;
+
+
+    /** Creates a new queue
+     *
+     * @param capacity the minimum capacity of the queue, rounded up to a power of two
+     */
+    public SpscQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size = size << 1;
+        }
+        this.buffer = new Object[size];
+        this.mask = size - 1;
+    }
+
+
+    /** Adds an element to the queue, only called by the producer
+     *
+     * @param element the element to add, not null
+     * @return false if the queue is full and the element was not added
+     */
+    public boolean offer(E element) {
+
+        if (element == null) {
+            throw new NullPointerException("Null elements are not allowed");
+        }
+
+        long currentTail = this.tail.get();
+
+        if (currentTail - this.producerHead >= this.buffer.length) {
+            this.producerHead = this.head.get();
+            if (currentTail - this.producerHead >= this.buffer.length) {
+                return false;
+            }
+        }
+
+        this.buffer[(int) (currentTail & this.mask)] = element;
+        this.tail.lazySet(currentTail + 1);
+
+        return true;
+
+    }
+
+
+    /** Removes the first element of the queue, only called by the consumer
+     *
+     * @return the first element, or null if the queue is empty
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+
+        long currentHead = this.head.get();
+
+        if (currentHead >= this.consumerTail) {
+            this.consumerTail = this.tail.get();
+            if (currentHead >= this.consumerTail) {
+                return null;
+            }
+        }
+
+        int index = (int) (currentHead & this.mask);
+        E element = (E) this.buffer[index];
+        this.buffer[index] = null;
+        this.head.lazySet(currentHead + 1);
+
+        return element;
+
+    }
+
+
+    /** Returns the number of elements in the queue, an estimation if the queue is in use */
+    public int size() {
+        long size = this.tail.get() - this.head.get();
+        return (int) Math.max(0, Math.min(size, this.buffer.length));
+    }
+
+
+    public int capacity() {
+        return this.buffer.length;
+    }
+
+}
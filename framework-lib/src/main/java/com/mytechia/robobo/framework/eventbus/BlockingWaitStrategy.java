@@ -0,0 +1,80 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.eventbus;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/** Wait strategy that blocks the subscribers on a condition until a publisher signals them.
+ * It uses no CPU while waiting, at the cost of a higher latency. Publishers only take the lock
+ * when some subscriber is blocked.
+ *
+ * @author Gervasio Varela
+ */
+public class BlockingWaitStrategy implements IWaitStrategy {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition published = lock.newCondition();
+    private final AtomicBoolean signalNeeded = new AtomicBoolean(false);
+
+
+    @Override
+    public long waitFor(long sequence, Sequence cursor, SequenceBarrier barrier) throws InterruptedException {
+
+        long available = cursor.get();
+
+        if (available < sequence) {
+            lock.lock();
+            try {
+                while (true) {
+                    //requested before checking the cursor, so a publication is never missed
+                    signalNeeded.set(true);
+                    if (((available = cursor.get()) >= sequence) || barrier.isAlerted()) {
+                        break;
+                    }
+                    published.await();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        return available;
+
+    }
+
+
+    @Override
+    public void signalAllWhenBlocking() {
+        if (signalNeeded.getAndSet(false)) {
+            lock.lock();
+            try {
+                published.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+}
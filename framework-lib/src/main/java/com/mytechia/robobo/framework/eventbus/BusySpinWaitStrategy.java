@@ -0,0 +1,51 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.eventbus;
+
+/** Wait strategy that spins on the cursor: the lowest latency, but it keeps a core busy,
+ * so it must only be used when there are free cores for the subscribers.
+ *
+ * @author Gervasio Varela
+ */
+public class BusySpinWaitStrategy implements IWaitStrategy {
+
+
+    @Override
+    public long waitFor(long sequence, Sequence cursor, SequenceBarrier barrier) {
+
+        long available;
+
+        while (((available = cursor.get()) < sequence) && !barrier.isAlerted()) {
+            //spin
+        }
+
+        return available;
+
+    }
+
+
+    @Override
+    public void signalAllWhenBlocking() {
+    }
+
+}
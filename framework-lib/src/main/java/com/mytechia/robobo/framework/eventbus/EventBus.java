@@ -0,0 +1,132 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.eventbus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/** Event bus of the framework, for the communication between modules through typed topics.
+ *
+ * Each topic has a preallocated ring buffer (see {@link RingBuffer}) shared by all its
+ * publishers and subscribers, so high rate events, like sensor readings, are delivered
+ * to several modules without allocations and without each module implementing its own
+ * listeners and threads. The modules find the topics by name, using the type of the
+ * events to check that they agree on their contents.
+ *
+ * @author Gervasio Varela
+ */
+public class EventBus {
+
+    /** Default number of events of the ring buffers */
+    public static final int DEFAULT_BUFFER_SIZE = 1024;
+
+
+    private final ConcurrentMap<String, Topic<?>> topics = new ConcurrentHashMap<>();
+
+
+    /** Returns a topic, creating it if it does not exist yet, with a buffer of the default size
+     * and subscribers that block while waiting for events
+     *
+     * @see #createTopic(String, Class, IEventFactory, int, IWaitStrategy)
+     */
+    public <T> Topic<T> createTopic(String name, Class<T> eventType, IEventFactory<T> factory) {
+        return createTopic(name, eventType, factory, DEFAULT_BUFFER_SIZE, new BlockingWaitStrategy());
+    }
+
+
+    /** Returns a topic, creating it if it does not exist yet
+     *
+     * @param name the name of the topic
+     * @param eventType the type of the events of the topic
+     * @param factory the factory of the events preallocated in the buffer of the topic
+     * @param bufferSize the number of events of the buffer, a power of two
+     * @param waitStrategy how the subscribers wait for new events
+     * @return the topic
+     * @throws IllegalArgumentException if the topic exists with a different type of events
+     */
+    public <T> Topic<T> createTopic(String name, Class<T> eventType, IEventFactory<T> factory,
+                                    int bufferSize, IWaitStrategy waitStrategy) {
+
+        Topic<T> topic = getTopic(name, eventType);
+
+        if (topic == null) {
+            Topic<T> newTopic = new Topic<>(name, eventType, factory, bufferSize, waitStrategy);
+            Topic<?> previous = this.topics.putIfAbsent(name, newTopic);
+            topic = (previous == null) ? newTopic : checkType(previous, eventType);
+        }
+
+        return topic;
+
+    }
+
+
+    /** Returns a topic
+     *
+     * @param name the name of the topic
+     * @param eventType the type of the events of the topic
+     * @return the topic, or null if it does not exist
+     * @throws IllegalArgumentException if the topic exists with a different type of events
+     */
+    public <T> Topic<T> getTopic(String name, Class<T> eventType) {
+        Topic<?> topic = this.topics.get(name);
+        return (topic == null) ? null : checkType(topic, eventType);
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private static <T> Topic<T> checkType(Topic<?> topic, Class<T> eventType) {
+        if (topic.getEventType() != eventType) {
+            throw new IllegalArgumentException("The events of topic " + topic.getName() + " are " +
+                    topic.getEventType().getName() + ", not " + eventType.getName());
+        }
+        return (Topic<T>) topic;
+    }
+
+
+    /** Removes a topic, cancelling all its subscriptions
+     *
+     * @param name the name of the topic
+     */
+    public void removeTopic(String name) {
+        Topic<?> topic = this.topics.remove(name);
+        if (topic != null) {
+            topic.close();
+        }
+    }
+
+
+    public Collection<Topic<?>> getTopics() {
+        return new ArrayList<>(this.topics.values());
+    }
+
+
+    /** Removes all the topics, cancelling their subscriptions */
+    public void shutdown() {
+        for (String name : new ArrayList<>(this.topics.keySet())) {
+            removeTopic(name);
+        }
+    }
+
+}
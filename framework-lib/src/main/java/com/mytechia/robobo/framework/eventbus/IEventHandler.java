@@ -0,0 +1,41 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.eventbus;
+
+/** A subscriber of the events of a topic
+ *
+ * @param <T> the type of the events
+ * @author Gervasio Varela
+ */
+public interface IEventHandler<T> {
+
+    /** Called, in the thread of the subscription, for each event published in the topic.
+     * The event is reused by the topic, it must not be kept after this method returns.
+     *
+     * @param event the event
+     * @param sequence the sequence of the event in the topic
+     * @param endOfBatch whether it is the last event available, useful to batch work
+     */
+    void onEvent(T event, long sequence, boolean endOfBatch);
+
+}
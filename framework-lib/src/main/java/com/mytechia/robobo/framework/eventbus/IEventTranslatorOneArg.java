@@ -0,0 +1,42 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.eventbus;
+
+/** Fills a preallocated event of a topic with the data of an argument, so a single translator
+ * instance can be used for all the publications, without allocations
+ *
+ * @param <T> the type of the events
+ * @param <A> the type of the argument
+ * @author Gervasio Varela
+ */
+public interface IEventTranslatorOneArg<T, A> {
+
+    /** Fills an event
+     *
+     * @param event the event to fill, reused, it contains the data of an old event
+     * @param sequence the sequence of the event in the topic
+     * @param arg the data to publish
+     */
+    void translateTo(T event, long sequence, A arg);
+
+}
@@ -0,0 +1,47 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.eventbus;
+
+/** How the subscribers of a topic wait for new events, trading latency for CPU usage.
+ *
+ * @author Gervasio Varela
+ */
+public interface IWaitStrategy {
+
+
+    /** Waits until an event has been published or the barrier is alerted
+     *
+     * @param sequence the sequence to wait for
+     * @param cursor the last sequence claimed by the publishers
+     * @param barrier the barrier of the subscriber that is waiting
+     * @return the last sequence claimed, lower than the sequence if the barrier was alerted
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    long waitFor(long sequence, Sequence cursor, SequenceBarrier barrier) throws InterruptedException;
+
+
+    /** Wakes up the subscribers that are blocked waiting for events, called by the publishers */
+    void signalAllWhenBlocking();
+
+
+}
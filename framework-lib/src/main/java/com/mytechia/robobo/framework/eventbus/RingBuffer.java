@@ -0,0 +1,261 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.eventbus;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/** Preallocated ring buffer of events, with any number of publishers and subscribers.
+ *
+ * Publishers claim a sequence with {@link #next()}, fill the event of that sequence and publish
+ * it with {@link #publish(long)}. Claims are done with compare-and-set on the cursor, and each
+ * slot records the round of the last sequence published in it, so the subscribers know which
+ * of the claimed sequences are already published.
+ *
+ * Each subscriber tracks the last sequence it has processed (its gating sequence), and a
+ * publisher waits before overwriting an event that some subscriber has not processed yet.
+ *
+ * @param <T> the type of the events
+ * @author Gervasio Varela
+ */
+public final class RingBuffer<T> {
+
+    private static final Sequence[] NO_SEQUENCES = new Sequence[0];
+
+
+    private final Object[] entries;
+    private final int bufferSize;
+    private final int mask;
+    private final int indexShift;
+
+    /** Last sequence claimed by the publishers */
+    private final Sequence cursor = new Sequence();
+    /** Round of the last sequence published in each slot */
+    private final AtomicIntegerArray available;
+
+    private final AtomicReference<Sequence[]> gatingSequences = new AtomicReference<>(NO_SEQUENCES);
+    /** Last minimum of the gating sequences, to avoid reading all of them in every claim */
+    private final Sequence gatingCache = new Sequence();
+
+    private final IWaitStrategy waitStrategy;
+
+
+    /** Creates a new ring buffer, filled with events created by a factory
+     *
+     * @param bufferSize the number of events, a power of two
+     * @param factory the factory of the events
+     * @param waitStrategy how the subscribers wait for new events
+     */
+    public RingBuffer(int bufferSize, IEventFactory<T> factory, IWaitStrategy waitStrategy) {
+
+        if ((bufferSize <= 0) || (Integer.bitCount(bufferSize) != 1)) {
+            throw new IllegalArgumentException("The size of the ring buffer must be a power of two: " + bufferSize);
+        }
+
+        this.entries = new Object[bufferSize];
+        this.bufferSize = bufferSize;
+        this.mask = bufferSize - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(bufferSize);
+        this.available = new AtomicIntegerArray(bufferSize);
+        this.waitStrategy = waitStrategy;
+
+        for (int i = 0; i < bufferSize; i++) {
+            this.entries[i] = factory.newInstance();
+            this.available.set(i, -1);
+        }
+
+    }
+
+
+    /** Claims the next sequence, waiting while the buffer is full
+     *
+     * @return the sequence claimed, it must be published even if the event is not filled
+     */
+    public long next() {
+
+        while (true) {
+            long claimed = claim();
+            if (claimed >= 0) {
+                return claimed;
+            }
+            //the slowest subscriber has not processed the event to overwrite yet
+            LockSupport.parkNanos(1);
+        }
+
+    }
+
+
+    /** Claims the next sequence if the buffer is not full
+     *
+     * @return the sequence claimed, or -1 if the buffer is full
+     */
+    public long tryNext() {
+        return claim();
+    }
+
+
+    private long claim() {
+
+        while (true) {
+
+            long current = this.cursor.get();
+            long next = current + 1;
+            long wrapPoint = next - this.bufferSize;
+            long cachedGating = this.gatingCache.get();
+
+            if ((wrapPoint > cachedGating) || (cachedGating > current)) {
+                long gating = minimumGatingSequence(current);
+                if (wrapPoint > gating) {
+                    return -1;
+                }
+                this.gatingCache.set(gating);
+            } else if (this.cursor.compareAndSet(current, next)) {
+                return next;
+            }
+
+        }
+
+    }
+
+
+    private long minimumGatingSequence(long defaultValue) {
+        long minimum = defaultValue;
+        for (Sequence sequence : this.gatingSequences.get()) {
+            minimum = Math.min(minimum, sequence.get());
+        }
+        return minimum;
+    }
+
+
+    /** Returns the event of a sequence */
+    @SuppressWarnings("unchecked")
+    public T get(long sequence) {
+        return (T) this.entries[(int) sequence & this.mask];
+    }
+
+
+    /** Publishes a sequence claimed, making its event visible to the subscribers */
+    public void publish(long sequence) {
+        this.available.lazySet((int) sequence & this.mask, (int) (sequence >>> this.indexShift));
+        this.waitStrategy.signalAllWhenBlocking();
+    }
+
+
+    /** Returns whether a sequence has been published */
+    public boolean isPublished(long sequence) {
+        return this.available.get((int) sequence & this.mask) == (int) (sequence >>> this.indexShift);
+    }
+
+
+    /** Returns the highest sequence published of a range, such that all the previous ones are published too
+     *
+     * @param lowerBound the first sequence of the range
+     * @param upperBound the last sequence of the range, already claimed
+     * @return the highest sequence published, lowerBound - 1 if there is none
+     */
+    public long getHighestPublished(long lowerBound, long upperBound) {
+        for (long sequence = lowerBound; sequence <= upperBound; sequence++) {
+            if (!isPublished(sequence)) {
+                return sequence - 1;
+            }
+        }
+        return upperBound;
+    }
+
+
+    /** Adds the sequence of a new subscriber, that starts after the last sequence claimed */
+    void addGatingSequence(Sequence sequence) {
+
+        sequence.setVolatile(this.cursor.get());
+
+        while (true) {
+            Sequence[] current = this.gatingSequences.get();
+            Sequence[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = sequence;
+            if (this.gatingSequences.compareAndSet(current, updated)) {
+                break;
+            }
+        }
+
+        //the cursor could have moved while adding it
+        sequence.setVolatile(this.cursor.get());
+
+    }
+
+
+    void removeGatingSequence(Sequence sequence) {
+
+        while (true) {
+
+            Sequence[] current = this.gatingSequences.get();
+
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == sequence) {
+                    index = i;
+                    break;
+                }
+            }
+
+            if (index < 0) {
+                return;
+            }
+
+            Sequence[] updated = new Sequence[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+
+            if (this.gatingSequences.compareAndSet(current, updated)) {
+                return;
+            }
+
+        }
+
+    }
+
+
+    /** Returns the last sequence claimed by the publishers */
+    public Sequence getCursor() {
+        return this.cursor;
+    }
+
+
+    public int getBufferSize() {
+        return this.bufferSize;
+    }
+
+
+    /** Returns the number of events that can be published before the buffer is full */
+    public long remainingCapacity() {
+        long current = this.cursor.get();
+        return this.bufferSize - (current - minimumGatingSequence(current));
+    }
+
+
+    IWaitStrategy getWaitStrategy() {
+        return this.waitStrategy;
+    }
+
+}
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.eventbus;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/** A sequence number of a ring buffer, used by publishers to claim slots and by the
+ * subscribers to track the events they have processed.
+ *
+ * The value is padded so that sequences updated by different threads do not share a
+ * cache line (false sharing).
+ *
+ * @author Gervasio Varela
+ */
+public class Sequence {
+
+    /** Value of a sequence that has not processed any event yet */
+    public static final long INITIAL_VALUE = -1L;
+
+    private static final AtomicLongFieldUpdater<Sequence> VALUE =
+            AtomicLongFieldUpdater.newUpdater(Sequence.class, "value");
+
+
+    //padding, never used
+    protected long p1, p2, p3, p4, p5, p6, p7;
+    private volatile long value;
+    protected long p9, p10, p11, p12, p13, p14, p15;
+
+
+    public Sequence() {
+        this(INITIAL_VALUE);
+    }
+
+
+    public Sequence(long initialValue) {
+        this.value = initialValue;
+    }
+
+
+    public long get() {
+        return this.value;
+    }
+
+
+    /** Sets the value with an ordered store, cheaper than a volatile store */
+    public void set(long value) {
+        VALUE.lazySet(this, value);
+    }
+
+
+    public void setVolatile(long value) {
+        this.value = value;
+    }
+
+
+    public boolean compareAndSet(long expected, long value) {
+        return VALUE.compareAndSet(this, expected, value);
+    }
+
+
+    @Override
+    public String toString() {
+        return Long.toString(get());
+    }
+
+}
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.eventbus;
+
+/** The point where a subscriber waits for the events published in a ring buffer.
+ *
+ * @author Gervasio Varela
+ */
+public final class SequenceBarrier {
+
+    private final RingBuffer<?> ringBuffer;
+    private final IWaitStrategy waitStrategy;
+    private volatile boolean alerted = false;
+
+
+    SequenceBarrier(RingBuffer<?> ringBuffer) {
+        this.ringBuffer = ringBuffer;
+        this.waitStrategy = ringBuffer.getWaitStrategy();
+    }
+
+
+    /** Waits for a sequence to be published
+     *
+     * @param sequence the sequence to wait for
+     * @return the highest sequence published, it can be lower than the one requested if the
+     * barrier was alerted or the sequence is claimed but not published yet
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    public long waitFor(long sequence) throws InterruptedException {
+
+        long available = this.waitStrategy.waitFor(sequence, this.ringBuffer.getCursor(), this);
+
+        if (available < sequence) {
+            return available;
+        }
+
+        return this.ringBuffer.getHighestPublished(sequence, available);
+
+    }
+
+
+    public boolean isAlerted() {
+        return this.alerted;
+    }
+
+
+    /** Wakes up the subscriber, that stops waiting */
+    public void alert() {
+        this.alerted = true;
+        this.waitStrategy.signalAllWhenBlocking();
+    }
+
+}
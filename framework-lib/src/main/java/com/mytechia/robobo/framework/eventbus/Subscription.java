@@ -0,0 +1,161 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.eventbus;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** A subscriber of a topic, that processes its events in a thread of its own, in batches of
+ * all the events available.
+ *
+ * Errors of the handler are logged and counted, and the subscriber continues with the next event.
+ *
+ * @param <T> the type of the events
+ * @author Gervasio Varela
+ */
+public final class Subscription<T> {
+
+    private static final Logger LOG = LoggerFactory.getLogger("com.mytechia.robobo.framework.eventbus");
+    private static final long STOP_TIMEOUT = 1000;
+
+
+    private final Topic<T> topic;
+    private final IEventHandler<T> handler;
+    private final RingBuffer<T> ringBuffer;
+    private final SequenceBarrier barrier;
+    /** Last sequence processed */
+    private final Sequence sequence = new Sequence();
+
+    private final AtomicLong processed = new AtomicLong(0);
+    private final AtomicLong errors = new AtomicLong(0);
+
+    private final Thread thread;
+
+
+    Subscription(Topic<T> topic, RingBuffer<T> ringBuffer, IEventHandler<T> handler, ThreadFactory threadFactory) {
+
+        this.topic = topic;
+        this.handler = handler;
+        this.ringBuffer = ringBuffer;
+        this.barrier = new SequenceBarrier(ringBuffer);
+
+        ringBuffer.addGatingSequence(this.sequence);
+
+        this.thread = threadFactory.newThread(new Runnable() {
+            @Override
+            public void run() {
+                processEvents();
+            }
+        });
+        this.thread.start();
+
+    }
+
+
+    private void processEvents() {
+
+        long next = this.sequence.get() + 1;
+
+        while (!this.barrier.isAlerted()) {
+
+            long available;
+            try {
+                available = this.barrier.waitFor(next);
+            } catch (InterruptedException e) {
+                break;
+            }
+
+            if (available < next) {
+                //alerted, or the next event is claimed but not published yet
+                continue;
+            }
+
+            while (next <= available) {
+                try {
+                    this.handler.onEvent(this.ringBuffer.get(next), next, next == available);
+                } catch (RuntimeException ex) {
+                    this.errors.incrementAndGet();
+                    LOG.error("Error processing event " + next + " of topic " + this.topic.getName(), ex);
+                }
+                next++;
+            }
+
+            this.processed.addAndGet(available - this.sequence.get());
+            //releases the events processed to the publishers
+            this.sequence.set(available);
+
+        }
+
+    }
+
+
+    /** Stops the subscriber, the events published from now on are not processed */
+    public void cancel() {
+
+        this.barrier.alert();
+
+        if (Thread.currentThread() != this.thread) {
+            try {
+                this.thread.join(STOP_TIMEOUT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        this.ringBuffer.removeGatingSequence(this.sequence);
+        this.topic.removeSubscription(this);
+
+    }
+
+
+    public boolean isCancelled() {
+        return this.barrier.isAlerted();
+    }
+
+
+    public Topic<T> getTopic() {
+        return this.topic;
+    }
+
+
+    /** Returns the number of events processed */
+    public long getProcessed() {
+        return this.processed.get();
+    }
+
+
+    /** Returns the number of events whose processing failed */
+    public long getErrors() {
+        return this.errors.get();
+    }
+
+
+    /** Returns the number of events published that the subscriber has not processed yet */
+    public long getLag() {
+        return Math.max(0, this.ringBuffer.getCursor().get() - this.sequence.get());
+    }
+
+}
@@ -0,0 +1,194 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.eventbus;
+
+import com.mytechia.robobo.framework.concurrent.FrameworkThreadFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/** A typed topic of the event bus, with its own preallocated ring buffer.
+ *
+ * Events are published filling a preallocated event with a translator, so publishing does not
+ * allocate. Each subscriber receives all the events published after its subscription, in order,
+ * in a thread of its own. When the buffer is full, publish() waits for the slowest subscriber,
+ * and tryPublish() returns false instead.
+ *
+ * @param <T> the type of the events
+ * @author Gervasio Varela
+ */
+public final class Topic<T> {
+
+    private final String name;
+    private final Class<T> eventType;
+    private final RingBuffer<T> ringBuffer;
+    private final FrameworkThreadFactory threadFactory;
+
+    private final List<Subscription<T>> subscriptions = new CopyOnWriteArrayList<>();
+    private volatile boolean closed = false;
+
+
+    Topic(String name, Class<T> eventType, IEventFactory<T> factory, int bufferSize, IWaitStrategy waitStrategy) {
+        this.name = name;
+        this.eventType = eventType;
+        this.ringBuffer = new RingBuffer<>(bufferSize, factory, waitStrategy);
+        this.threadFactory = new FrameworkThreadFactory("robobo-bus-" + name);
+    }
+
+
+    public String getName() {
+        return name;
+    }
+
+
+    public Class<T> getEventType() {
+        return eventType;
+    }
+
+
+    /** Subscribes a handler to the events published from now on
+     *
+     * @param handler the handler of the events
+     * @return the subscription, used to cancel it
+     * @throws IllegalStateException if the topic is closed
+     */
+    public Subscription<T> subscribe(IEventHandler<T> handler) {
+
+        if (this.closed) {
+            throw new IllegalStateException("Topic closed: " + name);
+        }
+
+        Subscription<T> subscription = new Subscription<>(this, this.ringBuffer, handler, this.threadFactory);
+        this.subscriptions.add(subscription);
+
+        return subscription;
+
+    }
+
+
+    void removeSubscription(Subscription<T> subscription) {
+        this.subscriptions.remove(subscription);
+    }
+
+
+    /** Publishes an event, waiting while the buffer is full
+     *
+     * @param translator fills the event to publish
+     */
+    public void publish(IEventTranslator<T> translator) {
+        long sequence = this.ringBuffer.next();
+        try {
+            translator.translateTo(this.ringBuffer.get(sequence), sequence);
+        } finally {
+            this.ringBuffer.publish(sequence);
+        }
+    }
+
+
+    /** Publishes an event, waiting while the buffer is full
+     *
+     * @param translator fills the event to publish with the argument
+     * @param arg the data to publish
+     */
+    public <A> void publish(IEventTranslatorOneArg<T, A> translator, A arg) {
+        long sequence = this.ringBuffer.next();
+        try {
+            translator.translateTo(this.ringBuffer.get(sequence), sequence, arg);
+        } finally {
+            this.ringBuffer.publish(sequence);
+        }
+    }
+
+
+    /** Publishes an event if the buffer is not full, for publishers that cannot wait
+     *
+     * @param translator fills the event to publish
+     * @return false if the buffer was full and the event was not published
+     */
+    public boolean tryPublish(IEventTranslator<T> translator) {
+        long sequence = this.ringBuffer.tryNext();
+        if (sequence < 0) {
+            return false;
+        }
+        try {
+            translator.translateTo(this.ringBuffer.get(sequence), sequence);
+        } finally {
+            this.ringBuffer.publish(sequence);
+        }
+        return true;
+    }
+
+
+    /** Publishes an event if the buffer is not full, for publishers that cannot wait
+     *
+     * @param translator fills the event to publish with the argument
+     * @param arg the data to publish
+     * @return false if the buffer was full and the event was not published
+     */
+    public <A> boolean tryPublish(IEventTranslatorOneArg<T, A> translator, A arg) {
+        long sequence = this.ringBuffer.tryNext();
+        if (sequence < 0) {
+            return false;
+        }
+        try {
+            translator.translateTo(this.ringBuffer.get(sequence), sequence, arg);
+        } finally {
+            this.ringBuffer.publish(sequence);
+        }
+        return true;
+    }
+
+
+    /** Returns the number of events published (or being published) in the topic */
+    public long getPublished() {
+        return this.ringBuffer.getCursor().get() + 1;
+    }
+
+
+    public List<Subscription<T>> getSubscriptions() {
+        return new ArrayList<>(this.subscriptions);
+    }
+
+
+    public RingBuffer<T> getRingBuffer() {
+        return ringBuffer;
+    }
+
+
+    /** Cancels all the subscriptions, no new subscriptions are allowed */
+    void close() {
+        this.closed = true;
+        for (Subscription<T> subscription : this.subscriptions) {
+            subscription.cancel();
+        }
+    }
+
+
+    @Override
+    public String toString() {
+        return name + " (" + eventType.getSimpleName() + "): " + getPublished() + " events, " +
+                subscriptions.size() + " subscribers";
+    }
+
+}
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.eventbus;
+
+/** Wait strategy that spins for a while and then yields the processor to other threads,
+ * a compromise between latency and CPU usage.
+ *
+ * @author Gervasio Varela
+ */
+public class YieldingWaitStrategy implements IWaitStrategy {
+
+    private static final int SPIN_TRIES = 100;
+
+
+    @Override
+    public long waitFor(long sequence, Sequence cursor, SequenceBarrier barrier) {
+
+        long available;
+        int counter = SPIN_TRIES;
+
+        while (((available = cursor.get()) < sequence) && !barrier.isAlerted()) {
+            if (counter > 0) {
+                counter--;
+            } else {
+                Thread.yield();
+            }
+        }
+
+        return available;
+
+    }
+
+
+    @Override
+    public void signalAllWhenBlocking() {
+    }
+
+}
@@ -36,4 +36,10 @@ public class ModuleNotFoundException extends InternalErrorException {
         super("The module '"+moduleClass+"' is no available.");
     }
 
+
+    public ModuleNotFoundException(String moduleClass, Throwable cause) {
+        super("The module '"+moduleClass+"' is no available: "+cause.getMessage());
+        initCause(cause);
+    }
+
 }
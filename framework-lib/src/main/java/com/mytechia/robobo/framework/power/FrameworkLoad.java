@@ -0,0 +1,108 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.power;
+
+import android.os.SystemClock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Collects the load of the framework: the behaviour steps executed (and how many of them
+ * overran their period), the CPU time used by the framework threads running them, and the
+ * heap usage. The load is read as a sequence of samples, each one covering the time elapsed
+ * since the previous one.
+ *
+ * @author Gervasio Varela
+ */
+public class FrameworkLoad {
+
+    /** The CPU time of the steps of each behaviour is measured once every CPU_SAMPLING_STEPS steps,
+     * and scaled to the steps not measured, because reading the CPU time of a thread is a system call */
+    public static final int CPU_SAMPLING_STEPS = 8;
+
+    private final AtomicLong steps = new AtomicLong(0);
+    private final AtomicLong overruns = new AtomicLong(0);
+    private final AtomicLong cpuNanos = new AtomicLong(0);
+
+    private final int processors = Runtime.getRuntime().availableProcessors();
+
+    //state of the previous sample, only used by the sampling thread
+    private long lastSampleTime = SystemClock.elapsedRealtime();
+    private long lastSteps = 0;
+    private long lastOverruns = 0;
+    private long lastCpuNanos = 0;
+
+
+    /** Records the execution of a behaviour step
+     *
+     * @param durationNanos the (wall clock) duration of the step
+     * @param cpuNanos the CPU time used by the step, or the estimation for the steps since the
+     *                 previous measurement (see {@link #CPU_SAMPLING_STEPS}), negative if not measured
+     * @param periodNanos the period of the behaviour
+     */
+    public void recordStep(long durationNanos, long cpuNanos, long periodNanos) {
+
+        this.steps.incrementAndGet();
+
+        if (durationNanos > periodNanos) {
+            this.overruns.incrementAndGet();
+        }
+
+        if (cpuNanos > 0) {
+            this.cpuNanos.addAndGet(cpuNanos);
+        }
+
+    }
+
+
+    /** Returns the load since the previous sample
+     *
+     * @return the load since the previous sample
+     */
+    public synchronized LoadSample sample() {
+
+        long now = SystemClock.elapsedRealtime();
+        long currentSteps = this.steps.get();
+        long currentOverruns = this.overruns.get();
+        long currentCpuNanos = this.cpuNanos.get();
+
+        long interval = Math.max(1, now - this.lastSampleTime);
+        double cpuLoad = (double) (currentCpuNanos - this.lastCpuNanos) /
+                (TimeUnit.MILLISECONDS.toNanos(interval) * this.processors);
+
+        Runtime runtime = Runtime.getRuntime();
+        double heapUsage = (double) (runtime.totalMemory() - runtime.freeMemory()) / runtime.maxMemory();
+
+        LoadSample sample = new LoadSample(interval, currentSteps - this.lastSteps,
+                currentOverruns - this.lastOverruns, Math.min(1, cpuLoad), heapUsage);
+
+        this.lastSampleTime = now;
+        this.lastSteps = currentSteps;
+        this.lastOverruns = currentOverruns;
+        this.lastCpuNanos = currentCpuNanos;
+
+        return sample;
+
+    }
+
+}
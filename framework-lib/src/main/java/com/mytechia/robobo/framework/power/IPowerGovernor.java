@@ -0,0 +1,46 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.power;
+
+
+/** A policy that selects the power mode of the framework from its load.
+ *
+ * The framework samples its load periodically and asks the governor for the power mode to use.
+ * Governors are called always from the same thread, so they can keep state between samples
+ * (for example, to apply hysteresis).
+ *
+ * @author Gervasio Varela
+ */
+public interface IPowerGovernor {
+
+
+    /** Selects the power mode for the current load of the framework
+     *
+     * @param currentMode the current power mode
+     * @param load the load of the framework since the previous sample
+     * @return the power mode to use, currentMode to keep it
+     */
+    PowerMode selectMode(PowerMode currentMode, LoadSample load);
+
+
+}
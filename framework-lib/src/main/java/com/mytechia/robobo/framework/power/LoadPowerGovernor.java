@@ -0,0 +1,130 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.power;
+
+
+/** The default power governor, it moves between the power modes depending on the pressure
+ * of the framework, the highest of its load signals relative to their limits:
+ * the ratio of behaviour steps that overran their period, the CPU load and the heap usage.
+ *
+ * When the pressure reaches 1 (some signal reached its limit) during several consecutive
+ * samples the governor moves to the next more restrictive mode. It only moves back to a less
+ * restrictive mode when the pressure stays below the relax threshold during more samples,
+ * so the mode does not oscillate when the load is near the limits (hysteresis).
+ *
+ * @author Gervasio Varela
+ */
+public class LoadPowerGovernor implements IPowerGovernor {
+
+    public static final double DEFAULT_OVERRUN_LIMIT = 0.1;
+    public static final double DEFAULT_CPU_LIMIT = 0.8;
+    public static final double DEFAULT_HEAP_LIMIT = 0.85;
+    public static final double DEFAULT_RELAX_THRESHOLD = 0.6;
+    public static final int DEFAULT_ESCALATE_SAMPLES = 2;
+    public static final int DEFAULT_RELAX_SAMPLES = 5;
+
+
+    private final double overrunLimit;
+    private final double cpuLimit;
+    private final double heapLimit;
+    private final double relaxThreshold;
+    private final int escalateSamples;
+    private final int relaxSamples;
+    private final PowerMode mostRestrictiveMode;
+
+    private int saturatedSamples = 0;
+    private int relaxedSamples = 0;
+
+
+    /** Creates a governor with the default limits */
+    public LoadPowerGovernor() {
+        this(DEFAULT_OVERRUN_LIMIT, DEFAULT_CPU_LIMIT, DEFAULT_HEAP_LIMIT, DEFAULT_RELAX_THRESHOLD,
+                DEFAULT_ESCALATE_SAMPLES, DEFAULT_RELAX_SAMPLES, PowerMode.LOWPOWER);
+    }
+
+
+    /** Creates a governor
+     *
+     * @param overrunLimit the ratio of behaviour steps overrunning their period considered saturation
+     * @param cpuLimit the CPU load considered saturation
+     * @param heapLimit the heap usage considered saturation
+     * @param relaxThreshold the pressure (0 to 1) under which the load is considered relaxed
+     * @param escalateSamples consecutive saturated samples needed to move to a more restrictive mode
+     * @param relaxSamples consecutive relaxed samples needed to move to a less restrictive mode
+     * @param mostRestrictiveMode the most restrictive mode the governor selects
+     */
+    public LoadPowerGovernor(double overrunLimit, double cpuLimit, double heapLimit, double relaxThreshold,
+                             int escalateSamples, int relaxSamples, PowerMode mostRestrictiveMode) {
+        this.overrunLimit = overrunLimit;
+        this.cpuLimit = cpuLimit;
+        this.heapLimit = heapLimit;
+        this.relaxThreshold = relaxThreshold;
+        this.escalateSamples = Math.max(1, escalateSamples);
+        this.relaxSamples = Math.max(1, relaxSamples);
+        this.mostRestrictiveMode = mostRestrictiveMode;
+    }
+
+
+    /** Returns the pressure of a load sample, 1 or more when any signal reached its limit
+     *
+     * @param load the load sample
+     * @return the pressure of the load sample
+     */
+    public double pressure(LoadSample load) {
+        return Math.max(load.getOverrunRatio() / overrunLimit,
+                Math.max(load.getCpuLoad() / cpuLimit, load.getHeapUsage() / heapLimit));
+    }
+
+
+    @Override
+    public PowerMode selectMode(PowerMode currentMode, LoadSample load) {
+
+        double pressure = pressure(load);
+
+        if (pressure >= 1) {
+            this.saturatedSamples++;
+            this.relaxedSamples = 0;
+        } else if (pressure < relaxThreshold) {
+            this.relaxedSamples++;
+            this.saturatedSamples = 0;
+        } else {
+            //inside the hysteresis band, keep the current mode
+            this.saturatedSamples = 0;
+            this.relaxedSamples = 0;
+        }
+
+        if ((this.saturatedSamples >= escalateSamples) && !currentMode.isAtLeast(mostRestrictiveMode)) {
+            this.saturatedSamples = 0;
+            return currentMode.lower();
+        }
+
+        if (this.relaxedSamples >= relaxSamples) {
+            this.relaxedSamples = 0;
+            return currentMode.higher();
+        }
+
+        return currentMode;
+
+    }
+
+}
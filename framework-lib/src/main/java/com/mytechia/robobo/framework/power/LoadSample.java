@@ -0,0 +1,87 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.power;
+
+import java.util.Locale;
+
+
+/** The load of the framework during a sampling interval
+ *
+ * @author Gervasio Varela
+ */
+public final class LoadSample {
+
+    private final long intervalMillis;
+    private final long steps;
+    private final long overruns;
+    private final double cpuLoad;
+    private final double heapUsage;
+
+
+    public LoadSample(long intervalMillis, long steps, long overruns, double cpuLoad, double heapUsage) {
+        this.intervalMillis = intervalMillis;
+        this.steps = steps;
+        this.overruns = overruns;
+        this.cpuLoad = cpuLoad;
+        this.heapUsage = heapUsage;
+    }
+
+
+    /** Returns the duration of the sampling interval, in milliseconds */
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    /** Returns the number of behaviour steps executed during the interval */
+    public long getSteps() {
+        return steps;
+    }
+
+    /** Returns the number of behaviour steps that took longer than their period */
+    public long getOverruns() {
+        return overruns;
+    }
+
+    /** Returns the ratio of behaviour steps that took longer than their period (0 to 1) */
+    public double getOverrunRatio() {
+        return steps == 0 ? 0 : (double) overruns / steps;
+    }
+
+    /** Returns the CPU time used by the framework threads divided by the CPU time available (0 to 1) */
+    public double getCpuLoad() {
+        return cpuLoad;
+    }
+
+    /** Returns the used heap divided by the maximum heap (0 to 1) */
+    public double getHeapUsage() {
+        return heapUsage;
+    }
+
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%d steps, %d overruns, cpu %.2f, heap %.2f in %d ms",
+                steps, overruns, cpuLoad, heapUsage, intervalMillis);
+    }
+
+}
@@ -2,13 +2,54 @@ package com.mytechia.robobo.framework.power;
 
 /**
  * Created by gervasio on 28/9/17.
+ *
+ * Power modes of the framework, from the least to the most restrictive one.
+ * Modules that only distinguish NORMAL and LOWPOWER should use {@link #isReduced()} instead of
+ * comparing with LOWPOWER, so they also reduce their work in the REDUCED and MINIMAL levels,
+ * or {@link #isAtLeast(PowerMode)} to select the levels they react to.
  */
 
 public enum PowerMode
 {
 
     NORMAL,
-    LOWPOWER
+    /** Modules should reduce optional work, like lowering their update rates */
+    REDUCED,
+    LOWPOWER,
+    /** Only the essential work should continue */
+    MINIMAL;
+
+
+    /** Returns whether this mode restricts the work of the modules, i.e. it is not NORMAL
+     *
+     * @return whether this mode is more restrictive than NORMAL
+     */
+    public boolean isReduced() {
+        return this != NORMAL;
+    }
+
+
+    /** Returns whether this mode is as restrictive as other mode, or more
+     *
+     * @param mode the mode to compare with
+     * @return whether this mode is as restrictive as the mode received, or more
+     */
+    public boolean isAtLeast(PowerMode mode) {
+        return this.ordinal() >= mode.ordinal();
+    }
+
+
+    /** Returns the next more restrictive mode, or this one if it is the most restrictive */
+    public PowerMode lower() {
+        PowerMode[] modes = values();
+        return modes[Math.min(ordinal() + 1, modes.length - 1)];
+    }
+
+
+    /** Returns the next less restrictive mode, or this one if it is the least restrictive */
+    public PowerMode higher() {
+        return values()[Math.max(ordinal() - 1, 0)];
+    }
 
 
 }
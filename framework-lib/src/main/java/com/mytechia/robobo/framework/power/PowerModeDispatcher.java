@@ -0,0 +1,233 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.power;
+
+import com.mytechia.robobo.framework.concurrent.FrameworkThreadFactory;
+import com.mytechia.robobo.framework.concurrent.ListenerRegistry;
+
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/** Delivers the power mode changes to the IPowerModeListeners.
+ *
+ * Changes are delivered in order by a single framework thread, so listeners always receive
+ * the modes in the same order they were requested and never concurrently. Changes requested
+ * while a previous one is being delivered are coalesced: only the last requested mode is
+ * delivered next, and nothing is delivered if it is the mode the listeners already have.
+ *
+ * A mode is acknowledged when all the listeners have returned from onPowerModeChange().
+ * The time each listener takes to process the changes is tracked, see {@link #getListenerLatencies()}.
+ *
+ * @author Gervasio Varela
+ */
+public class PowerModeDispatcher {
+
+
+    //the delivery thread finishes when there are no changes to deliver
+    private static final long THREAD_KEEP_ALIVE = 30;
+
+
+    private final ListenerRegistry<IPowerModeListener> listeners = new ListenerRegistry<>("power mode");
+
+    private final ThreadPoolExecutor executor;
+
+    /** Last mode requested */
+    private PowerMode mode;
+    /** Mode waiting to be delivered, null if there is none */
+    private PowerMode pendingMode = null;
+    private long pendingSince;
+    private boolean delivering = false;
+    /** Last mode delivered to all the listeners */
+    private PowerMode acknowledgedMode;
+    private long lastAcknowledgeLatency = 0;
+
+    private final Runnable deliveryTask = new Runnable() {
+        @Override
+        public void run() {
+            deliverPendingModes();
+        }
+    };
+
+
+    /** Creates a new dispatcher
+     *
+     * @param initialMode the initial power mode, which listeners are assumed to be in
+     */
+    public PowerModeDispatcher(PowerMode initialMode) {
+        this.mode = initialMode;
+        this.acknowledgedMode = initialMode;
+        this.executor = new ThreadPoolExecutor(0, 1, THREAD_KEEP_ALIVE, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new FrameworkThreadFactory("robobo-power"));
+    }
+
+
+    /** Requests a change of the power mode, it is delivered asynchronously to the listeners
+     *
+     * @param newMode the new power mode
+     * @return false if the new mode was already the current one
+     */
+    public synchronized boolean changeMode(PowerMode newMode) {
+
+        if (newMode == this.mode) {
+            return false;
+        }
+
+        this.mode = newMode;
+
+        if (this.pendingMode == null) {
+            this.pendingSince = System.nanoTime();
+        }
+        this.pendingMode = newMode;
+
+        if (!this.delivering) {
+            this.delivering = true;
+            this.executor.execute(deliveryTask);
+        }
+
+        return true;
+
+    }
+
+
+    private void deliverPendingModes() {
+
+        while (true) {
+
+            final PowerMode newMode;
+            long requestTime;
+
+            synchronized (this) {
+
+                newMode = this.pendingMode;
+                requestTime = this.pendingSince;
+                this.pendingMode = null;
+
+                if ((newMode == null) || (newMode == this.acknowledgedMode)) {
+                    //nothing pending, or the pending changes cancelled each other
+                    if (newMode == null) {
+                        this.delivering = false;
+                        notifyAll();
+                        return;
+                    }
+                    continue;
+                }
+
+            }
+
+            this.listeners.dispatch(new ListenerRegistry.Notification<IPowerModeListener>() {
+                @Override
+                public void notifyListener(IPowerModeListener listener) {
+                    listener.onPowerModeChange(newMode);
+                }
+            });
+
+            synchronized (this) {
+                this.acknowledgedMode = newMode;
+                this.lastAcknowledgeLatency = System.nanoTime() - requestTime;
+                notifyAll();
+            }
+
+        }
+
+    }
+
+
+    /** Returns the last power mode requested
+     *
+     * @return the last power mode requested
+     */
+    public synchronized PowerMode getMode() {
+        return this.mode;
+    }
+
+
+    /** Returns the last power mode acknowledged by all the listeners
+     *
+     * @return the last power mode acknowledged by all the listeners
+     */
+    public synchronized PowerMode getAcknowledgedMode() {
+        return this.acknowledgedMode;
+    }
+
+
+    /** Returns the time elapsed between the request of the last mode acknowledged and its acknowledgement
+     *
+     * @return the latency of the last acknowledgement, in nanoseconds
+     */
+    public synchronized long getLastAcknowledgeLatency() {
+        return this.lastAcknowledgeLatency;
+    }
+
+
+    /** Waits until all the listeners have acknowledged a power mode
+     *
+     * @param expectedMode the power mode to wait for
+     * @param timeout the maximum time to wait
+     * @param unit the unit of the timeout
+     * @return true if the mode was acknowledged, false if the timeout expired or the
+     * mode was superseded by a different one
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    public synchronized boolean awaitAcknowledged(PowerMode expectedMode, long timeout, TimeUnit unit)
+            throws InterruptedException {
+
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        while ((this.acknowledgedMode != expectedMode) || this.delivering) {
+
+            long remaining = deadline - System.nanoTime();
+
+            if ((this.mode != expectedMode) || (remaining <= 0)) {
+                return false;
+            }
+
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+
+        }
+
+        return true;
+
+    }
+
+
+    public void addListener(IPowerModeListener listener) {
+        this.listeners.add(listener);
+    }
+
+
+    public void removeListener(IPowerModeListener listener) {
+        this.listeners.remove(listener);
+    }
+
+
+    /** Returns the time each listener takes to process the power mode changes
+     *
+     * @return the latencies of the listeners, in subscription order
+     */
+    public List<ListenerRegistry.ListenerTiming<IPowerModeListener>> getListenerLatencies() {
+        return this.listeners.getTimings();
+    }
+
+}
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.profiling;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/** Writes lifecycle events using the Chrome trace event format (JSON object format),
+ * with one complete ('X') event per lifecycle event and thread name metadata.
+ *
+ * @author Gervasio Varela
+ */
+class ChromeTraceWriter {
+
+    private static final int PROCESS_ID = 1;
+
+    private final Writer out;
+    private boolean firstEvent = true;
+
+
+    ChromeTraceWriter(Writer out) {
+        this.out = out;
+    }
+
+
+    void write(long originNanos, List<TimelineEvent> events) throws IOException {
+
+        out.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+
+        Map<Long, String> threads = new HashMap<>();
+
+        for (TimelineEvent event : events) {
+
+            threads.put(event.getThreadId(), event.getThreadName());
+
+            beginEvent();
+            out.write("{\"name\":");
+            writeString(event.getName());
+            out.write(",\"cat\":");
+            writeString(event.getCategory().name().toLowerCase(Locale.US));
+            out.write(",\"ph\":\"X\",\"ts\":");
+            out.write(micros(event.getStartNanos() - originNanos));
+            out.write(",\"dur\":");
+            out.write(micros(event.getDurationNanos()));
+            out.write(",\"pid\":" + PROCESS_ID + ",\"tid\":" + event.getThreadId());
+            out.write(",\"args\":{\"outcome\":");
+            writeString(event.isSuccess() ? "success" : "failure");
+            if (!event.isSuccess()) {
+                out.write(",\"error\":");
+                writeString(event.getError());
+            }
+            out.write("}}");
+
+        }
+
+        for (Map.Entry<Long, String> thread : threads.entrySet()) {
+            beginEvent();
+            out.write("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":" + PROCESS_ID + ",\"tid\":" + thread.getKey() + ",\"args\":{\"name\":");
+            writeString(thread.getValue());
+            out.write("}}");
+        }
+
+        out.write("]}");
+        out.flush();
+
+    }
+
+
+    private void beginEvent() throws IOException {
+        if (!firstEvent) {
+            out.write(',');
+        }
+        firstEvent = false;
+    }
+
+
+    private static String micros(long nanos) {
+        //microseconds with nanosecond precision
+        return (nanos / 1000) + "." + String.format(Locale.US, "%03d", Math.abs(nanos % 1000));
+    }
+
+
+    private void writeString(String value) throws IOException {
+
+        out.write('"');
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.write("\\\"");
+                    break;
+                case '\\':
+                    out.write("\\\\");
+                    break;
+                case '\n':
+                    out.write("\\n");
+                    break;
+                case '\r':
+                    out.write("\\r");
+                    break;
+                case '\t':
+                    out.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.write(String.format(Locale.US, "\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+            }
+        }
+
+        out.write('"');
+
+    }
+
+}
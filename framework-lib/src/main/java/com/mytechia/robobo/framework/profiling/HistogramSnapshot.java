@@ -0,0 +1,98 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.profiling;
+
+import java.util.Locale;
+
+/** An immutable copy of the values of a LatencyHistogram, all values are in microseconds
+ *
+ * @author Gervasio Varela
+ */
+public final class HistogramSnapshot {
+
+    private final long[] bucketCounts;
+    private final long count;
+    private final long sumMicros;
+    private final long minMicros;
+    private final long maxMicros;
+
+
+    HistogramSnapshot(long[] bucketCounts, long count, long sumMicros, long minMicros, long maxMicros) {
+        this.bucketCounts = bucketCounts;
+        this.count = count;
+        this.sumMicros = sumMicros;
+        this.minMicros = minMicros;
+        this.maxMicros = maxMicros;
+    }
+
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMinMicros() {
+        return minMicros;
+    }
+
+    public long getMaxMicros() {
+        return maxMicros;
+    }
+
+    public double getMeanMicros() {
+        return count == 0 ? 0 : (double) sumMicros / count;
+    }
+
+
+    /** Returns a percentile of the values recorded
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the value of the percentile (the upper bound of its bucket), in microseconds
+     */
+    public long getPercentileMicros(double percentile) {
+
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long accumulated = 0;
+
+        for (int i = 0; i < bucketCounts.length; i++) {
+            accumulated += bucketCounts[i];
+            if (accumulated >= rank) {
+                return Math.min(LatencyHistogram.upperBoundOf(i), maxMicros);
+            }
+        }
+
+        return maxMicros;
+
+    }
+
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "n=%d mean=%.1f p50=%d p99=%d max=%d us",
+                count, getMeanMicros(), getPercentileMicros(50), getPercentileMicros(99), maxMicros);
+    }
+
+}
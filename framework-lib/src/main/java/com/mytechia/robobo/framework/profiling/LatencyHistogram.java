@@ -0,0 +1,142 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.profiling;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/** A lock-free histogram of durations, it can be updated concurrently from different threads
+ * without blocking them.
+ *
+ * Durations are recorded with microsecond resolution in log-linear buckets: each power of two
+ * is divided in {@link #SUB_BUCKETS} buckets, so the relative error of the percentiles is
+ * under 12.5%. Durations from 0 to more than one hour can be recorded.
+ *
+ * @author Gervasio Varela
+ */
+public class LatencyHistogram {
+
+    public static final int SUB_BUCKETS = 8;
+    private static final int SUB_BUCKET_BITS = 3;
+    //2^42 us, ~50 days
+    private static final int MAX_EXPONENT = 42;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong sumMicros = new AtomicLong(0);
+    private final AtomicLong minMicros = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxMicros = new AtomicLong(0);
+
+
+    /** Records a duration
+     *
+     * @param nanos the duration, in nanoseconds (negative durations are recorded as 0)
+     */
+    public void record(long nanos) {
+
+        long micros = Math.max(0, nanos / 1000);
+
+        this.counts.incrementAndGet(bucketOf(micros));
+        this.sumMicros.addAndGet(micros);
+
+        long min;
+        while (micros < (min = this.minMicros.get())) {
+            if (this.minMicros.compareAndSet(min, micros)) {
+                break;
+            }
+        }
+
+        long max;
+        while (micros > (max = this.maxMicros.get())) {
+            if (this.maxMicros.compareAndSet(max, micros)) {
+                break;
+            }
+        }
+
+    }
+
+
+    static int bucketOf(long micros) {
+
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+
+        int exponent = Math.min(63 - Long.numberOfLeadingZeros(micros), MAX_EXPONENT);
+        int subBucket = (int) ((micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+
+    }
+
+
+    /** Returns the highest value (in microseconds) of a bucket */
+    static long upperBoundOf(int bucket) {
+
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKETS;
+
+        return ((SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+
+    }
+
+
+    /** Returns a copy of the current values of the histogram. The histogram can be updated
+     * while the copy is taken, so the copy may contain only part of the concurrent updates.
+     *
+     * @return a copy of the histogram
+     */
+    public HistogramSnapshot snapshot() {
+
+        long[] bucketCounts = new long[BUCKETS];
+        long total = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            bucketCounts[i] = this.counts.get(i);
+            total += bucketCounts[i];
+        }
+
+        long min = this.minMicros.get();
+
+        return new HistogramSnapshot(bucketCounts, total, this.sumMicros.get(),
+                min == Long.MAX_VALUE ? 0 : min, this.maxMicros.get());
+
+    }
+
+
+    /** Removes all the values recorded. It is not atomic, concurrent updates may be lost */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            this.counts.set(i, 0);
+        }
+        this.sumMicros.set(0);
+        this.minMicros.set(Long.MAX_VALUE);
+        this.maxMicros.set(0);
+    }
+
+}
@@ -0,0 +1,344 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.profiling;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/** Records the timeline of the lifecycle of the framework: when each module was loaded,
+ * registered, started and shutdown, in which thread and with which outcome.
+ *
+ * The timeline can compute the critical path of the startup (the chain of dependent modules
+ * that determines the minimum startup time) and it can be exported as a text summary or
+ * using the Chrome trace event format, which can be opened with chrome://tracing or Perfetto.
+ *
+ * @author Gervasio Varela
+ */
+public class LifecycleTimeline {
+
+
+    /** Maximum number of events recorded, later events are discarded */
+    public static final int MAX_EVENTS = 4096;
+
+    private final long originNanos = System.nanoTime();
+
+    private final List<TimelineEvent> events = new ArrayList<>(64);
+    private int discardedEvents = 0;
+
+    private final Map<String, Collection<String>> dependencies = new HashMap<>();
+
+
+    /** Returns the current time of the timeline clock
+     *
+     * @return the current monotonic time, in nanoseconds
+     */
+    public long now() {
+        return System.nanoTime();
+    }
+
+
+    /** Returns the time when the timeline was created, used as origin when exporting it
+     *
+     * @return the time when the timeline was created, in nanoseconds
+     */
+    public long getOriginNanos() {
+        return originNanos;
+    }
+
+
+    /** Records an event that started at 'startNanos' and finishes now, in the current thread
+     *
+     * @param category the category of the event
+     * @param name the name of the event, the class name of the module for module events
+     * @param startNanos the time (now()) when the event started
+     * @param error the error of the operation, or null if it finished correctly
+     */
+    public void record(TimelineEvent.Category category, String name, long startNanos, Throwable error) {
+
+        TimelineEvent event = new TimelineEvent(category, name, Thread.currentThread(), startNanos, now(), error);
+
+        synchronized (this.events) {
+            if (this.events.size() < MAX_EVENTS) {
+                this.events.add(event);
+            } else {
+                this.discardedEvents++;
+            }
+        }
+
+    }
+
+
+    /** Sets the modules a module depends on, used to compute the critical path
+     *
+     * @param module the class name of the module
+     * @param moduleDependencies the class names of the modules it depends on
+     */
+    public void setDependencies(String module, Collection<String> moduleDependencies) {
+        synchronized (this.dependencies) {
+            this.dependencies.put(module, new ArrayList<>(moduleDependencies));
+        }
+    }
+
+
+    /** Returns all the events recorded, sorted by start time
+     *
+     * @return all the events recorded
+     */
+    public List<TimelineEvent> getEvents() {
+
+        List<TimelineEvent> copy;
+        synchronized (this.events) {
+            copy = new ArrayList<>(this.events);
+        }
+
+        Collections.sort(copy, new Comparator<TimelineEvent>() {
+            @Override
+            public int compare(TimelineEvent e1, TimelineEvent e2) {
+                return e1.getStartNanos() < e2.getStartNanos() ? -1 : (e1.getStartNanos() == e2.getStartNanos() ? 0 : 1);
+            }
+        });
+
+        return copy;
+
+    }
+
+
+    /** Returns the events of a category, sorted by start time
+     *
+     * @param category the category of the events
+     * @return the events of the category
+     */
+    public List<TimelineEvent> getEvents(TimelineEvent.Category category) {
+
+        List<TimelineEvent> filtered = new ArrayList<>();
+
+        for (TimelineEvent event : getEvents()) {
+            if (event.getCategory() == category) {
+                filtered.add(event);
+            }
+        }
+
+        return filtered;
+
+    }
+
+
+    /** Returns the number of events discarded because the timeline was full
+     *
+     * @return the number of events discarded
+     */
+    public int getDiscardedEvents() {
+        synchronized (this.events) {
+            return this.discardedEvents;
+        }
+    }
+
+
+    /** Computes the critical path of the startup of the modules: the chain of dependent modules
+     * with the longest registration and startup time. The framework can not start faster than
+     * the duration of this path, no matter how many modules are started concurrently.
+     *
+     * @return the startup events of the modules of the critical path, in startup order
+     */
+    public List<TimelineEvent> getCriticalPath() {
+
+        Map<String, Long> costs = new HashMap<>();
+        Map<String, TimelineEvent> startups = new LinkedHashMap<>();
+
+        for (TimelineEvent event : getEvents()) {
+            if ((event.getCategory() == TimelineEvent.Category.STARTUP) && !startups.containsKey(event.getName())) {
+                startups.put(event.getName(), event);
+            }
+            if ((event.getCategory() == TimelineEvent.Category.STARTUP) || (event.getCategory() == TimelineEvent.Category.REGISTRATION)) {
+                Long cost = costs.get(event.getName());
+                costs.put(event.getName(), (cost == null ? 0 : cost) + event.getDurationNanos());
+            }
+        }
+
+        Map<String, Long> finish = new HashMap<>();
+        Map<String, String> previous = new HashMap<>();
+
+        String last = null;
+        for (String module : startups.keySet()) {
+            long moduleFinish = pathFinish(module, startups, costs, finish, previous);
+            if ((last == null) || (moduleFinish > finish.get(last))) {
+                last = module;
+            }
+        }
+
+        LinkedList<TimelineEvent> path = new LinkedList<>();
+        while (last != null) {
+            path.addFirst(startups.get(last));
+            last = previous.get(last);
+        }
+
+        return path;
+
+    }
+
+
+    private long pathFinish(String module, Map<String, TimelineEvent> startups, Map<String, Long> costs,
+                            Map<String, Long> finish, Map<String, String> previous) {
+
+        Long known = finish.get(module);
+        if (known != null) {
+            return known;
+        }
+
+        //dependencies form a DAG (the framework refuses to start with cycles)
+        finish.put(module, 0L);
+
+        long longestDependency = 0;
+        Collection<String> moduleDependencies;
+        synchronized (this.dependencies) {
+            moduleDependencies = this.dependencies.get(module);
+        }
+
+        if (moduleDependencies != null) {
+            for (String dependency : moduleDependencies) {
+                if (startups.containsKey(dependency)) {
+                    long dependencyFinish = pathFinish(dependency, startups, costs, finish, previous);
+                    if (dependencyFinish > longestDependency) {
+                        longestDependency = dependencyFinish;
+                        previous.put(module, dependency);
+                    }
+                }
+            }
+        }
+
+        long moduleFinish = longestDependency + costs.get(module);
+        finish.put(module, moduleFinish);
+
+        return moduleFinish;
+
+    }
+
+
+    /** Exports the timeline using the Chrome trace event format (JSON)
+     *
+     * @param out where the trace is written
+     * @throws IOException if there was an error writing the trace
+     */
+    public void writeChromeTrace(Writer out) throws IOException {
+        new ChromeTraceWriter(out).write(this.originNanos, getEvents());
+    }
+
+
+    /** Exports the timeline using the Chrome trace event format (JSON)
+     *
+     * @return the timeline in the Chrome trace event format
+     */
+    public String toChromeTrace() {
+
+        StringWriter out = new StringWriter();
+
+        try {
+            writeChromeTrace(out);
+        } catch (IOException ex) {
+            //not possible with a StringWriter
+        }
+
+        return out.toString();
+
+    }
+
+
+    /** Returns a human readable summary of the timeline: total times, modules sorted by
+     * startup time, critical path and errors.
+     *
+     * @return a text summary of the timeline
+     */
+    public String getSummary() {
+
+        StringBuilder summary = new StringBuilder();
+
+        for (TimelineEvent event : getEvents(TimelineEvent.Category.FRAMEWORK)) {
+            summary.append(String.format(Locale.US, "Framework %s: %.1f ms%s%n", event.getName(),
+                    millis(event.getDurationNanos()), event.isSuccess() ? "" : " (FAILED: " + event.getError() + ")"));
+        }
+
+        appendSortedByDuration(summary, "Module startup", getEvents(TimelineEvent.Category.STARTUP));
+        appendSortedByDuration(summary, "Module class loading", getEvents(TimelineEvent.Category.CLASS_LOADING));
+        appendSortedByDuration(summary, "Module shutdown", getEvents(TimelineEvent.Category.SHUTDOWN));
+
+        List<TimelineEvent> criticalPath = getCriticalPath();
+        if (!criticalPath.isEmpty()) {
+            long pathNanos = 0;
+            StringBuilder chain = new StringBuilder();
+            for (TimelineEvent event : criticalPath) {
+                pathNanos += event.getDurationNanos();
+                if (chain.length() > 0) chain.append(" -> ");
+                chain.append(event.getName());
+            }
+            summary.append(String.format(Locale.US, "Critical path (%.1f ms): %s%n", millis(pathNanos), chain));
+        }
+
+        int discarded = getDiscardedEvents();
+        if (discarded > 0) {
+            summary.append("Events discarded: ").append(discarded).append(String.format("%n"));
+        }
+
+        return summary.toString();
+
+    }
+
+
+    private static void appendSortedByDuration(StringBuilder summary, String title, List<TimelineEvent> categoryEvents) {
+
+        if (categoryEvents.isEmpty()) {
+            return;
+        }
+
+        Collections.sort(categoryEvents, new Comparator<TimelineEvent>() {
+            @Override
+            public int compare(TimelineEvent e1, TimelineEvent e2) {
+                return e1.getDurationNanos() > e2.getDurationNanos() ? -1 : (e1.getDurationNanos() == e2.getDurationNanos() ? 0 : 1);
+            }
+        });
+
+        summary.append(title).append(String.format(":%n"));
+
+        for (TimelineEvent event : categoryEvents) {
+            summary.append(String.format(Locale.US, "  %9.1f ms  %s [%s]%s%n", millis(event.getDurationNanos()),
+                    event.getName(), event.getThreadName(), event.isSuccess() ? "" : " FAILED: " + event.getError()));
+        }
+
+    }
+
+
+    private static double millis(long nanos) {
+        return nanos / 1000000.0;
+    }
+
+}
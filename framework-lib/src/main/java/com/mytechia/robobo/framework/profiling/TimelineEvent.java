@@ -0,0 +1,123 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.profiling;
+
+/** An event of the lifecycle of the framework (module class loading, registration, startup,
+ * shutdown...) recorded by the LifecycleTimeline.
+ *
+ * Times are monotonic (System.nanoTime()), so they can only be compared with the times
+ * of other events of the same timeline.
+ *
+ * @author Gervasio Varela
+ */
+public final class TimelineEvent {
+
+
+    /** Kinds of lifecycle events */
+    public enum Category {
+        FRAMEWORK,
+        CLASS_LOADING,
+        REGISTRATION,
+        STARTUP,
+        SHUTDOWN
+    }
+
+
+    private final Category category;
+    private final String name;
+    private final String threadName;
+    private final long threadId;
+    private final long startNanos;
+    private final long endNanos;
+    private final boolean success;
+    private final String error;
+
+
+    TimelineEvent(Category category, String name, Thread thread, long startNanos, long endNanos, Throwable error) {
+        this.category = category;
+        this.name = name;
+        this.threadName = thread.getName();
+        this.threadId = thread.getId();
+        this.startNanos = startNanos;
+        this.endNanos = endNanos;
+        this.success = error == null;
+        this.error = error == null ? null : error.getClass().getSimpleName() + ": " + error.getMessage();
+    }
+
+
+    public Category getCategory() {
+        return category;
+    }
+
+    /** Returns the name of the event, the class name of the module for module events
+     *
+     * @return the name of the event
+     */
+    public String getName() {
+        return name;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    public long getThreadId() {
+        return threadId;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getEndNanos() {
+        return endNanos;
+    }
+
+    public long getDurationNanos() {
+        return endNanos - startNanos;
+    }
+
+    /** Returns whether the operation finished correctly
+     *
+     * @return true if the operation finished correctly, false if it failed
+     */
+    public boolean isSuccess() {
+        return success;
+    }
+
+    /** Returns the description of the error of a failed operation
+     *
+     * @return the description of the error, or null if the operation finished correctly
+     */
+    public String getError() {
+        return error;
+    }
+
+
+    @Override
+    public String toString() {
+        return category + " " + name + " [" + threadName + "] " + (getDurationNanos() / 1000) + " us" +
+                (success ? "" : " FAILED " + error);
+    }
+
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.recorder;
+
+import com.mytechia.robobo.framework.RoboboManagerState;
+import com.mytechia.robobo.framework.power.PowerMode;
+
+import java.util.Locale;
+
+/** A record read from a recording of the flight recorder.
+ *
+ * Times are relative to the origin of the recording, the creation of the recorder.
+ *
+ * @author Gervasio Varela
+ */
+public final class FlightRecord {
+
+    private final FlightRecordType type;
+    private final long timeNanos;
+    private final long originWallMillis;
+    private final int symbol;
+    private final String symbolName;
+    private final long value1;
+    private final long value2;
+
+
+    FlightRecord(FlightRecordType type, long timeNanos, long originWallMillis, int symbol, String symbolName,
+                 long value1, long value2) {
+        this.type = type;
+        this.timeNanos = timeNanos;
+        this.originWallMillis = originWallMillis;
+        this.symbol = symbol;
+        this.symbolName = symbolName;
+        this.value1 = value1;
+        this.value2 = value2;
+    }
+
+
+    public FlightRecordType getType() {
+        return type;
+    }
+
+    /** Returns the time of the record since the origin of the recording, in nanoseconds */
+    public long getTimeNanos() {
+        return timeNanos;
+    }
+
+    /** Returns the wall clock time of the record, in milliseconds since the epoch */
+    public long getWallTimeMillis() {
+        return originWallMillis + timeNanos / 1000000;
+    }
+
+    /** Returns the symbol of the record, {@link FlightRecorder#NO_SYMBOL} if it has no symbol */
+    public int getSymbol() {
+        return symbol;
+    }
+
+    /** Returns the name of the symbol of the record, null if it has no symbol */
+    public String getSymbolName() {
+        return symbolName;
+    }
+
+    public long getValue1() {
+        return value1;
+    }
+
+    public long getValue2() {
+        return value2;
+    }
+
+
+    @Override
+    public String toString() {
+
+        StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.US, "%12.3f ms %-16s", timeNanos / 1e6, type));
+
+        if (symbolName != null) {
+            text.append(' ').append(symbolName);
+        }
+
+        switch (type) {
+            case FRAMEWORK_STATE:
+                text.append(' ').append(name(RoboboManagerState.values(), value1));
+                break;
+            case POWER_MODE:
+                text.append(' ').append(name(PowerMode.values(), value1))
+                        .append(" -> ").append(name(PowerMode.values(), value2));
+                break;
+            case MODULE_STARTUP:
+            case MODULE_SHUTDOWN:
+                text.append(String.format(Locale.US, " %.3f ms", value1 / 1e6)).append(value2 != 0 ? " failed" : "");
+                break;
+            case BEHAVIOUR_STEP:
+                text.append(String.format(Locale.US, " %.3f ms, %.3f ms late", value1 / 1e6, value2 / 1e6));
+                break;
+            default:
+                text.append(' ').append(value1).append(' ').append(value2);
+                break;
+        }
+
+        return text.toString();
+
+    }
+
+
+    private static String name(Enum<?>[] values, long ordinal) {
+        return (ordinal >= 0) && (ordinal < values.length) ? values[(int) ordinal].name() : String.valueOf(ordinal);
+    }
+
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.recorder;
+
+/** Layout of the files of the flight recorder, shared by the recorder and the reader.
+ *
+ * A file has a header of {@link #HEADER_SIZE} bytes followed by the records, all of them
+ * of {@link #RECORD_SIZE} bytes. Values are big endian.
+ *
+ * Header: magic (int), version (int), record size (int), capacity in records (int),
+ * wall clock time of the origin in milliseconds (long), records committed (long),
+ * records dropped (long), records between index entries (int), index entries (int),
+ * and the index entries from {@link #INDEX_OFFSET}: time (long) and first record (long).
+ *
+ * Record: time since the origin in nanoseconds (long), type (int, 0 while the record is
+ * being written), symbol (int), first value (long), second value (long). The names of the
+ * symbols are stored in SYMBOL records followed by the UTF-8 bytes of the name, using
+ * whole records.
+ *
+ * @author Gervasio Varela
+ */
+final class FlightRecordFormat {
+
+    static final int MAGIC = 0x52424652; //"RBFR"
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 4096;
+    static final int RECORD_SIZE = 32;
+
+    static final int MAGIC_OFFSET = 0;
+    static final int VERSION_OFFSET = 4;
+    static final int RECORD_SIZE_OFFSET = 8;
+    static final int CAPACITY_OFFSET = 12;
+    static final int ORIGIN_OFFSET = 16;
+    static final int COMMITTED_OFFSET = 24;
+    static final int DROPPED_OFFSET = 32;
+    static final int INDEX_INTERVAL_OFFSET = 40;
+    static final int INDEX_ENTRIES_OFFSET = 44;
+
+    static final int INDEX_OFFSET = 64;
+    static final int INDEX_ENTRY_SIZE = 16;
+    static final int MAX_INDEX_ENTRIES = (HEADER_SIZE - INDEX_OFFSET) / INDEX_ENTRY_SIZE;
+
+    static final int TIME_OFFSET = 0;
+    static final int TYPE_OFFSET = 8;
+    static final int SYMBOL_OFFSET = 12;
+    static final int VALUE1_OFFSET = 16;
+    static final int VALUE2_OFFSET = 24;
+
+    /** Type of the records not written yet */
+    static final int EMPTY = 0;
+
+
+    private FlightRecordFormat() {
+    }
+
+
+    /** Returns the position in the file of a record */
+    static long position(long record) {
+        return HEADER_SIZE + record * RECORD_SIZE;
+    }
+
+
+    /** Returns the number of data records used by the name of a symbol */
+    static int dataRecords(int nameLength) {
+        return (nameLength + RECORD_SIZE - 1) / RECORD_SIZE;
+    }
+
+}
@@ -0,0 +1,333 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.recorder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.mytechia.robobo.framework.recorder.FlightRecordFormat.*;
+
+/** Offline reader of the recordings of the {@link FlightRecorder}, it can read the records
+ * or replay them respecting their original timing.
+ *
+ * Recordings of applications that crashed can be read: the records that were being written
+ * when the application crashed are skipped.
+ *
+ * @author Gervasio Varela
+ */
+public class FlightRecordReader {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+
+    private final File file;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final long originWallMillis;
+    private final long droppedRecords;
+    private final int indexInterval;
+
+    /** Records after the last record of the recording */
+    private final long end;
+    private final Map<Integer, String> symbols = new HashMap<>();
+
+
+    private FlightRecordReader(File file, MappedByteBuffer buffer) throws IOException {
+
+        this.file = file;
+        this.buffer = buffer;
+
+        if ((buffer.capacity() < HEADER_SIZE) || (buffer.getInt(MAGIC_OFFSET) != MAGIC)) {
+            throw new IOException("Not a flight recording: " + file);
+        }
+        if ((buffer.getInt(VERSION_OFFSET) != VERSION) || (buffer.getInt(RECORD_SIZE_OFFSET) != RECORD_SIZE)) {
+            throw new IOException("Unsupported flight recording version " + buffer.getInt(VERSION_OFFSET) + ": " + file);
+        }
+
+        this.capacity = Math.min(buffer.getInt(CAPACITY_OFFSET), (buffer.capacity() - HEADER_SIZE) / RECORD_SIZE);
+        this.originWallMillis = buffer.getLong(ORIGIN_OFFSET);
+        this.droppedRecords = buffer.getLong(DROPPED_OFFSET);
+        this.indexInterval = Math.max(1, buffer.getInt(INDEX_INTERVAL_OFFSET));
+
+        this.end = scan(buffer.getLong(COMMITTED_OFFSET));
+
+    }
+
+
+    /** Opens a recording
+     *
+     * @param file the file of the recording
+     * @return the reader of the recording
+     * @throws IOException if the file can not be read or it is not a recording
+     */
+    public static FlightRecordReader open(File file) throws IOException {
+
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+            return new FlightRecordReader(file, buffer);
+        } finally {
+            raf.close();
+        }
+
+    }
+
+
+    /** Finds the end of the recording and reads the symbols. The header is only updated
+     * from time to time, so the records after the committed ones are read until the
+     * first empty record.
+     */
+    private long scan(long committed) {
+
+        long last = 0;
+        long record = 0;
+
+        while (record < this.capacity) {
+
+            int type = typeOf(record);
+
+            if (type == EMPTY) {
+                if (record >= committed) {
+                    break;
+                }
+                record++;
+                continue;
+            }
+
+            if (type == FlightRecordType.SYMBOL.code()) {
+                int position = (int) position(record);
+                int length = (int) this.buffer.getLong(position + VALUE1_OFFSET);
+                if ((length < 0) || (record + 1 + dataRecords(length) > this.capacity)) {
+                    break;
+                }
+                byte[] name = new byte[length];
+                for (int i = 0; i < length; i++) {
+                    name[i] = this.buffer.get((int) position(record + 1) + i);
+                }
+                this.symbols.put(this.buffer.getInt(position + SYMBOL_OFFSET), new String(name, UTF8));
+                record += 1 + dataRecords(length);
+            } else {
+                record++;
+            }
+
+            last = record;
+
+        }
+
+        return last;
+
+    }
+
+
+    private int typeOf(long record) {
+        return this.buffer.getInt((int) position(record) + TYPE_OFFSET);
+    }
+
+
+    /** Reads the records of the recording
+     *
+     * @param fromNanos time of the recording to start reading, 0 to read all the records
+     * @param handler the handler of the records, with the records whose time is equal or
+     *                greater than the time requested
+     */
+    public void read(long fromNanos, IFlightRecordHandler handler) {
+
+        long record = seek(fromNanos);
+
+        while (record < this.end) {
+
+            int type = typeOf(record);
+            int position = (int) position(record);
+
+            if (type == FlightRecordType.SYMBOL.code()) {
+                record += 1 + dataRecords((int) this.buffer.getLong(position + VALUE1_OFFSET));
+                continue;
+            }
+
+            record++;
+
+            FlightRecordType recordType = FlightRecordType.fromCode(type);
+            long time = this.buffer.getLong(position + TIME_OFFSET);
+
+            //empty (not finished) records and unknown types are skipped
+            if ((recordType != null) && (time >= fromNanos)) {
+                int symbol = this.buffer.getInt(position + SYMBOL_OFFSET);
+                handler.onRecord(new FlightRecord(recordType, time, this.originWallMillis, symbol,
+                        this.symbols.get(symbol), this.buffer.getLong(position + VALUE1_OFFSET),
+                        this.buffer.getLong(position + VALUE2_OFFSET)));
+            }
+
+        }
+
+    }
+
+
+    /** Returns the record where the reading of a time has to start, using the index
+     *
+     * @param fromNanos the time to start reading
+     * @return the record of the last index entry before that time
+     */
+    private long seek(long fromNanos) {
+
+        long start = 0;
+
+        for (long entry = 1; entry * this.indexInterval < this.end; entry++) {
+
+            int position = INDEX_OFFSET + (int) entry * INDEX_ENTRY_SIZE;
+            if (position + INDEX_ENTRY_SIZE > HEADER_SIZE) {
+                break;
+            }
+
+            long time = this.buffer.getLong(position);
+            long record = this.buffer.getLong(position + 8);
+
+            if (record == 0) {
+                //entry not written, the application crashed while writing its record
+                continue;
+            }
+            if (time >= fromNanos) {
+                break;
+            }
+
+            start = record;
+
+        }
+
+        return start;
+
+    }
+
+
+    /** Returns all the records of the recording
+     *
+     * @return the records of the recording
+     */
+    public List<FlightRecord> readAll() {
+
+        final List<FlightRecord> records = new ArrayList<>();
+
+        read(0, new IFlightRecordHandler() {
+            @Override
+            public void onRecord(FlightRecord record) {
+                records.add(record);
+            }
+        });
+
+        return records;
+
+    }
+
+
+    /** Replays the records of the recording in the current thread, waiting between the records
+     * the time that passed between them in the recording
+     *
+     * @param fromNanos time of the recording to start the replay
+     * @param speed speed of the replay, 2 to replay the records two times faster than they were
+     *              recorded, 0 to replay them without waiting
+     * @param handler the handler of the records
+     * @throws InterruptedException if the thread is interrupted while waiting for a record
+     */
+    public void replay(long fromNanos, final double speed, final IFlightRecordHandler handler) throws InterruptedException {
+
+        final long replayStart = System.nanoTime();
+        final long[] recordingStart = {-1};
+        final InterruptedException[] interrupted = {null};
+
+        read(fromNanos, new IFlightRecordHandler() {
+            @Override
+            public void onRecord(FlightRecord record) {
+
+                if (interrupted[0] != null) {
+                    return;
+                }
+
+                if (recordingStart[0] < 0) {
+                    recordingStart[0] = record.getTimeNanos();
+                }
+
+                if (speed > 0) {
+                    long due = replayStart + (long) ((record.getTimeNanos() - recordingStart[0]) / speed);
+                    long wait = due - System.nanoTime();
+                    if (wait > 0) {
+                        try {
+                            TimeUnit.NANOSECONDS.sleep(wait);
+                        } catch (InterruptedException ex) {
+                            interrupted[0] = ex;
+                            return;
+                        }
+                    }
+                }
+
+                handler.onRecord(record);
+
+            }
+        });
+
+        if (interrupted[0] != null) {
+            throw interrupted[0];
+        }
+
+    }
+
+
+    public File getFile() {
+        return file;
+    }
+
+    /** Returns the maximum number of records of the recording */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /** Returns the number of records used, including the records of the symbols */
+    public long getRecordCount() {
+        return end;
+    }
+
+    /** Returns the number of events dropped because the recording was full, updated by
+     * {@link FlightRecorder#flush()} */
+    public long getDroppedRecords() {
+        return droppedRecords;
+    }
+
+    /** Returns the wall clock time of the origin of the recording, in milliseconds since the epoch */
+    public long getOriginWallMillis() {
+        return originWallMillis;
+    }
+
+    /** Returns the names of the symbols of the recording, by symbol */
+    public Map<Integer, String> getSymbols() {
+        return Collections.unmodifiableMap(symbols);
+    }
+
+}
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.recorder;
+
+/** Types of the records of the flight recorder, the meaning of the symbol and the
+ * values of a record depends on its type.
+ *
+ * @author Gervasio Varela
+ */
+public enum FlightRecordType {
+
+    /** Change of the state of the framework, value1 is the ordinal of the RoboboManagerState */
+    FRAMEWORK_STATE(1),
+    /** Startup of a module, the symbol is the class of the module, value1 the duration in
+     * nanoseconds and value2 1 if the startup failed */
+    MODULE_STARTUP(2),
+    /** Shutdown of a module, the symbol is the class of the module, value1 the duration in
+     * nanoseconds and value2 1 if the shutdown failed */
+    MODULE_SHUTDOWN(3),
+    /** Change of the power mode, value1 is the ordinal of the previous PowerMode and value2
+     * the ordinal of the new one */
+    POWER_MODE(4),
+    /** Step of a behaviour, the symbol is the name of the behaviour, value1 the duration in
+     * nanoseconds and value2 the delay of the start with respect to its deadline, in nanoseconds */
+    BEHAVIOUR_STEP(5),
+    /** Event of a module, the symbol and the values are defined by the module */
+    MODULE_EVENT(6),
+    /** Definition of a symbol, value1 is the length of its name in bytes */
+    SYMBOL(7);
+
+
+    private final int code;
+
+
+    FlightRecordType(int code) {
+        this.code = code;
+    }
+
+
+    /** Returns the code of the type in the files */
+    int code() {
+        return this.code;
+    }
+
+
+    /** Returns the type of a code, or null if it is unknown */
+    static FlightRecordType fromCode(int code) {
+        for (FlightRecordType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+}
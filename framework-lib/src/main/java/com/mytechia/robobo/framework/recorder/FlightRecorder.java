@@ -0,0 +1,351 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.recorder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.mytechia.robobo.framework.recorder.FlightRecordFormat.*;
+
+/** Low overhead recorder of the events of the framework, to diagnose problems of robots
+ * in production.
+ *
+ * Events are written as fixed size records in an append-only file mapped in memory, so
+ * recording an event does not allocate memory nor makes system calls: it claims a record
+ * with an atomic increment and writes it in the mapped memory, which is written to the file
+ * by the operating system, even if the application crashes. The file has a fixed capacity,
+ * the events recorded when it is full are dropped and counted. Every some records an index
+ * entry is written in the header, so a {@link FlightRecordReader} can start reading at any
+ * time of the recording without reading the records before it.
+ *
+ * Names (modules, behaviours, events) are recorded as symbols, registered once with
+ * {@link #symbol(String)}, to keep the records small and free of allocations.
+ *
+ * Module events are opt-in ({@link #setModuleEventsEnabled(boolean)}), they are discarded
+ * while they are disabled.
+ *
+ * @author Gervasio Varela
+ */
+public class FlightRecorder {
+
+    /** Symbol of the records without symbol */
+    public static final int NO_SYMBOL = -1;
+
+    /** Recorder that discards all the events, used when recording is disabled */
+    public static final FlightRecorder DISABLED = new FlightRecorder();
+
+    /** Suffix of the previous recording, kept when a new recording is opened in the same file */
+    public static final String PREVIOUS_SUFFIX = ".previous";
+
+    /** Maximum number of records of a recording, the size of a mapping is limited to 2 GB */
+    public static final int MAX_CAPACITY = (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE;
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+
+    private final File file;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int indexInterval;
+    private final long originNanos;
+
+    /** Next record to claim, it can be greater than the capacity when the file is full */
+    private final AtomicLong next = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean open;
+    private volatile boolean moduleEvents = false;
+
+    /** Symbols already recorded, guarded by itself */
+    private final Map<String, Integer> symbols = new HashMap<>();
+
+
+    private FlightRecorder() {
+        this.file = null;
+        this.buffer = null;
+        this.capacity = 0;
+        this.indexInterval = 1;
+        this.originNanos = 0;
+        this.open = false;
+    }
+
+
+    private FlightRecorder(File file, MappedByteBuffer buffer, int capacity) {
+
+        this.file = file;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.indexInterval = Math.max(1, (capacity + MAX_INDEX_ENTRIES - 1) / MAX_INDEX_ENTRIES);
+        this.originNanos = System.nanoTime();
+
+        buffer.putInt(MAGIC_OFFSET, MAGIC);
+        buffer.putInt(VERSION_OFFSET, VERSION);
+        buffer.putInt(RECORD_SIZE_OFFSET, RECORD_SIZE);
+        buffer.putInt(CAPACITY_OFFSET, capacity);
+        buffer.putLong(ORIGIN_OFFSET, System.currentTimeMillis());
+        buffer.putLong(COMMITTED_OFFSET, 0);
+        buffer.putLong(DROPPED_OFFSET, 0);
+        buffer.putInt(INDEX_INTERVAL_OFFSET, this.indexInterval);
+        buffer.putInt(INDEX_ENTRIES_OFFSET, (capacity + this.indexInterval - 1) / this.indexInterval);
+
+        this.open = true;
+
+    }
+
+
+    /** Opens a new recording. The file is created with its full size, if it already exists
+     * it is kept with the suffix {@link #PREVIOUS_SUFFIX}, so the recording of the previous
+     * execution is not lost when the application is restarted after a crash.
+     *
+     * @param file the file of the recording
+     * @param capacity the maximum number of records of the recording
+     * @return the recorder
+     * @throws IOException if the file can not be created or mapped
+     */
+    public static FlightRecorder open(File file, int capacity) throws IOException {
+
+        if ((capacity <= 0) || (capacity > MAX_CAPACITY)) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+
+        if (file.exists()) {
+            File previous = new File(file.getPath() + PREVIOUS_SUFFIX);
+            if ((previous.exists() && !previous.delete()) || !file.renameTo(previous)) {
+                throw new IOException("The previous recording can not be kept: " + file);
+            }
+        }
+
+        long size = position(capacity);
+
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.setLength(size);
+            //the mapping is still valid after closing the channel
+            MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new FlightRecorder(file, buffer, capacity);
+        } finally {
+            raf.close();
+        }
+
+    }
+
+
+    /** Returns whether the events are being recorded */
+    public boolean isEnabled() {
+        return this.open;
+    }
+
+
+    /** Records (or not) the events of the modules, {@link #recordModuleEvent(int, long, long)}
+     *
+     * @param enabled whether to record the events of the modules
+     */
+    public void setModuleEventsEnabled(boolean enabled) {
+        this.moduleEvents = enabled;
+    }
+
+
+    /** Returns whether the events of the modules are recorded */
+    public boolean isModuleEventsEnabled() {
+        return this.open && this.moduleEvents;
+    }
+
+
+    /** Returns the symbol of a name, recording it the first time. It allocates memory the
+     * first time a name is used, so symbols should be obtained before recording the events.
+     *
+     * @param name the name
+     * @return the symbol of the name, {@link #NO_SYMBOL} if the recorder is disabled or full
+     */
+    public int symbol(String name) {
+
+        if (!this.open) {
+            return NO_SYMBOL;
+        }
+
+        synchronized (this.symbols) {
+
+            Integer symbol = this.symbols.get(name);
+            if (symbol != null) {
+                return symbol;
+            }
+
+            byte[] bytes = name.getBytes(UTF8);
+            int dataRecords = dataRecords(bytes.length);
+
+            long record = claim(1 + dataRecords);
+            if (record < 0) {
+                return NO_SYMBOL;
+            }
+
+            int id = this.symbols.size();
+
+            long data = position(record + 1);
+            for (int i = 0; i < bytes.length; i++) {
+                this.buffer.put((int) (data + i), bytes[i]);
+            }
+            write(record, 1 + dataRecords, FlightRecordType.SYMBOL.code(), id, bytes.length, 0);
+
+            this.symbols.put(name, id);
+
+            return id;
+
+        }
+
+    }
+
+
+    /** Records an event, it does not allocate memory. It can be called from any thread.
+     *
+     * @param type the type of the event
+     * @param symbol the symbol of the event, or {@link #NO_SYMBOL}
+     * @param value1 the first value of the event
+     * @param value2 the second value of the event
+     */
+    public void record(FlightRecordType type, int symbol, long value1, long value2) {
+
+        if (!this.open) {
+            return;
+        }
+
+        long record = claim(1);
+        if (record >= 0) {
+            write(record, 1, type.code(), symbol, value1, value2);
+        }
+
+    }
+
+
+    /** Records an event of a module, only if module events are enabled
+     *
+     * @param symbol the symbol of the event, see {@link #symbol(String)}
+     * @param value1 the first value of the event
+     * @param value2 the second value of the event
+     */
+    public void recordModuleEvent(int symbol, long value1, long value2) {
+        if (this.moduleEvents) {
+            record(FlightRecordType.MODULE_EVENT, symbol, value1, value2);
+        }
+    }
+
+
+    /** Claims consecutive records
+     *
+     * @return the first record claimed, -1 if there is not space for them
+     */
+    private long claim(int records) {
+
+        long record = this.next.getAndAdd(records);
+
+        if (record + records > this.capacity) {
+            this.dropped.incrementAndGet();
+            return -1;
+        }
+
+        return record;
+
+    }
+
+
+    /** Writes a record, and the index entries of the records claimed with it */
+    private void write(long record, int records, int type, int symbol, long value1, long value2) {
+
+        long time = System.nanoTime() - this.originNanos;
+        int position = (int) position(record);
+
+        this.buffer.putLong(position + TIME_OFFSET, time);
+        this.buffer.putInt(position + SYMBOL_OFFSET, symbol);
+        this.buffer.putLong(position + VALUE1_OFFSET, value1);
+        this.buffer.putLong(position + VALUE2_OFFSET, value2);
+        //the type is written last, readers skip the records without type
+        this.buffer.putInt(position + TYPE_OFFSET, type);
+
+        //the entries of the data records of a symbol point to the symbol
+        for (long indexed = ((record + this.indexInterval - 1) / this.indexInterval) * this.indexInterval;
+             indexed < record + records; indexed += this.indexInterval) {
+            int entry = INDEX_OFFSET + (int) (indexed / this.indexInterval) * INDEX_ENTRY_SIZE;
+            this.buffer.putLong(entry, time);
+            this.buffer.putLong(entry + 8, record);
+            this.buffer.putLong(COMMITTED_OFFSET, record + records);
+        }
+
+    }
+
+
+    /** Writes the number of records and dropped records in the header and forces the
+     * writing of the recording to the file. It makes system calls, it should not be called
+     * frequently.
+     */
+    public void flush() {
+
+        if (this.buffer == null) {
+            return;
+        }
+
+        synchronized (this.buffer) {
+            this.buffer.putLong(COMMITTED_OFFSET, getRecordCount());
+            this.buffer.putLong(DROPPED_OFFSET, this.dropped.get());
+            this.buffer.force();
+        }
+
+    }
+
+
+    /** Finishes the recording, the events recorded from now on are discarded */
+    public void close() {
+        this.open = false;
+        flush();
+    }
+
+
+    /** Returns the file of the recording, null for the disabled recorder */
+    public File getFile() {
+        return this.file;
+    }
+
+
+    /** Returns the maximum number of records of the recording */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+
+    /** Returns the number of records used, including the records of the symbols */
+    public long getRecordCount() {
+        return Math.min(this.next.get(), this.capacity);
+    }
+
+
+    /** Returns the number of events dropped because the recording was full */
+    public long getDroppedRecords() {
+        return this.dropped.get();
+    }
+
+}
@@ -26,6 +26,7 @@ import android.app.Notification;
 import android.app.Service;
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.Handler;
 import android.os.IBinder;
 import android.util.Log;
 import com.mytechia.commons.framework.exception.InternalErrorException;
@@ -39,6 +40,9 @@ import java.util.Properties;
 
 /** An Android service to start and manage the creation of the Robobo Framework instance.
  *
+ * If the option {@link RoboboManager#OPTION_WARM_RESTART_GRACE_PERIOD} is set, the framework
+ * is kept running during that time after the last client unbinds, and the next client reuses
+ * its modules through a warm restart instead of starting them again.
  *
  * @author Gervasio Varela
  */
@@ -47,17 +51,32 @@ public class RoboboService extends Service implements RoboboManagerListener {
     public static final String TAG = "RoboboService";
     private RoboboManager roboboManager;
 
+    private Handler handler;
+
+    /** Shutdowns the framework when the warm restart grace period expires without new clients */
+    private final Runnable warmRestartTimeout = new Runnable() {
+        @Override
+        public void run() {
+            Log.d(TAG, "Warm restart grace period expired");
+            shutdownRoboboManager();
+            stopSelf();
+        }
+    };
+
 
     @Override
     public void onCreate() {
         super.onCreate();
 
-
-
+        this.handler = new Handler();
 
     }
 
 
+    /** Creates the Robobo Manager and starts it up in background, so onBind does not block
+     * the main thread while the modules are loaded. Clients are notified through the
+     * RoboboManagerListener interface when the framework is running.
+     */
     private void launchRoboboManager(Bundle roboboOptions) {
 
         try {
@@ -69,20 +88,13 @@ public class RoboboService extends Service implements RoboboManagerListener {
         catch(IOException ex) {
             Log.e("ROBOBO-FRAMEWORK", ex.getMessage());
             roboboManagerStatupError(ex);
+            return;
         }
 
         this.roboboManager.addFrameworkListener(this);
 
-        try {
-
-            if (roboboManager != null) {
-                roboboManager.startup();
-            }
-
-        } catch (InternalErrorException ex) {
-            Log.e("ROBOBO-FRAMEWORK", ex.getMessage());
-            roboboManagerStatupError(ex);
-        }
+        //startup errors are notified through frameworkError()
+        this.roboboManager.startupAsync();
 
     }
 
@@ -139,20 +151,31 @@ public class RoboboService extends Service implements RoboboManagerListener {
 
         Log.d(TAG, "onDestroy");
 
-        try {
+        this.handler.removeCallbacks(warmRestartTimeout);
 
-            if (roboboManager != null) {
-                roboboManager.shutdown();
-                roboboManager=null;
-            }
+        shutdownRoboboManager();
+
+    }
+
+
+    /** Shutdowns the Robobo Manager in background, it is called from the main thread and the
+     * shutdown waits for the modules and for a startup in progress
+     */
+    private void shutdownRoboboManager() {
 
-        } catch (InternalErrorException e) {
-            Log.e(TAG, "onDestroy", e);
+        if (roboboManager != null) {
+            roboboManager.shutdownAsync();
+            roboboManager=null;
         }
 
     }
 
 
+    private int getWarmRestartGracePeriod(Bundle roboboOptions) {
+        return Math.max(0, roboboOptions.getInt(RoboboManager.OPTION_WARM_RESTART_GRACE_PERIOD, 0));
+    }
+
+
     private Bundle getRoboboOptions(Intent intent) {
         Bundle roboboOptions = intent.getExtras();
         if (roboboOptions == null) {
@@ -166,13 +189,68 @@ public class RoboboService extends Service implements RoboboManagerListener {
 
         if ((this.roboboManager == null) || (this.roboboManager.state()==RoboboManagerState.STOPPED)) {
             //if the framework has not been started up yet (nobody has binded yet)
-            launchRoboboManager(getRoboboOptions(intent));
+            Bundle roboboOptions = getRoboboOptions(intent);
+
+            if (getWarmRestartGracePeriod(roboboOptions) > 0) {
+                //started (and not only bound) to survive while there are no clients
+                startService(new Intent(this, RoboboService.class));
+            }
+
+            launchRoboboManager(roboboOptions);
         }
 
         return this.roboboManager;
 
     }
 
+
+    @Override
+    public boolean onUnbind(Intent intent) {
+
+        if ((this.roboboManager == null) || !this.roboboManager.isStartedUp()) {
+            stopSelf();
+            return false;
+        }
+
+        int gracePeriod = getWarmRestartGracePeriod(this.roboboManager.getOptions());
+
+        if (gracePeriod <= 0) {
+            stopSelf();
+            return false;
+        }
+
+        Log.d(TAG, "Last client unbound, keeping the framework running for " + gracePeriod + " ms");
+
+        this.handler.postDelayed(warmRestartTimeout, gracePeriod);
+
+        //onRebind is called when a new client binds
+        return true;
+
+    }
+
+
+    @Override
+    public void onRebind(Intent intent) {
+
+        this.handler.removeCallbacks(warmRestartTimeout);
+
+        if ((this.roboboManager == null) || !this.roboboManager.isStartedUp()) {
+            //the binder returned by the first onBind is reused, so the instance must be restarted in place
+            Log.w(TAG, "The framework is not running, it can not be restarted");
+            return;
+        }
+
+        try {
+
+            //restarted in background, errors are notified through frameworkError()
+            this.roboboManager.warmRestartAsync(loadDefaultPropertiesFile(), getRoboboOptions(intent));
+
+        } catch (IOException ex) {
+            Log.e("ROBOBO-FRAMEWORK", "Error in warm restart", ex);
+        }
+
+    }
+
     @Override
     public void loadingModule(String moduleInfo, String moduleVersion) {
 
@@ -192,7 +270,7 @@ public class RoboboService extends Service implements RoboboManagerListener {
 
     @Override
     public void frameworkError(Throwable ex) {
-
+        Log.e("ROBOBO-FRAMEWORK", "Robobo Manager error", ex);
     }
 
 
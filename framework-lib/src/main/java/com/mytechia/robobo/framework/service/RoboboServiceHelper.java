@@ -27,10 +27,10 @@ import android.content.Context;
 import android.content.Intent;
 import android.content.ServiceConnection;
 import android.os.Bundle;
+import android.os.Handler;
 import android.os.IBinder;
-import android.util.Log;
+import android.os.Looper;
 
-import com.mytechia.commons.framework.exception.InternalErrorException;
 import com.mytechia.robobo.framework.RoboboManager;
 import com.mytechia.robobo.framework.RoboboManagerListener;
 import com.mytechia.robobo.framework.RoboboManagerState;
@@ -56,6 +56,19 @@ public class RoboboServiceHelper {
 
     private Listener listener;
 
+    private RoboboListener roboboListener;
+
+    private boolean warmRestart = false;
+
+    /** Whether the listener has been notified of the current startup */
+    private boolean startedNotified = false;
+
+    /** Whether the listener has been notified of an error of the current startup */
+    private boolean errorNotified = false;
+
+    /** The listener is always notified in the main thread */
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
 
     public RoboboServiceHelper(Activity activity, Listener listener) {
         this.activity = activity;
@@ -76,22 +89,33 @@ public class RoboboServiceHelper {
 
                 roboboManager = (RoboboManager) service;
 
-                if (roboboManager.state() == RoboboManagerState.ERROR) {
+                //the framework starts up in background, it may be still loading the modules,
+                //so the listener is registered before checking its state to not miss any change
+                synchronized (RoboboServiceHelper.this) {
+                    startedNotified = false;
+                    errorNotified = false;
+                }
+                roboboListener = new RoboboListener();
+                roboboManager.addFrameworkListener(roboboListener);
+
+                RoboboManagerState state = roboboManager.state();
 
-                    listener.onError(roboboManager.exception());
+                if (state == RoboboManagerState.ERROR) {
+
+                    frameworkFailed(roboboManager.exception());
 
                     return;
 
                 }
 
-                if ((roboboManager.state() == RoboboManagerState.STOPPING) || (roboboManager.state() == RoboboManagerState.STOPPED)) {
+                if ((state == RoboboManagerState.STOPPING) || (state == RoboboManagerState.STOPPED)) {
 
-                    listener.onError(new RoboboManagerInvalidStateException(String.format("Try to use a robobo manager with status %s. You can not use old instances of the RoboboManager", roboboManager.state())));
+                    frameworkFailed(new RoboboManagerInvalidStateException(String.format("Try to use a robobo manager with status %s. You can not use old instances of the RoboboManager", state)));
                 }
 
-                roboboManager.addFrameworkListener(new RoboboListener());
-
-                frameworkStarted();
+                if (roboboManager.isStartedUp()) {
+                    frameworkStarted();
+                }
 
             }
 
@@ -107,6 +131,8 @@ public class RoboboServiceHelper {
 
         if (roboboOptions == null) roboboOptions = new Bundle();
 
+        warmRestart = roboboOptions.getInt(RoboboManager.OPTION_WARM_RESTART_GRACE_PERIOD, 0) > 0;
+
         intent.putExtras(roboboOptions);
 
         activity.bindService(intent, connection, Context.BIND_AUTO_CREATE);
@@ -124,11 +150,13 @@ public class RoboboServiceHelper {
         //onDestroy del RoboboServicie para asegurarnos que detenemos todos los modulos debemos invocar el shutdown aqui.
         //Parece que el metodo RoboboServicie.onDestroy e incluso el RoboboServicie.onUnbind no son llamados cuando se
         //pulsa el botón para atrás.
+        //With warm restart the service keeps the modules running for the next client,
+        //and it is the service which shutdowns them when the grace period expires.
         if (roboboManager != null) {
-            try {
-                roboboManager.shutdown();
-            } catch (InternalErrorException ex) {
-                Log.e(TAG, "Error shutdow Robobo Manager", ex);
+            roboboManager.removeFrameworkListener(roboboListener);
+            if (!warmRestart) {
+                //in background, the main thread must not wait for the modules or a startup in progress
+                roboboManager.shutdownAsync();
             }
         }
 
@@ -149,10 +177,40 @@ public class RoboboServiceHelper {
     }
 
 
-    private void frameworkStarted() {
+    private synchronized void frameworkStarted() {
+
+        if (startedNotified) {
+            return;
+        }
+        startedNotified = true;
+
+        final RoboboManager startedManager = this.roboboManager;
 
         //notify the finish of the bindin and startup process
-        listener.onRoboboManagerStarted(this.roboboManager);
+        mainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                listener.onRoboboManagerStarted(startedManager);
+            }
+        });
+
+    }
+
+
+    private synchronized void frameworkFailed(final Throwable ex) {
+
+        if (errorNotified) {
+            //the error was notified both by the listener and by the state of the framework
+            return;
+        }
+        errorNotified = true;
+
+        mainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                listener.onError(ex);
+            }
+        });
 
     }
 
@@ -176,7 +234,7 @@ public class RoboboServiceHelper {
 
         @Override
         public void frameworkError(Throwable ex) {
-            listener.onError(ex);
+            frameworkFailed(ex);
         }
 
 
@@ -187,6 +245,8 @@ public class RoboboServiceHelper {
     /**
      * Callback interface that must be used to be notified of the successul startup (or not)
      * of the Robobo Manager, and to obtain an instance of it.
+     * Its methods are always called in the main thread, even though the framework starts up
+     * in a background thread.
      */
     public interface Listener {
 
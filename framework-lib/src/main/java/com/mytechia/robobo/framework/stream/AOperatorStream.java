@@ -0,0 +1,81 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.stream;
+
+/** Base class of the operators: streams that transform the items of a source stream.
+ *
+ * The operator subscribes to its source, with unbounded demand and delivering the items in the
+ * thread that publishes them, only while it has subscribers. Its own subscribers have bounded
+ * buffers like the subscribers of any other stream.
+ *
+ * @param <S> the type of the items of the source
+ * @param <T> the type of the items of the operator
+ * @author Gervasio Varela
+ */
+abstract class AOperatorStream<S, T> extends AStream<T> implements ISubscriber<S> {
+
+    private final AStream<S> source;
+    private volatile ISubscription sourceSubscription = null;
+
+
+    AOperatorStream(AStream<S> source) {
+        super(source.getRegistry(), source.getDefaultStrategy());
+        this.source = source;
+    }
+
+
+    @Override
+    void onConnect() {
+        this.source.subscribe(this, BackpressureStrategy.latest(), DIRECT);
+    }
+
+
+    @Override
+    void onDisconnect() {
+        ISubscription subscription = this.sourceSubscription;
+        this.sourceSubscription = null;
+        if (subscription != null) {
+            subscription.cancel();
+        }
+    }
+
+
+    @Override
+    public void onSubscribe(ISubscription subscription) {
+        this.sourceSubscription = subscription;
+        subscription.request(Long.MAX_VALUE);
+    }
+
+
+    @Override
+    public void onError(Throwable error) {
+        terminate(error);
+    }
+
+
+    @Override
+    public void onComplete() {
+        terminate(null);
+    }
+
+}
@@ -0,0 +1,291 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Base class of the streams of the framework: a publisher that delivers each item to all its
+ * subscribers, each one with its own bounded buffer ({@link BackpressureStrategy}) and in its
+ * own executor, so slow subscribers neither block the producer nor the rest of subscribers,
+ * and the memory and latency of each subscriber are bounded.
+ *
+ * Streams can be transformed with operators (sample, throttle, window) that return new streams.
+ * Operators only subscribe to their source while they have subscribers.
+ *
+ * @param <T> the type of the items
+ * @author Gervasio Varela
+ */
+public abstract class AStream<T> implements IPublisher<T> {
+
+    //plain slf4j instead of android.util.Log, like the rest of the concurrency utilities
+    static final Logger LOG = LoggerFactory.getLogger("com.mytechia.robobo.framework.stream");
+
+    /** Executor that delivers the items in the thread that publishes them, used by the operators */
+    static final Executor DIRECT = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+
+    private final StreamRegistry registry;
+    private final BackpressureStrategy defaultStrategy;
+
+    /** Copy-on-write array of the subscriptions, modified holding the lock of the stream */
+    private volatile StreamSubscription<T>[] subscriptions = newSubscriptions(0);
+    private volatile boolean terminated = false;
+    private Throwable error = null;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+
+    AStream(StreamRegistry registry, BackpressureStrategy defaultStrategy) {
+        this.registry = registry;
+        this.defaultStrategy = defaultStrategy;
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private static <T> StreamSubscription<T>[] newSubscriptions(int size) {
+        return (StreamSubscription<T>[]) new StreamSubscription<?>[size];
+    }
+
+
+    /** Adds a subscriber with the default backpressure strategy of the stream, the items are
+     * delivered by the executor of the framework streams
+     *
+     * @param subscriber the subscriber
+     */
+    @Override
+    public void subscribe(ISubscriber<? super T> subscriber) {
+        subscribe(subscriber, this.defaultStrategy, this.registry.getExecutor());
+    }
+
+
+    /** Adds a subscriber, the items are delivered by the executor of the framework streams
+     *
+     * @param subscriber the subscriber
+     * @param strategy how the items not requested yet by the subscriber are kept
+     */
+    public void subscribe(ISubscriber<? super T> subscriber, BackpressureStrategy strategy) {
+        subscribe(subscriber, strategy, this.registry.getExecutor());
+    }
+
+
+    /** Adds a subscriber
+     *
+     * @param subscriber the subscriber
+     * @param strategy how the items not requested yet by the subscriber are kept
+     * @param executor the executor that delivers the items to the subscriber, a single thread
+     *                 executor of its own for subscribers that block, like network senders
+     */
+    public void subscribe(ISubscriber<? super T> subscriber, BackpressureStrategy strategy, Executor executor) {
+
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber");
+        }
+
+        StreamSubscription<T> subscription = new StreamSubscription<>(this, subscriber, strategy, executor);
+
+        synchronized (this) {
+            if (this.terminated) {
+                subscription.terminate(this.error);
+                return;
+            }
+            StreamSubscription<T>[] current = this.subscriptions;
+            StreamSubscription<T>[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = subscription;
+            this.subscriptions = updated;
+            if (current.length == 0) {
+                onConnect();
+            }
+        }
+
+        subscription.schedule();
+
+    }
+
+
+    /** Removes a subscription, cancelled or finished */
+    void remove(StreamSubscription<T> subscription) {
+
+        synchronized (this) {
+
+            StreamSubscription<T>[] current = this.subscriptions;
+
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == subscription) {
+                    index = i;
+                    break;
+                }
+            }
+
+            if (index < 0) {
+                return;
+            }
+
+            StreamSubscription<T>[] updated = newSubscriptions(current.length - 1);
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+            this.subscriptions = updated;
+
+            if ((updated.length == 0) && !this.terminated) {
+                onDisconnect();
+            }
+
+        }
+
+    }
+
+
+    /** Delivers an item to all the subscribers, it does not block
+     *
+     * @param item the item
+     */
+    void emit(T item) {
+
+        if (this.terminated) {
+            return;
+        }
+
+        StreamSubscription<T>[] current = this.subscriptions;
+        for (int i = 0; i < current.length; i++) {
+            if (!current[i].offer(item)) {
+                this.dropped.incrementAndGet();
+            }
+        }
+
+    }
+
+
+    /** Finishes the stream, the subscribers receive onError() or onComplete() after the items
+     * already published
+     *
+     * @param error the error of the stream, null if it completed
+     */
+    void terminate(Throwable error) {
+
+        StreamSubscription<T>[] current;
+
+        synchronized (this) {
+            if (this.terminated) {
+                return;
+            }
+            this.error = error;
+            this.terminated = true;
+            current = this.subscriptions;
+            onDisconnect();
+        }
+
+        for (StreamSubscription<T> subscription : current) {
+            subscription.terminate(error);
+        }
+
+    }
+
+
+    /** Called, holding the lock of the stream, when the first subscriber is added */
+    void onConnect() {
+    }
+
+
+    /** Called, holding the lock of the stream, when the last subscriber is removed or the stream finishes */
+    void onDisconnect() {
+    }
+
+
+    StreamRegistry getRegistry() {
+        return this.registry;
+    }
+
+
+    BackpressureStrategy getDefaultStrategy() {
+        return this.defaultStrategy;
+    }
+
+
+    /** Returns a stream with the latest item of this stream at a fixed rate, only if a new item
+     * has been published since the previous one
+     *
+     * @param period the period of the samples
+     * @param unit the unit of the period
+     * @return the sampled stream
+     */
+    public AStream<T> sample(long period, TimeUnit unit) {
+        return new SampleStream<>(this, unit.toNanos(period));
+    }
+
+
+    /** Returns a stream that drops the items published less than an interval after the last
+     * item it delivered
+     *
+     * @param interval the minimum interval between items
+     * @param unit the unit of the interval
+     * @return the throttled stream
+     */
+    public AStream<T> throttle(long interval, TimeUnit unit) {
+        return new ThrottleStream<>(this, unit.toNanos(interval));
+    }
+
+
+    /** Returns a stream of lists of consecutive items of this stream, the last list can be
+     * shorter if this stream finishes
+     *
+     * @param count the number of items of each list
+     * @return the stream of lists of items
+     */
+    public AStream<List<T>> window(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("The size of the windows must be positive: " + count);
+        }
+        return new WindowStream<>(this, count);
+    }
+
+
+    /** Returns whether the stream has finished */
+    public boolean isTerminated() {
+        return this.terminated;
+    }
+
+
+    /** Returns the number of subscribers of the stream */
+    public int getSubscriberCount() {
+        return this.subscriptions.length;
+    }
+
+
+    /** Returns the number of items dropped because the buffers of the subscribers were full */
+    public long getDroppedItems() {
+        return this.dropped.get();
+    }
+
+}
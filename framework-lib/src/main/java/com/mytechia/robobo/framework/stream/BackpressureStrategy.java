@@ -0,0 +1,96 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.stream;
+
+/** How the items published for a subscriber that has not requested them are kept: a bounded
+ * buffer per subscriber that, when full, drops the oldest or the newest items. Producers are
+ * never blocked by slow subscribers, and the memory used by each subscriber is bounded.
+ *
+ * @author Gervasio Varela
+ */
+public final class BackpressureStrategy {
+
+    /** What to do with a new item when the buffer is full */
+    public enum Overflow {
+        /** The oldest item of the buffer is dropped, the subscriber receives the most recent items */
+        DROP_OLDEST,
+        /** The new item is dropped, the subscriber receives the first items */
+        DROP_NEWEST
+    }
+
+
+    private static final BackpressureStrategy LATEST = new BackpressureStrategy(1, Overflow.DROP_OLDEST);
+
+
+    private final int capacity;
+    private final Overflow overflow;
+
+
+    private BackpressureStrategy(int capacity, Overflow overflow) {
+        this.capacity = capacity;
+        this.overflow = overflow;
+    }
+
+
+    /** Returns the strategy that only keeps the latest item, for subscribers only interested
+     * in the last value, like the last reading of a sensor
+     *
+     * @return the latest value strategy
+     */
+    public static BackpressureStrategy latest() {
+        return LATEST;
+    }
+
+
+    /** Returns a strategy that keeps the items in a bounded buffer
+     *
+     * @param capacity the maximum number of items kept for each subscriber
+     * @param overflow what to do with the new items when the buffer is full
+     * @return the bounded buffer strategy
+     */
+    public static BackpressureStrategy buffer(int capacity, Overflow overflow) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity must be positive: " + capacity);
+        }
+        if (overflow == null) {
+            throw new NullPointerException("overflow");
+        }
+        return new BackpressureStrategy(capacity, overflow);
+    }
+
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public Overflow getOverflow() {
+        return overflow;
+    }
+
+
+    @Override
+    public String toString() {
+        return (this == LATEST) ? "latest" : "buffer(" + capacity + ", " + overflow + ")";
+    }
+
+}
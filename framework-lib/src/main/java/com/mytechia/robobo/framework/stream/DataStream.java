@@ -0,0 +1,87 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.stream;
+
+/** A stream of items published by a module, like the readings of a sensor. Other modules find
+ * it by name in the {@link StreamRegistry} and subscribe to it, or to a transformation of it.
+ *
+ * Publishing never blocks: each subscriber has its own bounded buffer and the items that do not
+ * fit are dropped, according to its {@link BackpressureStrategy}.
+ *
+ * @param <T> the type of the items
+ * @author Gervasio Varela
+ */
+public class DataStream<T> extends AStream<T> {
+
+    private final String name;
+    private final Class<T> itemType;
+
+
+    DataStream(String name, Class<T> itemType, StreamRegistry registry, BackpressureStrategy defaultStrategy) {
+        super(registry, defaultStrategy);
+        this.name = name;
+        this.itemType = itemType;
+    }
+
+
+    /** Publishes an item to all the subscribers, it can be called from any thread. Items published
+     * after the stream finishes are ignored.
+     *
+     * @param item the item, not null
+     */
+    public void publish(T item) {
+        if (item == null) {
+            throw new NullPointerException("Null items can not be published");
+        }
+        emit(item);
+    }
+
+
+    /** Finishes the stream, the subscribers receive onComplete() after the items already published */
+    public void complete() {
+        terminate(null);
+    }
+
+
+    /** Finishes the stream with an error, the subscribers receive onError() after the items
+     * already published
+     *
+     * @param error the error
+     */
+    public void error(Throwable error) {
+        if (error == null) {
+            throw new NullPointerException("error");
+        }
+        terminate(error);
+    }
+
+
+    public String getName() {
+        return name;
+    }
+
+    public Class<T> getItemType() {
+        return itemType;
+    }
+
+}
@@ -0,0 +1,41 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.stream;
+
+/** A source of a stream of items that are delivered to its subscribers as they request them.
+ * It follows the Reactive Streams contract (java.util.concurrent.Flow.Publisher), which is
+ * not available in the Android versions supported by the framework.
+ *
+ * @param <T> the type of the items
+ * @author Gervasio Varela
+ */
+public interface IPublisher<T> {
+
+    /** Adds a subscriber, it receives {@link ISubscriber#onSubscribe(ISubscription)} and then
+     * the items it requests through the subscription
+     *
+     * @param subscriber the subscriber
+     */
+    void subscribe(ISubscriber<? super T> subscriber);
+
+}
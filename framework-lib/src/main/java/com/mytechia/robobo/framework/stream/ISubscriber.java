@@ -0,0 +1,54 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.stream;
+
+/** A consumer of the items of a {@link IPublisher}. The methods of a subscriber are never
+ * called concurrently, and onNext() is only called for the items requested.
+ *
+ * @param <T> the type of the items
+ * @author Gervasio Varela
+ */
+public interface ISubscriber<T> {
+
+    /** Called before any other method, with the subscription used to request the items
+     *
+     * @param subscription the subscription to the publisher
+     */
+    void onSubscribe(ISubscription subscription);
+
+    /** Called for each item requested
+     *
+     * @param item the item
+     */
+    void onNext(T item);
+
+    /** Called when the stream finishes with an error, no more methods are called after it
+     *
+     * @param error the error of the stream
+     */
+    void onError(Throwable error);
+
+    /** Called when the stream finishes, no more methods are called after it */
+    void onComplete();
+
+}
@@ -0,0 +1,41 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.stream;
+
+/** The subscription of a {@link ISubscriber} to a {@link IPublisher}, used by the subscriber
+ * to signal how many items it can process (its demand). It can be used from any thread.
+ *
+ * @author Gervasio Varela
+ */
+public interface ISubscription {
+
+    /** Requests more items, the demand is added to the items already requested and not delivered
+     *
+     * @param n the number of items requested, Long.MAX_VALUE for an unbounded demand
+     */
+    void request(long n);
+
+    /** Stops the delivery of items, items already being delivered may still be received */
+    void cancel();
+
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.stream;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/** Operator that delivers the latest item of its source at a fixed rate, using the timer of
+ * the framework streams
+ *
+ * @author Gervasio Varela
+ */
+class SampleStream<T> extends AOperatorStream<T, T> {
+
+    private final long periodNanos;
+    private final AtomicReference<T> latest = new AtomicReference<>();
+    private ScheduledFuture<?> timer = null;
+
+    private final Runnable sampleTask = new Runnable() {
+        @Override
+        public void run() {
+            T item = latest.getAndSet(null);
+            if (item != null) {
+                emit(item);
+            }
+        }
+    };
+
+
+    SampleStream(AStream<T> source, long periodNanos) {
+        super(source);
+        if (periodNanos <= 0) {
+            throw new IllegalArgumentException("The period must be positive: " + periodNanos);
+        }
+        this.periodNanos = periodNanos;
+    }
+
+
+    @Override
+    void onConnect() {
+        super.onConnect();
+        this.timer = getRegistry().getTimer().scheduleAtFixedRate(this.sampleTask,
+                this.periodNanos, this.periodNanos, TimeUnit.NANOSECONDS);
+    }
+
+
+    @Override
+    void onDisconnect() {
+        super.onDisconnect();
+        if (this.timer != null) {
+            this.timer.cancel(false);
+            this.timer = null;
+        }
+        this.latest.set(null);
+    }
+
+
+    @Override
+    public void onNext(T item) {
+        this.latest.set(item);
+    }
+
+}
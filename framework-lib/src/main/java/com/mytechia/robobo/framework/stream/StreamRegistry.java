@@ -0,0 +1,166 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.stream;
+
+import com.mytechia.robobo.framework.concurrent.FrameworkThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/** Registry of the data streams of the framework, that modules use to publish streams of items
+ * with flow control, instead of each module implementing its own listeners and queues.
+ *
+ * The modules find the streams by name, using the type of the items to check that they agree
+ * on their contents. By default the subscribers are notified by a small pool of framework
+ * threads, and the operators use a single framework timer thread. The threads finish when
+ * they are idle.
+ *
+ * @author Gervasio Varela
+ */
+public class StreamRegistry {
+
+    private static final int DELIVERY_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final long THREAD_KEEP_ALIVE = 30;
+
+
+    private final ConcurrentMap<String, DataStream<?>> streams = new ConcurrentHashMap<>();
+
+    private final ThreadPoolExecutor executor;
+    private final ScheduledThreadPoolExecutor timer;
+
+
+    public StreamRegistry() {
+
+        this.executor = new ThreadPoolExecutor(DELIVERY_THREADS, DELIVERY_THREADS,
+                THREAD_KEEP_ALIVE, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                new FrameworkThreadFactory("robobo-streams"));
+        this.executor.allowCoreThreadTimeOut(true);
+
+        this.timer = new ScheduledThreadPoolExecutor(1, new FrameworkThreadFactory("robobo-stream-timer"));
+        this.timer.setKeepAliveTime(THREAD_KEEP_ALIVE, TimeUnit.SECONDS);
+        this.timer.allowCoreThreadTimeOut(true);
+
+    }
+
+
+    /** Returns a stream, creating it if it does not exist yet, with the latest value strategy
+     * as default strategy of its subscribers
+     *
+     * @see #createStream(String, Class, BackpressureStrategy)
+     */
+    public <T> DataStream<T> createStream(String name, Class<T> itemType) {
+        return createStream(name, itemType, BackpressureStrategy.latest());
+    }
+
+
+    /** Returns a stream, creating it if it does not exist yet
+     *
+     * @param name the name of the stream
+     * @param itemType the type of the items of the stream
+     * @param defaultStrategy the backpressure strategy of the subscribers that do not choose one
+     * @return the stream
+     * @throws IllegalArgumentException if the stream exists with a different type of items
+     */
+    public <T> DataStream<T> createStream(String name, Class<T> itemType, BackpressureStrategy defaultStrategy) {
+
+        DataStream<T> stream = getStream(name, itemType);
+
+        if (stream == null) {
+            DataStream<T> newStream = new DataStream<>(name, itemType, this, defaultStrategy);
+            DataStream<?> previous = this.streams.putIfAbsent(name, newStream);
+            stream = (previous == null) ? newStream : checkType(previous, itemType);
+        }
+
+        return stream;
+
+    }
+
+
+    /** Returns a stream
+     *
+     * @param name the name of the stream
+     * @param itemType the type of the items of the stream
+     * @return the stream, or null if it does not exist
+     * @throws IllegalArgumentException if the stream exists with a different type of items
+     */
+    public <T> DataStream<T> getStream(String name, Class<T> itemType) {
+        DataStream<?> stream = this.streams.get(name);
+        return (stream == null) ? null : checkType(stream, itemType);
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private static <T> DataStream<T> checkType(DataStream<?> stream, Class<T> itemType) {
+        if (stream.getItemType() != itemType) {
+            throw new IllegalArgumentException("The items of stream " + stream.getName() + " are " +
+                    stream.getItemType().getName() + ", not " + itemType.getName());
+        }
+        return (DataStream<T>) stream;
+    }
+
+
+    /** Removes a stream, completing it
+     *
+     * @param name the name of the stream
+     */
+    public void removeStream(String name) {
+        DataStream<?> stream = this.streams.remove(name);
+        if (stream != null) {
+            stream.complete();
+        }
+    }
+
+
+    public Collection<DataStream<?>> getStreams() {
+        return new ArrayList<>(this.streams.values());
+    }
+
+
+    /** Removes all the streams, completing them */
+    public void shutdown() {
+        for (String name : new ArrayList<>(this.streams.keySet())) {
+            removeStream(name);
+        }
+    }
+
+
+    /** Returns the executor that delivers the items to the subscribers by default */
+    Executor getExecutor() {
+        return this.executor;
+    }
+
+
+    /** Returns the timer used by the operators */
+    ScheduledExecutorService getTimer() {
+        return this.timer;
+    }
+
+}
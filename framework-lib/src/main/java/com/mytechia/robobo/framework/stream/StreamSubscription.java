@@ -0,0 +1,287 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.stream;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Subscription of a subscriber to a stream: the bounded buffer of the items not delivered yet
+ * and the delivery of the items requested, in the executor of the subscriber.
+ *
+ * Deliveries are serialized with a work-in-progress counter: the thread that publishes an item
+ * or requests more items only submits a delivery task if there is none running, and the task
+ * delivers all the items available, up to {@link #DRAIN_BATCH} before yielding the executor.
+ *
+ * @author Gervasio Varela
+ */
+final class StreamSubscription<T> implements ISubscription, Runnable {
+
+    /** Maximum number of items delivered by a task, so a subscriber does not monopolize the executor */
+    static final int DRAIN_BATCH = 64;
+
+
+    private final AStream<T> stream;
+    private final ISubscriber<? super T> subscriber;
+    private final Executor executor;
+
+    //bounded buffer, guarded by this
+    private final Object[] buffer;
+    private final boolean dropOldest;
+    private int head = 0;
+    private int size = 0;
+
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private volatile boolean cancelled = false;
+    private volatile boolean done = false;
+    private volatile Throwable error = null;
+
+    //only used by the delivery task
+    private boolean subscribed = false;
+
+
+    StreamSubscription(AStream<T> stream, ISubscriber<? super T> subscriber, BackpressureStrategy strategy,
+                       Executor executor) {
+        this.stream = stream;
+        this.subscriber = subscriber;
+        this.executor = executor;
+        this.buffer = new Object[strategy.getCapacity()];
+        this.dropOldest = strategy.getOverflow() == BackpressureStrategy.Overflow.DROP_OLDEST;
+    }
+
+
+    /** Adds an item to the buffer, delivering it if the subscriber requested it
+     *
+     * @return false if an item was dropped because the buffer was full
+     */
+    boolean offer(T item) {
+
+        boolean accepted = true;
+
+        synchronized (this) {
+            if (this.size == this.buffer.length) {
+                accepted = false;
+                if (!this.dropOldest) {
+                    return false;
+                }
+                this.buffer[this.head] = null;
+                this.head = (this.head + 1) % this.buffer.length;
+                this.size--;
+            }
+            this.buffer[(this.head + this.size) % this.buffer.length] = item;
+            this.size++;
+        }
+
+        if (this.requested.get() != 0) {
+            schedule();
+        }
+
+        return accepted;
+
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private synchronized T poll() {
+        if (this.size == 0) {
+            return null;
+        }
+        T item = (T) this.buffer[this.head];
+        this.buffer[this.head] = null;
+        this.head = (this.head + 1) % this.buffer.length;
+        this.size--;
+        return item;
+    }
+
+
+    private synchronized boolean isEmpty() {
+        return this.size == 0;
+    }
+
+
+    private synchronized void clear() {
+        for (int i = 0; i < this.buffer.length; i++) {
+            this.buffer[i] = null;
+        }
+        this.size = 0;
+    }
+
+
+    /** Finishes the subscription after delivering the items of the buffer
+     *
+     * @param error the error of the stream, null if it completed
+     */
+    void terminate(Throwable error) {
+        this.error = error;
+        this.done = true;
+        schedule();
+    }
+
+
+    @Override
+    public void request(long n) {
+
+        if (n <= 0) {
+            clear();
+            terminate(new IllegalArgumentException("The number of items requested must be positive: " + n));
+            return;
+        }
+
+        long current;
+        long next;
+        do {
+            current = this.requested.get();
+            if (current == Long.MAX_VALUE) {
+                return;
+            }
+            next = current + n;
+            if (next < 0) {
+                next = Long.MAX_VALUE;
+            }
+        } while (!this.requested.compareAndSet(current, next));
+
+        schedule();
+
+    }
+
+
+    @Override
+    public void cancel() {
+        if (!this.cancelled) {
+            this.cancelled = true;
+            this.stream.remove(this);
+            clear();
+        }
+    }
+
+
+    /** Submits the delivery task, unless it is already running */
+    void schedule() {
+        if (this.wip.getAndIncrement() == 0) {
+            submit();
+        }
+    }
+
+
+    private void submit() {
+        try {
+            this.executor.execute(this);
+        } catch (RejectedExecutionException ex) {
+            AStream.LOG.warn("Delivery executor of a stream subscriber rejected the delivery, subscription cancelled");
+            this.wip.set(0);
+            cancel();
+        }
+    }
+
+
+    /** Delivers the items requested, and the end of the stream when the buffer is empty */
+    @Override
+    public void run() {
+
+        int missed = 1;
+
+        for (;;) {
+
+            if (this.cancelled) {
+                return;
+            }
+
+            if (!this.subscribed) {
+                this.subscribed = true;
+                try {
+                    this.subscriber.onSubscribe(this);
+                } catch (RuntimeException ex) {
+                    subscriberFailed(ex);
+                    return;
+                }
+            }
+
+            long demand = this.requested.get();
+            long delivered = 0;
+
+            while ((delivered != demand) && !this.cancelled) {
+
+                if (delivered == DRAIN_BATCH) {
+                    //the rest of the items are delivered by a new task, keeping the work in progress
+                    if (demand != Long.MAX_VALUE) {
+                        this.requested.addAndGet(-delivered);
+                    }
+                    submit();
+                    return;
+                }
+
+                T item = poll();
+                if (item == null) {
+                    break;
+                }
+
+                try {
+                    this.subscriber.onNext(item);
+                } catch (RuntimeException ex) {
+                    subscriberFailed(ex);
+                    return;
+                }
+
+                delivered++;
+
+            }
+
+            if ((delivered != 0) && (demand != Long.MAX_VALUE)) {
+                this.requested.addAndGet(-delivered);
+            }
+
+            if (this.done && !this.cancelled && isEmpty()) {
+                this.cancelled = true;
+                this.stream.remove(this);
+                try {
+                    if (this.error != null) {
+                        this.subscriber.onError(this.error);
+                    } else {
+                        this.subscriber.onComplete();
+                    }
+                } catch (RuntimeException ex) {
+                    AStream.LOG.error("Error in stream subscriber " + this.subscriber, ex);
+                }
+                return;
+            }
+
+            missed = this.wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+
+        }
+
+    }
+
+
+    /** Subscribers must not throw exceptions, the subscription of a subscriber that fails is cancelled */
+    private void subscriberFailed(RuntimeException ex) {
+        AStream.LOG.error("Error in stream subscriber " + this.subscriber + ", subscription cancelled", ex);
+        cancel();
+    }
+
+}
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.stream;
+
+/** Operator that delivers an item of its source and then drops the items published during
+ * an interval (throttle first)
+ *
+ * @author Gervasio Varela
+ */
+class ThrottleStream<T> extends AOperatorStream<T, T> {
+
+    private final long intervalNanos;
+
+    //the items of the source are delivered one at a time
+    private boolean first = true;
+    private long lastDelivery = 0;
+
+
+    ThrottleStream(AStream<T> source, long intervalNanos) {
+        super(source);
+        this.intervalNanos = intervalNanos;
+    }
+
+
+    @Override
+    public void onNext(T item) {
+        long now = System.nanoTime();
+        if (this.first || (now - this.lastDelivery >= this.intervalNanos)) {
+            this.first = false;
+            this.lastDelivery = now;
+            emit(item);
+        }
+    }
+
+}
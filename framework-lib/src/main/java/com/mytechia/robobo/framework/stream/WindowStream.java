@@ -0,0 +1,75 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.stream;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Operator that delivers the items of its source in lists of consecutive items
+ *
+ * @author Gervasio Varela
+ */
+class WindowStream<T> extends AOperatorStream<T, List<T>> {
+
+    private final int count;
+
+    //the items of the source are delivered one at a time
+    private List<T> window;
+
+
+    WindowStream(AStream<T> source, int count) {
+        super(source);
+        this.count = count;
+        this.window = new ArrayList<>(count);
+    }
+
+
+    @Override
+    void onConnect() {
+        //items of a previous connection are not mixed with the new ones
+        this.window = new ArrayList<>(this.count);
+        super.onConnect();
+    }
+
+
+    @Override
+    public void onNext(T item) {
+        this.window.add(item);
+        if (this.window.size() == this.count) {
+            List<T> full = this.window;
+            this.window = new ArrayList<>(this.count);
+            emit(full);
+        }
+    }
+
+
+    @Override
+    public void onComplete() {
+        if (!this.window.isEmpty()) {
+            emit(this.window);
+            this.window = new ArrayList<>(this.count);
+        }
+        super.onComplete();
+    }
+
+}
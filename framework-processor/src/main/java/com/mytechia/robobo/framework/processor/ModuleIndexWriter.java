@@ -0,0 +1,166 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.processor;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/** Writes the source code of a generated module index
+ *
+ * @author Gervasio Varela
+ */
+class ModuleIndexWriter {
+
+    private final PrintWriter out;
+    private final String packageName;
+    private final String simpleName;
+
+
+    ModuleIndexWriter(PrintWriter out, String packageName, String simpleName) {
+        this.out = out;
+        this.packageName = packageName;
+        this.simpleName = simpleName;
+    }
+
+
+    void write(Collection<RoboboModuleProcessor.IndexedModule> modules) {
+
+        if (packageName != null) {
+            out.println("package " + packageName + ";");
+            out.println();
+        }
+
+        out.println("import com.mytechia.robobo.framework.IModule;");
+        out.println("import com.mytechia.robobo.framework.IModuleIndex;");
+        out.println("import com.mytechia.robobo.framework.ModuleDescriptor;");
+        out.println();
+        out.println("/** Index of the Robobo modules of the application.");
+        out.println(" * Generated by " + RoboboModuleProcessor.class.getName() + ", do not modify.");
+        out.println(" */");
+        out.println("public final class " + simpleName + " implements IModuleIndex {");
+        out.println();
+
+        writeDescriptors(modules);
+        out.println();
+        writeNewModule(modules);
+        out.println();
+        writeGetDescriptor(modules);
+
+        out.println("}");
+
+    }
+
+
+    private void writeNewModule(Collection<RoboboModuleProcessor.IndexedModule> modules) {
+
+        out.println("    @Override");
+        out.println("    public IModule newModule(String moduleClassName) {");
+        out.println("        switch (moduleClassName) {");
+
+        for (RoboboModuleProcessor.IndexedModule module : modules) {
+            out.println("            case \"" + module.binaryName + "\":");
+            out.println("                return new " + module.qualifiedName + "();");
+        }
+
+        out.println("            default:");
+        out.println("                return null;");
+        out.println("        }");
+        out.println("    }");
+
+    }
+
+
+    private void writeDescriptors(Collection<RoboboModuleProcessor.IndexedModule> modules) {
+
+        int index = 0;
+
+        for (RoboboModuleProcessor.IndexedModule module : modules) {
+            out.println("    private static final ModuleDescriptor DESCRIPTOR_" + index + " =");
+            out.println("            new ModuleDescriptor(" + module.qualifiedName + ".class,");
+            out.println("                    new Class<?>[] {" + classLiterals(module) + "},");
+            out.println("                    " + module.sequential + ", " + module.lazy + ", " + module.idleTimeout + "L,");
+            out.println("                    " + optionsArray(module) + ");");
+            index++;
+        }
+
+    }
+
+
+    private void writeGetDescriptor(Collection<RoboboModuleProcessor.IndexedModule> modules) {
+
+        out.println("    @Override");
+        out.println("    public ModuleDescriptor getDescriptor(String moduleClassName) {");
+        out.println("        switch (moduleClassName) {");
+
+        int index = 0;
+
+        for (RoboboModuleProcessor.IndexedModule module : modules) {
+            out.println("            case \"" + module.binaryName + "\":");
+            out.println("                return DESCRIPTOR_" + index + ";");
+            index++;
+        }
+
+        out.println("            default:");
+        out.println("                return null;");
+        out.println("        }");
+        out.println("    }");
+
+    }
+
+
+    private static String optionsArray(RoboboModuleProcessor.IndexedModule module) {
+
+        if (module.options == null) {
+            return "new String[] {com.mytechia.robobo.framework.RoboboModule.ALL_OPTIONS}";
+        }
+
+        StringBuilder literals = new StringBuilder();
+        for (String option : module.options) {
+            if (literals.length() > 0) literals.append(", ");
+            literals.append('"').append(option.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+        }
+
+        return "new String[] {" + literals + "}";
+
+    }
+
+
+    private static String classLiterals(RoboboModuleProcessor.IndexedModule module) {
+
+        List<String> dependencies = new ArrayList<>(module.dependencies);
+        Collections.sort(dependencies);
+
+        StringBuilder literals = new StringBuilder();
+        for (String dependency : dependencies) {
+            if (literals.length() > 0) literals.append(", ");
+            literals.append(dependency).append(".class");
+        }
+
+        return literals.toString();
+
+    }
+
+}
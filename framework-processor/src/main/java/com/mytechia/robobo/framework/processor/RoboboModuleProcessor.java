@@ -0,0 +1,301 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+/** Annotation processor that generates the module index of a Robobo application.
+ *
+ * It looks for all the classes annotated with RoboboModule and generates an implementation of
+ * IModuleIndex that creates the modules calling directly to their constructors. The RoboboManager
+ * uses the generated index, when available, instead of reflection.
+ *
+ * By default the generated class is named RoboboModuleIndex and placed in the package of the first
+ * module (by name), so each library or application that uses the processor has an index of its own.
+ * The name can be configured with the processor option 'roboboModuleIndex'. The index is registered
+ * as a service of IModuleIndex (META-INF/services), and the RoboboManager combines all the indexes
+ * registered in the application.
+ *
+ * @author Gervasio Varela
+ */
+public class RoboboModuleProcessor extends AbstractProcessor {
+
+
+    static final String ROBOBO_MODULE = "com.mytechia.robobo.framework.RoboboModule";
+    static final String IMODULE = "com.mytechia.robobo.framework.IModule";
+    static final String IMODULE_INDEX = "com.mytechia.robobo.framework.IModuleIndex";
+
+    static final String OPTION_INDEX_NAME = "roboboModuleIndex";
+    static final String DEFAULT_INDEX_SIMPLE_NAME = "RoboboModuleIndex";
+
+
+    private Elements elements;
+    private Types types;
+    private Messager messager;
+
+    /** Modules found, sorted by binary name to generate always the same index */
+    private final Map<String, IndexedModule> modules = new TreeMap<>();
+    private final List<Element> originatingElements = new ArrayList<>();
+
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.messager = processingEnv.getMessager();
+    }
+
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(ROBOBO_MODULE);
+    }
+
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        return Collections.singleton(OPTION_INDEX_NAME);
+    }
+
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+        TypeElement roboboModule = elements.getTypeElement(ROBOBO_MODULE);
+
+        if (roboboModule != null) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(roboboModule)) {
+                IndexedModule module = readModule(element, roboboModule);
+                if (module != null) {
+                    modules.put(module.binaryName, module);
+                    originatingElements.add(element);
+                }
+            }
+        }
+
+        if (roundEnv.processingOver() && !modules.isEmpty()) {
+            writeIndex();
+        }
+
+        return true;
+
+    }
+
+
+    private IndexedModule readModule(Element element, TypeElement roboboModule) {
+
+        if (element.getKind() != ElementKind.CLASS) {
+            error(element, "@RoboboModule can only be applied to classes");
+            return null;
+        }
+
+        TypeElement type = (TypeElement) element;
+        Set<Modifier> modifiers = type.getModifiers();
+
+        if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.ABSTRACT)) {
+            error(type, "Robobo modules must be public and non abstract classes");
+            return null;
+        }
+
+        if ((type.getNestingKind() == NestingKind.MEMBER) && !modifiers.contains(Modifier.STATIC)) {
+            error(type, "Robobo modules declared inside other classes must be static");
+            return null;
+        }
+
+        TypeElement iModule = elements.getTypeElement(IMODULE);
+        if ((iModule != null) && !types.isAssignable(type.asType(), iModule.asType())) {
+            error(type, "Robobo modules must implement " + IMODULE);
+            return null;
+        }
+
+        if (!hasPublicDefaultConstructor(type)) {
+            error(type, "Robobo modules must have a public constructor without parameters");
+            return null;
+        }
+
+        IndexedModule module = new IndexedModule(elements.getBinaryName(type).toString(),
+                type.getQualifiedName().toString(), elements.getPackageOf(type).getQualifiedName().toString());
+
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+
+            if (!types.isSameType(mirror.getAnnotationType(), roboboModule.asType())) {
+                continue;
+            }
+
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value :
+                    mirror.getElementValues().entrySet()) {
+
+                String name = value.getKey().getSimpleName().toString();
+
+                if ("dependencies".equals(name)) {
+                    for (Object dependency : (List<?>) value.getValue().getValue()) {
+                        TypeMirror dependencyType = (TypeMirror) ((AnnotationValue) dependency).getValue();
+                        module.dependencies.add(types.erasure(dependencyType).toString());
+                    }
+                } else if ("sequential".equals(name)) {
+                    module.sequential = (Boolean) value.getValue().getValue();
+                } else if ("lazy".equals(name)) {
+                    module.lazy = (Boolean) value.getValue().getValue();
+                } else if ("idleTimeout".equals(name)) {
+                    module.idleTimeout = ((Number) value.getValue().getValue()).longValue();
+                } else if ("options".equals(name)) {
+                    module.options = new ArrayList<>();
+                    for (Object option : (List<?>) value.getValue().getValue()) {
+                        module.options.add((String) ((AnnotationValue) option).getValue());
+                    }
+                }
+
+            }
+
+        }
+
+        return module;
+
+    }
+
+
+    private boolean hasPublicDefaultConstructor(TypeElement type) {
+
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+
+        return false;
+
+    }
+
+
+    private void writeIndex() {
+
+        String indexName = processingEnv.getOptions().get(OPTION_INDEX_NAME);
+        if (indexName == null || indexName.isEmpty()) {
+            String modulesPackage = modules.values().iterator().next().packageName;
+            indexName = modulesPackage.isEmpty() ?
+                    DEFAULT_INDEX_SIMPLE_NAME : modulesPackage + "." + DEFAULT_INDEX_SIMPLE_NAME;
+        }
+
+        int lastDot = indexName.lastIndexOf('.');
+        String packageName = lastDot > 0 ? indexName.substring(0, lastDot) : null;
+        String simpleName = indexName.substring(lastDot + 1);
+
+        Element[] originating = originatingElements.toArray(new Element[originatingElements.size()]);
+
+        try {
+
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(indexName, originating);
+
+            PrintWriter out = new PrintWriter(file.openWriter());
+
+            try {
+                new ModuleIndexWriter(out, packageName, simpleName).write(modules.values());
+            } finally {
+                out.close();
+            }
+
+            FileObject service = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT,
+                    "", "META-INF/services/" + IMODULE_INDEX, originating);
+
+            PrintWriter serviceOut = new PrintWriter(service.openWriter());
+
+            try {
+                serviceOut.println(indexName);
+            } finally {
+                serviceOut.close();
+            }
+
+        } catch (IOException ex) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Unable to generate the Robobo module index: " + ex.getMessage());
+        }
+
+    }
+
+
+    private void error(Element element, String message) {
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+
+    /** A module found by the processor */
+    static class IndexedModule {
+
+        /** Name used in modules.properties (i.e. com.example.Outer$Inner) */
+        final String binaryName;
+        /** Name used in source code (i.e. com.example.Outer.Inner) */
+        final String qualifiedName;
+        /** Package of the module, empty for the default package */
+        final String packageName;
+        final Set<String> dependencies = new HashSet<>();
+        boolean sequential = false;
+        boolean lazy = false;
+        long idleTimeout = 0;
+        /** Options read by the module, null when they are not declared (all the options) */
+        List<String> options = null;
+
+        IndexedModule(String binaryName, String qualifiedName, String packageName) {
+            this.binaryName = binaryName;
+            this.qualifiedName = qualifiedName;
+            this.packageName = packageName;
+        }
+
+    }
+
+}
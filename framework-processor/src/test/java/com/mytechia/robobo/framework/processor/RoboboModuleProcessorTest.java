@@ -0,0 +1,339 @@
+/*******************************************************************************
+ *
+ *   Copyright 2026 Mytech Ingenieria Aplicada <http://www.mytechia.com>
+ *   Copyright 2026 Gervasio Varela <gervasio.varela@mytechia.com>
+ *
+ *   This file is part of Robobo Framework Library.
+ *
+ *   Robobo Framework Library is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Robobo Framework Library is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Robobo Framework Library.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ ******************************************************************************/
+
+package com.mytechia.robobo.framework.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Gervasio Varela
+ */
+public class RoboboModuleProcessorTest {
+
+
+    /** Minimal version of the framework classes used by the modules and the generated index */
+    private static final String[][] FRAMEWORK = {
+            {"com.mytechia.robobo.framework.IModule",
+                    "package com.mytechia.robobo.framework;\n" +
+                    "public interface IModule {}\n"},
+            {"com.mytechia.robobo.framework.IModuleIndex",
+                    "package com.mytechia.robobo.framework;\n" +
+                    "public interface IModuleIndex {\n" +
+                    "    IModule newModule(String moduleClassName);\n" +
+                    "    ModuleDescriptor getDescriptor(String moduleClassName);\n" +
+                    "}\n"},
+            {"com.mytechia.robobo.framework.ModuleDescriptor",
+                    "package com.mytechia.robobo.framework;\n" +
+                    "public class ModuleDescriptor {\n" +
+                    "    public ModuleDescriptor(Class<? extends IModule> moduleClass, Class<?>[] dependencies,\n" +
+                    "            boolean sequential, boolean lazy, long idleTimeout, String[] options) {}\n" +
+                    "}\n"},
+            {"com.mytechia.robobo.framework.RoboboModule",
+                    "package com.mytechia.robobo.framework;\n" +
+                    "public @interface RoboboModule {\n" +
+                    "    String ALL_OPTIONS = \"*\";\n" +
+                    "    Class<?>[] dependencies() default {};\n" +
+                    "    boolean sequential() default false;\n" +
+                    "    boolean lazy() default false;\n" +
+                    "    long idleTimeout() default 0;\n" +
+                    "    String[] options() default {ALL_OPTIONS};\n" +
+                    "}\n"}
+    };
+
+
+    private File outputDir;
+    private File classesDir;
+    private File sourcesDir;
+    private DiagnosticCollector<JavaFileObject> diagnostics;
+
+
+    @Before
+    public void setUp() throws IOException {
+        this.outputDir = Files.createTempDirectory("robobo-processor").toFile();
+        this.classesDir = new File(this.outputDir, "classes");
+        this.sourcesDir = new File(this.outputDir, "generated");
+        assertTrue(this.classesDir.mkdir());
+        assertTrue(this.sourcesDir.mkdir());
+        this.diagnostics = new DiagnosticCollector<>();
+    }
+
+
+    @After
+    public void tearDown() {
+        delete(this.outputDir);
+    }
+
+
+    @Test
+    public void testIndexOfTheAnnotatedModules() throws IOException {
+
+        assertTrue(compile(Collections.<String>emptyList(),
+                module("com.example.robot.BaseModule", "@RoboboModule"),
+                module("com.example.robot.LazyModule",
+                        "@RoboboModule(lazy = true, idleTimeout = 5000, dependencies = {BaseModule.class, IModule.class})"),
+                module("com.example.robot.SequentialModule", "@RoboboModule(sequential = true, options = {\"robobo.speed\"})"),
+                source("com.example.robot.Outer",
+                        "package com.example.robot;\n" +
+                        "import com.mytechia.robobo.framework.*;\n" +
+                        "public class Outer {\n" +
+                        "    @RoboboModule(options = {})\n" +
+                        "    public static class Inner implements IModule {}\n" +
+                        "}\n"),
+                module("com.example.robot.ClassicModule", "")));
+
+        //the index is placed in the package of the first module
+        String index = generated("com/example/robot/RoboboModuleIndex.java");
+
+        assertTrue(index.startsWith("package com.example.robot;\n"));
+        assertTrue(index.contains("public final class RoboboModuleIndex implements IModuleIndex {"));
+
+        //modules are created calling their constructors, and found by the name used in modules.properties
+        assertTrue(index.contains(
+                "            case \"com.example.robot.Outer$Inner\":\n" +
+                "                return new com.example.robot.Outer.Inner();\n"));
+        assertTrue(index.contains(
+                "            case \"com.example.robot.BaseModule\":\n" +
+                "                return new com.example.robot.BaseModule();\n"));
+        assertFalse(index.contains("ClassicModule"));
+
+        assertTrue(index.contains(
+                "new ModuleDescriptor(com.example.robot.BaseModule.class,\n" +
+                "                    new Class<?>[] {},\n" +
+                "                    false, false, 0L,\n" +
+                "                    new String[] {com.mytechia.robobo.framework.RoboboModule.ALL_OPTIONS});\n"));
+        assertTrue(index.contains(
+                "new ModuleDescriptor(com.example.robot.LazyModule.class,\n" +
+                "                    new Class<?>[] {com.example.robot.BaseModule.class, com.mytechia.robobo.framework.IModule.class},\n" +
+                "                    false, true, 5000L,\n"));
+        assertTrue(index.contains(
+                "new ModuleDescriptor(com.example.robot.SequentialModule.class,\n" +
+                "                    new Class<?>[] {},\n" +
+                "                    true, false, 0L,\n" +
+                "                    new String[] {\"robobo.speed\"});\n"));
+        assertTrue(index.contains(
+                "new ModuleDescriptor(com.example.robot.Outer.Inner.class,\n" +
+                "                    new Class<?>[] {},\n" +
+                "                    false, false, 0L,\n" +
+                "                    new String[] {});\n"));
+
+        //the generated index compiles with the modules
+        assertTrue(new File(this.classesDir, "com/example/robot/RoboboModuleIndex.class").isFile());
+
+        assertEquals("com.example.robot.RoboboModuleIndex\n",
+                generatedClassesFile("META-INF/services/com.mytechia.robobo.framework.IModuleIndex"));
+
+    }
+
+
+    @Test
+    public void testIndexNameOption() throws IOException {
+
+        assertTrue(compile(Collections.singletonList("-AroboboModuleIndex=com.example.app.AppModuleIndex"),
+                module("com.example.robot.BaseModule", "@RoboboModule")));
+
+        assertTrue(generated("com/example/app/AppModuleIndex.java").contains("public final class AppModuleIndex implements IModuleIndex {"));
+        assertEquals("com.example.app.AppModuleIndex\n",
+                generatedClassesFile("META-INF/services/com.mytechia.robobo.framework.IModuleIndex"));
+
+    }
+
+
+    @Test
+    public void testNoIndexWithoutAnnotatedModules() {
+
+        assertTrue(compile(Collections.<String>emptyList(), module("com.example.robot.ClassicModule", "")));
+
+        assertFalse(new File(this.classesDir, "META-INF/services/com.mytechia.robobo.framework.IModuleIndex").exists());
+
+    }
+
+
+    @Test
+    public void testInvalidModulesAreReported() {
+
+        assertFalse(compile(Collections.<String>emptyList(),
+                source("com.example.robot.PrivateConstructorModule",
+                        "package com.example.robot;\n" +
+                        "import com.mytechia.robobo.framework.*;\n" +
+                        "@RoboboModule\n" +
+                        "public class PrivateConstructorModule implements IModule {\n" +
+                        "    private PrivateConstructorModule() {}\n" +
+                        "}\n"),
+                source("com.example.robot.NotAModule",
+                        "package com.example.robot;\n" +
+                        "import com.mytechia.robobo.framework.*;\n" +
+                        "@RoboboModule\n" +
+                        "public class NotAModule {}\n")));
+
+        List<String> errors = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : this.diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                errors.add(diagnostic.getMessage(Locale.US));
+            }
+        }
+
+        assertTrue(errors.contains("Robobo modules must have a public constructor without parameters"));
+        assertTrue(errors.contains("Robobo modules must implement com.mytechia.robobo.framework.IModule"));
+
+    }
+
+
+    @Test
+    public void testWriterEscapesOptions() {
+
+        RoboboModuleProcessor.IndexedModule module = new RoboboModuleProcessor.IndexedModule(
+                "Module", "Module", "");
+        module.options = Arrays.asList("robobo.\"quoted\"", "robobo.path\\*");
+
+        StringWriter source = new StringWriter();
+        PrintWriter out = new PrintWriter(source);
+        new ModuleIndexWriter(out, null, "DefaultPackageIndex").write(Collections.singletonList(module));
+        out.flush();
+
+        String index = source.toString().replace("\r\n", "\n");
+
+        //the default package has no package declaration
+        assertTrue(index.startsWith("import com.mytechia.robobo.framework.IModule;\n"));
+        assertTrue(index.contains("new String[] {\"robobo.\\\"quoted\\\"\", \"robobo.path\\\\*\"}"));
+
+    }
+
+
+
+    private boolean compile(List<String> options, JavaFileObject... modules) {
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(this.diagnostics, Locale.US, StandardCharsets.UTF_8);
+
+        try {
+
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(this.classesDir));
+            fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, Collections.singletonList(this.sourcesDir));
+
+            List<JavaFileObject> sources = new ArrayList<>();
+            for (String[] frameworkClass : FRAMEWORK) {
+                sources.add(source(frameworkClass[0], frameworkClass[1]));
+            }
+            sources.addAll(Arrays.asList(modules));
+
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, this.diagnostics,
+                    options, null, sources);
+            task.setProcessors(Collections.singletonList(new RoboboModuleProcessor()));
+
+            return task.call();
+
+        } catch (IOException ex) {
+            throw new AssertionError(ex);
+        } finally {
+            try {
+                fileManager.close();
+            } catch (IOException ex) {
+                //the output is already written
+            }
+        }
+
+    }
+
+
+    private String generated(String path) throws IOException {
+        return read(new File(this.sourcesDir, path));
+    }
+
+
+    private String generatedClassesFile(String path) throws IOException {
+        return read(new File(this.classesDir, path));
+    }
+
+
+    private static String read(File file) throws IOException {
+        assertTrue("Not generated: " + file, file.isFile());
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).replace("\r\n", "\n");
+    }
+
+
+    private static JavaFileObject module(String className, String annotation) {
+
+        int lastDot = className.lastIndexOf('.');
+
+        return source(className,
+                "package " + className.substring(0, lastDot) + ";\n" +
+                "import com.mytechia.robobo.framework.*;\n" +
+                annotation + "\n" +
+                "public class " + className.substring(lastDot + 1) + " implements IModule {}\n");
+
+    }
+
+
+    private static JavaFileObject source(String className, final String code) {
+
+        URI uri = URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension);
+
+        return new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+
+    }
+
+
+    private static void delete(File file) {
+
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+
+        file.delete();
+
+    }
+
+}